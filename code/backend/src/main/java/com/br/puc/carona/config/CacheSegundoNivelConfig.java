@@ -0,0 +1,102 @@
+package com.br.puc.carona.config;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.br.puc.carona.constants.RegioesCache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache de segundo nível do Hibernate para as entidades de referência ({@code Usuario}/{@code Estudante},
+ * {@code PerfilMotorista}, {@code Carro}) e para as consultas por e-mail e por estudante.
+ *
+ * <p>As regiões são criadas aqui com tamanho máximo e TTL explícitos. Alterações feitas pelo Hibernate
+ * (atualização de perfil, banimento, exclusão) atualizam a entrada da entidade e invalidam as consultas
+ * em cache pela tabela de timestamps; o TTL limita a janela em caso de escrita fora da aplicação.</p>
+ */
+@Slf4j
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    @Value("${app.cache.entidades.ttl-segundos:600}")
+    private long ttlEntidadesSegundos;
+
+    @Value("${app.cache.entidades.tamanho-maximo:10000}")
+    private long tamanhoMaximoEntidades;
+
+    @Value("${app.cache.consultas.ttl-segundos:300}")
+    private long ttlConsultasSegundos;
+
+    @Value("${app.cache.consultas.tamanho-maximo:10000}")
+    private long tamanhoMaximoConsultas;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        final CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        final Duration ttlEntidades = Duration.ofSeconds(ttlEntidadesSegundos);
+        final Duration ttlConsultas = Duration.ofSeconds(ttlConsultasSegundos);
+
+        criarRegiao(cacheManager, RegioesCache.USUARIO, ttlEntidades, tamanhoMaximoEntidades);
+        criarRegiao(cacheManager, RegioesCache.PERFIL_MOTORISTA, ttlEntidades, tamanhoMaximoEntidades);
+        criarRegiao(cacheManager, RegioesCache.CARRO, ttlEntidades, tamanhoMaximoEntidades);
+        criarRegiao(cacheManager, RegioesCache.CONSULTA_USUARIO_POR_EMAIL, ttlConsultas, tamanhoMaximoConsultas);
+        criarRegiao(cacheManager, RegioesCache.CONSULTA_PERFIL_POR_ESTUDANTE, ttlConsultas, tamanhoMaximoConsultas);
+        criarRegiao(cacheManager, RegioesCache.CONSULTAS_PADRAO, ttlConsultas, tamanhoMaximoConsultas);
+        // Os timestamps de atualização não podem expirar nem ser despejados: é por eles que o
+        // Hibernate descobre que um resultado de consulta em cache ficou obsoleto.
+        criarRegiao(cacheManager, RegioesCache.TIMESTAMPS_ATUALIZACAO, null, null);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernateCustomizer(final CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> metricasCacheSegundoNivel(final CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (final String regiao : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(regiao), Tags.of("camada", "hibernate-l2"));
+            }
+        };
+    }
+
+    private static void criarRegiao(final CacheManager cacheManager, final String nome,
+            final Duration ttl, final Long tamanhoMaximo) {
+        final CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setTypes(Object.class, Object.class);
+        configuracao.setStoreByValue(false);
+        configuracao.setStatisticsEnabled(true);
+        if (ttl != null) {
+            configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        if (tamanhoMaximo != null) {
+            configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+        }
+        if (cacheManager.getCache(nome) != null) {
+            cacheManager.destroyCache(nome);
+        }
+        cacheManager.createCache(nome, configuracao);
+        log.debug("Região de cache criada: {} (ttl: {}, tamanho máximo: {})", nome, ttl, tamanhoMaximo);
+    }
+}
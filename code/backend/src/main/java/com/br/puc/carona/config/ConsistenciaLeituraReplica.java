@@ -0,0 +1,79 @@
+package com.br.puc.carona.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guarda o estado necessário para decidir se uma leitura pode ir para a réplica.
+ *
+ * <p>Duas regras forçam a leitura no primário:</p>
+ * <ul>
+ *   <li>leitura própria: o usuário confirmou uma escrita há menos de {@code janela}
+ *       e ainda não há garantia de que a réplica a recebeu;</li>
+ *   <li>atraso de replicação: a última medição da réplica ultrapassou o limite configurado
+ *       (ou a medição falhou).</li>
+ * </ul>
+ * O estado é local à instância; em múltiplas instâncias cada uma aplica a regra para as
+ * requisições que atende.
+ */
+@Slf4j
+public class ConsistenciaLeituraReplica {
+
+    private final Map<String, Long> ultimaEscritaPorUsuario = new ConcurrentHashMap<>();
+    private final long janelaMillis;
+    private final long atrasoMaximoMillis;
+
+    @Getter
+    private volatile boolean replicaAtrasada;
+
+    public ConsistenciaLeituraReplica(final Duration janela, final Duration atrasoMaximo) {
+        this.janelaMillis = janela.toMillis();
+        this.atrasoMaximoMillis = atrasoMaximo.toMillis();
+    }
+
+    public void registrarEscrita(final String usuario) {
+        if (usuario != null) {
+            ultimaEscritaPorUsuario.put(usuario, System.currentTimeMillis());
+        }
+    }
+
+    public boolean deveLerDoPrimario(final String usuario) {
+        if (replicaAtrasada) {
+            return true;
+        }
+        if (usuario == null) {
+            return false;
+        }
+        final Long ultimaEscrita = ultimaEscritaPorUsuario.get(usuario);
+        if (ultimaEscrita == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - ultimaEscrita < janelaMillis) {
+            return true;
+        }
+        ultimaEscritaPorUsuario.remove(usuario, ultimaEscrita);
+        return false;
+    }
+
+    public void atualizarAtraso(final Duration atraso) {
+        final boolean atrasada = atraso == null || atraso.toMillis() > atrasoMaximoMillis;
+        if (atrasada != replicaAtrasada) {
+            log.warn("Réplica {} (atraso medido: {})", atrasada ? "atrasada, leituras redirecionadas ao primário"
+                    : "normalizada, leituras voltando para a réplica", atraso);
+        }
+        this.replicaAtrasada = atrasada;
+    }
+
+    /**
+     * Remove registros de escrita cuja janela já expirou, evitando crescimento do mapa
+     * com usuários que não voltaram a ler.
+     */
+    public void limparExpirados() {
+        final long limite = System.currentTimeMillis() - janelaMillis;
+        ultimaEscritaPorUsuario.values().removeIf(instante -> instante < limite);
+    }
+}
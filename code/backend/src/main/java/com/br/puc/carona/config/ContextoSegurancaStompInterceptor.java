@@ -0,0 +1,46 @@
+package com.br.puc.carona.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Publica no {@link SecurityContextHolder} o usuário da sessão STOMP enquanto a mensagem é tratada,
+ * como o {@code SecurityContextChannelInterceptor} do spring-security-messaging. Assim o
+ * {@code CurrentUserService} funciona nos {@code @MessageMapping} do mesmo modo que nas requisições
+ * HTTP. Os callbacks rodam na thread do pool do canal de entrada, e o contexto anterior é
+ * restaurado ao final.
+ */
+public class ContextoSegurancaStompInterceptor implements ExecutorChannelInterceptor {
+
+    private static final ThreadLocal<SecurityContext> ANTERIOR = new ThreadLocal<>();
+
+    @Override
+    public Message<?> beforeHandle(final Message<?> message, final MessageChannel channel,
+            final MessageHandler handler) {
+        ANTERIOR.set(SecurityContextHolder.getContext());
+        final SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+        if (SimpMessageHeaderAccessor.getUser(message.getHeaders()) instanceof Authentication authentication) {
+            contexto.setAuthentication(authentication);
+        }
+        SecurityContextHolder.setContext(contexto);
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(final Message<?> message, final MessageChannel channel,
+            final MessageHandler handler, final Exception ex) {
+        final SecurityContext anterior = ANTERIOR.get();
+        ANTERIOR.remove();
+        if (anterior == null || anterior.getAuthentication() == null) {
+            SecurityContextHolder.clearContext();
+        } else {
+            SecurityContextHolder.setContext(anterior);
+        }
+    }
+}
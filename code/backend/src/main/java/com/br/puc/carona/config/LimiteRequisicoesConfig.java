@@ -0,0 +1,35 @@
+package com.br.puc.carona.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.br.puc.carona.infra.ratelimit.ArmazenamentoLimite;
+import com.br.puc.carona.infra.ratelimit.ArmazenamentoLimiteLocal;
+import com.br.puc.carona.infra.ratelimit.LimitadorRequisicoes;
+
+@Configuration
+public class LimiteRequisicoesConfig {
+
+    /**
+     * Armazenamento local à instância; substituído automaticamente quando outro bean de
+     * {@link ArmazenamentoLimite} (compartilhado entre nós) é registrado.
+     */
+    @Bean
+    @ConditionalOnMissingBean(ArmazenamentoLimite.class)
+    public ArmazenamentoLimite armazenamentoLimiteLocal(
+            @Value("${app.rate-limit.local.tamanho-maximo:100000}") final long tamanhoMaximo,
+            @Value("${app.rate-limit.local.expiracao-inativo-segundos:900}") final long expiracaoInativoSegundos) {
+        return new ArmazenamentoLimiteLocal(tamanhoMaximo, Duration.ofSeconds(expiracaoInativoSegundos));
+    }
+
+    @Bean
+    public LimitadorRequisicoes limitadorRequisicoes(final ArmazenamentoLimite armazenamentoLimite,
+            final Environment environment) {
+        return new LimitadorRequisicoes(armazenamentoLimite, environment);
+    }
+}
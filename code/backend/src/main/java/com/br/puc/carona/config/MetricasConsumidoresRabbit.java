@@ -0,0 +1,58 @@
+package com.br.puc.carona.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.br.puc.carona.messaging.EventBus;
+import com.br.puc.carona.messaging.MensagemConsumer;
+import com.br.puc.carona.messaging.ParticionadorCaronas;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publica o número de consumidores ativos de cada listener RabbitMQ
+ * ({@code carona.rabbitmq.consumidores.ativos}, tag {@code listener}), para
+ * acompanhar o escalonamento entre {@code concorrencia} e
+ * {@code concorrencia-maxima}.
+ */
+@Component
+@Profile("!" + EventBus.PROFILE_LOCAL)
+@RequiredArgsConstructor
+public class MetricasConsumidoresRabbit implements MeterBinder {
+
+    private final RabbitListenerEndpointRegistry registry;
+    private final ParticionadorCaronas particionador;
+
+    @Override
+    public void bindTo(final MeterRegistry meterRegistry) {
+        final List<String> ids = new ArrayList<>(MensagemConsumer.LISTENERS);
+        ids.addAll(particionador.listeners());
+        for (final String id : ids) {
+            Gauge.builder("carona.rabbitmq.consumidores.ativos", () -> consumidoresAtivos(id))
+                    .description("Consumidores ativos por listener RabbitMQ")
+                    .tag("listener", id)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Lê o container no momento da coleta: os containers são registrados depois
+     * dos {@link MeterBinder}s, e um id ainda ausente conta como zero.
+     */
+    int consumidoresAtivos(final String id) {
+        final MessageListenerContainer container = registry.getListenerContainer(id);
+        if (container instanceof SimpleMessageListenerContainer simples) {
+            return simples.getActiveConsumerCount();
+        }
+        return 0;
+    }
+}
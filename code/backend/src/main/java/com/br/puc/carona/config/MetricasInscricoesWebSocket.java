@@ -0,0 +1,136 @@
+package com.br.puc.carona.config;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Inscrições STOMP por destino nesta instância:
+ * {@code carona.websocket.inscricoes.ativas} (gauge) e
+ * {@code carona.websocket.inscricoes} (contador de novas inscrições), com a
+ * tag {@code destino}. Segmentos numéricos viram {@code {id}}
+ * ({@code /topic/carona/{id}/location}) e só os destinos publicados pela
+ * aplicação ({@link #DESTINOS}) viram tag; qualquer outro, que o cliente pode
+ * inventar à vontade, é contado como {@value #OUTRO}. Assim a cardinalidade
+ * fica fixa, independente das caronas e dos clientes.
+ *
+ * <p>Com o broker relay cada instância conta apenas os clientes conectados a
+ * ela; o total é a soma entre instâncias.</p>
+ */
+@Component
+public class MetricasInscricoesWebSocket implements MeterBinder {
+
+    static final String OUTRO = "outro";
+
+    /** Destinos em que a aplicação publica, já normalizados. */
+    static final Set<String> DESTINOS = Set.of(
+            "/topic/notificacoes",
+            "/topic/carona/{id}/location",
+            "/topic/carona/{id}/location-enabled",
+            "/topic/carona/{id}/location-disabled",
+            "/topic/carona/{id}/iniciada",
+            "/topic/carona/{id}/finalizada",
+            "/topic/carona/{id}/desvio",
+            "/topic/user/{id}/notifications",
+            "/topic/user/{id}/eta");
+
+    private static final Pattern SEGMENTO_NUMERICO = Pattern.compile("/\\d+(?=/|$)");
+
+    /** sessão -> inscrição -> destino normalizado */
+    private final Map<String, Map<String, String>> inscricoes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> ativas = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        this.registry = registry;
+        ativas.forEach((destino, contador) -> registrarGauge(destino, contador));
+    }
+
+    @EventListener
+    public void inscrever(final SessionSubscribeEvent event) {
+        final StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null
+                || accessor.getDestination() == null) {
+            return;
+        }
+        final String destino = normalizar(accessor.getDestination());
+        final String anterior = inscricoes.computeIfAbsent(accessor.getSessionId(), s -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), destino);
+        if (anterior != null) {
+            contador(anterior).decrementAndGet();
+        }
+        contador(destino).incrementAndGet();
+        final MeterRegistry atual = registry;
+        if (atual != null) {
+            Counter.builder("carona.websocket.inscricoes")
+                    .description("Novas inscrições STOMP por destino")
+                    .tag("destino", destino)
+                    .register(atual)
+                    .increment();
+        }
+    }
+
+    @EventListener
+    public void cancelar(final SessionUnsubscribeEvent event) {
+        final StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        final Map<String, String> daSessao = accessor.getSessionId() == null
+                ? null
+                : inscricoes.get(accessor.getSessionId());
+        if (daSessao == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        final String destino = daSessao.remove(accessor.getSubscriptionId());
+        if (destino != null) {
+            contador(destino).decrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void desconectar(final SessionDisconnectEvent event) {
+        final Map<String, String> daSessao = inscricoes.remove(event.getSessionId());
+        if (daSessao != null) {
+            daSessao.values().forEach(destino -> contador(destino).decrementAndGet());
+        }
+    }
+
+    static String normalizar(final String destino) {
+        final String normalizado = SEGMENTO_NUMERICO.matcher(destino).replaceAll("/{id}");
+        return DESTINOS.contains(normalizado) ? normalizado : OUTRO;
+    }
+
+    private AtomicInteger contador(final String destino) {
+        return ativas.computeIfAbsent(destino, d -> {
+            final AtomicInteger contador = new AtomicInteger();
+            registrarGauge(d, contador);
+            return contador;
+        });
+    }
+
+    private void registrarGauge(final String destino, final AtomicInteger contador) {
+        final MeterRegistry atual = registry;
+        if (atual == null) {
+            return;
+        }
+        Gauge.builder("carona.websocket.inscricoes.ativas", contador, AtomicInteger::get)
+                .description("Inscrições STOMP ativas por destino nesta instância")
+                .tag("destino", destino)
+                .register(atual);
+    }
+}
@@ -0,0 +1,41 @@
+package com.br.puc.carona.config;
+
+import java.time.Duration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mede periodicamente o atraso da réplica executando a consulta configurada em
+ * {@code app.datasource.replica.consulta-atraso}, que deve retornar o atraso em segundos
+ * (por exemplo, a partir de uma tabela de heartbeat). Falhas na medição são tratadas como
+ * réplica atrasada, mantendo as leituras no primário até a próxima medição bem-sucedida.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MonitorAtrasoReplica {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String consultaAtraso;
+    private final ConsistenciaLeituraReplica consistencia;
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.intervalo-verificacao-ms:5000}")
+    public void verificarAtraso() {
+        consistencia.limparExpirados();
+
+        if (consultaAtraso == null || consultaAtraso.isBlank()) {
+            return;
+        }
+
+        try {
+            final Number segundos = replicaJdbcTemplate.queryForObject(consultaAtraso, Number.class);
+            consistencia.atualizarAtraso(segundos == null ? null : Duration.ofMillis(Math.round(segundos.doubleValue() * 1000)));
+        } catch (final Exception e) {
+            log.error("Falha ao medir atraso da réplica: {}", e.getMessage());
+            consistencia.atualizarAtraso(null);
+        }
+    }
+}
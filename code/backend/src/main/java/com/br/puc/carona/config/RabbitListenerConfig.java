@@ -0,0 +1,155 @@
+package com.br.puc.carona.config;
+
+import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import com.br.puc.carona.messaging.EventBus;
+import com.br.puc.carona.messaging.RecuperadorMensagens;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Container factories dos listeners RabbitMQ, uma por grupo de filas, para que
+ * solicitações de carona (presas ao OSRM), notificações e avaliações escalem de
+ * forma independente.
+ *
+ * <p>Cada grupo lê {@code app.rabbitmq.listeners.<grupo>.concorrencia},
+ * {@code concorrencia-maxima} e {@code prefetch}. Com
+ * {@code app.rabbitmq.listeners.threads-virtuais=true} os consumidores rodam em
+ * virtual threads, de modo que chamadas bloqueantes não ocupam threads de
+ * plataforma.</p>
+ *
+ * <p>O timer {@code spring.rabbitmq.listener} é registrado por listener pelo
+ * próprio container; o número de consumidores ativos é publicado por
+ * {@link MetricasConsumidoresRabbit}.</p>
+ *
+ * <p>Falhas no listener não devolvem a mensagem à fila: ela é entregue ao
+ * {@link RecuperadorMensagens}, que a agenda em uma fila de retentativa ou a
+ * envia para a DLQ (ver {@link RabbitRetryConfig}).</p>
+ *
+ * <p>O {@code @EnableRabbit} fica aqui, e não na aplicação, porque os
+ * {@code @RabbitListener} do {@code MensagemConsumer} apontam para estas
+ * factories; com o profile {@value EventBus#PROFILE_LOCAL} nenhum dos dois é
+ * registrado e os métodos são chamados diretamente pelo {@code BarramentoLocal}.</p>
+ */
+@Slf4j
+@EnableRabbit
+@Configuration
+@Profile("!" + EventBus.PROFILE_LOCAL)
+@RequiredArgsConstructor
+public class RabbitListenerConfig {
+
+    public static final String FACTORY_SOLICITACOES = "solicitacoesListenerFactory";
+    public static final String FACTORY_SOLICITACOES_URGENTES = "solicitacoesUrgentesListenerFactory";
+    public static final String FACTORY_NOTIFICACOES = "notificacoesListenerFactory";
+    public static final String FACTORY_AVALIACOES = "avaliacoesListenerFactory";
+    public static final String FACTORY_CICLO_VIDA = "cicloVidaListenerFactory";
+
+    private static final String PREFIXO = "app.rabbitmq.listeners.";
+
+    private final Environment environment;
+    private final RecuperadorMensagens recuperadorMensagens;
+
+    @Bean(name = FACTORY_SOLICITACOES)
+    public SimpleRabbitListenerContainerFactory solicitacoesListenerFactory(
+            final ConnectionFactory connectionFactory, final MessageConverter messageConverter) {
+        return criarFactory("rides-request", connectionFactory, messageConverter, 2, 8, 1);
+    }
+
+    /**
+     * Faixa das solicitações com chegada próxima: mais consumidores que a faixa
+     * normal, para que sejam atendidas primeiro quando o OSRM é o gargalo.
+     */
+    @Bean(name = FACTORY_SOLICITACOES_URGENTES)
+    public SimpleRabbitListenerContainerFactory solicitacoesUrgentesListenerFactory(
+            final ConnectionFactory connectionFactory, final MessageConverter messageConverter) {
+        return criarFactory("rides-request-urgent", connectionFactory, messageConverter, 4, 12, 1);
+    }
+
+    @Bean(name = FACTORY_NOTIFICACOES)
+    public SimpleRabbitListenerContainerFactory notificacoesListenerFactory(
+            final ConnectionFactory connectionFactory, final MessageConverter messageConverter) {
+        return criarFactory("notifications", connectionFactory, messageConverter, 2, 10, 50);
+    }
+
+    /**
+     * Filas de partição do ciclo de vida das caronas, com exatamente um
+     * consumidor por fila, independentemente da configuração, para preservar a
+     * ordem dos eventos de cada carona; o paralelismo vem do número de
+     * partições. O listener recebe lotes de até {@code tamanho-lote}
+     * mensagens, confirmados com um único ack quando ele retorna; o lote fecha
+     * antes se nenhuma mensagem chegar em {@code espera-lote-ms}.
+     */
+    @Bean(name = FACTORY_CICLO_VIDA)
+    public SimpleRabbitListenerContainerFactory cicloVidaListenerFactory(
+            final ConnectionFactory connectionFactory, final MessageConverter messageConverter) {
+        final SimpleRabbitListenerContainerFactory factory = criarFactory("ciclo-vida",
+                connectionFactory, messageConverter, 1, 1, 50);
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        return configurarLote(factory, "ciclo-vida");
+    }
+
+    @Bean(name = FACTORY_AVALIACOES)
+    public SimpleRabbitListenerContainerFactory avaliacoesListenerFactory(
+            final ConnectionFactory connectionFactory, final MessageConverter messageConverter) {
+        return criarFactory("avaliacoes", connectionFactory, messageConverter, 1, 4, 10);
+    }
+
+    SimpleRabbitListenerContainerFactory criarFactory(final String grupo,
+            final ConnectionFactory connectionFactory,
+            final MessageConverter messageConverter,
+            final int concorrenciaPadrao,
+            final int concorrenciaMaximaPadrao,
+            final int prefetchPadrao) {
+        final int concorrencia = lerInteiro(grupo, "concorrencia", concorrenciaPadrao);
+        final int concorrenciaMaxima = Math.max(concorrencia,
+                lerInteiro(grupo, "concorrencia-maxima", concorrenciaMaximaPadrao));
+        final int prefetch = lerInteiro(grupo, "prefetch", prefetchPadrao);
+        final boolean threadsVirtuais = environment.getProperty(PREFIXO + "threads-virtuais", Boolean.class, false);
+
+        final SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        factory.setConcurrentConsumers(concorrencia);
+        factory.setMaxConcurrentConsumers(concorrenciaMaxima);
+        factory.setPrefetchCount(prefetch);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(1)
+                .recoverer(recuperadorMensagens)
+                .build());
+        if (threadsVirtuais) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("rabbit-" + grupo + "-"));
+        }
+
+        log.info("Listeners RabbitMQ '{}': consumidores {}-{}, prefetch {}, threads virtuais {}",
+                grupo, concorrencia, concorrenciaMaxima, prefetch, threadsVirtuais);
+        return factory;
+    }
+
+    private SimpleRabbitListenerContainerFactory configurarLote(final SimpleRabbitListenerContainerFactory factory,
+            final String grupo) {
+        final int tamanhoLote = lerInteiro(grupo, "tamanho-lote", 50);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(tamanhoLote);
+        factory.setPrefetchCount(Math.max(tamanhoLote, lerInteiro(grupo, "prefetch", 50)));
+        factory.setReceiveTimeout((long) lerInteiro(grupo, "espera-lote-ms", 200));
+        return factory;
+    }
+
+    private int lerInteiro(final String grupo, final String propriedade, final int padrao) {
+        final Integer valor = environment.getProperty(PREFIXO + grupo + "." + propriedade, Integer.class);
+        return valor != null && valor > 0 ? valor : padrao;
+    }
+}
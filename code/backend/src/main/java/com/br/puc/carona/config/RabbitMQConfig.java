@@ -8,20 +8,24 @@ import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
-import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.br.puc.carona.constants.RotasMensageria;
+import com.br.puc.carona.messaging.ConversorMensagens;
+import com.br.puc.carona.messaging.EventBus;
 
 @Configuration
+@Profile("!" + EventBus.PROFILE_LOCAL)
 public class RabbitMQConfig {
 
     @Value("${app.rabbitmq.exchanges.carpool}")
     private String carpoolExchange;
 
-    @Value("${app.rabbitmq.queues.notifications}")
-    private String notificationsQueue;
+    @Value("${app.rabbitmq.queues.pedidos-entrada}")
+    private String pedidosEntradaQueue;
 
     @Value("${app.rabbitmq.queues.rides-created}")
     private String ridesCreatedQueue;
@@ -32,6 +36,9 @@ public class RabbitMQConfig {
     @Value("${app.rabbitmq.queues.rides-request}")
     private String ridesRequestQueue;
 
+    @Value("${app.rabbitmq.queues.rides-request-urgent}")
+    private String ridesRequestUrgentQueue;
+
     @Value("${app.rabbitmq.queues.avaliacoes}")
     private String avaliacaoQueue;
 
@@ -50,16 +57,19 @@ public class RabbitMQConfig {
     @Value("${spring.rabbitmq.password}")
     private String ampqPassword;
 
-    // Message converter
+    @Value("${app.rabbitmq.codificacao:smile}")
+    private String codificacao;
+
+    // Message converter: Smile ou JSON na publicação, os dois na leitura
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public ConversorMensagens messageConverter() {
+        return new ConversorMensagens(codificacao);
     }
 
     @Bean
     public RabbitTemplate rabbitTemplate() {
         RabbitTemplate template = new RabbitTemplate(connectionFactory());
-        template.setMessageConverter(jsonMessageConverter());
+        template.setMessageConverter(messageConverter());
         return template;
     }
 
@@ -74,6 +84,8 @@ public class RabbitMQConfig {
         connectionFactory.setPort(ampqPort);
         connectionFactory.setUsername(ampqUsername);
         connectionFactory.setPassword(ampqPassword);
+        // Confirms por mensagem usados pelo RelayOutbox
+        connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
         return connectionFactory;
     }
 
@@ -96,17 +108,31 @@ public class RabbitMQConfig {
     public Queue ridesRequestDlq() {
         return QueueBuilder.durable(ridesRequestQueue + ".dlq").build();
     }
+
     @Bean
-    public Queue notificationsQueue() {
-        return QueueBuilder.durable(notificationsQueue)
+    public Queue ridesRequestUrgentQueue() {
+        return QueueBuilder.durable(ridesRequestUrgentQueue)
                 .withArgument("x-dead-letter-exchange", "")
-                .withArgument("x-dead-letter-routing-key", notificationsQueue + ".dlq")
+                .withArgument("x-dead-letter-routing-key", ridesRequestUrgentQueue + ".dlq")
                 .build();
     }
 
     @Bean
-    public Queue notificationsDlq() {
-        return QueueBuilder.durable(notificationsQueue + ".dlq").build();
+    public Queue ridesRequestUrgentDlq() {
+        return QueueBuilder.durable(ridesRequestUrgentQueue + ".dlq").build();
+    }
+
+    @Bean
+    public Queue pedidosEntradaQueue() {
+        return QueueBuilder.durable(pedidosEntradaQueue)
+                .withArgument("x-dead-letter-exchange", "")
+                .withArgument("x-dead-letter-routing-key", pedidosEntradaQueue + ".dlq")
+                .build();
+    }
+
+    @Bean
+    public Queue pedidosEntradaDlq() {
+        return QueueBuilder.durable(pedidosEntradaQueue + ".dlq").build();
     }
 
     @Bean
@@ -150,11 +176,11 @@ public class RabbitMQConfig {
 
     // Bindings
     @Bean
-    public Binding notificationsBinding() {
+    public Binding pedidosEntradaBinding() {
         return BindingBuilder
-                .bind(notificationsQueue())
+                .bind(pedidosEntradaQueue())
                 .to(carpoolExchange())
-                .with("notification.#");
+                .with(RotasMensageria.PEDIDO_ENTRADA_CRIADO);
     }
 
     @Bean
@@ -178,7 +204,15 @@ public class RabbitMQConfig {
         return BindingBuilder
                 .bind(ridesRequestQueue())
                 .to(carpoolExchange())
-                .with("ride.request");
+                .with(RotasMensageria.SOLICITACAO_CARONA);
+    }
+
+    @Bean
+    public Binding ridesRequestUrgentBinding() {
+        return BindingBuilder
+                .bind(ridesRequestUrgentQueue())
+                .to(carpoolExchange())
+                .with(RotasMensageria.SOLICITACAO_CARONA_URGENTE);
     }
 
     @Bean
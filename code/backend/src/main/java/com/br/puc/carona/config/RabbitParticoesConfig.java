@@ -0,0 +1,87 @@
+package com.br.puc.carona.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.br.puc.carona.messaging.ConsumidorCicloVidaCaronas;
+import com.br.puc.carona.messaging.EventBus;
+import com.br.puc.carona.messaging.ParticionadorCaronas;
+import com.br.puc.carona.messaging.RecuperadorMensagens;
+
+/**
+ * Filas de partição do ciclo de vida das caronas ({@code <prefixo>.<n>}), cada
+ * uma com a sua DLQ e filas de retentativa, ligadas ao exchange
+ * {@code carpool.topic} pelas routing keys {@code <evento>.<n>}. Registra um
+ * listener por partição, todos com o {@link ConsumidorCicloVidaCaronas}.
+ *
+ * <p>As filas usam {@code x-single-active-consumer}: com várias instâncias da
+ * aplicação apenas um consumidor recebe mensagens de cada partição, e outro
+ * assume automaticamente se ele cair.</p>
+ */
+@Configuration
+@Profile("!" + EventBus.PROFILE_LOCAL)
+public class RabbitParticoesConfig implements RabbitListenerConfigurer {
+
+    private final ParticionadorCaronas particionador;
+    private final ConsumidorCicloVidaCaronas consumidor;
+    private final SimpleRabbitListenerContainerFactory cicloVidaListenerFactory;
+
+    public RabbitParticoesConfig(final ParticionadorCaronas particionador,
+            final ConsumidorCicloVidaCaronas consumidor,
+            @Qualifier(RabbitListenerConfig.FACTORY_CICLO_VIDA)
+            final SimpleRabbitListenerContainerFactory cicloVidaListenerFactory) {
+        this.particionador = particionador;
+        this.consumidor = consumidor;
+        this.cicloVidaListenerFactory = cicloVidaListenerFactory;
+    }
+
+    @Bean
+    public Declarables filasParticionadas(final TopicExchange carpoolExchange,
+            final RecuperadorMensagens recuperadorMensagens) {
+        final List<Declarable> declaraveis = new ArrayList<>();
+
+        for (int particao = 0; particao < particionador.getParticoesConsumidas(); particao++) {
+            final String nome = particionador.fila(particao);
+            final Queue fila = QueueBuilder.durable(nome)
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(RecuperadorMensagens.filaMorta(nome))
+                    .singleActiveConsumer()
+                    .build();
+            declaraveis.add(fila);
+            declaraveis.add(QueueBuilder.durable(RecuperadorMensagens.filaMorta(nome)).build());
+            declaraveis.addAll(RabbitRetryConfig.criarFilasRetentativa(nome, recuperadorMensagens.getAtrasosMs()));
+
+            for (final String rota : ParticionadorCaronas.ROTAS_PARTICIONADAS) {
+                declaraveis.add(BindingBuilder.bind(fila).to(carpoolExchange).with(rota + "." + particao));
+            }
+        }
+        return new Declarables(declaraveis);
+    }
+
+    @Override
+    public void configureRabbitListeners(final RabbitListenerEndpointRegistrar registrar) {
+        for (int particao = 0; particao < particionador.getParticoesConsumidas(); particao++) {
+            final SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+            endpoint.setId(ParticionadorCaronas.PREFIXO_LISTENER + particao);
+            endpoint.setQueueNames(particionador.fila(particao));
+            endpoint.setBatchListener(true);
+            endpoint.setMessageListener(consumidor);
+            registrar.registerEndpoint(endpoint, cicloVidaListenerFactory);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.br.puc.carona.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.br.puc.carona.messaging.EventBus;
+import com.br.puc.carona.messaging.RecuperadorMensagens;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Filas de retentativa com atraso. Para cada fila principal declarada em
+ * {@link RabbitMQConfig} é criada uma fila {@code <fila>.retry.<n>} por nível
+ * de {@code app.rabbitmq.retry.atrasos-ms}, sem consumidores: a mensagem fica
+ * parada até o TTL vencer e volta, pelo dead-letter, para a fila original.
+ */
+@Slf4j
+@Configuration
+@Profile("!" + EventBus.PROFILE_LOCAL)
+public class RabbitRetryConfig {
+
+    @Bean
+    public Declarables filasRetentativa(final List<Queue> filas, final RecuperadorMensagens recuperadorMensagens) {
+        final List<Long> atrasos = recuperadorMensagens.getAtrasosMs();
+        final List<Declarable> declaraveis = new ArrayList<>();
+
+        for (final Queue fila : filas) {
+            if (!principal(fila.getName())) {
+                continue;
+            }
+            declaraveis.addAll(criarFilasRetentativa(fila.getName(), atrasos));
+        }
+
+        log.info("Filas de retentativa declaradas: {} (atrasos {} ms)", declaraveis.size(), atrasos);
+        return new Declarables(declaraveis);
+    }
+
+    /**
+     * Uma fila de espera por nível de atraso, devolvendo a mensagem a {@code fila}.
+     */
+    public static List<Queue> criarFilasRetentativa(final String fila, final List<Long> atrasos) {
+        final List<Queue> filas = new ArrayList<>(atrasos.size());
+        for (int nivel = 1; nivel <= atrasos.size(); nivel++) {
+            filas.add(QueueBuilder.durable(RecuperadorMensagens.filaRetentativa(fila, nivel))
+                    .ttl(atrasos.get(nivel - 1).intValue())
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(fila)
+                    .build());
+        }
+        return filas;
+    }
+
+    static boolean principal(final String fila) {
+        return !fila.endsWith(".dlq") && !fila.contains(".retry.");
+    }
+}
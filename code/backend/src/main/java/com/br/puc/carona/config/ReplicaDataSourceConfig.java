@@ -0,0 +1,78 @@
+package com.br.puc.carona.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Ativado pelo profile {@code replica}: o {@code spring.datasource} passa a ser o primário e
+ * {@code app.datasource.replica} a réplica de leitura. Métodos {@code @Transactional(readOnly = true)}
+ * leem da réplica, exceto quando {@link ConsistenciaLeituraReplica} exige o primário.
+ *
+ * <p>O profile também faz o Hibernate liberar a conexão ao fim de cada transação: com
+ * open-in-view a sessão dura a requisição, e sem isso o destino escolhido na primeira
+ * transação valeria para as seguintes.</p>
+ */
+@Configuration
+@Profile("replica")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ConsistenciaLeituraReplica consistenciaLeituraReplica(
+            @Value("${app.datasource.replica.janela-leitura-propria-ms:2000}") final long janelaMillis,
+            @Value("${app.datasource.replica.atraso-maximo-segundos:5}") final long atrasoMaximoSegundos) {
+        return new ConsistenciaLeituraReplica(Duration.ofMillis(janelaMillis), Duration.ofSeconds(atrasoMaximoSegundos));
+    }
+
+    @Bean
+    public DataSource primarioDataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean
+    public DataSource replicaDataSource(
+            @Value("${app.datasource.replica.url}") final String url,
+            @Value("${app.datasource.replica.username}") final String username,
+            @Value("${app.datasource.replica.password}") final String password) {
+        return DataSourceBuilder.create()
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primarioDataSource") final DataSource primario,
+            @Qualifier("replicaDataSource") final DataSource replica,
+            final ConsistenciaLeituraReplica consistencia) {
+        final RoutingDataSource routing = new RoutingDataSource(consistencia);
+        routing.setTargetDataSources(Map.of(
+                RoutingDataSource.Destino.PRIMARIO, primario,
+                RoutingDataSource.Destino.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primario);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public MonitorAtrasoReplica monitorAtrasoReplica(
+            @Qualifier("replicaDataSource") final DataSource replica,
+            @Value("${app.datasource.replica.consulta-atraso:}") final String consultaAtraso,
+            final ConsistenciaLeituraReplica consistencia) {
+        return new MonitorAtrasoReplica(new JdbcTemplate(replica), consultaAtraso, consistencia);
+    }
+}
@@ -0,0 +1,72 @@
+package com.br.puc.carona.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Encaminha conexões de transações {@code readOnly} para a réplica e as demais para o primário.
+ *
+ * <p>Deve ser envolvido por um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * o flag de somente leitura só é publicado depois do início da transação, então a conexão física
+ * precisa ser obtida apenas no primeiro comando.</p>
+ */
+@RequiredArgsConstructor
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino {
+        PRIMARIO, REPLICA
+    }
+
+    private final ConsistenciaLeituraReplica consistencia;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final String usuario = usuarioAtual();
+
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return consistencia.deveLerDoPrimario(usuario) ? Destino.PRIMARIO : Destino.REPLICA;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            registrarEscritaAoConfirmar(usuario);
+        }
+        return Destino.PRIMARIO;
+    }
+
+    private void registrarEscritaAoConfirmar(final String usuario) {
+        if (usuario == null) {
+            return;
+        }
+        final boolean jaRegistrado = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(RegistroEscrita.class::isInstance);
+        if (!jaRegistrado) {
+            TransactionSynchronizationManager.registerSynchronization(new RegistroEscrita(usuario));
+        }
+    }
+
+    private static String usuarioAtual() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @RequiredArgsConstructor
+    private final class RegistroEscrita implements TransactionSynchronization {
+
+        private final String usuario;
+
+        @Override
+        public void afterCommit() {
+            consistencia.registrarEscrita(usuario);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.br.puc.carona.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+/**
+ * Traduz os destinos {@code /topic/...} entre o formato da aplicação, com
+ * {@code /} entre os segmentos ({@code /topic/carona/10/location}), e o do
+ * plugin STOMP do RabbitMQ, que não aceita {@code /} no nome após o prefixo e
+ * usa {@code .} como separador da routing key ({@code /topic/carona.10.location}).
+ *
+ * <p>No modo relay é registrado nos canais de entrada e do broker (para o
+ * broker) e no de saída (de volta para o cliente), de modo que clientes e
+ * serviços continuam usando os destinos com {@code /}. Os segmentos não podem
+ * conter {@code .}.</p>
+ */
+public class TradutorDestinosRelay implements ChannelInterceptor {
+
+    static final String PREFIXO = "/topic/";
+
+    private final boolean paraBroker;
+
+    public TradutorDestinosRelay(final boolean paraBroker) {
+        this.paraBroker = paraBroker;
+    }
+
+    @Override
+    public Message<?> preSend(final Message<?> message, final MessageChannel channel) {
+        final String destino = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destino == null || !destino.startsWith(PREFIXO)) {
+            return message;
+        }
+        final String traduzido = paraBroker ? paraBroker(destino) : paraCliente(destino);
+        if (traduzido.equals(destino)) {
+            return message;
+        }
+
+        final MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+        if (accessor instanceof StompHeaderAccessor stomp) {
+            stomp.setDestination(traduzido);
+            stomp.setNativeHeader(StompHeaderAccessor.STOMP_DESTINATION_HEADER, traduzido);
+        } else if (accessor instanceof SimpMessageHeaderAccessor simp) {
+            simp.setDestination(traduzido);
+        } else {
+            accessor.setHeader(SimpMessageHeaderAccessor.DESTINATION_HEADER, traduzido);
+        }
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    static String paraBroker(final String destino) {
+        return PREFIXO + destino.substring(PREFIXO.length()).replace('/', '.');
+    }
+
+    static String paraCliente(final String destino) {
+        return PREFIXO + destino.substring(PREFIXO.length()).replace('.', '/');
+    }
+}
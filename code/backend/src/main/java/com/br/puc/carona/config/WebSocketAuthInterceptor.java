@@ -1,5 +1,10 @@
 package com.br.puc.carona.config;
 
+import com.br.puc.carona.infra.security.CachePrincipal;
+import com.br.puc.carona.infra.security.TokenService;
+import com.br.puc.carona.repository.UsuarioRepository;
+
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -7,16 +12,26 @@ import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Component;
 
 /**
  * Interceptor to handle WebSocket authentication by extracting 
- * Authorization header from STOMP CONNECT frames and storing it in session
+ * Authorization header from STOMP CONNECT frames and storing it in session.
+ * The token is validated through the same cached path used by the HTTP SecurityFilter
+ * and, when valid, the authenticated principal is attached to the STOMP session.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+    private final CachePrincipal cachePrincipal;
+    private final UsuarioRepository usuarioRepository;
+
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
@@ -32,6 +47,8 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                 // Store the Authorization header in session attributes for later use
                 accessor.getSessionAttributes().put("Authorization", authToken);
                 log.debug("Stored Authorization header in WebSocket session");
+
+                autenticar(accessor, authToken);
             } else {
                 log.warn("No Authorization header found in STOMP CONNECT frame");
             }
@@ -39,4 +56,22 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
         
         return message;
     }
+
+    private void autenticar(StompHeaderAccessor accessor, String authToken) {
+        String token = authToken.startsWith(BEARER) ? authToken.substring(BEARER.length()) : authToken;
+        TokenService.TokenVerificado verificado = tokenService.verificar(token);
+        if (verificado == null) {
+            log.warn("Invalid or expired token in STOMP CONNECT frame");
+            return;
+        }
+
+        CachePrincipal.PrincipalAutenticado principal = cachePrincipal.buscar(verificado.subject(), usuarioRepository::findByEmail);
+        if (principal == null) {
+            log.warn("User with email {} not found in database", verificado.subject());
+            return;
+        }
+
+        accessor.setUser(new UsernamePasswordAuthenticationToken(principal.usuario(), null, principal.authorities()));
+        log.debug("STOMP session authenticated: {}", verificado.subject());
+    }
 }
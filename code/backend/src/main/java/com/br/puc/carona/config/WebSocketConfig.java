@@ -1,26 +1,128 @@
 package com.br.puc.carona.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Broker STOMP dos destinos {@code /topic}. Em {@code app.websocket.broker.modo}
+ * = {@code simples} (padrão, usado em desenvolvimento e nos testes) o broker é
+ * o em memória do Spring e só alcança os clientes conectados a esta instância.
+ * Em {@code relay} as mensagens são repassadas ao plugin STOMP do RabbitMQ, que
+ * entrega a todas as instâncias, então as instâncias podem ser escaladas
+ * horizontalmente atrás do balanceador; os destinos são traduzidos pelo
+ * {@link TradutorDestinosRelay}.
+ *
+ * <p>Os canais de entrada, saída e do broker usam pools próprios: a saída
+ * recebe o fan-out de cada publicação (uma mensagem por inscrito) e por isso
+ * tem o maior pool por padrão.</p>
+ */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 @Slf4j(topic = "WebSocketConfig")
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    static final String MODO_RELAY = "relay";
+
+    private static final int PROCESSADORES = Runtime.getRuntime().availableProcessors();
+
+    private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+
+    @Value("${app.websocket.broker.modo:simples}")
+    private String modoBroker;
+
+    @Value("${app.websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.websocket.broker.relay.porta:61613}")
+    private int relayPorta;
+
+    @Value("${app.websocket.broker.relay.usuario:guest}")
+    private String relayUsuario;
+
+    @Value("${app.websocket.broker.relay.senha:guest}")
+    private String relaySenha;
+
+    @Value("${app.websocket.broker.relay.virtual-host:/}")
+    private String relayVirtualHost;
+
+    @Value("${app.websocket.broker.relay.heartbeat-ms:10000}")
+    private long relayHeartbeatMs;
+
+    @Value("${app.websocket.canais.entrada.threads:0}")
+    private int entradaThreads;
+
+    @Value("${app.websocket.canais.saida.threads:0}")
+    private int saidaThreads;
+
+    @Value("${app.websocket.canais.broker.threads:0}")
+    private int brokerThreads;
+
+    @Value("${app.websocket.canais.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    @Value("${app.websocket.envio.limite-tempo-ms:10000}")
+    private int limiteTempoEnvioMs;
+
+    @Value("${app.websocket.envio.limite-buffer-kb:512}")
+    private int limiteBufferEnvioKb;
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(webSocketAuthInterceptor, new ContextoSegurancaStompInterceptor());
+        if (isRelay()) {
+            registration.interceptors(new TradutorDestinosRelay(true));
+        }
+        configurarPool(registration, entradaThreads, PROCESSADORES * 2);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (isRelay()) {
+            registration.interceptors(new TradutorDestinosRelay(false));
+        }
+        configurarPool(registration, saidaThreads, PROCESSADORES * 4);
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         log.info("Configuring WebSocket message broker");
-        config.enableSimpleBroker("/topic"); // rota para enviar mensagens
+        if (isRelay()) {
+            config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPorta)
+                    .setClientLogin(relayUsuario)
+                    .setClientPasscode(relaySenha)
+                    .setSystemLogin(relayUsuario)
+                    .setSystemPasscode(relaySenha)
+                    .setVirtualHost(relayVirtualHost)
+                    .setSystemHeartbeatSendInterval(relayHeartbeatMs)
+                    .setSystemHeartbeatReceiveInterval(relayHeartbeatMs);
+            config.configureBrokerChannel().interceptors(new TradutorDestinosRelay(true));
+            log.info("WebSocket broker relay configured: {}:{} (vhost {})", relayHost, relayPorta, relayVirtualHost);
+        } else {
+            config.enableSimpleBroker("/topic"); // rota para enviar mensagens
+        }
+        configurarPool(config.configureBrokerChannel(), brokerThreads, PROCESSADORES * 2);
         config.setApplicationDestinationPrefixes("/app"); // rota que cliente envia msgs (se necessário)
         log.info("WebSocket broker configured: topics at /topic, application prefix at /app");
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(limiteTempoEnvioMs);
+        registration.setSendBufferSizeLimit(limiteBufferEnvioKb * 1024);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-eventos").setAllowedOriginPatterns("*").withSockJS();
@@ -33,4 +135,20 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws-location").setAllowedOriginPatterns("*").withSockJS();
         log.info("STOMP endpoint registered: /ws-location (for real-time location sharing)");
     }
+
+    private boolean isRelay() {
+        return MODO_RELAY.equalsIgnoreCase(modoBroker);
+    }
+
+    /**
+     * Pool fixo (core = max) com fila limitada; {@code threads} = 0 usa o
+     * padrão proporcional ao número de processadores.
+     */
+    private void configurarPool(final ChannelRegistration registration, final int threads, final int padrao) {
+        final int tamanho = threads > 0 ? threads : padrao;
+        registration.taskExecutor()
+                .corePoolSize(tamanho)
+                .maxPoolSize(tamanho)
+                .queueCapacity(capacidadeFila);
+    }
 }
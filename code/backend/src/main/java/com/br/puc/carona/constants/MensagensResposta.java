@@ -78,6 +78,7 @@ public final class MensagensResposta {
     // Comuns
     public static final String PARAMETRO_INVALIDO = "comum.parametro.invalido";
     public static final String PARAMETRO_FALTANTE = "comum.parametro.faltante";
+    public static final String CURSOR_INVALIDO = "comum.cursor.invalido";
     public static final String ENTIDADE_NAO_ENCONTRADA = "comum.cliente.entidade_nao_encontrada";
     
     // Mensagens relacionadas ao upload de arquivos
@@ -121,6 +122,22 @@ public final class MensagensResposta {
     // Usuario Banido
     public static final String USUARIO_BANIDO = "usuario.banido";
 
+    // Pareamento de solicitações de carona
+    public static final String NENHUMA_CARONA_COMPATIVEL = "solicitacao.nenhuma.carona.compativel";
+    public static final String CARONA_JA_SOLICITADA = "solicitacao.carona.ja.solicitada";
+
+    // Sincronização incremental
+    public static final String TOKEN_SINCRONIZACAO_INVALIDO = "sincronizacao.token.invalido";
+
+    // Exportações administrativas
+    public static final String PERIODO_EXPORTACAO_INVALIDO = "exportacao.periodo.invalido";
+
+    // Mensageria
+    public static final String FILA_DESCONHECIDA = "mensageria.fila.desconhecida";
+
+    // Limite de requisições
+    public static final String LIMITE_REQUISICOES_EXCEDIDO = "comum.limite.requisicoes.excedido";
+
     private MensagensResposta() {
         throw new IllegalStateException("Utility class");
     }
@@ -0,0 +1,22 @@
+package com.br.puc.carona.constants;
+
+/**
+ * Nomes das regiões do cache de segundo nível do Hibernate.
+ */
+public final class RegioesCache {
+    // Entidades
+    public static final String USUARIO = "usuario";
+    public static final String PERFIL_MOTORISTA = "perfil-motorista";
+    public static final String CARRO = "carro";
+
+    // Consultas
+    public static final String CONSULTA_USUARIO_POR_EMAIL = "consulta-usuario-por-email";
+    public static final String CONSULTA_PERFIL_POR_ESTUDANTE = "consulta-perfil-por-estudante";
+
+    // Regiões padrão do Hibernate para o cache de consultas
+    public static final String CONSULTAS_PADRAO = "default-query-results-region";
+    public static final String TIMESTAMPS_ATUALIZACAO = "default-update-timestamps-region";
+
+    private RegioesCache() {
+    }
+}
@@ -0,0 +1,22 @@
+package com.br.puc.carona.constants;
+
+/**
+ * Routing keys dos eventos publicados no exchange {@code carpool.topic}.
+ */
+public final class RotasMensageria {
+    // Caronas
+    public static final String CARONA_CANCELADA = "ride.cancelled";
+    public static final String CARONA_INICIADA = "ride.started";
+    public static final String CARONA_FINALIZADA = "ride.finished";
+
+    // Solicitações e pedidos de entrada
+    public static final String SOLICITACAO_CARONA = "ride.request";
+    public static final String SOLICITACAO_CARONA_URGENTE = "ride.request.urgent";
+    public static final String PEDIDO_ENTRADA_CRIADO = "ride.request.matched";
+
+    // Avaliações
+    public static final String AVALIACAO_CRIADA = "avaliacao.created";
+
+    private RotasMensageria() {
+    }
+}
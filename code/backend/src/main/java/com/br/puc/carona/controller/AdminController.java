@@ -1,7 +1,5 @@
 package com.br.puc.carona.controller;
 
-import java.util.List;
-
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.br.puc.carona.dto.response.CaronaDto;
+import com.br.puc.carona.dto.response.CursorPageDto;
 import com.br.puc.carona.dto.response.EstudanteDto;
 import com.br.puc.carona.dto.response.RideStatsDto;
 import com.br.puc.carona.enums.Status;
@@ -55,29 +54,35 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
     
-    @Operation(summary = "Listar usuários pendentes", description = "Retorna a lista de usuários com status pendente")
+    @Operation(summary = "Listar usuários pendentes", description = "Retorna uma página, paginada por cursor, dos usuários com status pendente")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de usuários pendentes obtida com sucesso",
-                    content = @Content(schema = @Schema(implementation = EstudanteDto.class)))
+            @ApiResponse(responseCode = "200", description = "Página de usuários pendentes obtida com sucesso",
+                    content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
     })
     @GetMapping("/pendentes")
-    public ResponseEntity<List<EstudanteDto>> getPendingUsers() {
+    public ResponseEntity<CursorPageDto<EstudanteDto>> getPendingUsers(
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "size", required = false) final Integer size) {
         log.info("Início da requisição para listar usuários pendentes");
-        List<EstudanteDto> pendingUsers = adminService.getPendingUsers();
-        log.info("Fim da requisição para listar usuários pendentes. Total encontrado: {}", pendingUsers.size());
+        CursorPageDto<EstudanteDto> pendingUsers = adminService.getPendingUsers(cursor, size);
+        log.info("Fim da requisição para listar usuários pendentes. Total retornado: {}", pendingUsers.getContent().size());
         return ResponseEntity.ok(pendingUsers);
     }
 
-    @Operation(summary = "Listar todos os usuários", description = "Retorna a lista de todos os usuários do sistema")
+    @Operation(summary = "Listar todos os usuários", description = "Retorna uma página, paginada por cursor, de todos os usuários do sistema")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de usuários obtida com sucesso",
-                    content = @Content(schema = @Schema(implementation = EstudanteDto.class)))
+            @ApiResponse(responseCode = "200", description = "Página de usuários obtida com sucesso",
+                    content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
     })
     @GetMapping("/usuarios")
-    public ResponseEntity<List<EstudanteDto>> getAllUsers() {
+    public ResponseEntity<CursorPageDto<EstudanteDto>> getAllUsers(
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "size", required = false) final Integer size) {
         log.info("Início da requisição para listar todos os usuários");
-        List<EstudanteDto> allUsers = adminService.getAllUsers();
-        log.info("Fim da requisição para listar todos os usuários. Total encontrado: {}", allUsers.size());
+        CursorPageDto<EstudanteDto> allUsers = adminService.getAllUsers(cursor, size);
+        log.info("Fim da requisição para listar todos os usuários. Total retornado: {}", allUsers.getContent().size());
         return ResponseEntity.ok(allUsers);
     }
 
@@ -14,13 +14,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.br.puc.carona.controller.docs.CaronaExamples;
 import com.br.puc.carona.dto.request.CaronaRequest;
 import com.br.puc.carona.dto.response.CaronaDto;
 import com.br.puc.carona.dto.response.CompleteRouteDto;
+import com.br.puc.carona.dto.response.CursorPageDto;
 import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.infra.ratelimit.ClasseLimite;
+import com.br.puc.carona.infra.ratelimit.LimiteRequisicoes;
 import com.br.puc.carona.service.CaronaService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -135,36 +139,42 @@ public class CaronaController {
     }
 
     @GetMapping("/estudante/{estudanteId}/ativas")
-    @Operation(summary = "Listar caronas ativas de passageiro", description = "Lista as caronas em andamento (EM_ANDAMENTO) onde um estudante participa como passageiro, priorizando caronas ativas sobre agendadas.")
+    @Operation(summary = "Listar caronas ativas de passageiro", description = "Lista as caronas em andamento (EM_ANDAMENTO) onde um estudante participa como passageiro, paginadas por cursor em ordem crescente de data/hora de partida.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de caronas ativas do passageiro obtida com sucesso",
+        @ApiResponse(responseCode = "200", description = "Página de caronas ativas do passageiro obtida com sucesso",
             content = @Content(mediaType = "application/json",
-                schema = @Schema(implementation = List.class))),
+                schema = @Schema(implementation = CursorPageDto.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
         @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
         @ApiResponse(responseCode = "404", description = "Estudante não encontrado"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<List<CaronaDto>> buscarCaronasAtivasDoPassageiro(@PathVariable final Long estudanteId) {
+    public ResponseEntity<CursorPageDto<CaronaDto>> buscarCaronasAtivasDoPassageiro(@PathVariable final Long estudanteId,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "size", required = false) final Integer size) {
         log.info("Listando caronas ativas do passageiro ID: {}", estudanteId);
-        final List<CaronaDto> caronas = caronaService.buscarCaronasAtivasDoPassageiro(estudanteId);
-        log.info("Total de caronas ativas encontradas para o passageiro: {}", caronas.size());
+        final CursorPageDto<CaronaDto> caronas = caronaService.buscarCaronasAtivasDoPassageiro(estudanteId, cursor, size);
+        log.info("Total de caronas ativas retornadas para o passageiro: {}", caronas.getContent().size());
         return ResponseEntity.ok(caronas);
     }
 
     @GetMapping("/estudante/{estudanteId}/historico")
-    @Operation(summary = "Listar histórico de caronas de passageiro", description = "Lista todas as caronas onde um estudante participou como passageiro, ordenadas por data/hora de partida decrescente.")
+    @Operation(summary = "Listar histórico de caronas de passageiro", description = "Lista as caronas onde um estudante participou como passageiro, ordenadas por data/hora de partida decrescente e paginadas por cursor.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de caronas do passageiro obtida com sucesso",
+        @ApiResponse(responseCode = "200", description = "Página de caronas do passageiro obtida com sucesso",
             content = @Content(mediaType = "application/json",
-                schema = @Schema(implementation = List.class))),
+                schema = @Schema(implementation = CursorPageDto.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
         @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
         @ApiResponse(responseCode = "404", description = "Estudante não encontrado"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<List<CaronaDto>> buscarHistoricoCaronasPassageiro(@PathVariable final Long estudanteId) {
+    public ResponseEntity<CursorPageDto<CaronaDto>> buscarHistoricoCaronasPassageiro(@PathVariable final Long estudanteId,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "size", required = false) final Integer size) {
         log.info("Listando histórico de caronas do passageiro ID: {}", estudanteId);
-        final List<CaronaDto> caronas = caronaService.buscarCaronasDoPassageiro(estudanteId);
-        log.info("Total de caronas encontradas para o passageiro: {}", caronas.size());
+        final CursorPageDto<CaronaDto> caronas = caronaService.buscarCaronasDoPassageiro(estudanteId, cursor, size);
+        log.info("Total de caronas retornadas para o passageiro: {}", caronas.getContent().size());
         return ResponseEntity.ok(caronas);
     }
 
@@ -339,6 +349,7 @@ public class CaronaController {
         return ResponseEntity.noContent().build();
     }
 
+    @LimiteRequisicoes(ClasseLimite.ROTA_COMPLETA)
     @GetMapping("/{id}/complete-route")
     @Operation(summary = "Obter rota completa com passageiros", 
               description = "Retorna a rota completa da carona incluindo todos os pontos de embarque e desembarque dos passageiros confirmados")
@@ -0,0 +1,84 @@
+package com.br.puc.carona.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.br.puc.carona.enums.ColunaExportacaoAvaliacao;
+import com.br.puc.carona.enums.ColunaExportacaoCarona;
+import com.br.puc.carona.enums.FormatoExportacao;
+import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.enums.TipoAvaliacao;
+import com.br.puc.carona.service.ExportacaoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/admin/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Exportações", description = "Exportação de dados para relatórios administrativos")
+public class ExportacaoController {
+
+    private final ExportacaoService exportacaoService;
+
+    @GetMapping("/caronas")
+    @Operation(summary = "Exportar caronas", description = "Exporta caronas em CSV ou NDJSON via streaming, com colunas selecionáveis e filtros opcionais por status e período de partida (início inclusivo, fim exclusivo)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+        @ApiResponse(responseCode = "400", description = "Período, formato ou colunas inválidos"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Usuário não tem permissão de administrador")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarCaronas(
+            @RequestParam(value = "formato", defaultValue = "CSV") final FormatoExportacao formato,
+            @RequestParam(value = "colunas", required = false) final List<ColunaExportacaoCarona> colunas,
+            @RequestParam(value = "status", required = false) final StatusCarona status,
+            @RequestParam(value = "inicio", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime inicio,
+            @RequestParam(value = "fim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime fim) {
+        log.info("Solicitação de exportação de caronas - formato: {}, colunas: {}", formato, colunas);
+        final StreamingResponseBody corpo = exportacaoService.exportarCaronas(formato, colunas, status, inicio, fim);
+        return arquivo("caronas", formato, corpo);
+    }
+
+    @GetMapping("/avaliacoes")
+    @Operation(summary = "Exportar avaliações", description = "Exporta avaliações em CSV ou NDJSON via streaming, com colunas selecionáveis e filtros opcionais por tipo e período (início inclusivo, fim exclusivo)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+        @ApiResponse(responseCode = "400", description = "Período, formato ou colunas inválidos"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Usuário não tem permissão de administrador")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarAvaliacoes(
+            @RequestParam(value = "formato", defaultValue = "CSV") final FormatoExportacao formato,
+            @RequestParam(value = "colunas", required = false) final List<ColunaExportacaoAvaliacao> colunas,
+            @RequestParam(value = "tipo", required = false) final TipoAvaliacao tipo,
+            @RequestParam(value = "inicio", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime inicio,
+            @RequestParam(value = "fim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime fim) {
+        log.info("Solicitação de exportação de avaliações - formato: {}, colunas: {}", formato, colunas);
+        final StreamingResponseBody corpo = exportacaoService.exportarAvaliacoes(formato, colunas, tipo, inicio, fim);
+        return arquivo("avaliacoes", formato, corpo);
+    }
+
+    private ResponseEntity<StreamingResponseBody> arquivo(final String nome, final FormatoExportacao formato,
+            final StreamingResponseBody corpo) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nome + "." + formato.getExtensao() + "\"")
+                .body(corpo);
+    }
+}
@@ -0,0 +1,77 @@
+package com.br.puc.carona.controller;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.br.puc.carona.dto.response.FilaMortaDto;
+import com.br.puc.carona.dto.response.MensagemFilaMortaDto;
+import com.br.puc.carona.dto.response.ReprocessamentoFilaDto;
+import com.br.puc.carona.messaging.EventBus;
+import com.br.puc.carona.service.FilaMortaService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@Profile("!" + EventBus.PROFILE_LOCAL)
+@RequestMapping("/admin/filas")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Filas mortas", description = "Inspeção e reprocessamento das DLQs do RabbitMQ")
+public class FilaMortaController {
+
+    private final FilaMortaService filaMortaService;
+
+    @GetMapping
+    @Operation(summary = "Listar DLQs", description = "Lista as filas mortas com a fila de origem e a quantidade de mensagens retidas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Filas listadas"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Usuário não tem permissão de administrador")
+    })
+    public ResponseEntity<List<FilaMortaDto>> listarFilas() {
+        return ResponseEntity.ok(filaMortaService.listarFilas());
+    }
+
+    @GetMapping("/{fila}/mensagens")
+    @Operation(summary = "Inspecionar DLQ", description = "Retorna as primeiras mensagens da fila morta, com tentativas e último erro, sem removê-las")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Mensagens retornadas"),
+        @ApiResponse(responseCode = "400", description = "Fila desconhecida"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Usuário não tem permissão de administrador")
+    })
+    public ResponseEntity<List<MensagemFilaMortaDto>> inspecionar(
+            @PathVariable final String fila,
+            @RequestParam(value = "limite", required = false) final Integer limite) {
+        log.info("Inspeção da fila morta {} - limite: {}", fila, limite);
+        return ResponseEntity.ok(filaMortaService.inspecionar(fila, limite));
+    }
+
+    @PostMapping("/{fila}/reprocessar")
+    @Operation(summary = "Reprocessar DLQ", description = "Move mensagens da fila morta de volta para a fila de origem, em ritmo controlado e com o contador de tentativas zerado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reprocessamento concluído"),
+        @ApiResponse(responseCode = "400", description = "Fila desconhecida"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Usuário não tem permissão de administrador")
+    })
+    public ResponseEntity<ReprocessamentoFilaDto> reprocessar(
+            @PathVariable final String fila,
+            @RequestParam(value = "quantidade", required = false) final Integer quantidade) {
+        log.info("Reprocessamento da fila morta {} - quantidade: {}", fila, quantidade);
+        return ResponseEntity.ok(filaMortaService.reprocessar(fila, quantidade));
+    }
+}
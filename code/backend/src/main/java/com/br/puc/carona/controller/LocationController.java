@@ -3,10 +3,14 @@ package com.br.puc.carona.controller;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import com.br.puc.carona.dto.request.LocationUpdateDto;
+import com.br.puc.carona.infra.localizacao.AcompanhamentoCaronas;
+import com.br.puc.carona.exception.custom.UnauthenticatedUserException;
+import com.br.puc.carona.service.ConflacaoLocalizacaoService;
+import com.br.puc.carona.service.CurrentUserService;
+import com.br.puc.carona.service.LocationSharingService;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +25,10 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Location Sharing", description = "Real-time location sharing for ongoing rides")
 public class LocationController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ConflacaoLocalizacaoService conflacaoLocalizacaoService;
+    private final LocationSharingService locationSharingService;
+    private final AcompanhamentoCaronas acompanhamentoCaronas;
+    private final CurrentUserService currentUserService;
 
     /**
      * Receive location updates from drivers during ongoing rides
@@ -38,13 +45,22 @@ public class LocationController {
             log.debug("Received location update for ride {} from driver", caronaId);
             log.debug("Location data: lat={}, lng={}", location.getLatitude(), location.getLongitude());
             
-            // For now, skip authentication and user validation
-            // Just broadcast the location to all passengers in this ride
-            String destination = String.format("/topic/carona/%d/location", caronaId);
-            messagingTemplate.convertAndSend(destination, location);
-            
-            log.debug("Location update broadcasted to topic: {}", destination);
+            // The STOMP session user is published to the SecurityContext by ContextoSegurancaStompInterceptor
+            final Long usuarioId = currentUserService.getCurrentUser().getId();
+
+            // Only the driver of an in-progress ride may publish its location
+            if (!locationSharingService.updateDriverLocation(caronaId, location, usuarioId)) {
+                return;
+            }
+
+            // Every authorized fix feeds the ride history used for the pickup ETA
+            acompanhamentoCaronas.registrar(caronaId, location);
+
+            // Broadcast to the passengers goes through per-ride conflation/throttling
+            conflacaoLocalizacaoService.receber(caronaId, location);
             
+        } catch (UnauthenticatedUserException e) {
+            log.warn("Location update for ride {} rejected: unauthenticated STOMP session", caronaId);
         } catch (Exception e) {
             log.error("Error processing location update for ride {}: {}", caronaId, e.getMessage(), e);
         }
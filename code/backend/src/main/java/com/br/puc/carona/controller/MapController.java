@@ -10,6 +10,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.br.puc.carona.dto.TrajetoDto;
+import com.br.puc.carona.infra.ratelimit.ClasseLimite;
+import com.br.puc.carona.infra.ratelimit.LimiteRequisicoes;
 import com.br.puc.carona.service.MapService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 public class MapController {
     private final MapService mapService;
 
+    @LimiteRequisicoes(ClasseLimite.TRAJETORIAS)
     @GetMapping("/trajectories")
     @Operation(summary = "Calcular trajetórias", description = "Calcula trajetórias (principal e alternativas) entre dois pontos com coordenadas completas")
     @ApiResponses(value = {
@@ -55,6 +58,7 @@ public class MapController {
         return ResponseEntity.ok(trajectories);
     }
 
+    @LimiteRequisicoes(ClasseLimite.TRAJETORIAS)
     @GetMapping("/trajectories-with-waypoints")
     @Operation(summary = "Calcular trajetórias com pontos de passagem", description = "Calcula trajetórias entre dois pontos passando por waypoints específicos, útil para calcular rotas com desvios para buscar passageiros")
     @ApiResponses(value = {
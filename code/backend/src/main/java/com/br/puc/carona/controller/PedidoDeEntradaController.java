@@ -14,6 +14,8 @@ import com.br.puc.carona.dto.response.DetourInfoDto;
 import com.br.puc.carona.dto.response.PedidoDeEntradaCompletoDto;
 import com.br.puc.carona.dto.response.PedidoDeEntradaDto;
 import com.br.puc.carona.enums.Status;
+import com.br.puc.carona.infra.ratelimit.ClasseLimite;
+import com.br.puc.carona.infra.ratelimit.LimiteRequisicoes;
 import com.br.puc.carona.service.PedidoDeEntradaService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -121,6 +123,7 @@ public class PedidoDeEntradaController {
         return ResponseEntity.noContent().build();
     }
 
+    @LimiteRequisicoes(ClasseLimite.DESVIO)
     @PostMapping("/{idPedido}/calculate-detour")
     @Operation(summary = "Calcular impacto da rota com desvio", description = "Calcula o impacto adicional na rota original se o pedido for aceito, incluindo tempo e distância adicionais")
     @ApiResponses(value = {
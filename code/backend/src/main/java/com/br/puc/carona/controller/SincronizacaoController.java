@@ -0,0 +1,51 @@
+package com.br.puc.carona.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.br.puc.carona.dto.response.SincronizacaoDto;
+import com.br.puc.carona.model.Estudante;
+import com.br.puc.carona.service.CurrentUserService;
+import com.br.puc.carona.service.SincronizacaoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Sincronização", description = "Sincronização incremental de dados do aplicativo")
+public class SincronizacaoController {
+
+    private final SincronizacaoService sincronizacaoService;
+    private final CurrentUserService currentUserService;
+
+    @GetMapping
+    @Operation(summary = "Sincronizar alterações", description = "Retorna as caronas, pedidos, solicitações e notificações do usuário autenticado alterados desde o token informado, além das remoções. Sem token, retorna o estado completo.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alterações obtidas com sucesso",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = SincronizacaoDto.class))),
+        @ApiResponse(responseCode = "400", description = "Token de sincronização inválido"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<SincronizacaoDto> sincronizar(
+            @RequestParam(value = "since", required = false) final String since) {
+        final Estudante estudante = currentUserService.getCurrentEstudante();
+        log.info("Início da sincronização do estudante ID: {}", estudante.getId());
+        final SincronizacaoDto resultado = sincronizacaoService.sincronizar(estudante.getId(), since);
+        log.info("Fim da sincronização do estudante ID: {} - hasMore: {}", estudante.getId(), resultado.isHasMore());
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.br.puc.carona.dto.request.SolicitacaoCaronaRequest;
 import com.br.puc.carona.dto.response.SolicitacaoCaronaDto;
+import com.br.puc.carona.infra.ratelimit.ClasseLimite;
+import com.br.puc.carona.infra.ratelimit.LimiteRequisicoes;
 import com.br.puc.carona.service.SolicitacaoCaronaService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -33,6 +35,7 @@ public class SolicitacaoCaronaController {
 
     private final SolicitacaoCaronaService solicitacaoService;
 
+    @LimiteRequisicoes(ClasseLimite.SOLICITACAO_CARONA)
     @PostMapping("/{estudanteId}")
     @Operation(summary = "Criar solicitação de carona", description = "Cria uma nova solicitação de carona para um estudante")
     @ApiResponses(value = {
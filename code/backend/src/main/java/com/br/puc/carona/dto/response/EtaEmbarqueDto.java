@@ -0,0 +1,35 @@
+package com.br.puc.carona.dto.response;
+
+import java.time.Instant;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estimativa de chegada do motorista ao ponto de embarque do passageiro")
+public class EtaEmbarqueDto {
+
+    @Schema(description = "ID da carona", example = "1")
+    private Long caronaId;
+
+    @Schema(description = "ID do passageiro", example = "2")
+    private Long passageiroId;
+
+    @Schema(description = "Tempo estimado até o embarque, em segundos", example = "240")
+    private Long segundosEstimados;
+
+    @Schema(description = "Distância restante ao longo da rota até o embarque, em metros", example = "1850.5")
+    private Double distanciaRestanteMetros;
+
+    @Schema(description = "Velocidade usada na estimativa, em m/s", example = "7.7")
+    private Double velocidadeMps;
+
+    @Schema(description = "Instante do cálculo")
+    private Instant calculadoEm;
+}
@@ -0,0 +1,19 @@
+package com.br.puc.carona.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MensagemFilaMortaDto {
+    private String messageId;
+    private String tipo;
+    private Integer tentativas;
+    private String erro;
+    private String classeErro;
+    private String payload;
+}
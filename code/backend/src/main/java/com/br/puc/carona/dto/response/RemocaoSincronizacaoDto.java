@@ -0,0 +1,23 @@
+package com.br.puc.carona.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.br.puc.carona.enums.TipoEntidadeSincronizacao;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemocaoSincronizacaoDto {
+    private TipoEntidadeSincronizacao tipo;
+    private Long id;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime removidoEm;
+}
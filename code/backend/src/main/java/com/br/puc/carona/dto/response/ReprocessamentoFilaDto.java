@@ -0,0 +1,17 @@
+package com.br.puc.carona.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReprocessamentoFilaDto {
+    private String fila;
+    private String filaDestino;
+    private Integer reprocessadas;
+    private Integer restantes;
+}
@@ -0,0 +1,32 @@
+package com.br.puc.carona.dto.response;
+
+import java.util.List;
+
+import com.br.puc.carona.dto.notification.NotificationDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de uma sincronização incremental do aplicativo.
+ * O cliente deve guardar {@code token} e enviá-lo na próxima chamada; enquanto
+ * {@code hasMore} for verdadeiro, deve repetir a chamada imediatamente.
+ * Quando {@code reset} for verdadeiro o token estava expirado e o cliente deve
+ * descartar o cache local antes de aplicar o resultado.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SincronizacaoDto {
+    private String token;
+    private boolean hasMore;
+    private boolean reset;
+    private List<CaronaSemTrajetoDTO> caronas;
+    private List<PedidoDeEntradaDto> pedidos;
+    private List<SolicitacaoCaronaDto> solicitacoes;
+    private List<NotificationDTO> notificacoes;
+    private List<RemocaoSincronizacaoDto> removidos;
+}
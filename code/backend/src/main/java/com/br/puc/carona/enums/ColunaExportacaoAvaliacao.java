@@ -0,0 +1,28 @@
+package com.br.puc.carona.enums;
+
+import java.util.function.Function;
+
+import com.br.puc.carona.model.Avaliacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Colunas disponíveis na exportação de avaliações. Apenas ids dos participantes
+ * são exportados (lidos do proxy, sem carregar o estudante), preservando o anonimato.
+ */
+@Getter
+@AllArgsConstructor
+public enum ColunaExportacaoAvaliacao {
+    ID("id", Avaliacao::getId),
+    CARONA_ID("caronaId", a -> a.getCarona().getId()),
+    AVALIADOR_ID("avaliadorId", a -> a.getAvaliador().getId()),
+    AVALIADO_ID("avaliadoId", a -> a.getAvaliado().getId()),
+    TIPO("tipo", Avaliacao::getTipo),
+    NOTA("nota", Avaliacao::getNota),
+    COMENTARIO("comentario", Avaliacao::getComentario),
+    DATA_HORA("dataHora", Avaliacao::getDataHora);
+
+    private final String nome;
+    private final Function<Avaliacao, Object> extrator;
+}
@@ -0,0 +1,33 @@
+package com.br.puc.carona.enums;
+
+import java.util.function.Function;
+
+import com.br.puc.carona.model.Carona;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Colunas disponíveis na exportação de caronas. Nenhuma delas acessa coleções,
+ * para que a exportação não dispare consultas adicionais por linha.
+ */
+@Getter
+@AllArgsConstructor
+public enum ColunaExportacaoCarona {
+    ID("id", Carona::getId),
+    STATUS("status", Carona::getStatus),
+    DATA_HORA_PARTIDA("dataHoraPartida", Carona::getDataHoraPartida),
+    DATA_HORA_CHEGADA("dataHoraChegada", Carona::getDataHoraChegada),
+    PONTO_PARTIDA("pontoPartida", Carona::getPontoPartida),
+    PONTO_DESTINO("pontoDestino", Carona::getPontoDestino),
+    VAGAS("vagas", Carona::getVagas),
+    MOTORISTA_ID("motoristaId", c -> c.getMotorista().getEstudante().getId()),
+    MOTORISTA_NOME("motoristaNome", c -> c.getMotorista().getEstudante().getNome()),
+    DISTANCIA_ESTIMADA_METROS("distanciaEstimadaMetros", Carona::getDistanciaEstimadaMetros),
+    TEMPO_ESTIMADO_SEGUNDOS("tempoEstimadoSegundos", Carona::getTempoEstimadoSegundos),
+    TEMPO_GASTO_SEGUNDOS("tempoGastoSegundos", Carona::getTempoGastoSegundos),
+    DATA_CRIACAO("dataCriacao", Carona::getDataCriacao);
+
+    private final String nome;
+    private final Function<Carona, Object> extrator;
+}
@@ -0,0 +1,16 @@
+package com.br.puc.carona.enums;
+
+import com.br.puc.carona.constants.RotasMensageria;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum FaixaPrioridade {
+    URGENTE(RotasMensageria.SOLICITACAO_CARONA_URGENTE, "urgente"),
+    NORMAL(RotasMensageria.SOLICITACAO_CARONA, "normal");
+
+    private final String routingKey;
+    private final String tag;
+}
@@ -0,0 +1,8 @@
+package com.br.puc.carona.enums;
+
+public enum StatusEventoOutbox {
+    PENDENTE,
+    PUBLICADO,
+    /** Esgotou as tentativas de publicação; não bloqueia mais os eventos seguintes da carona. */
+    FALHOU
+}
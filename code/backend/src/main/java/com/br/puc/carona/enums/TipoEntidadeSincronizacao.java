@@ -0,0 +1,8 @@
+package com.br.puc.carona.enums;
+
+public enum TipoEntidadeSincronizacao {
+    CARONA,
+    PEDIDO_ENTRADA,
+    SOLICITACAO,
+    NOTIFICACAO
+}
@@ -3,6 +3,7 @@ package com.br.puc.carona.exception;
 import java.time.LocalDateTime;
 
 import com.br.puc.carona.exception.custom.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -179,6 +180,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(LimiteRequisicoesExcedido.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ResponseEntity<ErrorResponse> handleLimiteRequisicoesExcedido(LimiteRequisicoesExcedido ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                LocalDateTime.now(),
+                ex.getLocalizedMessage(),
+                MensagensResposta.LIMITE_REQUISICOES_EXCEDIDO);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getTentarAposSegundos()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(UsuarioBanidoException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ResponseEntity<ErrorResponse> handleUsuarioBanido(UsuarioBanidoException ex, WebRequest request) {
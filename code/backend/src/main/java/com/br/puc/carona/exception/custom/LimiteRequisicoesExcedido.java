@@ -0,0 +1,18 @@
+package com.br.puc.carona.exception.custom;
+
+import java.time.Duration;
+
+import com.br.puc.carona.constants.MensagensResposta;
+
+import lombok.Getter;
+
+@Getter
+public class LimiteRequisicoesExcedido extends RuntimeException {
+    private final long tentarAposSegundos;
+
+    public LimiteRequisicoesExcedido(final Duration tentarApos) {
+        super(MensagensResposta.LIMITE_REQUISICOES_EXCEDIDO);
+        // Retry-After é expresso em segundos inteiros; arredonda para cima para não induzir nova rejeição
+        this.tentarAposSegundos = Math.max(1L, (tentarApos.toMillis() + 999) / 1000);
+    }
+}
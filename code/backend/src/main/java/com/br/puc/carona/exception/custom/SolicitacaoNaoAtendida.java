@@ -0,0 +1,12 @@
+package com.br.puc.carona.exception.custom;
+
+/**
+ * Resultado normal do pareamento de uma solicitação que não gera pedido de
+ * entrada (nenhuma carona compatível, carona já solicitada). Não é falha de
+ * infraestrutura: o consumidor conclui a mensagem em vez de tentar de novo.
+ */
+public class SolicitacaoNaoAtendida extends ErroDeCliente {
+    public SolicitacaoNaoAtendida(String mensagem) {
+        super(mensagem);
+    }
+}
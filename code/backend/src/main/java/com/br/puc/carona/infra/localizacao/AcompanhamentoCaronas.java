@@ -0,0 +1,355 @@
+package com.br.puc.carona.infra.localizacao;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.puc.carona.dto.request.LocationUpdateDto;
+import com.br.puc.carona.dto.response.EtaEmbarqueDto;
+import com.br.puc.carona.enums.Status;
+import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.mapper.TrajetoMapper;
+import com.br.puc.carona.model.Carona;
+import com.br.puc.carona.model.SolicitacaoCarona;
+import com.br.puc.carona.model.Trajeto;
+import com.br.puc.carona.repository.CaronaRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Histórico recente de posições das caronas em andamento e ETA do motorista
+ * até o ponto de embarque de cada passageiro.
+ *
+ * <p>No caminho quente ({@link #registrar}) a posição entra no
+ * {@link HistoricoPosicoes} da carona e é encaixada no trajeto principal
+ * ({@link EncaixeRota}) pelo {@link IndiceSegmentos} montado quando a carona
+ * começa, sem banco e sem percorrer todos os segmentos a cada quadro. Saídas
+ * confirmadas da rota publicam um {@link DesvioRotaEvent}, também enviado em
+ * {@code /topic/carona/{id}/desvio}.</p>
+ *
+ * <p>Em cadência baixa ({@code app.localizacao.eta.intervalo-ms}) o agendador
+ * usa o progresso encaixado na rota e a velocidade pela média exponencial do
+ * histórico para publicar o ETA em {@code /topic/user/{passageiroId}/eta};
+ * enquanto o motorista está fora da rota não há ETA. O trajeto e os embarques
+ * aprovados são carregados no início da carona e quando os passageiros mudam;
+ * caronas iniciadas em outra instância são carregadas pelo próprio agendador.
+ * O agendador só publica para caronas que o {@link RegistroCaronasEmAndamento}
+ * ainda considera em andamento, e uma carona carregada que não está mais em
+ * andamento é descartada: um quadro em trânsito depois do fim, ou o fim em
+ * outra instância, não mantém o ETA no ar.</p>
+ *
+ * <p>Os embarques são projetados no trajeto principal, que não inclui os
+ * desvios até os passageiros; a distância restante é a do ponto da rota mais
+ * próximo de cada embarque. Passageiros cujo embarque já ficou para trás não
+ * recebem ETA.</p>
+ */
+@Slf4j
+@Component
+public class AcompanhamentoCaronas implements MeterBinder {
+
+    private final CaronaRepository caronaRepository;
+    private final TrajetoMapper trajetoMapper;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RegistroCaronasEmAndamento registroCaronas;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Acompanhamento> caronas = new ConcurrentHashMap<>();
+    private final AtomicLong etasEnviados = new AtomicLong();
+    private final AtomicLong rotasCarregadas = new AtomicLong();
+    private final Map<EncaixeRota.Origem, AtomicLong> encaixes = Map.of(
+            EncaixeRota.Origem.JANELA, new AtomicLong(),
+            EncaixeRota.Origem.INDICE, new AtomicLong(),
+            EncaixeRota.Origem.FORA, new AtomicLong());
+    private final AtomicLong desvios = new AtomicLong();
+
+    /** Relógio em milissegundos; substituído nos testes. */
+    private LongSupplier relogio = System::currentTimeMillis;
+
+    @Value("${app.localizacao.historico.capacidade:32}")
+    private int capacidadeHistorico;
+
+    @Value("${app.localizacao.eta.alfa-velocidade:0.3}")
+    private double alfaVelocidade;
+
+    @Value("${app.localizacao.eta.velocidade-minima-mps:1.5}")
+    private double velocidadeMinimaMps;
+
+    @Value("${app.localizacao.inatividade-minutos:10}")
+    private long inatividadeMinutos;
+
+    @Value("${app.localizacao.encaixe.tamanho-celula-metros:100}")
+    private double tamanhoCelulaMetros;
+
+    @Value("${app.localizacao.encaixe.desvio-maximo-metros:50}")
+    private double desvioMaximoMetros;
+
+    @Value("${app.localizacao.encaixe.janela-segmentos:8}")
+    private int janelaSegmentos;
+
+    @Value("${app.localizacao.encaixe.confirmacoes-desvio:3}")
+    private int confirmacoesDesvio;
+
+    public AcompanhamentoCaronas(
+            final CaronaRepository caronaRepository,
+            final TrajetoMapper trajetoMapper,
+            final SimpMessagingTemplate messagingTemplate,
+            final ApplicationEventPublisher eventPublisher,
+            final RegistroCaronasEmAndamento registroCaronas,
+            final PlatformTransactionManager transactionManager) {
+        this.caronaRepository = caronaRepository;
+        this.trajetoMapper = trajetoMapper;
+        this.messagingTemplate = messagingTemplate;
+        this.eventPublisher = eventPublisher;
+        this.registroCaronas = registroCaronas;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Também chamado após o commit de outra transação (início da carona)
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Registra uma posição autorizada do motorista e a encaixa na rota, se já carregada. */
+    public void registrar(final Long caronaId, final LocationUpdateDto localizacao) {
+        final long instante = localizacao.getTimestamp() != null
+                ? localizacao.getTimestamp().toEpochMilli()
+                : relogio.getAsLong();
+        final Acompanhamento acompanhamento = acompanhamento(caronaId);
+        acompanhamento.ultimaRecepcaoMs = relogio.getAsLong();
+        acompanhamento.historico.registrar(localizacao.getLatitude(), localizacao.getLongitude(), instante);
+
+        final DadosRota dados = acompanhamento.dados;
+        if (dados != null && dados.encaixe() != null) {
+            encaixar(caronaId, dados.encaixe(), localizacao.getLatitude(), localizacao.getLongitude());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.localizacao.eta.intervalo-ms:15000}")
+    public void publicarEtas() {
+        final long agora = relogio.getAsLong();
+        final long inatividade = TimeUnit.MINUTES.toMillis(inatividadeMinutos);
+        caronas.forEach((caronaId, acompanhamento) -> {
+            if (agora - acompanhamento.ultimaRecepcaoMs > inatividade) {
+                caronas.remove(caronaId, acompanhamento);
+                return;
+            }
+            try {
+                if (registroCaronas.buscar(caronaId) == null) {
+                    caronas.remove(caronaId, acompanhamento);
+                    return;
+                }
+                if (acompanhamento.dados == null) {
+                    acompanhamento.dados = carregar(caronaId);
+                }
+                if (acompanhamento.dados == null) {
+                    caronas.remove(caronaId, acompanhamento);
+                    return;
+                }
+                publicar(caronaId, acompanhamento, agora);
+            } catch (Exception e) {
+                log.error("Erro ao calcular ETA da carona {}: {}", caronaId, e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Carona iniciada ou com passageiros alterados: (re)carrega o trajeto, o
+     * índice de segmentos e os embarques; carona encerrada: descarta o estado.
+     * Se o carregamento falhar aqui, o agendador tenta de novo.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCaronaAlterada(final CaronaAlteradaEvent event) {
+        if (!StatusCarona.EM_ANDAMENTO.equals(event.status())) {
+            caronas.remove(event.caronaId());
+            return;
+        }
+        final Acompanhamento acompanhamento = acompanhamento(event.caronaId());
+        acompanhamento.dados = null;
+        try {
+            acompanhamento.dados = carregar(event.caronaId());
+            if (acompanhamento.dados == null) {
+                caronas.remove(event.caronaId(), acompanhamento);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao carregar o trajeto da carona {}: {}", event.caronaId(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        Gauge.builder("carona.localizacao.acompanhamento.caronas", caronas, Map::size)
+                .description("Caronas com histórico de posições nesta instância")
+                .register(registry);
+        FunctionCounter.builder("carona.localizacao.eta.enviados", etasEnviados, AtomicLong::get)
+                .description("Estimativas de chegada enviadas aos passageiros")
+                .register(registry);
+        FunctionCounter.builder("carona.localizacao.rotas.carregadas", rotasCarregadas, AtomicLong::get)
+                .description("Trajetos e embarques carregados do banco para o cálculo do ETA")
+                .register(registry);
+        encaixes.forEach((origem, contador) ->
+                FunctionCounter.builder("carona.localizacao.encaixes", contador, AtomicLong::get)
+                        .description("Posições encaixadas na rota, pela janela do último segmento ou pelo índice")
+                        .tag("resultado", origem.name().toLowerCase())
+                        .register(registry));
+        FunctionCounter.builder("carona.localizacao.desvios", desvios, AtomicLong::get)
+                .description("Saídas da rota planejada confirmadas")
+                .register(registry);
+    }
+
+    private Acompanhamento acompanhamento(final Long caronaId) {
+        return caronas.computeIfAbsent(caronaId,
+                id -> new Acompanhamento(new HistoricoPosicoes(capacidadeHistorico), relogio.getAsLong()));
+    }
+
+    /** Serializado por carona: quadros do mesmo motorista podem chegar por threads diferentes. */
+    private void encaixar(final Long caronaId, final EncaixeRota encaixe, final double latitude,
+            final double longitude) {
+        final EncaixeRota.Resultado resultado;
+        synchronized (encaixe) {
+            resultado = encaixe.encaixar(latitude, longitude);
+        }
+        encaixes.get(resultado.origem()).incrementAndGet();
+        if (!resultado.desvioConfirmado()) {
+            return;
+        }
+        desvios.incrementAndGet();
+        final DesvioRotaEvent desvio = new DesvioRotaEvent(caronaId, latitude, longitude,
+                Instant.ofEpochMilli(relogio.getAsLong()));
+        log.info("Carona {} fora da rota planejada em ({}, {})", caronaId, latitude, longitude);
+        eventPublisher.publishEvent(desvio);
+        messagingTemplate.convertAndSend("/topic/carona/" + caronaId + "/desvio", desvio);
+    }
+
+    private void publicar(final Long caronaId, final Acompanhamento acompanhamento, final long agora) {
+        for (final EtaEmbarqueDto eta : calcular(caronaId, acompanhamento, agora)) {
+            messagingTemplate.convertAndSend("/topic/user/" + eta.getPassageiroId() + "/eta", eta);
+            etasEnviados.incrementAndGet();
+        }
+    }
+
+    private List<EtaEmbarqueDto> calcular(final Long caronaId, final Acompanhamento acompanhamento, final long agora) {
+        final DadosRota dados = acompanhamento.dados;
+        if (dados == null || dados.encaixe() == null || dados.embarques().isEmpty()) {
+            return List.of();
+        }
+        final RotaCarona.Projecao progresso;
+        synchronized (dados.encaixe()) {
+            progresso = dados.encaixe().isForaDaRota() ? null : dados.encaixe().getUltimaProjecao();
+        }
+        if (progresso == null) {
+            return List.of();
+        }
+
+        final double percorrido = progresso.distanciaAoLongo();
+        final double velocidade = velocidade(acompanhamento.historico, dados);
+        final Instant calculadoEm = Instant.ofEpochMilli(agora);
+        return dados.embarques().entrySet().stream()
+                .filter(embarque -> embarque.getValue() >= percorrido)
+                .map(embarque -> {
+                    final double restante = embarque.getValue() - percorrido;
+                    return EtaEmbarqueDto.builder()
+                            .caronaId(caronaId)
+                            .passageiroId(embarque.getKey())
+                            .segundosEstimados(Math.round(restante / velocidade))
+                            .distanciaRestanteMetros(restante)
+                            .velocidadeMps(velocidade)
+                            .calculadoEm(calculadoEm)
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Velocidade suavizada do histórico, limitada por baixo para que uma parada
+     * curta não torne o ETA infinito; sem histórico suficiente, a velocidade
+     * média prevista para o trajeto.
+     */
+    private double velocidade(final HistoricoPosicoes historico, final DadosRota dados) {
+        final double suavizada = historico.velocidadeSuavizada(alfaVelocidade);
+        final double velocidade = Double.isNaN(suavizada) ? dados.velocidadeMediaMps() : suavizada;
+        return Math.max(velocidadeMinimaMps, velocidade);
+    }
+
+    /**
+     * @return {@code null} se a carona não existe ou não está mais em andamento
+     */
+    private DadosRota carregar(final Long caronaId) {
+        rotasCarregadas.incrementAndGet();
+        return transactionTemplate.execute(status -> caronaRepository.findById(caronaId)
+                .filter(carona -> StatusCarona.EM_ANDAMENTO.equals(carona.getStatus()))
+                .map(this::dadosRota)
+                .orElse(null));
+    }
+
+    private DadosRota dadosRota(final Carona carona) {
+        final Optional<Trajeto> principal = carona.getTrajetos().stream()
+                .filter(trajeto -> Boolean.TRUE.equals(trajeto.getPrincipal()))
+                .findFirst()
+                .or(() -> carona.getTrajetos().stream().findFirst());
+        final RotaCarona rota = principal
+                .map(trajeto -> RotaCarona.de(trajetoMapper.toDto(trajeto).getCoordenadas()))
+                .orElse(null);
+        if (rota == null) {
+            log.debug("Carona {} sem trajeto utilizável para o ETA", carona.getId());
+            return new DadosRota(null, Map.of(), velocidadeMinimaMps);
+        }
+        final EncaixeRota encaixe = new EncaixeRota(new IndiceSegmentos(rota, tamanhoCelulaMetros),
+                desvioMaximoMetros, janelaSegmentos, confirmacoesDesvio);
+
+        final Map<Long, Double> embarques = new HashMap<>();
+        carona.getPedidosEntrada().stream()
+                .filter(pedido -> pedido.getStatus() == Status.APROVADO)
+                .forEach(pedido -> {
+                    final SolicitacaoCarona solicitacao = pedido.getSolicitacao();
+                    embarques.put(solicitacao.getEstudante().getId(), rota
+                            .projetar(solicitacao.getOrigemLatitude(), solicitacao.getOrigemLongitude())
+                            .distanciaAoLongo());
+                });
+
+        final Trajeto trajeto = principal.get();
+        final double velocidadeMedia = trajeto.getDistanciaMetros() != null && trajeto.getTempoSegundos() != null
+                && trajeto.getTempoSegundos() > 0
+                        ? trajeto.getDistanciaMetros() / trajeto.getTempoSegundos()
+                        : velocidadeMinimaMps;
+        return new DadosRota(encaixe, Map.copyOf(embarques), velocidadeMedia);
+    }
+
+    /**
+     * Encaixe no trajeto principal (com o índice de segmentos e o último
+     * segmento encaixado) e distância ao longo dele até o embarque de cada
+     * passageiro; {@code encaixe} nulo quando a carona não tem trajeto utilizável.
+     */
+    record DadosRota(EncaixeRota encaixe, Map<Long, Double> embarques, double velocidadeMediaMps) {
+    }
+
+    private static final class Acompanhamento {
+        private final HistoricoPosicoes historico;
+        private volatile DadosRota dados;
+        private volatile long ultimaRecepcaoMs;
+
+        private Acompanhamento(final HistoricoPosicoes historico, final long criadoEmMs) {
+            this.historico = historico;
+            this.ultimaRecepcaoMs = criadoEmMs;
+        }
+    }
+}
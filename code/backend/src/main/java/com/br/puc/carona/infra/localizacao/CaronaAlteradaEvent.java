@@ -0,0 +1,27 @@
+package com.br.puc.carona.infra.localizacao;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.model.Carona;
+import com.br.puc.carona.model.Estudante;
+
+/**
+ * Publicado quando o status ou os passageiros de uma carona mudam. Consumido
+ * por {@link RegistroCaronasEmAndamento} após o commit. Os IDs são dos
+ * estudantes (os mesmos do principal autenticado).
+ */
+public record CaronaAlteradaEvent(Long caronaId, StatusCarona status, Long motoristaId, Set<Long> passageirosIds) {
+
+    /** Deve ser chamado com a sessão do Hibernate aberta (motorista e passageiros são lazy). */
+    public static CaronaAlteradaEvent de(final Carona carona) {
+        return new CaronaAlteradaEvent(
+                carona.getId(),
+                carona.getStatus(),
+                carona.getMotorista().getEstudante().getId(),
+                carona.getPassageiros() == null
+                        ? Set.of()
+                        : carona.getPassageiros().stream().map(Estudante::getId).collect(Collectors.toSet()));
+    }
+}
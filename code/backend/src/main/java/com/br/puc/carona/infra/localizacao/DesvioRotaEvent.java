@@ -0,0 +1,11 @@
+package com.br.puc.carona.infra.localizacao;
+
+import java.time.Instant;
+
+/**
+ * Publicado quando o motorista sai da rota planejada da carona (posições
+ * seguidas além do desvio máximo), para quem precisar recalcular a rota ou
+ * avisar os passageiros. Também enviado em {@code /topic/carona/{id}/desvio}.
+ */
+public record DesvioRotaEvent(Long caronaId, double latitude, double longitude, Instant detectadoEm) {
+}
@@ -0,0 +1,83 @@
+package com.br.puc.carona.infra.localizacao;
+
+/**
+ * Encaixe incremental das posições de uma carona na rota planejada. A busca
+ * começa pelos segmentos logo depois do último encaixado (a carona anda para a
+ * frente); só quando o ponto não cabe nessa janela o {@link IndiceSegmentos} é
+ * consultado. Uma posição a mais de {@code desvioMaximoMetros} de qualquer
+ * segmento conta como fora da rota, e o desvio é confirmado depois de
+ * {@code confirmacoes} posições seguidas fora, para que um fix ruim do GPS não
+ * dispare um novo cálculo de rota.
+ *
+ * <p>Guarda estado por carona e não é thread-safe; o chamador serializa as
+ * chamadas da mesma carona.</p>
+ */
+public final class EncaixeRota {
+
+    /** Como a posição foi resolvida. */
+    public enum Origem { JANELA, INDICE, FORA }
+
+    /**
+     * Resultado do encaixe: a projeção na rota (nula quando fora), a origem e
+     * se esta posição confirmou um novo desvio.
+     */
+    public record Resultado(RotaCarona.Projecao projecao, Origem origem, boolean desvioConfirmado) {
+    }
+
+    private final IndiceSegmentos indice;
+    private final double desvioMaximoMetros;
+    private final int janelaSegmentos;
+    private final int confirmacoes;
+
+    private RotaCarona.Projecao ultimaProjecao;
+    private int ultimoSegmento = -1;
+    private int foraConsecutivas;
+    private boolean foraDaRota;
+
+    public EncaixeRota(final IndiceSegmentos indice, final double desvioMaximoMetros, final int janelaSegmentos,
+            final int confirmacoes) {
+        this.indice = indice;
+        this.desvioMaximoMetros = desvioMaximoMetros;
+        this.janelaSegmentos = janelaSegmentos;
+        this.confirmacoes = confirmacoes;
+    }
+
+    public Resultado encaixar(final double latitude, final double longitude) {
+        if (ultimoSegmento >= 0) {
+            final RotaCarona.Projecao local = indice.rota().projetar(latitude, longitude,
+                    ultimoSegmento - 1, ultimoSegmento + janelaSegmentos);
+            if (local != null && local.desvioMetros() <= desvioMaximoMetros) {
+                return aceitar(local, Origem.JANELA);
+            }
+        }
+
+        final RotaCarona.Projecao global = indice.maisProximo(latitude, longitude, desvioMaximoMetros);
+        if (global != null) {
+            return aceitar(global, Origem.INDICE);
+        }
+
+        foraConsecutivas++;
+        final boolean confirmado = !foraDaRota && foraConsecutivas >= confirmacoes;
+        if (confirmado) {
+            foraDaRota = true;
+        }
+        return new Resultado(null, Origem.FORA, confirmado);
+    }
+
+    public boolean isForaDaRota() {
+        return foraDaRota;
+    }
+
+    /** Última posição encaixada na rota; {@code null} antes do primeiro encaixe. */
+    public RotaCarona.Projecao getUltimaProjecao() {
+        return ultimaProjecao;
+    }
+
+    private Resultado aceitar(final RotaCarona.Projecao projecao, final Origem origem) {
+        ultimaProjecao = projecao;
+        ultimoSegmento = projecao.segmento();
+        foraConsecutivas = 0;
+        foraDaRota = false;
+        return new Resultado(projecao, origem, false);
+    }
+}
@@ -0,0 +1,77 @@
+package com.br.puc.carona.infra.localizacao;
+
+/**
+ * Buffer circular de tamanho fixo com as posições recentes de uma carona, em
+ * arrays primitivos alocados uma única vez: o custo de memória por carona é
+ * constante ({@code capacidade} × 24 bytes) e registrar uma posição não aloca.
+ *
+ * <p>Há um único escritor lógico (o motorista), mas os quadros podem chegar
+ * por threads diferentes do canal de entrada e a leitura é feita pelo
+ * agendador do ETA, então os métodos são sincronizados no próprio buffer;
+ * sem disputa, o custo é o de um lock não contendido.</p>
+ */
+public final class HistoricoPosicoes {
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] instantesMs;
+    private int proximo;
+    private int tamanho;
+
+    public HistoricoPosicoes(final int capacidade) {
+        if (capacidade < 2) {
+            throw new IllegalArgumentException("Capacidade mínima do histórico é 2");
+        }
+        this.latitudes = new double[capacidade];
+        this.longitudes = new double[capacidade];
+        this.instantesMs = new long[capacidade];
+    }
+
+    /** Registra a posição; posições fora de ordem ou repetidas no tempo são ignoradas. */
+    public synchronized void registrar(final double latitude, final double longitude, final long instanteMs) {
+        if (tamanho > 0 && instanteMs <= instantesMs[indice(tamanho - 1)]) {
+            return;
+        }
+        latitudes[proximo] = latitude;
+        longitudes[proximo] = longitude;
+        instantesMs[proximo] = instanteMs;
+        proximo = (proximo + 1) % latitudes.length;
+        tamanho = Math.min(tamanho + 1, latitudes.length);
+    }
+
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    /** Última posição como {@code [latitude, longitude]}, ou {@code null} se vazio. */
+    public synchronized double[] ultima() {
+        if (tamanho == 0) {
+            return null;
+        }
+        final int i = indice(tamanho - 1);
+        return new double[] { latitudes[i], longitudes[i] };
+    }
+
+    /**
+     * Velocidade suavizada em m/s: média móvel exponencial das velocidades
+     * entre posições consecutivas, da mais antiga para a mais recente, com
+     * peso {@code alfa} para a mais nova. {@code NaN} com menos de duas posições.
+     */
+    public synchronized double velocidadeSuavizada(final double alfa) {
+        double media = Double.NaN;
+        for (int k = 1; k < tamanho; k++) {
+            final int anterior = indice(k - 1);
+            final int atual = indice(k);
+            final double segundos = (instantesMs[atual] - instantesMs[anterior]) / 1000.0;
+            final double velocidade = RotaCarona.distanciaMetros(latitudes[anterior], longitudes[anterior],
+                    latitudes[atual], longitudes[atual]) / segundos;
+            media = Double.isNaN(media) ? velocidade : alfa * velocidade + (1 - alfa) * media;
+        }
+        return media;
+    }
+
+    /** Índice físico da {@code k}-ésima posição, da mais antiga (0) para a mais recente. */
+    private int indice(final int k) {
+        return (proximo - tamanho + k + latitudes.length) % latitudes.length;
+    }
+}
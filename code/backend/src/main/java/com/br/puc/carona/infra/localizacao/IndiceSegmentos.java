@@ -0,0 +1,105 @@
+package com.br.puc.carona.infra.localizacao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grade uniforme sobre os segmentos de uma {@link RotaCarona}: cada célula de
+ * {@code tamanhoCelulaMetros} guarda os índices dos segmentos cuja caixa
+ * envolvente a toca. A busca do segmento mais próximo de um ponto examina só as
+ * células dentro do raio pedido, em vez de todos os segmentos da rota.
+ *
+ * <p>Construída uma vez por carona e imutável depois disso; as coordenadas são
+ * convertidas para metros num plano local centrado no primeiro vértice, o que
+ * basta para a extensão de uma carona urbana.</p>
+ */
+public final class IndiceSegmentos {
+
+    private static final double METROS_POR_GRAU = Math.toRadians(1) * 6_371_000;
+    private static final int[] VAZIO = new int[0];
+
+    private final RotaCarona rota;
+    private final double tamanhoCelula;
+    private final double latitudeOrigem;
+    private final double longitudeOrigem;
+    private final double cosLatitude;
+    private final Map<Long, int[]> celulas;
+
+    public IndiceSegmentos(final RotaCarona rota, final double tamanhoCelulaMetros) {
+        this.rota = rota;
+        this.tamanhoCelula = tamanhoCelulaMetros;
+        this.latitudeOrigem = rota.latitude(0);
+        this.longitudeOrigem = rota.longitude(0);
+        this.cosLatitude = Math.cos(Math.toRadians(latitudeOrigem));
+
+        final Map<Long, List<Integer>> construcao = new HashMap<>();
+        for (int i = 0; i < rota.segmentos(); i++) {
+            final int segmento = i;
+            final int x0 = celula(x(rota.longitude(i)));
+            final int x1 = celula(x(rota.longitude(i + 1)));
+            final int y0 = celula(y(rota.latitude(i)));
+            final int y1 = celula(y(rota.latitude(i + 1)));
+            for (int cx = Math.min(x0, x1); cx <= Math.max(x0, x1); cx++) {
+                for (int cy = Math.min(y0, y1); cy <= Math.max(y0, y1); cy++) {
+                    construcao.computeIfAbsent(chave(cx, cy), c -> new ArrayList<>()).add(segmento);
+                }
+            }
+        }
+        final Map<Long, int[]> porCelula = new HashMap<>();
+        construcao.forEach((chave, segmentos) ->
+                porCelula.put(chave, segmentos.stream().mapToInt(Integer::intValue).toArray()));
+        this.celulas = Map.copyOf(porCelula);
+    }
+
+    public RotaCarona rota() {
+        return rota;
+    }
+
+    public int celulas() {
+        return celulas.size();
+    }
+
+    /**
+     * Segmento mais próximo do ponto entre os que estão nas células a até
+     * {@code raioMetros}; {@code null} se nenhum está a essa distância.
+     */
+    public RotaCarona.Projecao maisProximo(final double latitude, final double longitude, final double raioMetros) {
+        final double px = x(longitude);
+        final double py = y(latitude);
+        final int x0 = celula(px - raioMetros);
+        final int x1 = celula(px + raioMetros);
+        final int y0 = celula(py - raioMetros);
+        final int y1 = celula(py + raioMetros);
+
+        RotaCarona.Projecao melhor = null;
+        for (int cx = x0; cx <= x1; cx++) {
+            for (int cy = y0; cy <= y1; cy++) {
+                for (final int segmento : celulas.getOrDefault(chave(cx, cy), VAZIO)) {
+                    final RotaCarona.Projecao projecao = rota.projetarNoSegmento(segmento, latitude, longitude);
+                    if (melhor == null || projecao.desvioMetros() < melhor.desvioMetros()) {
+                        melhor = projecao;
+                    }
+                }
+            }
+        }
+        return melhor != null && melhor.desvioMetros() <= raioMetros ? melhor : null;
+    }
+
+    private double x(final double longitude) {
+        return (longitude - longitudeOrigem) * cosLatitude * METROS_POR_GRAU;
+    }
+
+    private double y(final double latitude) {
+        return (latitude - latitudeOrigem) * METROS_POR_GRAU;
+    }
+
+    private int celula(final double metros) {
+        return (int) Math.floor(metros / tamanhoCelula);
+    }
+
+    private static long chave(final int cx, final int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+}
@@ -0,0 +1,169 @@
+package com.br.puc.carona.infra.localizacao;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.repository.CaronaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caronas em andamento nesta instância, com o motorista e os passageiros de
+ * cada uma, para autorizar os quadros de localização com uma consulta ao mapa
+ * em vez de ir ao banco a cada GPS ping.
+ *
+ * <p>As entradas são mantidas pelos {@link CaronaAlteradaEvent}s publicados
+ * pelo {@code CaronaService}: o início registra, a finalização e o
+ * cancelamento removem. Uma carona ausente (iniciada em outra instância ou
+ * antes de um restart) é carregada do banco uma vez. Toda entrada, inclusive
+ * as registradas pelos eventos locais, é revalidada no banco a cada
+ * {@code revalidacao-minutos}, já que a finalização ou o cancelamento podem
+ * acontecer em outra instância e o evento só chega à que os executou; as que
+ * vencem sem novos quadros são removidas periodicamente. Caronas que não
+ * estão em andamento ficam num cache negativo curto, para que quadros
+ * inválidos não virem uma consulta cada.</p>
+ */
+@Slf4j
+@Component
+public class RegistroCaronasEmAndamento implements MeterBinder {
+
+    /**
+     * Carona em andamento; {@code revalidarEm} em nanossegundos do {@code relogio}.
+     */
+    public record CaronaEmAndamento(Long caronaId, Long motoristaId, Set<Long> passageirosIds, long revalidarEm) {
+
+        boolean isValida(final long agora) {
+            return agora - revalidarEm < 0;
+        }
+
+        public boolean isParticipante(final Long estudanteId) {
+            return motoristaId.equals(estudanteId) || passageirosIds.contains(estudanteId);
+        }
+    }
+
+    private final CaronaRepository caronaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, CaronaEmAndamento> caronas = new ConcurrentHashMap<>();
+    private final Cache<Long, Boolean> fora;
+    private final long revalidacaoNanos;
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong carregamentos = new AtomicLong();
+
+    /** Relógio em nanossegundos; substituído nos testes. */
+    private LongSupplier relogio = System::nanoTime;
+
+    public RegistroCaronasEmAndamento(
+            final CaronaRepository caronaRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${app.localizacao.registro.revalidacao-minutos:5}") final long revalidacaoMinutos,
+            @Value("${app.localizacao.registro.ttl-ausentes-segundos:30}") final long ttlAusentesSegundos) {
+        this.caronaRepository = caronaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.revalidacaoNanos = TimeUnit.MINUTES.toNanos(revalidacaoMinutos);
+        this.fora = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlAusentesSegundos))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    /** O estudante é o motorista da carona em andamento. */
+    public boolean isMotorista(final Long caronaId, final Long estudanteId) {
+        final CaronaEmAndamento carona = buscar(caronaId);
+        return carona != null && carona.motoristaId().equals(estudanteId);
+    }
+
+    /**
+     * Retorna a carona se estiver em andamento, carregando-a do banco quando
+     * não está no registro ou precisa ser revalidada; {@code null} caso contrário.
+     */
+    public CaronaEmAndamento buscar(final Long caronaId) {
+        final CaronaEmAndamento carona = caronas.get(caronaId);
+        if (carona != null && carona.isValida(relogio.getAsLong())) {
+            acertos.incrementAndGet();
+            return carona;
+        }
+        if (carona == null && fora.getIfPresent(caronaId) != null) {
+            acertos.incrementAndGet();
+            return null;
+        }
+        carregamentos.incrementAndGet();
+        return carregar(caronaId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCaronaAlterada(final CaronaAlteradaEvent event) {
+        if (StatusCarona.EM_ANDAMENTO.equals(event.status())) {
+            caronas.put(event.caronaId(), new CaronaEmAndamento(event.caronaId(), event.motoristaId(),
+                    Set.copyOf(event.passageirosIds()), relogio.getAsLong() + revalidacaoNanos));
+            fora.invalidate(event.caronaId());
+            log.debug("Carona {} registrada como em andamento", event.caronaId());
+        } else {
+            caronas.remove(event.caronaId());
+            fora.put(event.caronaId(), Boolean.TRUE);
+            log.debug("Carona {} fora do registro (status {})", event.caronaId(), event.status());
+        }
+    }
+
+    /**
+     * Remove as entradas vencidas: sem novos quadros, uma carona encerrada em
+     * outra instância nunca seria revalidada e ficaria no registro.
+     */
+    @Scheduled(fixedDelayString = "${app.localizacao.registro.limpeza-ms:60000}")
+    public void removerVencidas() {
+        final long agora = relogio.getAsLong();
+        caronas.values().removeIf(carona -> !carona.isValida(agora));
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        Gauge.builder("carona.localizacao.registro.caronas", caronas, Map::size)
+                .description("Caronas em andamento no registro desta instância")
+                .register(registry);
+        FunctionCounter.builder("carona.localizacao.registro.consultas", acertos, AtomicLong::get)
+                .description("Autorizações resolvidas pelo registro em memória")
+                .tag("resultado", "memoria")
+                .register(registry);
+        FunctionCounter.builder("carona.localizacao.registro.consultas", carregamentos, AtomicLong::get)
+                .description("Autorizações que precisaram carregar a carona do banco")
+                .tag("resultado", "banco")
+                .register(registry);
+    }
+
+    private CaronaEmAndamento carregar(final Long caronaId) {
+        final CaronaAlteradaEvent atual = transactionTemplate.execute(status -> caronaRepository.findById(caronaId)
+                .map(CaronaAlteradaEvent::de)
+                .orElse(null));
+        if (atual == null || !StatusCarona.EM_ANDAMENTO.equals(atual.status())) {
+            caronas.remove(caronaId);
+            fora.put(caronaId, Boolean.TRUE);
+            return null;
+        }
+        final long agora = relogio.getAsLong();
+        final CaronaEmAndamento carona = new CaronaEmAndamento(caronaId, atual.motoristaId(),
+                Set.copyOf(atual.passageirosIds()), agora + revalidacaoNanos);
+        // Uma entrada válida registrada entretanto (pelo evento local) prevalece sobre a lida do banco
+        return caronas.merge(caronaId, carona,
+                (existente, nova) -> existente.isValida(agora) ? existente : nova);
+    }
+}
@@ -0,0 +1,126 @@
+package com.br.puc.carona.infra.localizacao;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Polilinha do trajeto principal de uma carona em arrays primitivos, com a
+ * distância acumulada até cada vértice, para projetar posições e medir a
+ * distância restante ao longo da rota sem alocar por consulta.
+ *
+ * <p>As coordenadas seguem o formato de {@code Trajeto.coordenadas}:
+ * {@code [latitude, longitude]}. A projeção em cada segmento usa uma
+ * aproximação plana local (equiretangular), suficiente para segmentos de rua.</p>
+ */
+public final class RotaCarona {
+
+    private static final double RAIO_TERRA_METROS = 6_371_000;
+    private static final double METROS_POR_GRAU = Math.toRadians(1) * RAIO_TERRA_METROS;
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] acumulado;
+
+    private RotaCarona(final double[] latitudes, final double[] longitudes) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.acumulado = new double[latitudes.length];
+        for (int i = 1; i < latitudes.length; i++) {
+            acumulado[i] = acumulado[i - 1]
+                    + distanciaMetros(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+        }
+    }
+
+    /** Retorna {@code null} quando a polilinha tem menos de dois pontos válidos. */
+    public static RotaCarona de(final List<List<Double>> coordenadas) {
+        if (coordenadas == null) {
+            return null;
+        }
+        final double[] latitudes = new double[coordenadas.size()];
+        final double[] longitudes = new double[coordenadas.size()];
+        int n = 0;
+        for (final List<Double> ponto : coordenadas) {
+            if (ponto == null || ponto.size() < 2 || ponto.get(0) == null || ponto.get(1) == null) {
+                continue;
+            }
+            latitudes[n] = ponto.get(0);
+            longitudes[n] = ponto.get(1);
+            n++;
+        }
+        if (n < 2) {
+            return null;
+        }
+        return new RotaCarona(Arrays.copyOf(latitudes, n), Arrays.copyOf(longitudes, n));
+    }
+
+    public int segmentos() {
+        return latitudes.length - 1;
+    }
+
+    public double comprimentoMetros() {
+        return acumulado[acumulado.length - 1];
+    }
+
+    /** Distância ao longo da rota do ponto mais próximo de ({@code latitude}, {@code longitude}). */
+    public Projecao projetar(final double latitude, final double longitude) {
+        return projetar(latitude, longitude, 0, segmentos() - 1);
+    }
+
+    /** Projeção restrita aos segmentos {@code primeiro..ultimo} (inclusive). */
+    public Projecao projetar(final double latitude, final double longitude, final int primeiro, final int ultimo) {
+        Projecao melhor = null;
+        for (int i = Math.max(0, primeiro); i <= Math.min(ultimo, segmentos() - 1); i++) {
+            final Projecao projecao = projetarNoSegmento(i, latitude, longitude);
+            if (melhor == null || projecao.desvioMetros() < melhor.desvioMetros()) {
+                melhor = projecao;
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Projeta o ponto no segmento {@code i}: {@code t} é a fração do segmento
+     * (0 a 1) e o desvio, a distância do ponto à rota.
+     */
+    public Projecao projetarNoSegmento(final int i, final double latitude, final double longitude) {
+        final double cosLat = Math.cos(Math.toRadians(latitudes[i]));
+        final double bx = (longitudes[i + 1] - longitudes[i]) * cosLat * METROS_POR_GRAU;
+        final double by = (latitudes[i + 1] - latitudes[i]) * METROS_POR_GRAU;
+        final double px = (longitude - longitudes[i]) * cosLat * METROS_POR_GRAU;
+        final double py = (latitude - latitudes[i]) * METROS_POR_GRAU;
+
+        final double comprimento2 = bx * bx + by * by;
+        final double t = comprimento2 == 0
+                ? 0
+                : Math.max(0, Math.min(1, (px * bx + py * by) / comprimento2));
+        final double dx = px - t * bx;
+        final double dy = py - t * by;
+        final double ao = acumulado[i] + t * (acumulado[i + 1] - acumulado[i]);
+        return new Projecao(i, ao, Math.sqrt(dx * dx + dy * dy));
+    }
+
+    public double latitude(final int vertice) {
+        return latitudes[vertice];
+    }
+
+    public double longitude(final int vertice) {
+        return longitudes[vertice];
+    }
+
+    /**
+     * Ponto projetado na rota: segmento, distância desde o início da rota e
+     * distância do ponto original até a rota, em metros.
+     */
+    public record Projecao(int segmento, double distanciaAoLongo, double desvioMetros) {
+    }
+
+    /** Distância de Haversine em metros. */
+    public static double distanciaMetros(final double lat1, final double lng1, final double lat2, final double lng2) {
+        final double dLat = Math.toRadians(lat2 - lat1);
+        final double dLng = Math.toRadians(lng2 - lng1);
+        final double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * RAIO_TERRA_METROS * Math.atan2(Math.sqrt(h), Math.sqrt(1 - h));
+    }
+}
@@ -0,0 +1,14 @@
+package com.br.puc.carona.infra.ratelimit;
+
+/**
+ * Armazena o estado dos baldes de fichas. A implementação padrão é local à instância
+ * ({@link ArmazenamentoLimiteLocal}); em cluster, basta registrar um bean desta interface apoiado
+ * em um armazenamento compartilhado (ex.: Redis com script atômico) para substituí-la.
+ */
+public interface ArmazenamentoLimite {
+
+    /**
+     * Tenta consumir uma ficha do balde identificado por {@code chave}.
+     */
+    DecisaoLimite consumir(String chave, OrcamentoLimite orcamento);
+}
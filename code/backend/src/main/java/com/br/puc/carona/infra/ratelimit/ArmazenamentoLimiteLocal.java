@@ -0,0 +1,56 @@
+package com.br.puc.carona.infra.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Balde de fichas em memória e sem bloqueios.
+ *
+ * <p>Cada balde é um único {@link AtomicLong} com o instante teórico ({@code tat}) em que o balde estaria
+ * cheio novamente (formulação GCRA, equivalente ao token bucket). Consumir uma ficha avança o {@code tat}
+ * em um intervalo; a requisição é negada quando isso ultrapassaria a capacidade do balde. A atualização é
+ * feita por CAS, sem locks. Baldes sem acesso por mais de {@code expiracaoInativo} são descartados.</p>
+ */
+public class ArmazenamentoLimiteLocal implements ArmazenamentoLimite {
+
+    private final Cache<String, AtomicLong> baldes;
+    private final LongSupplier relogioNanos;
+
+    public ArmazenamentoLimiteLocal(final long tamanhoMaximo, final Duration expiracaoInativo) {
+        this(tamanhoMaximo, expiracaoInativo, System::nanoTime);
+    }
+
+    ArmazenamentoLimiteLocal(final long tamanhoMaximo, final Duration expiracaoInativo, final LongSupplier relogioNanos) {
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterAccess(expiracaoInativo)
+                .build();
+        this.relogioNanos = relogioNanos;
+    }
+
+    @Override
+    public DecisaoLimite consumir(final String chave, final OrcamentoLimite orcamento) {
+        final long intervalo = orcamento.intervaloNanos();
+        final long tolerancia = intervalo * orcamento.capacidade();
+        final AtomicLong tat = baldes.get(chave, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            final long agora = relogioNanos.getAsLong();
+            final long atual = tat.get();
+            final long base = atual == Long.MIN_VALUE ? agora : Math.max(atual, agora);
+            final long novo = base + intervalo;
+            final long ocupado = novo - agora;
+
+            if (ocupado > tolerancia) {
+                return DecisaoLimite.negada(Duration.ofNanos(ocupado - tolerancia));
+            }
+            if (tat.compareAndSet(atual, novo)) {
+                return DecisaoLimite.permitida((tolerancia - ocupado) / intervalo);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.br.puc.carona.infra.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Classes de endpoints que compartilham o mesmo orçamento de requisições por usuário.
+ * Todas disparam chamadas ao serviço de rotas (OSRM).
+ */
+@Getter
+@AllArgsConstructor
+public enum ClasseLimite {
+    TRAJETORIAS("trajetorias", 30, 60),
+    DESVIO("desvio", 20, 60),
+    ROTA_COMPLETA("rota-completa", 30, 60),
+    SOLICITACAO_CARONA("solicitacao-carona", 10, 60);
+
+    /** Chave usada nas propriedades {@code app.rate-limit.<chave>.*} e nas métricas. */
+    private final String chave;
+    private final int capacidadePadrao;
+    private final long periodoPadraoSegundos;
+}
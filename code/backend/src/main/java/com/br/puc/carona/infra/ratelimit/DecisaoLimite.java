@@ -0,0 +1,21 @@
+package com.br.puc.carona.infra.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Resultado de uma tentativa de consumo de ficha.
+ *
+ * @param permitido     se a requisição pode prosseguir
+ * @param restantes     fichas restantes após a decisão
+ * @param tentarApos    espera até haver uma ficha disponível (zero quando permitido)
+ */
+public record DecisaoLimite(boolean permitido, long restantes, Duration tentarApos) {
+
+    public static DecisaoLimite permitida(final long restantes) {
+        return new DecisaoLimite(true, restantes, Duration.ZERO);
+    }
+
+    public static DecisaoLimite negada(final Duration tentarApos) {
+        return new DecisaoLimite(false, 0L, tentarApos);
+    }
+}
@@ -0,0 +1,91 @@
+package com.br.puc.carona.infra.ratelimit;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Aplica os orçamentos de requisições por usuário e classe de endpoint.
+ *
+ * <p>Orçamentos são lidos de {@code app.rate-limit.<classe>.capacidade} e
+ * {@code app.rate-limit.<classe>.periodo-segundos}, com os padrões definidos em {@link ClasseLimite}.
+ * As decisões são contadas em {@code carona.rate_limit.decisoes} (tags {@code classe} e {@code resultado}).</p>
+ */
+@Slf4j
+public class LimitadorRequisicoes implements MeterBinder {
+
+    private final ArmazenamentoLimite armazenamento;
+    private final boolean habilitado;
+    private final Map<ClasseLimite, OrcamentoLimite> orcamentos = new EnumMap<>(ClasseLimite.class);
+    private volatile Map<ClasseLimite, Counter> permitidas = Map.of();
+    private volatile Map<ClasseLimite, Counter> negadas = Map.of();
+
+    public LimitadorRequisicoes(final ArmazenamentoLimite armazenamento, final Environment environment) {
+        this.armazenamento = armazenamento;
+        this.habilitado = environment.getProperty("app.rate-limit.habilitado", Boolean.class, true);
+        for (final ClasseLimite classe : ClasseLimite.values()) {
+            final String prefixo = "app.rate-limit." + classe.getChave();
+            final OrcamentoLimite orcamento = new OrcamentoLimite(
+                    environment.getProperty(prefixo + ".capacidade", Integer.class, classe.getCapacidadePadrao()),
+                    Duration.ofSeconds(environment.getProperty(prefixo + ".periodo-segundos", Long.class,
+                            classe.getPeriodoPadraoSegundos())));
+            orcamentos.put(classe, orcamento);
+            log.info("Limite de requisições {}: {} a cada {}", classe.getChave(), orcamento.capacidade(), orcamento.periodo());
+        }
+    }
+
+    /**
+     * Consome uma ficha do balde do usuário para a classe informada.
+     *
+     * @param classe        classe do endpoint
+     * @param identificador usuário (id) ou, sem autenticação, o endereço remoto
+     */
+    public DecisaoLimite consumir(final ClasseLimite classe, final String identificador) {
+        if (!habilitado) {
+            return DecisaoLimite.permitida(Long.MAX_VALUE);
+        }
+
+        final DecisaoLimite decisao = armazenamento.consumir(classe.getChave() + ":" + identificador, orcamentos.get(classe));
+        final Counter contador = (decisao.permitido() ? permitidas : negadas).get(classe);
+        if (contador != null) {
+            contador.increment();
+        }
+        if (!decisao.permitido()) {
+            log.warn("Limite de requisições excedido: classe={}, usuario={}, tentarApos={}",
+                    classe.getChave(), identificador, decisao.tentarApos());
+        }
+        return decisao;
+    }
+
+    public OrcamentoLimite getOrcamento(final ClasseLimite classe) {
+        return orcamentos.get(classe);
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        final Map<ClasseLimite, Counter> novasPermitidas = new EnumMap<>(ClasseLimite.class);
+        final Map<ClasseLimite, Counter> novasNegadas = new EnumMap<>(ClasseLimite.class);
+        for (final ClasseLimite classe : ClasseLimite.values()) {
+            novasPermitidas.put(classe, registrar(registry, classe, "permitida"));
+            novasNegadas.put(classe, registrar(registry, classe, "negada"));
+        }
+        this.permitidas = novasPermitidas;
+        this.negadas = novasNegadas;
+    }
+
+    private static Counter registrar(final MeterRegistry registry, final ClasseLimite classe, final String resultado) {
+        return Counter.builder("carona.rate_limit.decisoes")
+                .description("Decisões do limitador de requisições")
+                .tag("classe", classe.getChave())
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.br.puc.carona.infra.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Balde de {@code capacidade} fichas reabastecido integralmente a cada {@code periodo}.
+ */
+public record OrcamentoLimite(int capacidade, Duration periodo) {
+
+    public OrcamentoLimite {
+        if (capacidade <= 0 || periodo == null || periodo.isZero() || periodo.isNegative()) {
+            throw new IllegalArgumentException("Orçamento de limite inválido: capacidade=" + capacidade + ", periodo=" + periodo);
+        }
+    }
+
+    /** Intervalo, em nanos, para o reabastecimento de uma ficha. */
+    public long intervaloNanos() {
+        return Math.max(1L, periodo.toNanos() / capacidade);
+    }
+}
@@ -0,0 +1,102 @@
+package com.br.puc.carona.infra.security;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.br.puc.carona.model.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache dos principais autenticados, indexado pelo subject do JWT (e-mail), e conjunto em memória
+ * dos usuários banidos recentemente.
+ *
+ * <p>As authorities são calculadas no carregamento, enquanto a sessão do Hibernate ainda está aberta;
+ * o {@link Usuario} guardado fica destacado e só deve ser usado pelos seus atributos simples.
+ * Alterações publicadas via {@link UsuarioAlteradoEvent} removem a entrada após o commit; o TTL curto
+ * limita a defasagem de alterações feitas por outras instâncias.</p>
+ *
+ * <p>O conjunto de banidos só precisa cobrir principais carregados antes do banimento, então cada
+ * e-mail expira com o mesmo TTL do cache; depois disso o principal recarregado já traz o tipo
+ * {@code BANIDO}. Uma alteração posterior do usuário (reativação, exclusão) remove a marca.</p>
+ */
+@Slf4j
+@Component
+public class CachePrincipal implements MeterBinder {
+
+    public record PrincipalAutenticado(Usuario usuario, List<GrantedAuthority> authorities) {
+    }
+
+    private final Cache<String, PrincipalAutenticado> principais;
+    private final Cache<String, Boolean> banidos;
+
+    public CachePrincipal(
+            @Value("${app.security.cache-principal.ttl-segundos:60}") final long ttlSegundos,
+            @Value("${app.security.cache-principal.tamanho-maximo:10000}") final long tamanhoMaximo) {
+        this.principais = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .maximumSize(tamanhoMaximo)
+                .recordStats()
+                .build();
+        this.banidos = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .maximumSize(tamanhoMaximo)
+                .build();
+    }
+
+    /**
+     * Retorna o principal do subject, carregando-o com {@code carregador} em caso de ausência.
+     * Usuários inexistentes não são guardados.
+     */
+    public PrincipalAutenticado buscar(final String email, final Function<String, Usuario> carregador) {
+        return principais.get(email, chave -> {
+            final Usuario usuario = carregador.apply(chave);
+            if (usuario == null) {
+                return null;
+            }
+            final Collection<? extends GrantedAuthority> authorities = usuario.getAuthorities();
+            return new PrincipalAutenticado(usuario, List.copyOf(authorities));
+        });
+    }
+
+    public boolean isBanido(final String email) {
+        return email != null && banidos.getIfPresent(email) != null;
+    }
+
+    public void invalidar(final String email) {
+        principais.invalidate(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioAlterado(final UsuarioAlteradoEvent event) {
+        if (event.email() == null) {
+            return;
+        }
+        if (event.banido()) {
+            banidos.put(event.email(), Boolean.TRUE);
+            log.info("Usuário adicionado ao conjunto de banidos: {}", event.email());
+        } else {
+            banidos.invalidate(event.email());
+        }
+        invalidar(event.email());
+        log.debug("Principal invalidado no cache: {}", event.email());
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, principais, "principal");
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
@@ -64,12 +65,16 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Dispatch de conclusão de respostas assíncronas (exportações em streaming) já foi autorizado
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/usuario/estudante").permitAll()
                         .requestMatchers(HttpMethod.POST, "/usuario/admin").permitAll()
                         .requestMatchers(HttpMethod.GET, "/auth/validate").permitAll()
                         .requestMatchers("/swagger/**", "/docs/**", "/health/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/denuncia/carona/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/denuncia/{id}").hasAnyRole("USER", "ADMIN")
                         .requestMatchers(HttpMethod.GET, "/denuncia/realizadas/**").hasAnyRole("USER", "ADMIN")
@@ -80,6 +85,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/denuncia/carona/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/denuncia/status").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/denuncia/{id}/resolver").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/admin/export/**").hasRole("ADMIN")
+                        .requestMatchers("/admin/filas/**").hasRole("ADMIN")
 
                         .anyRequest().authenticated()
                 )
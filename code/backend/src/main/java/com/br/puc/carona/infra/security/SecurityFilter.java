@@ -11,7 +11,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -26,6 +25,8 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final UsuarioRepository usuarioRepository;
 
+    private final CachePrincipal cachePrincipal;
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
@@ -34,10 +35,10 @@ public class SecurityFilter extends OncePerRequestFilter {
             try {
                 var email = tokenService.validateToken(token);
                 if (email != null) {
-                    UserDetails user = usuarioRepository.findByEmail(email);
-                    
-                    if (user != null) {
-                        var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    var principal = cachePrincipal.buscar(email, usuarioRepository::findByEmail);
+
+                    if (principal != null) {
+                        var authentication = new UsernamePasswordAuthenticationToken(principal.usuario(), null, principal.authorities());
                         SecurityContextHolder.getContext().setAuthentication(authentication);
                         log.debug("User authenticated: {}", email);
                     } else {
@@ -1,28 +1,65 @@
 package com.br.puc.carona.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.br.puc.carona.model.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 
+/**
+ * Emissão e validação de JWT. O algoritmo e o verificador são imutáveis e thread-safe, então são
+ * construídos uma única vez; tokens já verificados ficam em cache até o seu {@code exp}, evitando
+ * refazer a verificação HMAC a cada requisição durante a vida do token.
+ */
 @Service
-public class TokenService {
+public class TokenService implements MeterBinder {
+
+    private static final String ISSUER = "carona";
+
+    /**
+     * Claims de um token já verificado.
+     */
+    public record TokenVerificado(String subject, Long id, Instant expiraEm) {
+    }
+
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final Cache<String, TokenVerificado> tokensVerificados;
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    public TokenService(@Value("${api.security.token.cache-tamanho-maximo:10000}") final long tamanhoMaximoCache) {
+        // Mantém a chave usada até aqui (api.security.token.secret ainda não é aplicado) para não invalidar tokens já emitidos
+        this.algorithm = Algorithm.HMAC256("secret".getBytes());
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new ExpiraNoExp())
+                .recordStats()
+                .build();
+    }
 
     public String generateToken(Usuario usuario) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256("secret".getBytes());
             String token = JWT.create()
-                    .withIssuer("carona")
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getEmail())
                     .withClaim("id", usuario.getId())
                     .withClaim("name", usuario.getNome())
@@ -38,19 +75,63 @@ public class TokenService {
     }
 
     public String validateToken(String token) {
-        try{
-            Algorithm algorithm = Algorithm.HMAC256("secret".getBytes());
-            return JWT.require(algorithm)
-                    .withIssuer("carona")
-                    .build()
-                    .verify(token)
-                    .getSubject();
-        }catch (JWTVerificationException e){
-            return "";
+        final TokenVerificado verificado = verificar(token);
+        return verificado == null ? "" : verificado.subject();
+    }
+
+    /**
+     * Verifica o token, consultando primeiro o cache de tokens já verificados.
+     *
+     * @return claims do token, ou {@code null} se o token for inválido ou estiver expirado
+     */
+    public TokenVerificado verificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        final TokenVerificado emCache = tokensVerificados.getIfPresent(token);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        try {
+            final DecodedJWT decoded = verifier.verify(token);
+            final Instant expiraEm = decoded.getExpiresAtAsInstant();
+            final TokenVerificado verificado = new TokenVerificado(
+                    decoded.getSubject(), decoded.getClaim("id").asLong(), expiraEm);
+            if (expiraEm != null) {
+                tokensVerificados.put(token, verificado);
+            }
+            return verificado;
+        } catch (JWTVerificationException e) {
+            return null;
         }
     }
 
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tokensVerificados, "tokens-verificados");
+    }
+
     private Instant generateExpirationDate() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    private static final class ExpiraNoExp implements Expiry<String, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(String token, TokenVerificado verificado, long currentTime) {
+            return Math.max(0L, verificado.expiraEm().toEpochMilli() - System.currentTimeMillis()) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, TokenVerificado verificado, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, TokenVerificado verificado, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
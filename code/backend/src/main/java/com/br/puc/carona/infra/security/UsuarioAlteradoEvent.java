@@ -0,0 +1,16 @@
+package com.br.puc.carona.infra.security;
+
+/**
+ * Publicado quando dados que compõem o principal autenticado mudam (perfil, status de cadastro,
+ * banimento ou exclusão). Consumido por {@link CachePrincipal} após o commit.
+ */
+public record UsuarioAlteradoEvent(String email, boolean banido) {
+
+    public static UsuarioAlteradoEvent alterado(final String email) {
+        return new UsuarioAlteradoEvent(email, false);
+    }
+
+    public static UsuarioAlteradoEvent banido(final String email) {
+        return new UsuarioAlteradoEvent(email, true);
+    }
+}
@@ -1,5 +1,6 @@
 package com.br.puc.carona.infra.security;
 
+import com.br.puc.carona.interceptors.LimiteRequisicoesInterceptor;
 import com.br.puc.carona.interceptors.UsuarioBanidoInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +16,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final UsuarioBanidoInterceptor usuarioBanidoInterceptor;
+    private final LimiteRequisicoesInterceptor limiteRequisicoesInterceptor;
 
 
     @Override
@@ -28,5 +30,8 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(usuarioBanidoInterceptor)
                 .addPathPatterns("/api/**") // Aplica apenas nas suas APIs
                 .excludePathPatterns("/api/auth/**"); // Exclui endpoints de autenticação
+
+        // Só age sobre handlers anotados com @LimiteRequisicoes
+        registry.addInterceptor(limiteRequisicoesInterceptor);
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.br.puc.carona.interceptors;
+
+import com.br.puc.carona.exception.custom.LimiteRequisicoesExcedido;
+import com.br.puc.carona.infra.ratelimit.DecisaoLimite;
+import com.br.puc.carona.infra.ratelimit.LimitadorRequisicoes;
+import com.br.puc.carona.infra.ratelimit.LimiteRequisicoes;
+import com.br.puc.carona.model.Usuario;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Aplica o limite de requisições aos handlers anotados com {@link LimiteRequisicoes}.
+ * O balde é por usuário autenticado (id) e classe de endpoint; sem autenticação, pelo endereço remoto.
+ */
+@Component
+@RequiredArgsConstructor
+public class LimiteRequisicoesInterceptor implements HandlerInterceptor {
+
+    static final String CABECALHO_LIMITE = "X-RateLimit-Limit";
+    static final String CABECALHO_RESTANTES = "X-RateLimit-Remaining";
+
+    private final LimitadorRequisicoes limitador;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        LimiteRequisicoes limite = handlerMethod.getMethodAnnotation(LimiteRequisicoes.class);
+        if (limite == null) {
+            return true;
+        }
+
+        DecisaoLimite decisao = limitador.consumir(limite.value(), identificador(request));
+        response.setHeader(CABECALHO_LIMITE, String.valueOf(limitador.getOrcamento(limite.value()).capacidade()));
+        response.setHeader(CABECALHO_RESTANTES, String.valueOf(Math.max(0L, decisao.restantes())));
+
+        if (!decisao.permitido()) {
+            throw new LimiteRequisicoesExcedido(decisao.tentarApos());
+        }
+        return true;
+    }
+
+    private static String identificador(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof Usuario usuario && usuario.getId() != null) {
+            return "u" + usuario.getId();
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+}
@@ -3,7 +3,7 @@ package com.br.puc.carona.interceptors;
 import com.br.puc.carona.enums.TipoUsuario;
 import com.br.puc.carona.exception.custom.UsuarioBanidoException;
 import com.br.puc.carona.model.Usuario;
-import com.br.puc.carona.repository.UsuarioRepository;
+import com.br.puc.carona.infra.security.CachePrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +18,7 @@ import org.springframework.web.servlet.HandlerInterceptor;
 @Slf4j
 public class UsuarioBanidoInterceptor implements HandlerInterceptor {
 
-    private final UsuarioRepository usuarioRepository;
+    private final CachePrincipal cachePrincipal;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
@@ -28,9 +28,11 @@ public class UsuarioBanidoInterceptor implements HandlerInterceptor {
         if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
             String email = auth.getName();
 
-            // Verifica se o usuário foi banido após o login
-            Usuario usuario = usuarioRepository.findByEmail(email);
-            if (usuario != null && TipoUsuario.BANIDO.equals(usuario.getTipoUsuario())) {
+            // Verifica se o usuário foi banido após o login: o principal vem do cache do SecurityFilter
+            // e o conjunto de banidos cobre banimentos ocorridos dentro do TTL desse cache
+            boolean banidoNoPrincipal = auth.getPrincipal() instanceof Usuario usuario
+                    && TipoUsuario.BANIDO.equals(usuario.getTipoUsuario());
+            if (banidoNoPrincipal || cachePrincipal.isBanido(email)) {
                 log.warn("Usuário banido tentando acessar sistema: {}", email);
                 throw new UsuarioBanidoException(email, "Usuário foi banido do sistema");
             }
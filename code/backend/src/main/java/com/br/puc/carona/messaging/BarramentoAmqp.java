@@ -0,0 +1,71 @@
+package com.br.puc.carona.messaging;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.br.puc.carona.model.EventoOutbox;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publica os eventos no exchange {@code carpool.topic}. O futuro de cada evento
+ * é o publisher confirm do broker; o ID do evento vai como {@code message-id},
+ * o payload é codificado pelo {@link ConversorMensagens} e os eventos do ciclo
+ * de vida das caronas recebem a partição na routing key (ver
+ * {@link ParticionadorCaronas}).
+ */
+@Component
+@Profile("!" + EventBus.PROFILE_LOCAL)
+@RequiredArgsConstructor
+public class BarramentoAmqp implements EventBus {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ParticionadorCaronas particionador;
+    private final ConversorMensagens conversorMensagens;
+
+    @Value("${app.rabbitmq.exchanges.carpool}")
+    private String carpoolExchange;
+
+    @Override
+    public CompletableFuture<Void> publicar(final EventoOutbox evento) {
+        final CorrelationData correlacao = new CorrelationData(String.valueOf(evento.getId()));
+        rabbitTemplate.send(carpoolExchange, particionador.rotear(evento.getRoutingKey(), evento.getCaronaId()),
+                toMessage(evento), correlacao);
+        return correlacao.getFuture().thenAccept(confirmacao -> {
+            if (!confirmacao.isAck()) {
+                throw new AmqpException(confirmacao.getReason());
+            }
+        });
+    }
+
+    /**
+     * Dentro de {@code invoke} o template usa um canal dedicado à thread, então
+     * os envios do lote saem pelo mesmo canal e na mesma ordem.
+     */
+    @Override
+    public <T> T emLote(final Supplier<T> envios) {
+        return rabbitTemplate.invoke(operacoes -> envios.get());
+    }
+
+    private Message toMessage(final EventoOutbox evento) {
+        final MessageProperties properties = MessagePropertiesBuilder.newInstance()
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId(String.valueOf(evento.getId()))
+                .setTimestamp(new Date())
+                .setHeader(HEADER_CHAVE_IDEMPOTENCIA, EventBus.chaveIdempotencia(evento))
+                .build();
+        return conversorMensagens.codificar(evento.getPayload(), evento.getTipoPayload(), properties);
+    }
+}
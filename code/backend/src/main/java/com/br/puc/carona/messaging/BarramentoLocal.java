@@ -0,0 +1,342 @@
+package com.br.puc.carona.messaging;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import com.br.puc.carona.constants.RotasMensageria;
+import com.br.puc.carona.messaging.contract.BaseNotificationMessageDTO;
+import com.br.puc.carona.model.EventoOutbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Barramento de eventos no próprio processo, para instalações de um único nó
+ * sem RabbitMQ (profile {@value EventBus#PROFILE_LOCAL}). Os eventos vão para
+ * {@code app.barramento-local.faixas} buffers circulares de capacidade fixa,
+ * cada um drenado por uma única thread; a faixa é escolhida pela carona (jump
+ * hash, como no {@link ParticionadorCaronas}), então os eventos de uma carona
+ * são processados na ordem de publicação e caronas diferentes em paralelo.
+ *
+ * <p>Backpressure: com a faixa cheia a publicação espera até
+ * {@code timeout-oferta-ms} e então falha; o evento continua pendente no
+ * outbox e o relay tenta de novo no próximo ciclo.</p>
+ *
+ * <p>A confirmação ao relay depende do diário ({@link DiarioEventosLocal}):
+ * com {@code app.barramento-local.diario.diretorio} configurado o evento é
+ * confirmado assim que gravado em disco e reentregue após uma queda; sem o
+ * diário a confirmação só acontece depois do processamento, e o outbox
+ * continua sendo a cópia durável (o {@link RelayOutbox} espera por ela fora
+ * da transação, com os eventos apenas reservados). Um evento ainda em processamento não é
+ * enfileirado de novo se o relay o republicar.</p>
+ *
+ * <p>Falhas seguem as regras do {@link RecuperadorMensagens}: erros
+ * permanentes e eventos que esgotam {@code app.rabbitmq.retry.max-tentativas}
+ * são descartados (e gravados em {@value DiarioEventosLocal#ARQUIVO_MORTOS}
+ * quando há diário); os demais voltam ao fim da faixa depois do atraso do
+ * nível correspondente de {@code app.rabbitmq.retry.atrasos-ms}.</p>
+ */
+@Slf4j
+@Component
+@Profile(EventBus.PROFILE_LOCAL)
+public class BarramentoLocal implements EventBus, SmartLifecycle, MeterBinder {
+
+    private final Map<String, Consumer<Message<?>>> consumidores;
+    private final ObjectMapper objectMapper;
+    private final List<ArrayBlockingQueue<Entrega>> faixas;
+    private final long timeoutOfertaMs;
+    private final List<Long> atrasosMs;
+    private final int maxTentativas;
+    private final DiarioEventosLocal diario;
+
+    private final Map<Long, Entrega> emAndamento = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("barramento-local-retentativas").daemon().factory());
+    private final List<Thread> trabalhadores = new ArrayList<>();
+
+    private final AtomicLong processados = new AtomicLong();
+    private final AtomicLong retentativas = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong rejeitados = new AtomicLong();
+
+    private volatile boolean ativo;
+
+    public BarramentoLocal(final MensagemConsumer mensagemConsumer,
+            final ProcessadorCicloVidaCaronas processadorCicloVida,
+            final ObjectMapper objectMapper,
+            @Value("${app.barramento-local.faixas:4}") final int faixas,
+            @Value("${app.barramento-local.capacidade-faixa:1024}") final int capacidadeFaixa,
+            @Value("${app.barramento-local.timeout-oferta-ms:1000}") final long timeoutOfertaMs,
+            @Value("${app.rabbitmq.retry.atrasos-ms:5000,30000,300000}") final List<Long> atrasosMs,
+            @Value("${app.rabbitmq.retry.max-tentativas:4}") final int maxTentativas,
+            @Value("${app.barramento-local.diario.diretorio:}") final String diretorioDiario,
+            @Value("${app.barramento-local.diario.tamanho-maximo-mb:64}") final long tamanhoMaximoDiarioMb) {
+        this.objectMapper = objectMapper;
+        this.timeoutOfertaMs = timeoutOfertaMs;
+        this.atrasosMs = List.copyOf(atrasosMs);
+        this.maxTentativas = maxTentativas;
+        this.faixas = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, faixas); i++) {
+            this.faixas.add(new ArrayBlockingQueue<>(capacidadeFaixa));
+        }
+        this.diario = diretorioDiario == null || diretorioDiario.isBlank()
+                ? null
+                : new DiarioEventosLocal(Path.of(diretorioDiario), objectMapper, tamanhoMaximoDiarioMb * 1024 * 1024);
+
+        final Consumer<Message<?>> cicloVida = message -> processadorCicloVida.processar(List.of(
+                new ProcessadorCicloVidaCaronas.EventoRecebido(
+                        message.getHeaders().get(HEADER_CHAVE_IDEMPOTENCIA, String.class),
+                        (BaseNotificationMessageDTO) message.getPayload())));
+        this.consumidores = Map.of(
+                RotasMensageria.SOLICITACAO_CARONA, message -> mensagemConsumer.processNewRideRequests(tipada(message)),
+                RotasMensageria.SOLICITACAO_CARONA_URGENTE,
+                message -> mensagemConsumer.processarSolicitacoesUrgentes(tipada(message)),
+                RotasMensageria.PEDIDO_ENTRADA_CRIADO, message -> mensagemConsumer.processarPedidoEntrada(tipada(message)),
+                RotasMensageria.AVALIACAO_CRIADA, message -> mensagemConsumer.processarAvaliacoes(tipada(message)),
+                RotasMensageria.CARONA_CANCELADA, cicloVida,
+                RotasMensageria.CARONA_INICIADA, cicloVida,
+                RotasMensageria.CARONA_FINALIZADA, cicloVida);
+
+        log.info("Barramento local: {} faixas de {} eventos, diário {}", this.faixas.size(), capacidadeFaixa,
+                diario == null ? "desativado" : diretorioDiario);
+    }
+
+    @Override
+    public CompletableFuture<Void> publicar(final EventoOutbox evento) {
+        final Entrega nova = new Entrega(EventoLocal.de(evento));
+        final Entrega existente = emAndamento.putIfAbsent(evento.getId(), nova);
+        if (existente != null) {
+            return existente.confirmacao;
+        }
+
+        if (diario != null) {
+            diario.registrar(nova.evento);
+        }
+        if (!ofertar(nova)) {
+            emAndamento.remove(evento.getId());
+            if (diario != null) {
+                diario.concluir(evento.getId());
+            }
+            rejeitados.incrementAndGet();
+            throw new RejectedExecutionException("Barramento local cheio: faixa " + faixa(nova.evento)
+                    + " sem espaço após " + timeoutOfertaMs + " ms");
+        }
+        if (diario != null) {
+            nova.confirmacao.complete(null);
+        }
+        return nova.confirmacao;
+    }
+
+    @Override
+    public void start() {
+        ativo = true;
+        for (int i = 0; i < faixas.size(); i++) {
+            final ArrayBlockingQueue<Entrega> faixa = faixas.get(i);
+            trabalhadores.add(Thread.ofPlatform().name("barramento-local-" + i).start(() -> drenar(faixa)));
+        }
+        if (diario != null) {
+            for (final EventoLocal evento : diario.recuperar()) {
+                final Entrega entrega = new Entrega(evento);
+                entrega.confirmacao.complete(null);
+                emAndamento.put(evento.id(), entrega);
+                try {
+                    faixas.get(faixa(evento)).put(entrega);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        ativo = false;
+        agendador.shutdownNow();
+        trabalhadores.forEach(Thread::interrupt);
+        for (final Thread trabalhador : trabalhadores) {
+            try {
+                trabalhador.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        trabalhadores.clear();
+        if (diario != null) {
+            try {
+                diario.close();
+            } catch (IOException e) {
+                log.warn("Falha ao fechar o diário de eventos: {}", e.getMessage());
+            }
+        }
+        log.info("Barramento local parado; {} eventos não processados", emAndamento.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        FunctionCounter.builder("carona.barramento.local.processados", processados, AtomicLong::get)
+                .description("Eventos processados pelo barramento local")
+                .register(registry);
+        FunctionCounter.builder("carona.barramento.local.retentativas", retentativas, AtomicLong::get)
+                .description("Eventos do barramento local reagendados após falha")
+                .register(registry);
+        FunctionCounter.builder("carona.barramento.local.descartados", descartados, AtomicLong::get)
+                .description("Eventos do barramento local descartados após esgotar as tentativas")
+                .register(registry);
+        FunctionCounter.builder("carona.barramento.local.rejeitados", rejeitados, AtomicLong::get)
+                .description("Publicações recusadas por falta de espaço no barramento local")
+                .register(registry);
+        Gauge.builder("carona.barramento.local.ocupacao", faixas,
+                        f -> f.stream().mapToInt(ArrayBlockingQueue::size).sum())
+                .description("Eventos aguardando processamento no barramento local")
+                .register(registry);
+    }
+
+    private void drenar(final ArrayBlockingQueue<Entrega> faixa) {
+        while (ativo) {
+            try {
+                processar(faixa.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void processar(final Entrega entrega) {
+        try {
+            consumidor(entrega.evento).accept(mensagem(entrega.evento));
+            processados.incrementAndGet();
+            concluir(entrega);
+        } catch (RuntimeException e) {
+            falhar(entrega, e);
+        }
+    }
+
+    private void falhar(final Entrega entrega, final RuntimeException falha) {
+        final Throwable erro = RecuperadorMensagens.causaRaiz(falha);
+        entrega.tentativas++;
+
+        if (RecuperadorMensagens.permanente(erro) || entrega.tentativas >= maxTentativas) {
+            log.error("Evento {} ({}) descartado após {} tentativa(s): {}", entrega.evento.id(),
+                    entrega.evento.routingKey(), entrega.tentativas, erro.getMessage(), erro);
+            descartados.incrementAndGet();
+            if (diario != null) {
+                diario.registrarMorto(entrega.evento, erro.getMessage());
+            }
+            concluir(entrega);
+            return;
+        }
+
+        final long atraso = atrasosMs.get(Math.min(entrega.tentativas, atrasosMs.size()) - 1);
+        log.warn("Evento {} ({}) falhou (tentativa {}), nova tentativa em {} ms: {}", entrega.evento.id(),
+                entrega.evento.routingKey(), entrega.tentativas, atraso, erro.getMessage());
+        retentativas.incrementAndGet();
+        reagendar(entrega, atraso);
+    }
+
+    private void reagendar(final Entrega entrega, final long atraso) {
+        if (agendador.isShutdown()) {
+            return;
+        }
+        agendador.schedule(() -> {
+            if (!faixas.get(faixa(entrega.evento)).offer(entrega)) {
+                reagendar(entrega, atrasosMs.get(0));
+            }
+        }, atraso, TimeUnit.MILLISECONDS);
+    }
+
+    private void concluir(final Entrega entrega) {
+        emAndamento.remove(entrega.evento.id());
+        if (diario != null) {
+            diario.concluir(entrega.evento.id());
+        }
+        entrega.confirmacao.complete(null);
+    }
+
+    private boolean ofertar(final Entrega entrega) {
+        try {
+            return faixas.get(faixa(entrega.evento)).offer(entrega, timeoutOfertaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    int faixa(final EventoLocal evento) {
+        if (evento.caronaId() != null) {
+            return ParticionadorCaronas.jumpHash(evento.caronaId(), faixas.size());
+        }
+        return (int) Math.floorMod(evento.id(), (long) faixas.size());
+    }
+
+    /**
+     * Eventos sem consumidor (como {@code ride.created}, que no RabbitMQ fica
+     * na fila para integrações externas) são apenas concluídos.
+     */
+    private Consumer<Message<?>> consumidor(final EventoLocal evento) {
+        return consumidores.getOrDefault(evento.routingKey(),
+                message -> log.debug("Evento {} sem consumidor no barramento local", evento.routingKey()));
+    }
+
+    private Message<?> mensagem(final EventoLocal evento) {
+        final Object payload;
+        try {
+            payload = objectMapper.readValue(evento.payload(), Class.forName(evento.tipoPayload()));
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Payload inválido no evento " + evento.id() + ": " + e.getMessage(), e);
+        }
+        return MessageBuilder.withPayload(payload)
+                .setHeader(AmqpHeaders.MESSAGE_ID, String.valueOf(evento.id()))
+                .setHeader(AmqpHeaders.TIMESTAMP, new Date(evento.publicadoEm()))
+                .setHeader(HEADER_CHAVE_IDEMPOTENCIA, evento.chaveIdempotencia())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Message<T> tipada(final Message<?> message) {
+        return (Message<T>) message;
+    }
+
+    static final class Entrega {
+
+        private final EventoLocal evento;
+        private final CompletableFuture<Void> confirmacao = new CompletableFuture<>();
+        private int tentativas;
+
+        private Entrega(final EventoLocal evento) {
+            this.evento = evento;
+        }
+    }
+}
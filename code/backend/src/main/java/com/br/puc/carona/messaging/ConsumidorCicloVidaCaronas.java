@@ -0,0 +1,48 @@
+package com.br.puc.carona.messaging;
+
+import java.util.List;
+
+import org.springframework.amqp.core.BatchMessageListener;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.br.puc.carona.messaging.ProcessadorCicloVidaCaronas.EventoRecebido;
+import com.br.puc.carona.messaging.contract.BaseNotificationMessageDTO;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Listener das filas de partição do ciclo de vida das caronas (ver
+ * {@link ParticionadorCaronas}), registrado uma vez por partição pelo
+ * {@code RabbitParticoesConfig}. O lote é convertido e entregue, na ordem de
+ * chegada e com a chave de idempotência de cada mensagem, ao
+ * {@link ProcessadorCicloVidaCaronas}.
+ */
+@Component
+@Profile("!" + EventBus.PROFILE_LOCAL)
+@RequiredArgsConstructor
+public class ConsumidorCicloVidaCaronas implements BatchMessageListener {
+
+    private final MessageConverter messageConverter;
+    private final ProcessadorCicloVidaCaronas processador;
+
+    @Override
+    public void onMessageBatch(final List<Message> messages) {
+        processador.processar(messages.stream()
+                .map(message -> new EventoRecebido(chaveIdempotencia(message),
+                        (BaseNotificationMessageDTO) messageConverter.fromMessage(message)))
+                .toList());
+    }
+
+    @Override
+    public void onMessage(final Message message) {
+        onMessageBatch(List.of(message));
+    }
+
+    private static String chaveIdempotencia(final Message message) {
+        final Object chave = message.getMessageProperties().getHeader(EventBus.HEADER_CHAVE_IDEMPOTENCIA);
+        return chave != null ? chave.toString() : message.getMessageProperties().getMessageId();
+    }
+}
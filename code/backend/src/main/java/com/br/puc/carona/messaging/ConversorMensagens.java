@@ -0,0 +1,173 @@
+package com.br.puc.carona.messaging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.lang.NonNull;
+
+import com.br.puc.carona.messaging.contract.VersoesContrato;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * Conversor das mensagens RabbitMQ com negociação pelo {@code content-type}:
+ * publica em Smile (JSON binário do Jackson) ou JSON, conforme
+ * {@code app.rabbitmq.codificacao}, e lê os dois formatos. Mensagens sem
+ * content-type Smile, como as publicadas antes da mudança ou reprocessadas da
+ * DLQ, são lidas pelo {@link Jackson2JsonMessageConverter}.
+ *
+ * <p>O Smile é gerado com referências a nomes de propriedades e a valores de
+ * texto curtos já escritos, então os nomes dos campos e os enums repetidos dos
+ * contratos ocupam poucos bytes. Cada mensagem leva a versão do contrato
+ * ({@link VersoesContrato}); uma versão maior que a conhecida é rejeitada como
+ * erro permanente.</p>
+ */
+public class ConversorMensagens implements MessageConverter {
+
+    public static final String CONTENT_TYPE_SMILE = "application/x-jackson-smile";
+
+    public static final String CODIFICACAO_SMILE = "smile";
+
+    /** Header do tipo do payload, o mesmo do {@code Jackson2JsonMessageConverter}. */
+    static final String HEADER_TIPO = "__TypeId__";
+
+    private final Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final SmileFactory smileFactory = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+    private final ObjectMapper smile = new ObjectMapper(smileFactory)
+            .findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final boolean publicarSmile;
+
+    public ConversorMensagens(final String codificacao) {
+        this.publicarSmile = CODIFICACAO_SMILE.equalsIgnoreCase(codificacao);
+    }
+
+    /**
+     * Monta a mensagem a partir do payload JSON gravado no outbox. Em Smile o
+     * JSON é transcodificado token a token, sem passar pelo DTO.
+     */
+    public Message codificar(final String payloadJson, final String tipo, final MessageProperties properties) {
+        properties.setHeader(HEADER_TIPO, tipo);
+        properties.setHeader(VersoesContrato.HEADER, VersoesContrato.versao(tipo));
+        if (!publicarSmile) {
+            properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            properties.setContentEncoding(StandardCharsets.UTF_8.name());
+            return new Message(payloadJson.getBytes(StandardCharsets.UTF_8), properties);
+        }
+
+        properties.setContentType(CONTENT_TYPE_SMILE);
+        final ByteArrayOutputStream saida = new ByteArrayOutputStream(payloadJson.length());
+        try (JsonParser parser = jsonFactory.createParser(payloadJson);
+                JsonGenerator gerador = smileFactory.createGenerator(saida)) {
+            parser.nextToken();
+            gerador.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new MessageConversionException("Payload JSON inválido para o tipo " + tipo, e);
+        }
+        return new Message(saida.toByteArray(), properties);
+    }
+
+    /**
+     * Corpo da mensagem como texto JSON, para exibição. O inverso de
+     * {@link #codificar}: Smile é transcodificado token a token.
+     */
+    public String decodificar(final Message message) {
+        final MessageProperties properties = message.getMessageProperties();
+        if (!CONTENT_TYPE_SMILE.equals(properties.getContentType())) {
+            return new String(message.getBody(), StandardCharsets.UTF_8);
+        }
+
+        final StringWriter saida = new StringWriter(message.getBody().length * 2);
+        try (JsonParser parser = smileFactory.createParser(message.getBody());
+                JsonGenerator gerador = jsonFactory.createGenerator(saida)) {
+            parser.nextToken();
+            gerador.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new MessageConversionException("Falha ao ler mensagem Smile " + properties.getMessageId(), e);
+        }
+        return saida.toString();
+    }
+
+    @Override
+    @NonNull
+    public Message toMessage(@NonNull final Object object, @NonNull final MessageProperties properties) {
+        final String tipo = object.getClass().getName();
+        if (!publicarSmile) {
+            properties.setHeader(VersoesContrato.HEADER, VersoesContrato.versao(tipo));
+            return json.toMessage(object, properties);
+        }
+        try {
+            properties.setContentType(CONTENT_TYPE_SMILE);
+            properties.setHeader(HEADER_TIPO, tipo);
+            properties.setHeader(VersoesContrato.HEADER, VersoesContrato.versao(tipo));
+            return new Message(smile.writeValueAsBytes(object), properties);
+        } catch (IOException e) {
+            throw new MessageConversionException("Falha ao codificar " + tipo + " em Smile", e);
+        }
+    }
+
+    @Override
+    @NonNull
+    public Object fromMessage(@NonNull final Message message) {
+        final MessageProperties properties = message.getMessageProperties();
+        verificarVersao(properties);
+        if (!CONTENT_TYPE_SMILE.equals(properties.getContentType())) {
+            return json.fromMessage(message);
+        }
+        try {
+            return smile.readValue(message.getBody(), smile.constructType(tipoDestino(properties)));
+        } catch (IOException e) {
+            throw new MessageConversionException("Falha ao ler mensagem Smile " + properties.getMessageId(), e);
+        }
+    }
+
+    private static void verificarVersao(final MessageProperties properties) {
+        final Object versao = properties.getHeader(VersoesContrato.HEADER);
+        if (!(versao instanceof Number numero)) {
+            return;
+        }
+        final String tipo = properties.getHeader(HEADER_TIPO);
+        if (numero.intValue() > VersoesContrato.versao(tipo)) {
+            throw new MessageConversionException("Contrato " + tipo + " na versão " + numero
+                    + ", suportada até a " + VersoesContrato.versao(tipo));
+        }
+    }
+
+    /**
+     * O tipo do parâmetro do listener tem precedência sobre o header, como no
+     * {@code Jackson2JsonMessageConverter}.
+     */
+    private static Type tipoDestino(final MessageProperties properties) {
+        final Type inferido = properties.getInferredArgumentType();
+        if (inferido != null && inferido != Object.class) {
+            return inferido;
+        }
+        final String tipo = properties.getHeader(HEADER_TIPO);
+        if (tipo == null) {
+            throw new MessageConversionException("Mensagem Smile sem o header " + HEADER_TIPO);
+        }
+        try {
+            return Class.forName(tipo);
+        } catch (ClassNotFoundException e) {
+            throw new MessageConversionException("Tipo de mensagem desconhecido: " + tipo, e);
+        }
+    }
+}
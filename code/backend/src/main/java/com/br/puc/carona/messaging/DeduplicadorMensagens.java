@@ -0,0 +1,224 @@
+package com.br.puc.carona.messaging;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.puc.carona.model.MensagemProcessada;
+import com.br.puc.carona.repository.MensagemProcessadaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Garante que cada mensagem seja processada uma única vez por consumidor,
+ * mesmo com reentregas do RabbitMQ, retentativas ou reprocessamento da DLQ.
+ *
+ * <p>A chave de idempotência vem do header {@value EventBus#HEADER_CHAVE_IDEMPOTENCIA}
+ * (ou do {@code message-id}). Antes de qualquer processamento a chave é
+ * procurada numa janela em memória das últimas mensagens concluídas e, se não
+ * estiver lá, reservada na tabela {@code mensagem_processada}, cuja constraint
+ * única impede que duas entregas simultâneas sejam processadas. O processamento
+ * e a conclusão da reserva acontecem na mesma transação; se o processamento
+ * falha a reserva é liberada para a próxima tentativa.</p>
+ */
+@Slf4j
+@Component
+public class DeduplicadorMensagens implements MeterBinder {
+
+    private final MensagemProcessadaRepository mensagemProcessadaRepository;
+    private final TransactionTemplate transacao;
+    private final TransactionTemplate transacaoIsolada;
+    private final Cache<String, Boolean> concluidas;
+    private final Duration lease;
+
+    private final AtomicLong duplicadas = new AtomicLong();
+
+    @Value("${app.mensageria.deduplicacao.retencao-horas:72}")
+    private long retencaoHoras;
+
+    public DeduplicadorMensagens(final MensagemProcessadaRepository mensagemProcessadaRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${app.mensageria.deduplicacao.janela-tamanho:10000}") final long tamanhoJanela,
+            @Value("${app.mensageria.deduplicacao.janela-minutos:60}") final long minutosJanela,
+            @Value("${app.mensageria.deduplicacao.lease-segundos:300}") final long leaseSegundos) {
+        this.mensagemProcessadaRepository = mensagemProcessadaRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacaoIsolada = new TransactionTemplate(transactionManager);
+        this.transacaoIsolada.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.concluidas = Caffeine.newBuilder()
+                .maximumSize(tamanhoJanela)
+                .expireAfterWrite(Duration.ofMinutes(minutosJanela))
+                .build();
+        this.lease = Duration.ofSeconds(leaseSegundos);
+    }
+
+    /**
+     * Executa {@code processamento} se a mensagem ainda não foi processada pelo
+     * consumidor. Sem chave, processa sem deduplicação.
+     *
+     * @return {@code false} se a mensagem é duplicada e foi ignorada
+     */
+    public boolean processarUmaVez(final String consumidor, final String chave, final Runnable processamento) {
+        if (chave == null || chave.isBlank()) {
+            processamento.run();
+            return true;
+        }
+
+        if (duplicada(consumidor, chave)) {
+            return false;
+        }
+
+        try {
+            transacao.executeWithoutResult(status -> {
+                processamento.run();
+                concluir(consumidor, chave);
+            });
+        } catch (RuntimeException e) {
+            liberar(consumidor, chave);
+            throw e;
+        }
+        concluidas.put(consumidor + ":" + chave, Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Versão em lote de {@link #processarUmaVez}: as mensagens duplicadas são
+     * descartadas e as demais processadas juntas, na ordem recebida, numa única
+     * transação com a conclusão das reservas. Se o processamento falha, as
+     * reservas de todo o lote são liberadas.
+     *
+     * @return mensagens efetivamente processadas
+     */
+    public <T> List<T> processarLoteUmaVez(final String consumidor, final List<T> mensagens,
+            final Function<T, String> chave, final Consumer<List<T>> processamento) {
+        final List<T> novas = new ArrayList<>(mensagens.size());
+        final List<String> reservadas = new ArrayList<>(mensagens.size());
+        for (final T mensagem : mensagens) {
+            final String chaveMensagem = chave.apply(mensagem);
+            if (chaveMensagem == null || chaveMensagem.isBlank()) {
+                novas.add(mensagem);
+            } else if (!duplicada(consumidor, chaveMensagem)) {
+                novas.add(mensagem);
+                reservadas.add(chaveMensagem);
+            }
+        }
+        if (novas.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            transacao.executeWithoutResult(status -> {
+                processamento.accept(List.copyOf(novas));
+                reservadas.forEach(reservada -> concluir(consumidor, reservada));
+            });
+        } catch (RuntimeException e) {
+            reservadas.forEach(reservada -> liberar(consumidor, reservada));
+            throw e;
+        }
+        reservadas.forEach(reservada -> concluidas.put(consumidor + ":" + reservada, Boolean.TRUE));
+        return List.copyOf(novas);
+    }
+
+    /**
+     * Remove registros mais antigos que a retenção; uma reentrega só acontece
+     * dentro de minutos, e a DLQ é tratada bem antes desse prazo.
+     */
+    @Scheduled(cron = "${app.mensageria.deduplicacao.limpeza-cron:0 30 4 * * *}")
+    @Transactional
+    public void limparAntigas() {
+        final int removidas = mensagemProcessadaRepository
+                .deleteAtualizadasAntesDe(Instant.now().minus(Duration.ofHours(retencaoHoras)));
+        log.info("Limpeza da deduplicação de mensagens: {} registros removidos", removidas);
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        FunctionCounter.builder("carona.mensageria.duplicadas", duplicadas, AtomicLong::get)
+                .description("Mensagens ignoradas por já terem sido processadas")
+                .register(registry);
+    }
+
+    /**
+     * @return {@code true} se a mensagem já foi processada ou está reservada
+     *         por outra entrega; caso contrário a chave fica reservada
+     */
+    private boolean duplicada(final String consumidor, final String chave) {
+        if (concluidas.getIfPresent(consumidor + ":" + chave) == null && reservar(consumidor, chave)) {
+            return false;
+        }
+        duplicadas.incrementAndGet();
+        log.info("Mensagem {} duplicada para o consumidor {}, ignorada", chave, consumidor);
+        return true;
+    }
+
+    /**
+     * @return {@code true} se a reserva foi criada ou retomada por ter expirado
+     */
+    private boolean reservar(final String consumidor, final String chave) {
+        try {
+            return Boolean.TRUE.equals(transacaoIsolada.execute(status -> {
+                final Instant agora = Instant.now();
+                final Optional<MensagemProcessada> existente =
+                        mensagemProcessadaRepository.findByConsumidorAndChave(consumidor, chave);
+
+                if (existente.isEmpty()) {
+                    mensagemProcessadaRepository.saveAndFlush(MensagemProcessada.builder()
+                            .consumidor(consumidor)
+                            .chave(chave)
+                            .concluida(false)
+                            .atualizadaEm(agora)
+                            .build());
+                    return true;
+                }
+
+                final MensagemProcessada registro = existente.get();
+                if (registro.isConcluida() || registro.getAtualizadaEm().plus(lease).isAfter(agora)) {
+                    return false;
+                }
+                log.warn("Reserva abandonada da mensagem {} no consumidor {} retomada", chave, consumidor);
+                registro.setAtualizadaEm(agora);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Outra entrega da mesma mensagem reservou a chave primeiro
+            return false;
+        }
+    }
+
+    private void concluir(final String consumidor, final String chave) {
+        mensagemProcessadaRepository.findByConsumidorAndChave(consumidor, chave).ifPresent(registro -> {
+            registro.setConcluida(true);
+            registro.setAtualizadaEm(Instant.now());
+        });
+    }
+
+    private void liberar(final String consumidor, final String chave) {
+        try {
+            transacaoIsolada.executeWithoutResult(status ->
+                    mensagemProcessadaRepository.deleteReserva(consumidor, chave));
+        } catch (RuntimeException e) {
+            log.error("Erro ao liberar reserva da mensagem {} no consumidor {}: {}",
+                    chave, consumidor, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.br.puc.carona.messaging;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-ahead log do {@link BarramentoLocal}: um arquivo JSON por linha, só de
+ * acréscimo, com o registro de cada evento aceito ({@code E}, gravado em disco
+ * antes da confirmação ao relay) e da sua conclusão ({@code C}, sem fsync: uma
+ * conclusão perdida só causa uma reentrega, descartada pelo
+ * {@link DeduplicadorMensagens}). Na inicialização os eventos sem conclusão são
+ * devolvidos, em ordem, para nova entrega.
+ *
+ * <p>Quando o arquivo passa do tamanho máximo (ou do dobro do tamanho após a
+ * última compactação, se maior) ele é reescrito apenas com os eventos
+ * pendentes, num arquivo temporário que substitui o original com um move
+ * atômico. Eventos esgotados vão para {@value #ARQUIVO_MORTOS}, que faz o
+ * papel da DLQ.</p>
+ */
+@Slf4j
+class DiarioEventosLocal implements Closeable {
+
+    static final String ARQUIVO = "eventos.wal";
+    static final String ARQUIVO_MORTOS = "eventos-mortos.jsonl";
+
+    private static final String EVENTO = "E";
+    private static final String CONCLUSAO = "C";
+    private static final String MORTO = "M";
+
+    private final Path arquivo;
+    private final Path arquivoMortos;
+    private final ObjectMapper objectMapper;
+    private final long tamanhoMaximo;
+    private final Map<Long, EventoLocal> pendentes = new LinkedHashMap<>();
+
+    private FileChannel canal;
+    private long limiteCompactacao;
+
+    DiarioEventosLocal(final Path diretorio, final ObjectMapper objectMapper, final long tamanhoMaximo) {
+        this.arquivo = diretorio.resolve(ARQUIVO);
+        this.arquivoMortos = diretorio.resolve(ARQUIVO_MORTOS);
+        this.objectMapper = objectMapper;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.limiteCompactacao = tamanhoMaximo;
+        try {
+            Files.createDirectories(diretorio);
+            canal = abrir(arquivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o diário de eventos em " + diretorio, e);
+        }
+    }
+
+    /**
+     * Lê o arquivo e retorna, na ordem de gravação, os eventos sem conclusão.
+     * Uma linha incompleta (gravação interrompida por uma queda) é ignorada.
+     */
+    synchronized List<EventoLocal> recuperar() {
+        pendentes.clear();
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                aplicar(linha);
+            }
+            compactar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o diário de eventos " + arquivo, e);
+        }
+        if (!pendentes.isEmpty()) {
+            log.warn("Diário de eventos: {} eventos pendentes serão reentregues", pendentes.size());
+        }
+        return new ArrayList<>(pendentes.values());
+    }
+
+    synchronized void registrar(final EventoLocal evento) {
+        escrever(canal, new Linha(EVENTO, evento.id(), evento, null), true);
+        pendentes.put(evento.id(), evento);
+    }
+
+    synchronized void concluir(final Long id) {
+        if (pendentes.remove(id) == null) {
+            return;
+        }
+        escrever(canal, new Linha(CONCLUSAO, id, null, null), false);
+        try {
+            if (canal.size() > limiteCompactacao) {
+                compactar();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao compactar o diário de eventos " + arquivo, e);
+        }
+    }
+
+    synchronized void registrarMorto(final EventoLocal evento, final String erro) {
+        try (FileChannel mortos = abrir(arquivoMortos)) {
+            escrever(mortos, new Linha(MORTO, evento.id(), evento, erro), true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar evento morto em " + arquivoMortos, e);
+        }
+        concluir(evento.id());
+    }
+
+    synchronized int pendentes() {
+        return pendentes.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        canal.close();
+    }
+
+    private void aplicar(final String texto) {
+        if (texto.isBlank()) {
+            return;
+        }
+        try {
+            final Linha linha = objectMapper.readValue(texto, Linha.class);
+            if (EVENTO.equals(linha.operacao())) {
+                pendentes.put(linha.id(), linha.evento());
+            } else {
+                pendentes.remove(linha.id());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Diário de eventos: linha inválida ignorada: {}", e.getOriginalMessage());
+        }
+    }
+
+    private void compactar() throws IOException {
+        final Path temporario = arquivo.resolveSibling(ARQUIVO + ".tmp");
+        try (FileChannel novo = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (final EventoLocal evento : pendentes.values()) {
+                escrever(novo, new Linha(EVENTO, evento.id(), evento, null), false);
+            }
+            novo.force(true);
+        }
+        canal.close();
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        canal = abrir(arquivo);
+        // Com muitos pendentes o arquivo compactado já pode passar do máximo
+        limiteCompactacao = Math.max(tamanhoMaximo, 2 * canal.size());
+        log.info("Diário de eventos compactado: {} eventos pendentes", pendentes.size());
+    }
+
+    private void escrever(final FileChannel destino, final Linha linha, final boolean sincronizar) {
+        try {
+            final ByteBuffer bytes = ByteBuffer.wrap(
+                    (objectMapper.writeValueAsString(linha) + "\n").getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                destino.write(bytes);
+            }
+            if (sincronizar) {
+                destino.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar no diário de eventos " + arquivo, e);
+        }
+    }
+
+    private static FileChannel abrir(final Path caminho) throws IOException {
+        return FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Linha(String operacao, Long id, EventoLocal evento, String erro) {
+    }
+}
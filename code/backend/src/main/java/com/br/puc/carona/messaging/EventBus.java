@@ -0,0 +1,52 @@
+package com.br.puc.carona.messaging;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.br.puc.carona.model.EventoOutbox;
+
+/**
+ * Transporte dos eventos do outbox até os consumidores. O {@link RelayOutbox}
+ * publica por esta interface e só marca um evento como publicado quando o
+ * futuro retornado completa normalmente, então a entrega é at-least-once nas
+ * duas implementações:
+ * <ul>
+ *   <li>{@link BarramentoAmqp}: RabbitMQ com publisher confirms (padrão);</li>
+ *   <li>{@link BarramentoLocal}: buffer em memória no próprio processo, para
+ *   instalações de um único nó sem broker (profile {@value #PROFILE_LOCAL}).</li>
+ * </ul>
+ *
+ * <p>Nos dois casos os eventos de uma carona chegam ao consumidor na ordem de
+ * publicação, falhas são repetidas com os atrasos de
+ * {@code app.rabbitmq.retry.atrasos-ms} até {@code max-tentativas}, e o
+ * header {@value #HEADER_CHAVE_IDEMPOTENCIA} acompanha a mensagem para o
+ * {@link DeduplicadorMensagens}.</p>
+ */
+public interface EventBus {
+
+    String PROFILE_LOCAL = "barramento-local";
+
+    /** Chave usada pelo {@link DeduplicadorMensagens}; o ID do evento quando não há chave de negócio. */
+    String HEADER_CHAVE_IDEMPOTENCIA = "x-chave-idempotencia";
+
+    /**
+     * Envia o evento. Lança exceção quando o evento não pode ser aceito (broker
+     * fora do ar, buffer cheio); o futuro completa quando o evento está seguro
+     * no barramento e falha quando ele é rejeitado.
+     */
+    CompletableFuture<Void> publicar(EventoOutbox evento);
+
+    /**
+     * Executa os envios de um lote na mesma sessão do barramento (no RabbitMQ,
+     * o mesmo canal, o que mantém a ordem entre eles).
+     */
+    default <T> T emLote(final Supplier<T> envios) {
+        return envios.get();
+    }
+
+    static String chaveIdempotencia(final EventoOutbox evento) {
+        return evento.getChaveIdempotencia() != null
+                ? evento.getChaveIdempotencia()
+                : String.valueOf(evento.getId());
+    }
+}
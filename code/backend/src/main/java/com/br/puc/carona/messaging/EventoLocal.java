@@ -0,0 +1,23 @@
+package com.br.puc.carona.messaging;
+
+import com.br.puc.carona.model.EventoOutbox;
+
+/**
+ * Cópia de um {@link EventoOutbox} entregue pelo {@link BarramentoLocal},
+ * desligada da sessão JPA e gravada no {@link DiarioEventosLocal}.
+ */
+record EventoLocal(
+        Long id,
+        String routingKey,
+        Long caronaId,
+        String tipoPayload,
+        String payload,
+        String chaveIdempotencia,
+        long publicadoEm) {
+
+    static EventoLocal de(final EventoOutbox evento) {
+        return new EventoLocal(evento.getId(), evento.getRoutingKey(), evento.getCaronaId(),
+                evento.getTipoPayload(), evento.getPayload(), EventBus.chaveIdempotencia(evento),
+                System.currentTimeMillis());
+    }
+}
@@ -1,151 +1,95 @@
 package com.br.puc.carona.messaging;
 
-import java.util.Map;
+import java.util.Date;
+import java.util.List;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 
+import com.br.puc.carona.config.RabbitListenerConfig;
+import com.br.puc.carona.exception.custom.SolicitacaoNaoAtendida;
 import com.br.puc.carona.messaging.contract.AvaliacaoMessageDTO;
-import com.br.puc.carona.messaging.contract.RideCancellationMessageDTO;
-import com.br.puc.carona.messaging.contract.RideFinishedMessageDTO;
-import com.br.puc.carona.messaging.contract.RideStartedMessageDTO;
+import com.br.puc.carona.messaging.contract.PedidoEntradaMessageDTO;
 import com.br.puc.carona.dto.request.SolicitacaoCaronaRequest;
-import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.enums.FaixaPrioridade;
 import com.br.puc.carona.service.AvaliacaoService;
 import com.br.puc.carona.service.PedidoDeEntradaService;
 import com.br.puc.carona.service.RideMatchingService;
-import com.br.puc.carona.service.WebsocketService;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Listeners das filas do RabbitMQ. Falhas não são tratadas aqui: elas sobem
+ * para o container, que encaminha a mensagem ao {@link RecuperadorMensagens}
+ * (nova tentativa com atraso ou DLQ). Os listeners que criam registros passam
+ * pelo {@link DeduplicadorMensagens}, de modo que uma reentrega custa uma
+ * consulta e não um novo processamento.
+ *
+ * <p>No profile {@value EventBus#PROFILE_LOCAL} não há listeners RabbitMQ: os
+ * mesmos métodos são chamados pelo {@link BarramentoLocal}, com os mesmos
+ * headers.</p>
+ */
 @Service
 @Slf4j
 @AllArgsConstructor
 public class MensagemConsumer {
 
+    public static final String LISTENER_PEDIDOS_ENTRADA = "pedidos-entrada";
+    public static final String LISTENER_SOLICITACOES = "solicitacoes-carona";
+    public static final String LISTENER_SOLICITACOES_URGENTES = "solicitacoes-carona-urgentes";
+    public static final String LISTENER_AVALIACOES = "avaliacoes";
+
+    public static final List<String> LISTENERS = List.of(
+            LISTENER_PEDIDOS_ENTRADA,
+            LISTENER_SOLICITACOES,
+            LISTENER_SOLICITACOES_URGENTES,
+            LISTENER_AVALIACOES);
+
     private final PedidoDeEntradaService pedidoEntradaService;
     private final RideMatchingService rideMatchingService;
     private final AvaliacaoService avaliacaoService;
-    private final WebsocketService websocketService;
-
-    @RabbitListener(queues = "${app.rabbitmq.queues.notifications}")
-    public void processarMensagem(Message<Map<String, Object>> mensagem) {
-        log.info("Mensagem recebida: {}", mensagem.getPayload());
+    private final DeduplicadorMensagens deduplicadorMensagens;
+    private final MetricasEsperaSolicitacoes metricasEsperaSolicitacoes;
 
-        try {
-            // Verifica se o payload é um Map
-            if (mensagem.getPayload() != null) {
-                Map<String, Object> payload = mensagem.getPayload();
-
-                Object notificationType = payload.get("notificationType");
-                NotificationType tipoNotificacao = (notificationType instanceof String)
-                        ? NotificationType.valueOf((String) notificationType)
-                        : null;
-
-                if (tipoNotificacao == null) {
-
-                    // Lida com caronaId e solicitacaoId, fazendo a verificação de tipo
-                    Object caronaIdObj = payload.get("caronaId");
-                    Object solicitacaoIdObj = payload.get("solicitacaoId");
-
-                    Long caronaId = (caronaIdObj instanceof Number) ? ((Number) caronaIdObj).longValue() : null;
-                    Long solicitacaoId = (solicitacaoIdObj instanceof Number) ? ((Number) solicitacaoIdObj).longValue()
-                            : null;
-
-                    if (caronaId != null && solicitacaoId != null) {
-                        log.info("Carona ID: {}, Solicitação ID: {}", caronaId, solicitacaoId);
-
-                        pedidoEntradaService.processarMensagem(caronaId, solicitacaoId);
-
-                    } else {
-                        log.error("Valores de caronaId ou solicitacaoId inválidos ou ausentes");
-                    }
-                }
-
-                switch (tipoNotificacao) {
-                    case RIDE_CANCELLED:
-                        log.info("Carona cancelada recebida");
-                        try {
-                            final RideCancellationMessageDTO cancellationMessage = new RideCancellationMessageDTO(payload);
-                            final Long caronaId = cancellationMessage.getCaronaId();
-                            final Long recipientId = cancellationMessage.getAffectedUserId();
-
-                            if (caronaId == null || recipientId == null) {
-                                log.error("Carona ID ou Recipient ID ausente na mensagem de cancelamento");
-                                return;
-                            }          
-                            log.info("Processando cancelamento de carona ID: {}, Recipient ID: {}", caronaId, recipientId);
-
-                            websocketService.sendRideCancellationNotification(cancellationMessage);
-                        } catch (Exception e) {
-                            log.error("Erro ao processar mensagem de cancelamento de carona: {}", e.getMessage(), e);
-                        }
-                        break;
-                    case RIDE_STARTED:
-                        log.info("Carona iniciada recebida");
-                        try {
-                            final RideStartedMessageDTO startedMessage = new RideStartedMessageDTO(payload);
-                            final Long caronaId = startedMessage.getCaronaId();
-                            final Long driverId = startedMessage.getDriverId();
-
-                            if (caronaId == null || driverId == null) {
-                                log.error("Carona ID ou Driver ID ausente na mensagem de carona iniciada");
-                                return;
-                            }
-                            log.info("Processando carona iniciada ID: {}, Driver ID: {}", caronaId, driverId);
-
-                            websocketService.sendRideStartedNotification(startedMessage);
-                        } catch (Exception e) {
-                            log.error("Erro ao processar mensagem de carona iniciada: {}", e.getMessage(), e);
-                        }
-                        break;
-                    case RIDE_FINISHED:
-                        log.info("Carona finalizada recebida");
-                        try {
-                            final RideFinishedMessageDTO finishedMessage = new RideFinishedMessageDTO(payload);
-                            final Long caronaId = finishedMessage.getCaronaId();
-                            final Long driverId = finishedMessage.getDriverId();
-
-                            if (caronaId == null || driverId == null) {
-                                log.error("Carona ID ou Driver ID ausente na mensagem de carona finalizada");
-                                return;
-                            }
-                            log.info("Processando carona finalizada ID: {}, Driver ID: {}", caronaId, driverId);
-
-                            websocketService.sendRideFinishedNotification(finishedMessage);
-                        } catch (Exception e) {
-                            log.error("Erro ao processar mensagem de carona finalizada: {}", e.getMessage(), e);
-                        }
-                        break;
-                    default:
-                        log.warn("Tipo de notificação desconhecido: {}", tipoNotificacao);
-                }
-            } else {
-                log.error("Payload inesperado, esperava um Map: {}", mensagem.getPayload());
-            }
-        } catch (Exception e) {
-            log.error("Erro ao processar mensagem: {}", e.getMessage(), e);
+    /**
+     * Processa mensagens da fila de pedidos de entrada criados pelo matching
+     *
+     * @param message mensagem com a carona e a solicitação
+     */
+    @RabbitListener(id = LISTENER_PEDIDOS_ENTRADA, queues = "${app.rabbitmq.queues.pedidos-entrada}",
+            containerFactory = RabbitListenerConfig.FACTORY_NOTIFICACOES)
+    public void processarPedidoEntrada(final Message<PedidoEntradaMessageDTO> message) {
+        final PedidoEntradaMessageDTO pedido = message.getPayload();
+        if (pedido == null || pedido.getCaronaId() == null || pedido.getSolicitacaoId() == null) {
+            log.error("Valores de caronaId ou solicitacaoId inválidos ou ausentes: {}", pedido);
+            return;
         }
+
+        log.info("Carona ID: {}, Solicitação ID: {}", pedido.getCaronaId(), pedido.getSolicitacaoId());
+
+        deduplicadorMensagens.processarUmaVez(LISTENER_PEDIDOS_ENTRADA, chaveIdempotencia(message),
+                () -> pedidoEntradaService.processarMensagem(pedido.getCaronaId(), pedido.getSolicitacaoId()));
     }
 
-    @RabbitListener(queues = "${app.rabbitmq.queues.rides-request}")
+    @RabbitListener(id = LISTENER_SOLICITACOES, queues = "${app.rabbitmq.queues.rides-request}",
+            containerFactory = RabbitListenerConfig.FACTORY_SOLICITACOES)
     public void processNewRideRequests(Message<SolicitacaoCaronaRequest> message) {
-        SolicitacaoCaronaRequest request = message.getPayload();
-        if (request == null) {
-            log.error("Payload is null, cannot process ride request");
-            return;
-        }
-        log.info("Processing new ride request from student ID: {}", request.getEstudanteId());
+        processarSolicitacao(FaixaPrioridade.NORMAL, message);
+    }
 
-        try {
-            rideMatchingService.matchAndAssign(request);
-            log.info("Successfully matched ride request for student ID: {}", request.getEstudanteId());
-        } catch (Exception e) {
-            log.error("Error processing ride request for student {}: {}",
-                    request.getEstudanteId(), e.getMessage(), e);
-        }
+    /**
+     * Processa a fila de solicitações com chegada próxima, consumida por mais
+     * threads que a fila normal
+     *
+     * @param message solicitação de carona urgente
+     */
+    @RabbitListener(id = LISTENER_SOLICITACOES_URGENTES, queues = "${app.rabbitmq.queues.rides-request-urgent}",
+            containerFactory = RabbitListenerConfig.FACTORY_SOLICITACOES_URGENTES)
+    public void processarSolicitacoesUrgentes(final Message<SolicitacaoCaronaRequest> message) {
+        processarSolicitacao(FaixaPrioridade.URGENTE, message);
     }
 
     /**
@@ -153,7 +97,8 @@ public class MensagemConsumer {
      *
      * @param message mensagem com dados da avaliação
      */
-    @RabbitListener(queues = "${app.rabbitmq.queues.avaliacoes}")
+    @RabbitListener(id = LISTENER_AVALIACOES, queues = "${app.rabbitmq.queues.avaliacoes}",
+            containerFactory = RabbitListenerConfig.FACTORY_AVALIACOES)
     public void processarAvaliacoes(Message<AvaliacaoMessageDTO> message) {
         AvaliacaoMessageDTO avaliacaoMessage = message.getPayload();
         if (avaliacaoMessage == null) {
@@ -166,12 +111,44 @@ public class MensagemConsumer {
                 avaliacaoMessage.getAvaliadorId(),
                 avaliacaoMessage.getAvaliadoId());
 
-        try {
-            avaliacaoService.processarCriacaoAvaliacao(avaliacaoMessage);
+        final boolean processada = deduplicadorMensagens.processarUmaVez(LISTENER_AVALIACOES,
+                chaveIdempotencia(message), () -> avaliacaoService.processarCriacaoAvaliacao(avaliacaoMessage));
+        if (processada) {
             log.info("Avaliação processada com sucesso para carona ID: {}", avaliacaoMessage.getCaronaId());
-        } catch (Exception e) {
-            log.error("Erro ao processar avaliação para carona {}: {}",
-                    avaliacaoMessage.getCaronaId(), e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    private void processarSolicitacao(final FaixaPrioridade faixa, final Message<SolicitacaoCaronaRequest> message) {
+        metricasEsperaSolicitacoes.registrar(faixa, message.getHeaders().get(AmqpHeaders.TIMESTAMP, Date.class));
+
+        final SolicitacaoCaronaRequest request = message.getPayload();
+        if (request == null) {
+            log.error("Payload is null, cannot process ride request");
+            return;
+        }
+        log.info("Processing new {} ride request from student ID: {}", faixa.getTag(), request.getEstudanteId());
+
+        // A mesma chave de deduplicação nas duas faixas
+        deduplicadorMensagens.processarUmaVez(LISTENER_SOLICITACOES, chaveIdempotencia(message),
+                () -> parear(request));
+    }
+
+    /**
+     * Sem carona compatível ou carona já solicitada é um resultado final: a
+     * mensagem é concluída, sem nova tentativa nem DLQ. Só falhas de
+     * infraestrutura sobem para o {@link RecuperadorMensagens}.
+     */
+    private void parear(final SolicitacaoCaronaRequest request) {
+        try {
+            rideMatchingService.matchAndAssign(request);
+            log.info("Successfully matched ride request for student ID: {}", request.getEstudanteId());
+        } catch (SolicitacaoNaoAtendida e) {
+            log.info("Ride request from student ID: {} not matched: {}", request.getEstudanteId(), e.getMessage());
+        }
+    }
+
+    private static String chaveIdempotencia(final Message<?> message) {
+        final String chave = message.getHeaders().get(EventBus.HEADER_CHAVE_IDEMPOTENCIA, String.class);
+        return chave != null ? chave : message.getHeaders().get(AmqpHeaders.MESSAGE_ID, String.class);
+    }
+}
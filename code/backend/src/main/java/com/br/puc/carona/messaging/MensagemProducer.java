@@ -1,61 +1,123 @@
 package com.br.puc.carona.messaging;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.br.puc.carona.constants.RotasMensageria;
 import com.br.puc.carona.dto.request.SolicitacaoCaronaRequest;
+import com.br.puc.carona.enums.FaixaPrioridade;
+import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.enums.StatusEventoOutbox;
 import com.br.puc.carona.messaging.contract.AvaliacaoMessageDTO;
+import com.br.puc.carona.messaging.contract.PedidoEntradaMessageDTO;
 import com.br.puc.carona.messaging.contract.RideCancellationMessageDTO;
 import com.br.puc.carona.messaging.contract.RideFinishedMessageDTO;
 import com.br.puc.carona.messaging.contract.RideStartedMessageDTO;
+import com.br.puc.carona.model.EventoOutbox;
+import com.br.puc.carona.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Registra os eventos no outbox ({@link EventoOutbox}) dentro da transação de
+ * quem chama; o {@link RelayOutbox} os publica depois no exchange
+ * {@code carpool.topic}, cada tipo com a sua routing key (ver
+ * {@link RotasMensageria}). Assim um rollback descarta também os eventos e a
+ * latência do broker fica fora da requisição.
+ *
+ * <p>Cada evento leva uma chave de idempotência, verificada pelo
+ * {@link DeduplicadorMensagens}: por padrão o ID do outbox, que cobre
+ * reentregas e retentativas. Avaliações usam a chave de negócio
+ * (carona, avaliador, avaliado), já que só pode existir uma avaliação por
+ * combinação, e assim um envio repetido pelo cliente também é descartado.</p>
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Transactional
 public class MensagemProducer {
 
-    private final RabbitTemplate rabbitTemplate;
-
-    @Value("${app.rabbitmq.queues.notifications}")
-    private String notificationsQueue;
-
-    @Value("${app.rabbitmq.queues.rides-request}")
-    private String ridesRequestQueue;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ObjectMapper objectMapper;
 
-    @Value("${app.rabbitmq.queues.avaliacoes}")
-    private String avaliacoesQueue;
+    @Value("${app.mensageria.prioridade.janela-urgente-minutos:120}")
+    private long janelaUrgenteMinutos;
 
+    /**
+     * Solicitações com chegada prevista dentro de
+     * {@code app.mensageria.prioridade.janela-urgente-minutos} vão para a fila
+     * urgente, que tem mais consumidores; as demais, para a fila normal.
+     */
     public void enviarMensagemParaCaronaRequestQueue(final SolicitacaoCaronaRequest msg) {
-        log.info("Enviando para a fila de solicitações de caronas: {}", ridesRequestQueue);
-        rabbitTemplate.convertAndSend(ridesRequestQueue, msg);
+        registrar(faixa(msg).getRoutingKey(), null, msg);
+    }
+
+    FaixaPrioridade faixa(final SolicitacaoCaronaRequest msg) {
+        final LocalDateTime chegada = msg.getHorarioChegadaPrevisto();
+        if (chegada != null && chegada.isBefore(LocalDateTime.now().plus(Duration.ofMinutes(janelaUrgenteMinutos)))) {
+            return FaixaPrioridade.URGENTE;
+        }
+        return FaixaPrioridade.NORMAL;
     }
 
     public void enviarMensagemParaAvaliacaoQueue(final AvaliacaoMessageDTO avaliacaoMessage) {
-        log.info("Enviando para a fila de avaliações: {}", avaliacoesQueue);
-        rabbitTemplate.convertAndSend(avaliacoesQueue, avaliacaoMessage);
+        registrar(RotasMensageria.AVALIACAO_CRIADA, avaliacaoMessage.getCaronaId(), avaliacaoMessage,
+                "avaliacao:" + avaliacaoMessage.getCaronaId() + ":" + avaliacaoMessage.getAvaliadorId()
+                        + ":" + avaliacaoMessage.getAvaliadoId());
+    }
+
+    public void enviarMensagemPedidoEntrada(final PedidoEntradaMessageDTO msg) {
+        registrar(RotasMensageria.PEDIDO_ENTRADA_CRIADO, msg.getCaronaId(), msg);
     }
 
     public void enviarMensagemCancelamentoCaronaPassageiro(final RideCancellationMessageDTO msg) {
-        log.info("Enviando mensagem de cancelamento de carona para passageiro: {}", notificationsQueue);
-        rabbitTemplate.convertAndSend(notificationsQueue, msg);
+        enviarMensagemCancelamentoCarona(msg);
     }
 
     public void enviarMensagemCancelamentoCarona(final RideCancellationMessageDTO msg) {
-        log.info("Enviando mensagem de cancelamento de carona: {}", notificationsQueue);
-        rabbitTemplate.convertAndSend(notificationsQueue, msg);
+        msg.setNotificationType(NotificationType.RIDE_CANCELLED);
+        registrar(RotasMensageria.CARONA_CANCELADA, msg.getCaronaId(), msg);
     }
 
     public void enviarMensagemCaronaIniciada(final RideStartedMessageDTO msg) {
-        log.info("Enviando mensagem de carona iniciada: {}", notificationsQueue);
-        rabbitTemplate.convertAndSend(notificationsQueue, msg);
+        msg.setNotificationType(NotificationType.RIDE_STARTED);
+        registrar(RotasMensageria.CARONA_INICIADA, msg.getCaronaId(), msg);
     }
 
     public void enviarMensagemCaronaFinalizada(final RideFinishedMessageDTO msg) {
-        log.info("Enviando mensagem de carona finalizada: {}", notificationsQueue);
-        rabbitTemplate.convertAndSend(notificationsQueue, msg);
+        msg.setNotificationType(NotificationType.RIDE_FINISHED);
+        registrar(RotasMensageria.CARONA_FINALIZADA, msg.getCaronaId(), msg);
+    }
+
+    private void registrar(final String routingKey, final Long caronaId, final Object msg) {
+        registrar(routingKey, caronaId, msg, null);
+    }
+
+    private void registrar(final String routingKey, final Long caronaId, final Object msg,
+            final String chaveIdempotencia) {
+        final String payload;
+        try {
+            payload = objectMapper.writeValueAsString(msg);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar evento " + routingKey, e);
+        }
+
+        final EventoOutbox evento = eventoOutboxRepository.save(EventoOutbox.builder()
+                .routingKey(routingKey)
+                .caronaId(caronaId)
+                .chaveIdempotencia(chaveIdempotencia)
+                .tipoPayload(msg.getClass().getName())
+                .payload(payload)
+                .status(StatusEventoOutbox.PENDENTE)
+                .tentativas(0)
+                .build());
+        log.info("Evento {} registrado no outbox com ID {} (carona {})", routingKey, evento.getId(), caronaId);
     }
-}
\ No newline at end of file
+}
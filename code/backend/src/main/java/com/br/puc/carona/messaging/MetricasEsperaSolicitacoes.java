@@ -0,0 +1,48 @@
+package com.br.puc.carona.messaging;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.br.puc.carona.enums.FaixaPrioridade;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Tempo entre a publicação de uma solicitação de carona e o início do seu
+ * processamento, por faixa de prioridade ({@code carona.solicitacoes.espera},
+ * tag {@code faixa}). Inclui o tempo passado nas filas de retentativa.
+ */
+@Component
+public class MetricasEsperaSolicitacoes implements MeterBinder {
+
+    private final Map<FaixaPrioridade, Timer> timers = new EnumMap<>(FaixaPrioridade.class);
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        for (final FaixaPrioridade faixa : FaixaPrioridade.values()) {
+            timers.put(faixa, Timer.builder("carona.solicitacoes.espera")
+                    .description("Espera das solicitações de carona na fila até o processamento")
+                    .tag("faixa", faixa.getTag())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry));
+        }
+    }
+
+    /**
+     * @param publicadaEm timestamp AMQP definido pelo {@link RelayOutbox}; ignorado se ausente
+     */
+    public void registrar(final FaixaPrioridade faixa, final Date publicadaEm) {
+        final Timer timer = timers.get(faixa);
+        if (timer == null || publicadaEm == null) {
+            return;
+        }
+        timer.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - publicadaEm.getTime())));
+    }
+}
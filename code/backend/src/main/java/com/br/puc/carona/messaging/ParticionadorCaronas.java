@@ -0,0 +1,121 @@
+package com.br.puc.carona.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.br.puc.carona.constants.RotasMensageria;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Distribui os eventos do ciclo de vida das caronas (cancelamento, inclusive
+ * remoção de passageiro, início e fim) entre {@code app.rabbitmq.particoes.quantidade}
+ * filas, sempre a mesma para uma carona. Cada fila tem um único consumidor
+ * ativo ({@code x-single-active-consumer}), então os eventos de uma carona são
+ * processados na ordem em que o {@link RelayOutbox} os publicou, enquanto
+ * caronas diferentes são processadas em paralelo.
+ *
+ * <p>A partição é calculada na publicação, com jump consistent hash sobre o ID
+ * da carona: ao passar de {@code n} para {@code n + 1} partições apenas cerca
+ * de {@code 1/(n + 1)} das caronas mudam de fila. Para alterar a quantidade sem
+ * misturar a ordem das caronas que mudam de fila:</p>
+ * <ol>
+ *   <li>pausar o relay ({@code app.outbox.habilitado=false}); os eventos
+ *   continuam sendo gravados, em ordem, no outbox;</li>
+ *   <li>aguardar as filas de partição esvaziarem;</li>
+ *   <li>publicar a nova {@code quantidade}; ao reduzir, manter
+ *   {@code quantidade-anterior} com o valor antigo para que as partições
+ *   excedentes continuem declaradas e consumidas até que as suas
+ *   retentativas se esgotem;</li>
+ *   <li>reativar o relay.</li>
+ * </ol>
+ *
+ * <p>A ordem vale para o fluxo normal: um evento que falha passa pela fila de
+ * retentativa e volta à partição depois dos eventos seguintes da carona.</p>
+ */
+@Slf4j
+@Component
+public class ParticionadorCaronas {
+
+    public static final String PREFIXO_LISTENER = "caronas-ciclo-vida-";
+
+    /** Routing keys particionadas; recebem o sufixo {@code .<partição>}. */
+    public static final Set<String> ROTAS_PARTICIONADAS = Set.of(
+            RotasMensageria.CARONA_CANCELADA,
+            RotasMensageria.CARONA_INICIADA,
+            RotasMensageria.CARONA_FINALIZADA);
+
+    private static final long MULTIPLICADOR = 2862933555777941757L;
+
+    @Getter
+    private final int quantidade;
+    private final int particoesConsumidas;
+    private final String prefixoFila;
+
+    public ParticionadorCaronas(
+            @Value("${app.rabbitmq.particoes.quantidade:4}") final int quantidade,
+            @Value("${app.rabbitmq.particoes.quantidade-anterior:0}") final int quantidadeAnterior,
+            @Value("${app.rabbitmq.queues.rides-lifecycle:carpool.rides.lifecycle}") final String prefixoFila) {
+        this.quantidade = Math.max(1, quantidade);
+        this.particoesConsumidas = Math.max(this.quantidade, quantidadeAnterior);
+        this.prefixoFila = prefixoFila;
+        log.info("Eventos de ciclo de vida das caronas em {} partições ({} consumidas)",
+                this.quantidade, particoesConsumidas);
+    }
+
+    public int particao(final Long caronaId) {
+        return caronaId == null ? 0 : jumpHash(caronaId, quantidade);
+    }
+
+    /**
+     * @return a routing key com a partição da carona, ou a própria routing key
+     *         se o evento não é particionado
+     */
+    public String rotear(final String routingKey, final Long caronaId) {
+        if (!ROTAS_PARTICIONADAS.contains(routingKey)) {
+            return routingKey;
+        }
+        return routingKey + "." + particao(caronaId);
+    }
+
+    public String fila(final int particao) {
+        return prefixoFila + "." + particao;
+    }
+
+    /**
+     * Partições declaradas e consumidas: as atuais mais as excedentes de uma
+     * redução ainda em drenagem.
+     */
+    public int getParticoesConsumidas() {
+        return particoesConsumidas;
+    }
+
+    public List<String> listeners() {
+        final List<String> ids = new ArrayList<>(particoesConsumidas);
+        for (int particao = 0; particao < particoesConsumidas; particao++) {
+            ids.add(PREFIXO_LISTENER + particao);
+        }
+        return ids;
+    }
+
+    /**
+     * Jump consistent hash (Lamping e Veach): distribui as chaves de maneira
+     * uniforme e move o mínimo de chaves quando o número de partições muda.
+     */
+    static int jumpHash(final long chave, final int particoes) {
+        long k = chave;
+        long b = -1;
+        long j = 0;
+        while (j < particoes) {
+            b = j;
+            k = k * MULTIPLICADOR + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((k >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
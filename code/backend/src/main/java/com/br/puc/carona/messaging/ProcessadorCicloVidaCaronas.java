@@ -0,0 +1,86 @@
+package com.br.puc.carona.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.messaging.contract.BaseNotificationMessageDTO;
+import com.br.puc.carona.messaging.contract.RideCancellationMessageDTO;
+import com.br.puc.carona.messaging.contract.RideFinishedMessageDTO;
+import com.br.puc.carona.messaging.contract.RideStartedMessageDTO;
+import com.br.puc.carona.service.NotificacaoLoteService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Processa eventos do ciclo de vida das caronas (cancelamento, início e fim),
+ * independente do barramento que os entregou.
+ *
+ * <p>Uma sequência pode misturar cancelamentos, inícios e fins de caronas
+ * diferentes. Para preservar a ordem, ela é dividida em trechos consecutivos do
+ * mesmo tipo, processados na sequência em que chegaram. Cada trecho passa
+ * pelo {@link DeduplicadorMensagens} antes do envio em lote: eventos
+ * reentregues pelo broker ou republicados pelo relay são descartados.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProcessadorCicloVidaCaronas {
+
+    public static final String CONSUMIDOR = "ciclo-vida-caronas";
+
+    private final NotificacaoLoteService notificacaoLoteService;
+    private final DeduplicadorMensagens deduplicadorMensagens;
+
+    /**
+     * Evento recebido com a chave de idempotência da mensagem que o trouxe.
+     */
+    public record EventoRecebido(String chave, BaseNotificationMessageDTO evento) {
+    }
+
+    public void processar(final List<EventoRecebido> eventos) {
+        final List<EventoRecebido> trecho = new ArrayList<>();
+        NotificationType tipoTrecho = null;
+
+        for (final EventoRecebido recebido : eventos) {
+            final NotificationType tipo = recebido.evento().getNotificationType();
+            if (tipoTrecho != null && tipoTrecho != tipo) {
+                processarTrecho(tipoTrecho, trecho);
+                trecho.clear();
+            }
+            tipoTrecho = tipo;
+            trecho.add(recebido);
+        }
+
+        if (!trecho.isEmpty()) {
+            processarTrecho(tipoTrecho, trecho);
+        }
+    }
+
+    private void processarTrecho(final NotificationType tipo, final List<EventoRecebido> eventos) {
+        log.info("Processando {} eventos {} em ordem", eventos.size(), tipo);
+        deduplicadorMensagens.processarLoteUmaVez(CONSUMIDOR, List.copyOf(eventos), EventoRecebido::chave,
+                novos -> notificacaoLoteService.processarLote(tipo,
+                        novos.stream().map(EventoRecebido::evento).toList(),
+                        e -> destinatarios(e.getDestinatariosIds(), afetado(e))));
+    }
+
+    private static Long afetado(final BaseNotificationMessageDTO evento) {
+        return switch (evento) {
+            case RideCancellationMessageDTO cancelamento -> cancelamento.getAffectedUserId();
+            case RideStartedMessageDTO inicio -> inicio.getAffectedUserId();
+            case RideFinishedMessageDTO fim -> fim.getAffectedUserId();
+            default -> null;
+        };
+    }
+
+    private static List<Long> destinatarios(final List<Long> destinatariosIds, final Long affectedUserId) {
+        if (destinatariosIds != null) {
+            return destinatariosIds;
+        }
+        return affectedUserId == null ? List.of() : List.of(affectedUserId);
+    }
+}
@@ -0,0 +1,121 @@
+package com.br.puc.carona.messaging;
+
+import java.util.List;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.br.puc.carona.exception.custom.EntidadeNaoEncontrada;
+import com.br.puc.carona.exception.custom.ErroDeCliente;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Destino das mensagens cujo processamento falhou. Em vez de descartar ou
+ * devolver a mensagem para a mesma fila, ela é republicada em uma fila de
+ * espera ({@code <fila>.retry.<n>}) cujo TTL a devolve à fila original, com
+ * atrasos crescentes. O número de tentativas vai no header
+ * {@value #HEADER_TENTATIVAS}; esgotadas as tentativas, ou quando o erro é
+ * permanente (dados inválidos, entidade inexistente), a mensagem vai para
+ * {@code <fila>.dlq}, de onde pode ser reprocessada pelo administrador.
+ */
+@Slf4j
+@Component
+@Profile("!" + EventBus.PROFILE_LOCAL)
+@RequiredArgsConstructor
+public class RecuperadorMensagens implements MessageBatchRecoverer {
+
+    public static final String HEADER_TENTATIVAS = "x-tentativas";
+    public static final String HEADER_ERRO = "x-erro";
+    public static final String HEADER_CLASSE_ERRO = "x-erro-classe";
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${app.rabbitmq.retry.atrasos-ms:5000,30000,300000}")
+    private List<Long> atrasosMs;
+
+    @Value("${app.rabbitmq.retry.max-tentativas:4}")
+    private int maxTentativas;
+
+    public static String filaRetentativa(final String fila, final int nivel) {
+        return fila + ".retry." + nivel;
+    }
+
+    public static String filaMorta(final String fila) {
+        return fila + ".dlq";
+    }
+
+    public List<Long> getAtrasosMs() {
+        return atrasosMs;
+    }
+
+    @Override
+    public void recover(final Message message, final Throwable cause) {
+        final String fila = message.getMessageProperties().getConsumerQueue();
+        final int tentativas = tentativas(message) + 1;
+        final Throwable erro = causaRaiz(cause);
+
+        message.getMessageProperties().setHeader(HEADER_TENTATIVAS, tentativas);
+        message.getMessageProperties().setHeader(HEADER_ERRO, resumir(erro.getMessage()));
+        message.getMessageProperties().setHeader(HEADER_CLASSE_ERRO, erro.getClass().getName());
+
+        final String destino;
+        if (permanente(erro) || tentativas >= maxTentativas) {
+            destino = filaMorta(fila);
+            log.error("Mensagem {} da fila {} enviada para a DLQ após {} tentativa(s): {}",
+                    message.getMessageProperties().getMessageId(), fila, tentativas, erro.getMessage(), erro);
+        } else {
+            destino = filaRetentativa(fila, Math.min(tentativas, atrasosMs.size()));
+            log.warn("Mensagem {} da fila {} falhou (tentativa {}), nova tentativa via {}: {}",
+                    message.getMessageProperties().getMessageId(), fila, tentativas, destino, erro.getMessage());
+        }
+
+        rabbitTemplate.send("", destino, message);
+    }
+
+    @Override
+    public void recover(final List<Message> messages, final Throwable cause) {
+        for (final Message message : messages) {
+            recover(message, cause);
+        }
+    }
+
+    static int tentativas(final Message message) {
+        final Object valor = message.getMessageProperties().getHeader(HEADER_TENTATIVAS);
+        return valor instanceof Number numero ? numero.intValue() : 0;
+    }
+
+    /**
+     * Erros que não mudam com uma nova tentativa vão direto para a DLQ.
+     */
+    static boolean permanente(final Throwable erro) {
+        return erro instanceof ErroDeCliente
+                || erro instanceof EntidadeNaoEncontrada
+                || erro instanceof MessageConversionException
+                || erro instanceof IllegalArgumentException;
+    }
+
+    static Throwable causaRaiz(final Throwable cause) {
+        Throwable atual = cause;
+        while (atual.getCause() != null && atual.getCause() != atual
+                && !(atual instanceof ErroDeCliente) && !(atual instanceof EntidadeNaoEncontrada)) {
+            atual = atual.getCause();
+        }
+        return atual;
+    }
+
+    private static String resumir(final String mensagem) {
+        if (mensagem == null) {
+            return "";
+        }
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+}
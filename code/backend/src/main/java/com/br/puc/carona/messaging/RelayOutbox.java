@@ -0,0 +1,286 @@
+package com.br.puc.carona.messaging;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.puc.carona.enums.StatusEventoOutbox;
+import com.br.puc.carona.model.EventoOutbox;
+import com.br.puc.carona.repository.EventoOutboxRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica no {@link EventBus} os eventos pendentes do outbox, em lotes. Um
+ * evento só é marcado como publicado depois da confirmação do barramento (o
+ * ack do broker no RabbitMQ), o que dá entrega at-least-once; o ID do evento
+ * acompanha a mensagem para que os consumidores descartem duplicatas.
+ *
+ * <p>Os eventos de um lote são enviados na mesma sessão do barramento, em
+ * rodadas: cada rodada envia o próximo evento de cada carona e espera as
+ * confirmações, então o evento seguinte de uma carona só sai depois que o
+ * anterior foi confirmado. Todo evento confirmado é marcado como publicado; se
+ * um evento falha, os seguintes da mesma carona nem são enviados e continuam
+ * pendentes, atrás dele. O evento que falhou só volta a ser tentado depois de
+ * uma espera que dobra a cada falha ({@code app.outbox.espera-base-ms} até
+ * {@code app.outbox.espera-maxima-ms}); ao esgotar
+ * {@code app.outbox.max-tentativas} ele vai para {@code FALHOU} e os seguintes
+ * da carona seguem sem ele.</p>
+ *
+ * <p>A espera pelas confirmações não segura lock no banco: o lote é reservado
+ * por {@code app.outbox.reserva-ms} numa transação curta, publicado fora dela
+ * e o resultado é gravado numa segunda transação. Enquanto a reserva vale,
+ * outro relay não seleciona esses eventos nem os seguintes das mesmas caronas;
+ * se a instância cai, eles voltam a ser publicados quando a reserva expira.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RelayOutbox implements MeterBinder {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final EventBus eventBus;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicLong publicados = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong esgotados = new AtomicLong();
+    private final AtomicLong pendentes = new AtomicLong();
+
+    @Value("${app.outbox.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.outbox.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    @Value("${app.outbox.timeout-confirmacao-ms:5000}")
+    private long timeoutConfirmacaoMs;
+
+    @Value("${app.outbox.reserva-ms:60000}")
+    private long reservaMs;
+
+    @Value("${app.outbox.retencao-dias:7}")
+    private int retencaoDias;
+
+    @Value("${app.outbox.max-tentativas:10}")
+    private int maxTentativas;
+
+    @Value("${app.outbox.espera-base-ms:1000}")
+    private long esperaBaseMs;
+
+    @Value("${app.outbox.espera-maxima-ms:300000}")
+    private long esperaMaximaMs;
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo-ms:500}")
+    public void publicarPendentes() {
+        if (!habilitado) {
+            return;
+        }
+
+        final TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        final List<EventoOutbox> reservados = transacao.execute(status -> reservar());
+        if (reservados == null || reservados.isEmpty()) {
+            return;
+        }
+
+        final int enviados;
+        try {
+            enviados = publicar(reservados);
+        } finally {
+            reservados.forEach(evento -> evento.setReservadoAte(null));
+            transacao.executeWithoutResult(status -> eventoOutboxRepository.saveAll(reservados));
+        }
+
+        if (enviados > 0) {
+            log.info("Relay do outbox: {} eventos publicados", enviados);
+        }
+    }
+
+    private List<EventoOutbox> reservar() {
+        final Instant agora = Instant.now();
+        final List<EventoOutbox> pendentes = eventoOutboxRepository
+                .findPendentesParaPublicacao(agora, PageRequest.of(0, tamanhoLote));
+        final Instant reservadoAte = agora.plusMillis(reservaMs);
+        pendentes.forEach(evento -> evento.setReservadoAte(reservadoAte));
+        return pendentes;
+    }
+
+    int publicar(final List<EventoOutbox> eventos) {
+        final List<Deque<EventoOutbox>> filas = filasPorCarona(eventos);
+
+        final Integer confirmados = eventBus.emLote(() -> {
+            int total = 0;
+            while (!filas.isEmpty()) {
+                // Uma rodada: o próximo evento de cada carona ainda desbloqueada
+                final List<Envio> envios = new ArrayList<>(filas.size());
+                for (final Iterator<Deque<EventoOutbox>> it = filas.iterator(); it.hasNext();) {
+                    final Deque<EventoOutbox> fila = it.next();
+                    final EventoOutbox evento = fila.poll();
+                    if (!cabeNaReserva(evento)) {
+                        // Fica para o próximo ciclo, antes que outro relay possa pegá-lo
+                        it.remove();
+                        continue;
+                    }
+                    try {
+                        envios.add(new Envio(evento, fila, eventBus.publicar(evento)));
+                    } catch (Exception e) {
+                        if (registrarFalha(evento, e.getMessage()) || fila.isEmpty()) {
+                            it.remove();
+                        }
+                    }
+                }
+
+                for (final Envio envio : envios) {
+                    final EventoOutbox evento = envio.evento();
+                    try {
+                        envio.confirmacao().get(timeoutConfirmacaoMs, TimeUnit.MILLISECONDS);
+                        evento.setStatus(StatusEventoOutbox.PUBLICADO);
+                        evento.setPublicadoEm(Instant.now());
+                        evento.setProximaTentativaEm(null);
+                        evento.setUltimoErro(null);
+                        total++;
+                        if (envio.fila().isEmpty()) {
+                            filas.remove(envio.fila());
+                        }
+                    } catch (ExecutionException e) {
+                        if (registrarFalha(evento, e.getCause().getMessage()) || envio.fila().isEmpty()) {
+                            filas.remove(envio.fila());
+                        }
+                    } catch (Exception e) {
+                        if (registrarFalha(evento, "Sem confirmação do barramento: " + e.getMessage())
+                                || envio.fila().isEmpty()) {
+                            filas.remove(envio.fila());
+                        }
+                    }
+                }
+            }
+            return total;
+        });
+
+        publicados.addAndGet(confirmados == null ? 0 : confirmados);
+        return confirmados == null ? 0 : confirmados;
+    }
+
+    private boolean cabeNaReserva(final EventoOutbox evento) {
+        return evento.getReservadoAte() == null
+                || Instant.now().plusMillis(timeoutConfirmacaoMs).isBefore(evento.getReservadoAte());
+    }
+
+    /**
+     * Uma fila por carona, na ordem de ID; cada evento sem carona forma a sua,
+     * pois não tem ordem a respeitar.
+     */
+    private static List<Deque<EventoOutbox>> filasPorCarona(final List<EventoOutbox> eventos) {
+        final Map<Long, Deque<EventoOutbox>> porCarona = new HashMap<>();
+        final List<Deque<EventoOutbox>> filas = new ArrayList<>();
+        for (final EventoOutbox evento : eventos) {
+            final Deque<EventoOutbox> fila = evento.getCaronaId() == null
+                    ? null
+                    : porCarona.get(evento.getCaronaId());
+            if (fila != null) {
+                fila.add(evento);
+                continue;
+            }
+            final Deque<EventoOutbox> nova = new ArrayDeque<>();
+            nova.add(evento);
+            filas.add(nova);
+            if (evento.getCaronaId() != null) {
+                porCarona.put(evento.getCaronaId(), nova);
+            }
+        }
+        return new LinkedList<>(filas);
+    }
+
+    /**
+     * Remove eventos já publicados mais antigos que a retenção.
+     */
+    @Scheduled(cron = "${app.outbox.limpeza-cron:0 0 4 * * *}")
+    @Transactional
+    public void limparPublicados() {
+        final int removidos = eventoOutboxRepository
+                .deletePublicadosAntesDe(Instant.now().minus(Duration.ofDays(retencaoDias)));
+        log.info("Limpeza do outbox: {} eventos publicados removidos", removidos);
+    }
+
+    /**
+     * Atualiza a contagem exposta em {@code carona.outbox.pendentes}, para que
+     * a coleta de métricas não consulte o banco a cada leitura.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.contagem-pendentes-ms:15000}")
+    public void contarPendentes() {
+        if (!habilitado) {
+            return;
+        }
+        pendentes.set(eventoOutboxRepository.countByStatus(StatusEventoOutbox.PENDENTE));
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        FunctionCounter.builder("carona.outbox.publicados", publicados, AtomicLong::get)
+                .description("Eventos do outbox confirmados pelo barramento")
+                .register(registry);
+        FunctionCounter.builder("carona.outbox.falhas", falhas, AtomicLong::get)
+                .description("Tentativas de publicação do outbox sem confirmação")
+                .register(registry);
+        FunctionCounter.builder("carona.outbox.esgotados", esgotados, AtomicLong::get)
+                .description("Eventos do outbox que esgotaram as tentativas e foram para FALHOU")
+                .register(registry);
+        Gauge.builder("carona.outbox.pendentes", pendentes, AtomicLong::get)
+                .description("Eventos aguardando publicação no outbox")
+                .register(registry);
+    }
+
+    /**
+     * @return {@code true} se o evento ainda será tentado de novo, bloqueando
+     *         os seguintes da carona; {@code false} se foi para {@code FALHOU}
+     */
+    private boolean registrarFalha(final EventoOutbox evento, final String motivo) {
+        final int tentativas = evento.getTentativas() + 1;
+        evento.setTentativas(tentativas);
+        evento.setUltimoErro(motivo == null ? null : motivo.substring(0, Math.min(motivo.length(), 500)));
+        falhas.incrementAndGet();
+
+        if (tentativas >= maxTentativas) {
+            log.error("Evento {} do outbox (carona {}) descartado após {} tentativas: {}",
+                    evento.getId(), evento.getCaronaId(), tentativas, motivo);
+            evento.setStatus(StatusEventoOutbox.FALHOU);
+            evento.setProximaTentativaEm(null);
+            esgotados.incrementAndGet();
+            return false;
+        }
+
+        final long espera = Math.min(esperaMaximaMs, esperaBaseMs << Math.min(tentativas - 1, 30));
+        log.warn("Falha ao publicar evento {} do outbox (tentativa {}), nova tentativa em {} ms: {}",
+                evento.getId(), tentativas, espera, motivo);
+        evento.setProximaTentativaEm(Instant.now().plusMillis(espera));
+        return true;
+    }
+
+    private record Envio(EventoOutbox evento, Deque<EventoOutbox> fila, CompletableFuture<Void> confirmacao) {
+    }
+}
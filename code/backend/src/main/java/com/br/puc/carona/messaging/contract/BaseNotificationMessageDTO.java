@@ -1,5 +1,7 @@
 package com.br.puc.carona.messaging.contract;
 
+import java.util.List;
+
 import com.br.puc.carona.enums.NotificationType;
 
 import lombok.AllArgsConstructor;
@@ -13,4 +15,11 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 public class BaseNotificationMessageDTO {
     NotificationType notificationType;
+
+    /**
+     * Destinatários de um evento da carona inteira; o consumidor gera uma
+     * notificação para cada um. Nulo quando a mensagem tem um único
+     * destinatário ({@code affectedUserId}).
+     */
+    List<Long> destinatariosIds;
 }
\ No newline at end of file
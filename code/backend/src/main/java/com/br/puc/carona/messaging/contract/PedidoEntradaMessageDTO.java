@@ -0,0 +1,15 @@
+package com.br.puc.carona.messaging.contract;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PedidoEntradaMessageDTO {
+    private Long caronaId;
+    private Long solicitacaoId;
+}
@@ -0,0 +1,33 @@
+package com.br.puc.carona.messaging.contract;
+
+import java.util.Map;
+
+import com.br.puc.carona.dto.request.SolicitacaoCaronaRequest;
+
+/**
+ * Versão do schema de cada contrato publicado no RabbitMQ, enviada no header
+ * {@value #HEADER}. Campos novos não exigem nova versão (os consumidores
+ * ignoram propriedades desconhecidas); remover um campo, renomeá-lo ou mudar o
+ * seu tipo exige incrementar a versão aqui, e mensagens de uma versão maior que
+ * a conhecida vão para a DLQ até que os consumidores sejam atualizados.
+ * Mensagens sem o header são da versão 1.
+ */
+public final class VersoesContrato {
+
+    public static final String HEADER = "x-contrato-versao";
+
+    private static final Map<String, Integer> VERSOES = Map.of(
+            SolicitacaoCaronaRequest.class.getName(), 1,
+            PedidoEntradaMessageDTO.class.getName(), 1,
+            AvaliacaoMessageDTO.class.getName(), 1,
+            RideCancellationMessageDTO.class.getName(), 1,
+            RideStartedMessageDTO.class.getName(), 1,
+            RideFinishedMessageDTO.class.getName(), 1);
+
+    private VersoesContrato() {
+    }
+
+    public static int versao(final String tipo) {
+        return tipo == null ? 1 : VERSOES.getOrDefault(tipo, 1);
+    }
+}
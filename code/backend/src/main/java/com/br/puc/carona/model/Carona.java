@@ -14,6 +14,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -34,7 +35,11 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "carona")
+@Table(name = "carona", indexes = {
+    @Index(name = "idx_carona_partida_id", columnList = "data_hora_partida, id"),
+    @Index(name = "idx_carona_status_partida_id", columnList = "status, data_hora_partida, id"),
+    @Index(name = "idx_carona_data_atualizacao", columnList = "data_atualizacao, id")
+})
 @SequenceGenerator(name = "seq_generator", sequenceName = "carona_seq", allocationSize = 1)
 public class Carona extends AbstractEntity {
     
@@ -140,7 +145,12 @@ public class Carona extends AbstractEntity {
         }
     }
 
-    public void removerPassageiro(Long idPassageiro) {
+    /**
+     * Remove o passageiro e o seu pedido de entrada da carona.
+     *
+     * @return o pedido removido, ou null se o passageiro não tinha pedido
+     */
+    public PedidoDeEntrada removerPassageiro(Long idPassageiro) {
         passageiros.removeIf(passageiro -> passageiro.getId().equals(idPassageiro));
         PedidoDeEntrada pedido = pedidosEntrada.stream()
                 .filter(p -> p.getSolicitacao().getEstudante().getId().equals(idPassageiro))
@@ -149,6 +159,7 @@ public class Carona extends AbstractEntity {
         if (pedido != null) {
             pedidosEntrada.remove(pedido);
         }
+        return pedido;
     }
 
 }
\ No newline at end of file
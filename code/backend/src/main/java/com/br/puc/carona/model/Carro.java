@@ -1,5 +1,10 @@
 package com.br.puc.carona.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.br.puc.carona.constants.RegioesCache;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.SequenceGenerator;
@@ -18,6 +23,7 @@ import lombok.experimental.SuperBuilder;
 @EqualsAndHashCode(callSuper = true)
 @ToString(callSuper = true)
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.CARRO)
 @Table(name = "carro")
 @SequenceGenerator(name = "seq_generator", sequenceName = "carro_seq", allocationSize = 1)
 public class Carro extends AbstractEntity {
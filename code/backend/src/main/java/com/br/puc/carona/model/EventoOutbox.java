@@ -0,0 +1,93 @@
+package com.br.puc.carona.model;
+
+import java.time.Instant;
+
+import com.br.puc.carona.enums.StatusEventoOutbox;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Evento a publicar no RabbitMQ, gravado na mesma transação da alteração que o
+ * originou (transactional outbox). O {@code RelayOutbox} publica os pendentes em
+ * ordem de ID, de modo que os eventos de uma mesma carona saem na ordem em que
+ * foram gerados.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "evento_outbox", indexes = {
+    @Index(name = "idx_evento_outbox_status_id", columnList = "status, id"),
+    @Index(name = "idx_evento_outbox_carona", columnList = "carona_id")
+})
+@SequenceGenerator(name = "seq_generator", sequenceName = "evento_outbox_seq", allocationSize = 1)
+public class EventoOutbox extends AbstractEntity {
+
+    @Column(name = "routing_key", nullable = false, length = 100)
+    private String routingKey;
+
+    /**
+     * Carona a que o evento se refere; define a ordem de entrega. Nulo para
+     * eventos sem carona (ex.: solicitações).
+     */
+    @Column(name = "carona_id")
+    private Long caronaId;
+
+    /**
+     * Chave de negócio enviada no header {@code x-chave-idempotencia}; nula
+     * quando o próprio ID do evento basta para identificar duplicatas.
+     */
+    @Column(name = "chave_idempotencia", length = 200)
+    private String chaveIdempotencia;
+
+    @Column(name = "tipo_payload", nullable = false)
+    private String tipoPayload;
+
+    @Lob @Basic(fetch = FetchType.EAGER)
+    @Column(nullable = false)
+    private String payload; // JSON Payload
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusEventoOutbox status;
+
+    private int tentativas;
+
+    @Column(name = "publicado_em")
+    private Instant publicadoEm;
+
+    /**
+     * Fim da reserva do evento por um relay que o está publicando; enquanto
+     * vale, nem ele nem os eventos seguintes da carona são selecionados por
+     * outro relay. Nulo fora da publicação.
+     */
+    @Column(name = "reservado_ate")
+    private Instant reservadoAte;
+
+    /**
+     * Antes deste instante o evento, que já falhou, não é publicado de novo;
+     * os eventos seguintes da carona esperam por ele. Nulo antes da primeira
+     * falha.
+     */
+    @Column(name = "proxima_tentativa_em")
+    private Instant proximaTentativaEm;
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+}
@@ -0,0 +1,50 @@
+package com.br.puc.carona.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Registro de uma mensagem já recebida por um consumidor, identificada pela
+ * chave de idempotência. A constraint única em (consumidor, chave) garante que
+ * duas entregas da mesma mensagem não sejam processadas ao mesmo tempo; o
+ * registro só é marcado como concluído na transação do processamento.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "mensagem_processada",
+    uniqueConstraints = @UniqueConstraint(name = "uk_mensagem_processada_consumidor_chave",
+            columnNames = {"consumidor", "chave"}),
+    indexes = @Index(name = "idx_mensagem_processada_atualizada_em", columnList = "atualizada_em"))
+@SequenceGenerator(name = "seq_generator", sequenceName = "mensagem_processada_seq", allocationSize = 1)
+public class MensagemProcessada extends AbstractEntity {
+
+    @Column(nullable = false, length = 50)
+    private String consumidor;
+
+    @Column(nullable = false, length = 200)
+    private String chave;
+
+    private boolean concluida;
+
+    /**
+     * Momento da reserva ou da conclusão; uma reserva não concluída mais antiga
+     * que o lease é considerada abandonada e pode ser retomada.
+     */
+    @Column(name = "atualizada_em", nullable = false)
+    private Instant atualizadaEm;
+}
@@ -17,7 +17,9 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
 @Entity
-@Table(name = "pedido_de_entrada")
+@Table(name = "pedido_de_entrada", indexes = {
+    @Index(name = "idx_pedido_data_atualizacao", columnList = "data_atualizacao, id")
+})
 public class PedidoDeEntrada extends AbstractEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
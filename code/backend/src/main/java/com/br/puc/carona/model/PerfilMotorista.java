@@ -1,5 +1,10 @@
 package com.br.puc.carona.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.br.puc.carona.constants.RegioesCache;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -21,6 +26,7 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = "estudante")
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.PERFIL_MOTORISTA)
 @Table(name = "perfil_motorista")
 @SequenceGenerator(name = "seq_generator", sequenceName = "perfil_motorista_seq", allocationSize = 1)
 public class PerfilMotorista extends AbstractEntity{
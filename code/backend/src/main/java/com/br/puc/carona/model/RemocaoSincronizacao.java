@@ -0,0 +1,44 @@
+package com.br.puc.carona.model;
+
+import com.br.puc.carona.enums.TipoEntidadeSincronizacao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Registro de alteração por usuário usado pela sincronização incremental.
+ * Guarda as remoções (tombstones) e perdas de visibilidade que não podem ser
+ * detectadas pela coluna data_atualizacao da própria entidade.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "sincronizacao_remocao", indexes = {
+    @Index(name = "idx_sinc_remocao_usuario_data", columnList = "usuario_id, data_criacao, id")
+})
+@SequenceGenerator(name = "seq_generator", sequenceName = "sincronizacao_remocao_seq", allocationSize = 1)
+public class RemocaoSincronizacao extends AbstractEntity {
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_entidade", nullable = false, length = 30)
+    private TipoEntidadeSincronizacao tipoEntidade;
+
+    @Column(name = "entidade_id", nullable = false)
+    private Long entidadeId;
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -29,7 +30,9 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "solicitacao_carona")
+@Table(name = "solicitacao_carona", indexes = {
+    @Index(name = "idx_solicitacao_estudante_atualizacao", columnList = "estudante_id, data_atualizacao, id")
+})
 public class SolicitacaoCarona extends AbstractEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.br.puc.carona.model;
 
+import com.br.puc.carona.constants.RegioesCache;
 import com.br.puc.carona.enums.Status;
 import com.br.puc.carona.enums.TipoUsuario;
 
@@ -17,6 +18,8 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,6 +33,7 @@ import java.util.List;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.USUARIO)
 @Inheritance(strategy = InheritanceType.JOINED)
 @Table(name = "usuario")
 @SequenceGenerator(name = "seq_generator", sequenceName = "usuario_seq", allocationSize = 1)
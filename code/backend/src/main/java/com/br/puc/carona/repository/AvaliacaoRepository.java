@@ -1,16 +1,25 @@
 package com.br.puc.carona.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.br.puc.carona.enums.TipoAvaliacao;
 import com.br.puc.carona.model.Avaliacao;
 import com.br.puc.carona.model.Carona;
 import com.br.puc.carona.model.Estudante;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
 
@@ -58,4 +67,25 @@ public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
      * @return lista de avaliações
      */
     List<Avaliacao> findByAvaliadoId(Long avaliadoId);
-}
\ No newline at end of file
+
+    /**
+     * Percorre as avaliações para exportação administrativa, sem materializar o resultado
+     *
+     * @param tipo filtro opcional pelo tipo da avaliação
+     * @param inicio início opcional do período (inclusivo)
+     * @param fim fim opcional do período (exclusivo)
+     * @return stream de avaliações ordenadas por id; deve ser fechado pelo chamador
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Avaliacao a " +
+           "WHERE (:tipo IS NULL OR a.tipo = :tipo) " +
+           "AND (:inicio IS NULL OR a.dataHora >= :inicio) " +
+           "AND (:fim IS NULL OR a.dataHora < :fim) " +
+           "ORDER BY a.id")
+    Stream<Avaliacao> streamParaExportacao(@Param("tipo") TipoAvaliacao tipo,
+                                           @Param("inicio") LocalDateTime inicio,
+                                           @Param("fim") LocalDateTime fim);
+}
@@ -3,11 +3,14 @@ package com.br.puc.carona.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +18,8 @@ import com.br.puc.carona.dto.LocationDTO;
 import com.br.puc.carona.enums.StatusCarona;
 import com.br.puc.carona.model.Carona;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CaronaRepository extends JpaRepository<Carona, Long> {
 
@@ -78,20 +83,72 @@ public interface CaronaRepository extends JpaRepository<Carona, Long> {
            "LOWER(c.pontoDestino) LIKE :searchTerm)")
     Page<Carona> findBySearch(@Param("searchTerm") String searchTerm, Pageable pageable);
 
-    // Method to find caronas where a student was a passenger
+    // Histórico de caronas do passageiro paginado por keyset (dataHoraPartida DESC, id DESC)
     @Query("SELECT c FROM Carona c " +
            "JOIN c.passageiros p " +
            "WHERE p.id = :estudanteId " +
-           "ORDER BY c.dataHoraPartida DESC")
-    List<Carona> findByPassageiroIdOrderByDataHoraPartidaDesc(@Param("estudanteId") Long estudanteId);
+           "ORDER BY c.dataHoraPartida DESC, c.id DESC")
+    List<Carona> findPrimeiraPaginaPorPassageiro(@Param("estudanteId") Long estudanteId, Pageable limite);
 
-    // Method to find active caronas where a student is a passenger (with specific status)
+    @Query("SELECT c FROM Carona c " +
+           "JOIN c.passageiros p " +
+           "WHERE p.id = :estudanteId " +
+           "AND (c.dataHoraPartida < :partida OR (c.dataHoraPartida = :partida AND c.id < :id)) " +
+           "ORDER BY c.dataHoraPartida DESC, c.id DESC")
+    List<Carona> findPaginaPorPassageiroApos(@Param("estudanteId") Long estudanteId,
+                                             @Param("partida") LocalDateTime partida,
+                                             @Param("id") Long id,
+                                             Pageable limite);
+
+    // Caronas do passageiro com status específico paginadas por keyset (dataHoraPartida ASC, id ASC)
     @Query("SELECT c FROM Carona c " +
            "JOIN c.passageiros p " +
            "WHERE p.id = :estudanteId " +
            "AND c.status = :status " +
-           "ORDER BY c.dataHoraPartida ASC")
-    List<Carona> findByPassageiroIdAndStatusOrderByDataHoraPartidaAsc(@Param("estudanteId") Long estudanteId, @Param("status") StatusCarona status);
+           "ORDER BY c.dataHoraPartida ASC, c.id ASC")
+    List<Carona> findPrimeiraPaginaPorPassageiroEStatus(@Param("estudanteId") Long estudanteId,
+                                                        @Param("status") StatusCarona status,
+                                                        Pageable limite);
+
+    @Query("SELECT c FROM Carona c " +
+           "JOIN c.passageiros p " +
+           "WHERE p.id = :estudanteId " +
+           "AND c.status = :status " +
+           "AND (c.dataHoraPartida > :partida OR (c.dataHoraPartida = :partida AND c.id > :id)) " +
+           "ORDER BY c.dataHoraPartida ASC, c.id ASC")
+    List<Carona> findPaginaPorPassageiroEStatusApos(@Param("estudanteId") Long estudanteId,
+                                                    @Param("status") StatusCarona status,
+                                                    @Param("partida") LocalDateTime partida,
+                                                    @Param("id") Long id,
+                                                    Pageable limite);
+
+    // Sincronização incremental: caronas do usuário (motorista ou passageiro) alteradas após a posição
+    // (dataAtualizacao, id)
+    @Query("SELECT DISTINCT c FROM Carona c " +
+           "LEFT JOIN c.passageiros p " +
+           "WHERE (c.motorista.estudante.id = :estudanteId OR p.id = :estudanteId) " +
+           "AND (c.dataAtualizacao > :desde OR (c.dataAtualizacao = :desde AND c.id > :id)) " +
+           "ORDER BY c.dataAtualizacao ASC, c.id ASC")
+    List<Carona> findAlteradasDesde(@Param("estudanteId") Long estudanteId,
+                                    @Param("desde") LocalDateTime desde,
+                                    @Param("id") Long id,
+                                    Pageable limite);
+
+    // Exportação administrativa: percorrida como stream, com fetch size para não materializar o resultado
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Carona c " +
+           "JOIN FETCH c.motorista m " +
+           "JOIN FETCH m.estudante " +
+           "WHERE (:status IS NULL OR c.status = :status) " +
+           "AND (:inicio IS NULL OR c.dataHoraPartida >= :inicio) " +
+           "AND (:fim IS NULL OR c.dataHoraPartida < :fim) " +
+           "ORDER BY c.id")
+    Stream<Carona> streamParaExportacao(@Param("status") StatusCarona status,
+                                        @Param("inicio") LocalDateTime inicio,
+                                        @Param("fim") LocalDateTime fim);
 
     // Statistics count methods
     Long countByStatus(StatusCarona status);
@@ -1,10 +1,15 @@
 package com.br.puc.carona.repository;
 
+import com.br.puc.carona.constants.RegioesCache;
 import com.br.puc.carona.enums.Status;
 import com.br.puc.carona.model.Estudante;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,7 +17,12 @@ import java.util.Optional;
 
 @Repository
 public interface EstudanteRepository extends JpaRepository<Estudante, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = RegioesCache.CONSULTA_USUARIO_POR_EMAIL)
+    })
     Optional<Estudante> findByEmail(String email);
+
     Boolean existsByEmail(String email);
     boolean existsByMatricula(String matricula);
     
@@ -20,5 +30,8 @@ public interface EstudanteRepository extends JpaRepository<Estudante, Long> {
     
     Page<Estudante> findByCursoIgnoreCase(String curso, Pageable pageable);
     
-    List<Estudante> findByStatusCadastro(Status status);
+    // Listagens administrativas paginadas por keyset sobre o id
+    List<Estudante> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limite);
+
+    List<Estudante> findByStatusCadastroAndIdGreaterThanOrderByIdAsc(Status status, Long id, Pageable limite);
 }
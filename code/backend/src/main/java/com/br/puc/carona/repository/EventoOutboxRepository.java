@@ -0,0 +1,48 @@
+package com.br.puc.carona.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.br.puc.carona.enums.StatusEventoOutbox;
+import com.br.puc.carona.model.EventoOutbox;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Próximos eventos pendentes, não reservados e fora do intervalo de espera
+     * entre tentativas, em ordem de criação, sem os que vêm depois de um evento
+     * da mesma carona reservado por outro relay ou esperando nova tentativa. O
+     * lock pessimista serializa a reserva entre instâncias e dura só a
+     * transação que a grava, não a publicação.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EventoOutbox e " +
+           "WHERE e.status = com.br.puc.carona.enums.StatusEventoOutbox.PENDENTE " +
+           "AND (e.reservadoAte IS NULL OR e.reservadoAte < :agora) " +
+           "AND (e.proximaTentativaEm IS NULL OR e.proximaTentativaEm <= :agora) " +
+           "AND NOT EXISTS (SELECT r.id FROM EventoOutbox r " +
+           "    WHERE r.caronaId = e.caronaId AND r.id < e.id " +
+           "    AND r.status = com.br.puc.carona.enums.StatusEventoOutbox.PENDENTE " +
+           "    AND (r.reservadoAte >= :agora OR r.proximaTentativaEm > :agora)) " +
+           "ORDER BY e.id ASC")
+    List<EventoOutbox> findPendentesParaPublicacao(@Param("agora") Instant agora, Pageable limite);
+
+    long countByStatus(StatusEventoOutbox status);
+
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e " +
+           "WHERE e.status = com.br.puc.carona.enums.StatusEventoOutbox.PUBLICADO " +
+           "AND e.publicadoEm < :limite")
+    int deletePublicadosAntesDe(@Param("limite") Instant limite);
+}
@@ -0,0 +1,27 @@
+package com.br.puc.carona.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.br.puc.carona.model.MensagemProcessada;
+
+@Repository
+public interface MensagemProcessadaRepository extends JpaRepository<MensagemProcessada, Long> {
+
+    Optional<MensagemProcessada> findByConsumidorAndChave(String consumidor, String chave);
+
+    @Modifying
+    @Query("DELETE FROM MensagemProcessada m WHERE m.consumidor = :consumidor AND m.chave = :chave " +
+           "AND m.concluida = false")
+    int deleteReserva(@Param("consumidor") String consumidor, @Param("chave") String chave);
+
+    @Modifying
+    @Query("DELETE FROM MensagemProcessada m WHERE m.atualizadaEm < :limite")
+    int deleteAtualizadasAntesDe(@Param("limite") Instant limite);
+}
@@ -1,6 +1,7 @@
 package com.br.puc.carona.repository;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -69,4 +70,14 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
         @Param("maxRetries") final int maxRetries, 
         @Param("status") final NotificationStatus status
     );
-}
\ No newline at end of file
+
+    @Query(value = """
+        SELECT n
+        FROM Notification n
+        WHERE n.recipient.id = :recipientId
+        AND (n.dataAtualizacao > :desde OR (n.dataAtualizacao = :desde AND n.id > :id))
+        ORDER BY n.dataAtualizacao ASC, n.id ASC
+        """)
+    List<Notification> findAlteradasDesde(@Param("recipientId") final Long recipientId,
+            @Param("desde") final LocalDateTime desde, @Param("id") final Long id, final Pageable limite);
+}
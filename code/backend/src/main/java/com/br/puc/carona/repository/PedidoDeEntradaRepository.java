@@ -1,5 +1,7 @@
 package com.br.puc.carona.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -26,4 +28,15 @@ public interface PedidoDeEntradaRepository extends JpaRepository<PedidoDeEntrada
     Optional<PedidoDeEntrada> findByCaronaIdAndSolicitacaoEstudanteId(
         @Param("caronaId") Long caronaId,
         @Param("estudanteId") Long estudanteId);
+
+    // Sincronização incremental: pedidos do solicitante ou do motorista da carona alterados após a
+    // posição (dataAtualizacao, id)
+    @Query("SELECT p FROM PedidoDeEntrada p " +
+           "WHERE (p.solicitacao.estudante.id = :estudanteId OR p.carona.motorista.estudante.id = :estudanteId) " +
+           "AND (p.dataAtualizacao > :desde OR (p.dataAtualizacao = :desde AND p.id > :id)) " +
+           "ORDER BY p.dataAtualizacao ASC, p.id ASC")
+    List<PedidoDeEntrada> findAlteradosDesde(@Param("estudanteId") Long estudanteId,
+                                             @Param("desde") LocalDateTime desde,
+                                             @Param("id") Long id,
+                                             Pageable limite);
 }
@@ -2,14 +2,26 @@ package com.br.puc.carona.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.br.puc.carona.constants.RegioesCache;
 import com.br.puc.carona.model.PerfilMotorista;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PerfilMotoristaRepository extends JpaRepository<PerfilMotorista, Long> {
     boolean existsByCnh(String cnh);
 
-    Optional<PerfilMotorista> findByEstudanteId(Long id);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = RegioesCache.CONSULTA_PERFIL_POR_ESTUDANTE)
+    })
+    @Query("SELECT p FROM PerfilMotorista p JOIN FETCH p.estudante JOIN FETCH p.carro WHERE p.estudante.id = :id")
+    Optional<PerfilMotorista> findByEstudanteId(@Param("id") Long id);
 }
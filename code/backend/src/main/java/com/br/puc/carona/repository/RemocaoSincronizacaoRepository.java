@@ -0,0 +1,30 @@
+package com.br.puc.carona.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.br.puc.carona.model.RemocaoSincronizacao;
+
+@Repository
+public interface RemocaoSincronizacaoRepository extends JpaRepository<RemocaoSincronizacao, Long> {
+
+    @Query("SELECT r FROM RemocaoSincronizacao r " +
+           "WHERE r.usuarioId = :usuarioId " +
+           "AND (r.dataCriacao > :desde OR (r.dataCriacao = :desde AND r.id > :id)) " +
+           "ORDER BY r.dataCriacao ASC, r.id ASC")
+    List<RemocaoSincronizacao> findAlteradasDesde(@Param("usuarioId") Long usuarioId,
+                                                  @Param("desde") LocalDateTime desde,
+                                                  @Param("id") Long id,
+                                                  Pageable limite);
+
+    @Modifying
+    @Query("DELETE FROM RemocaoSincronizacao r WHERE r.dataCriacao < :limite")
+    int deleteByDataCriacaoBefore(@Param("limite") LocalDateTime limite);
+}
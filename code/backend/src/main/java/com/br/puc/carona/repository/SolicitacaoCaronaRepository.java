@@ -1,8 +1,12 @@
 package com.br.puc.carona.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.br.puc.carona.model.Estudante;
@@ -15,4 +19,13 @@ public interface SolicitacaoCaronaRepository extends JpaRepository<SolicitacaoCa
 
     List<SolicitacaoCarona> findByEstudanteId(Long estudanteId);
 
-}
\ No newline at end of file
+    // Sincronização incremental por keyset (dataAtualizacao, id)
+    @Query("SELECT s FROM SolicitacaoCarona s " +
+           "WHERE s.estudante.id = :estudanteId " +
+           "AND (s.dataAtualizacao > :desde OR (s.dataAtualizacao = :desde AND s.id > :id)) " +
+           "ORDER BY s.dataAtualizacao ASC, s.id ASC")
+    List<SolicitacaoCarona> findAlteradasDesde(@Param("estudanteId") Long estudanteId,
+                                               @Param("desde") LocalDateTime desde,
+                                               @Param("id") Long id,
+                                               Pageable limite);
+}
@@ -1,13 +1,22 @@
 package com.br.puc.carona.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.br.puc.carona.constants.RegioesCache;
 import com.br.puc.carona.model.Usuario;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = RegioesCache.CONSULTA_USUARIO_POR_EMAIL)
+    })
     Usuario findByEmail(String email);
+
     Boolean existsByEmail(String email);
 }
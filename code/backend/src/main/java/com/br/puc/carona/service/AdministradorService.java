@@ -1,8 +1,8 @@
 package com.br.puc.carona.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -11,12 +11,14 @@ import org.springframework.transaction.annotation.Transactional;
 import com.br.puc.carona.constants.MensagensResposta;
 import com.br.puc.carona.dto.request.SignupUsuarioRequest;
 import com.br.puc.carona.dto.response.CaronaDto;
+import com.br.puc.carona.dto.response.CursorPageDto;
 import com.br.puc.carona.dto.response.EstudanteDto;
 import com.br.puc.carona.dto.response.RideStatsDto;
 import com.br.puc.carona.enums.Status;
 import com.br.puc.carona.enums.StatusCarona;
 import com.br.puc.carona.exception.custom.EntidadeNaoEncontrada;
 import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.infra.security.UsuarioAlteradoEvent;
 import com.br.puc.carona.mapper.CaronaMapper;
 import com.br.puc.carona.mapper.EstudanteMapper;
 import com.br.puc.carona.mapper.UsuarioMapper;
@@ -28,6 +30,7 @@ import com.br.puc.carona.repository.AdministradorRepository;
 import com.br.puc.carona.repository.CaronaRepository;
 import com.br.puc.carona.repository.EstudanteRepository;
 import com.br.puc.carona.repository.UsuarioRepository;
+import com.br.puc.carona.utils.KeysetCursor;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +47,7 @@ public class AdministradorService {
     private final UsuarioMapper usuarioMapper;
     private final EstudanteMapper estudanteMapper;
     private final CaronaMapper caronaMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void reviewUserRegistration(final Long userId, final Status status) {
@@ -61,7 +65,8 @@ public class AdministradorService {
         // Atualizar o status do usuário (permitindo qualquer alteração de status)
         usuario.setStatusCadastro(status);
         usuarioRepository.save(usuario);
-        
+        eventPublisher.publishEvent(UsuarioAlteradoEvent.alterado(usuario.getEmail()));
+
         log.info("Usuário com ID: {} teve seu status atualizado para: {}", userId, status);
     }
 
@@ -71,30 +76,39 @@ public class AdministradorService {
         return administrador;
     }
 
-    public List<EstudanteDto> getPendingUsers() {
+    @Transactional(readOnly = true)
+    public CursorPageDto<EstudanteDto> getPendingUsers(final String cursor, final Integer tamanho) {
         log.info("Buscando usuários com status pendente");
-        
-        List<Estudante> pendingEstudantes = estudanteRepository.findByStatusCadastro(Status.PENDENTE);
-        
+
+        final KeysetCursor posicao = KeysetCursor.decode(cursor);
+        final int tamanhoPagina = KeysetCursor.tamanhoPagina(tamanho);
+
+        List<Estudante> pendingEstudantes = estudanteRepository.findByStatusCadastroAndIdGreaterThanOrderByIdAsc(
+                Status.PENDENTE, posicao != null ? posicao.id() : 0L, KeysetCursor.limite(tamanhoPagina));
+
         log.info("Encontrados {} usuários pendentes", pendingEstudantes.size());
-        
-        return pendingEstudantes.stream()
-            .map(estudanteMapper::toDto)
-            .collect(Collectors.toList());
+
+        return KeysetCursor.pagina(pendingEstudantes, tamanhoPagina, estudanteMapper::toDto,
+                e -> new KeysetCursor(null, e.getId()));
     }
-    
-    public List<EstudanteDto> getAllUsers() {
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<EstudanteDto> getAllUsers(final String cursor, final Integer tamanho) {
         log.info("Buscando todos os usuários");
-        
-        List<Estudante> allEstudantes = estudanteRepository.findAll();
-        
+
+        final KeysetCursor posicao = KeysetCursor.decode(cursor);
+        final int tamanhoPagina = KeysetCursor.tamanhoPagina(tamanho);
+
+        List<Estudante> allEstudantes = estudanteRepository.findByIdGreaterThanOrderByIdAsc(
+                posicao != null ? posicao.id() : 0L, KeysetCursor.limite(tamanhoPagina));
+
         log.info("Encontrados {} usuários", allEstudantes.size());
-        
-        return allEstudantes.stream()
-            .map(estudanteMapper::toDto)
-            .collect(Collectors.toList());
+
+        return KeysetCursor.pagina(allEstudantes, tamanhoPagina, estudanteMapper::toDto,
+                e -> new KeysetCursor(null, e.getId()));
     }
 
+    @Transactional(readOnly = true)
     public Page<CaronaDto> listarTodasCaronas(Pageable pageable) {
         log.info("Buscando todas as caronas com paginação - página: {}, tamanho: {}", 
                  pageable.getPageNumber(), pageable.getPageSize());
@@ -107,6 +121,7 @@ public class AdministradorService {
         return caronas.map(caronaMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<CaronaDto> listarTodasCaronas(Pageable pageable, StatusCarona status) {
         log.info("Buscando caronas com paginação - página: {}, tamanho: {}, status: {}", 
                  pageable.getPageNumber(), pageable.getPageSize(), status);
@@ -124,6 +139,7 @@ public class AdministradorService {
         return caronas.map(caronaMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<CaronaDto> listarTodasCaronas(Pageable pageable, StatusCarona status, String search) {
         log.info("Buscando caronas com paginação - página: {}, tamanho: {}, status: {}, pesquisa: {}", 
                  pageable.getPageNumber(), pageable.getPageSize(), status, search);
@@ -151,6 +167,7 @@ public class AdministradorService {
         return caronas.map(caronaMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public RideStatsDto obterEstatisticasCaronas() {
         log.info("Obtendo estatísticas das caronas");
         
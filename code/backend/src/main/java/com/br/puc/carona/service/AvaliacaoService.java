@@ -166,6 +166,7 @@ public class AvaliacaoService {
      * @param avaliacaoId ID da avaliação
      * @return DTO da avaliação
      */
+    @Transactional(readOnly = true)
     public AvaliacaoDto buscarAvaliacaoPorId(final Long avaliacaoId) {
         log.info("Buscando avaliação com ID: {}", avaliacaoId);
 
@@ -182,6 +183,7 @@ public class AvaliacaoService {
      * @param pageable configuração de paginação
      * @return página de DTOs de avaliações
      */
+    @Transactional(readOnly = true)
     public Page<AvaliacaoDto> buscarAvaliacoesPorCarona(final Long caronaId, final Pageable pageable) {
         log.info("Buscando avaliações da carona ID: {}", caronaId);
 
@@ -202,6 +204,7 @@ public class AvaliacaoService {
      * @param pageable configuração de paginação
      * @return página de DTOs de avaliações anônimas
      */
+    @Transactional(readOnly = true)
     public Page<AvaliacaoAnonimaDto> buscarAvaliacoesRecebidasAnonimas(final Long estudanteId, final Pageable pageable) {
         log.info("Buscando avaliações recebidas (anônimas) pelo estudante ID: {}", estudanteId);
 
@@ -222,6 +225,7 @@ public class AvaliacaoService {
      * @param pageable configuração de paginação
      * @return página de DTOs de avaliações anônimas (por privacidade)
      */
+    @Transactional(readOnly = true)
     public Page<AvaliacaoAnonimaDto> buscarAvaliacoesRecebidas(final Long estudanteId, final Pageable pageable) {
         log.info("Buscando avaliações recebidas pelo estudante ID: {}", estudanteId);
 
@@ -243,6 +247,7 @@ public class AvaliacaoService {
      * @param pageable configuração de paginação
      * @return página de DTOs de avaliações
      */
+    @Transactional(readOnly = true)
     public Page<AvaliacaoDto> buscarAvaliacoesRealizadas(final Long estudanteId, final Pageable pageable) {
         log.info("Buscando avaliações realizadas pelo estudante ID: {}", estudanteId);
 
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,7 @@ import com.br.puc.carona.dto.TrajetoDto;
 import com.br.puc.carona.dto.request.CaronaRequest;
 import com.br.puc.carona.dto.response.CaronaDto;
 import com.br.puc.carona.dto.response.CompleteRouteDto;
+import com.br.puc.carona.dto.response.CursorPageDto;
 import com.br.puc.carona.dto.response.PassengerWaypointDto;
 import com.br.puc.carona.enums.StatusCarona;
 import com.br.puc.carona.enums.Status;
@@ -24,7 +26,9 @@ import com.br.puc.carona.exception.custom.CaronaForaDoHorarioPermitido;
 import com.br.puc.carona.exception.custom.CaronaStatusInvalido;
 import com.br.puc.carona.exception.custom.EntidadeNaoEncontrada;
 import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.infra.localizacao.CaronaAlteradaEvent;
 import com.br.puc.carona.mapper.CaronaMapper;
+import com.br.puc.carona.utils.KeysetCursor;
 import com.br.puc.carona.utils.RouteOptimizer;
 import com.br.puc.carona.utils.RouteOptimizer.Waypoint;
 import com.br.puc.carona.mapper.TrajetoMapper;
@@ -62,6 +66,8 @@ public class CaronaService {
 
     private final WebsocketService webSocketService;
     private final MensagemProducer mensagemProducer;
+    private final SincronizacaoService sincronizacaoService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CaronaDto criarCarona(final CaronaRequest request) {
@@ -179,10 +185,12 @@ public class CaronaService {
         // Persistir a atualização
         caronaRepository.save(carona);
         log.info("Status da carona alterado com sucesso. ID: {}", carona.getId());
+        eventPublisher.publishEvent(CaronaAlteradaEvent.de(carona));
 
         return caronaMapper.toDto(carona);
     }
 
+    @Transactional(readOnly = true)
     public CaronaDto buscarCaronaPorId(final Long caronaId) {
         log.info("Buscando carona com ID: {}", caronaId);
 
@@ -192,6 +200,7 @@ public class CaronaService {
         return caronaMapper.toDto(carona);
     }
 
+    @Transactional(readOnly = true)
     public Page<CaronaDto> buscarCaronasDoMotorista(final Long motoristaId, final Pageable pageable) {
         log.info("Buscando caronas do motorista ID: {}", motoristaId);
 
@@ -207,6 +216,7 @@ public class CaronaService {
     }
 
     // Método para buscar próximas caronas agendadas de um motorista
+    @Transactional(readOnly = true)
     public List<CaronaDto> buscarProximasCaronasDoMotorista(final Long motoristaId) {
         log.info("Buscando próximas caronas agendadas do motorista ID: {}", motoristaId);
 
@@ -228,6 +238,7 @@ public class CaronaService {
     }
 
     // Método para buscar caronas ativas de um motorista (em andamento)
+    @Transactional(readOnly = true)
     public List<CaronaDto> buscarCaronasAtivasDoMotorista(final Long motoristaId) {
         log.info("Buscando caronas ativas do motorista ID: {}", motoristaId);
 
@@ -250,33 +261,46 @@ public class CaronaService {
     }
 
     // Método para buscar caronas ativas de um passageiro (em andamento)
-    public List<CaronaDto> buscarCaronasAtivasDoPassageiro(final Long estudanteId) {
+    @Transactional(readOnly = true)
+    public CursorPageDto<CaronaDto> buscarCaronasAtivasDoPassageiro(final Long estudanteId,
+            final String cursor, final Integer tamanho) {
         log.info("Buscando caronas ativas do passageiro ID: {}", estudanteId);
 
+        final KeysetCursor posicao = KeysetCursor.decode(cursor);
+        final int tamanhoPagina = KeysetCursor.tamanhoPagina(tamanho);
+
         // Buscar caronas onde o estudante é passageiro e estão com status EM_ANDAMENTO
-        final List<Carona> caronasAtivas = caronaRepository
-                .findByPassageiroIdAndStatusOrderByDataHoraPartidaAsc(estudanteId, StatusCarona.EM_ANDAMENTO);
+        final List<Carona> caronasAtivas = posicao == null
+                ? caronaRepository.findPrimeiraPaginaPorPassageiroEStatus(estudanteId,
+                        StatusCarona.EM_ANDAMENTO, KeysetCursor.limite(tamanhoPagina))
+                : caronaRepository.findPaginaPorPassageiroEStatusApos(estudanteId,
+                        StatusCarona.EM_ANDAMENTO, posicao.valor(), posicao.id(), KeysetCursor.limite(tamanhoPagina));
 
         log.info("Encontradas {} caronas ativas para o passageiro ID: {}", caronasAtivas.size(), estudanteId);
-        
-        return caronasAtivas.stream()
-                .map(caronaMapper::toDto)
-                .toList();
+
+        return KeysetCursor.pagina(caronasAtivas, tamanhoPagina, caronaMapper::toDto,
+                c -> new KeysetCursor(c.getDataHoraPartida(), c.getId()));
     }
 
     // Método para buscar histórico de caronas onde um estudante foi passageiro
-    public List<CaronaDto> buscarCaronasDoPassageiro(final Long estudanteId) {
+    @Transactional(readOnly = true)
+    public CursorPageDto<CaronaDto> buscarCaronasDoPassageiro(final Long estudanteId,
+            final String cursor, final Integer tamanho) {
         log.info("Buscando histórico de caronas do passageiro ID: {}", estudanteId);
 
+        final KeysetCursor posicao = KeysetCursor.decode(cursor);
+        final int tamanhoPagina = KeysetCursor.tamanhoPagina(tamanho);
+
         // Buscar caronas onde o estudante foi passageiro
-        final List<Carona> caronas = caronaRepository
-                .findByPassageiroIdOrderByDataHoraPartidaDesc(estudanteId);
+        final List<Carona> caronas = posicao == null
+                ? caronaRepository.findPrimeiraPaginaPorPassageiro(estudanteId, KeysetCursor.limite(tamanhoPagina))
+                : caronaRepository.findPaginaPorPassageiroApos(estudanteId, posicao.valor(), posicao.id(),
+                        KeysetCursor.limite(tamanhoPagina));
 
         log.info("Encontradas {} caronas para o passageiro ID: {}", caronas.size(), estudanteId);
-        
-        return caronas.stream()
-                .map(caronaMapper::toDto)
-                .toList();
+
+        return KeysetCursor.pagina(caronas, tamanhoPagina, caronaMapper::toDto,
+                c -> new KeysetCursor(c.getDataHoraPartida(), c.getId()));
     }
 
     /**
@@ -417,10 +441,13 @@ public class CaronaService {
         // Adicionar o passageiro à carona
 
         carona.adicionarPassageiro(estudante);
+        // Alteração só na coleção não dispara a auditoria; marca a carona para a sincronização
+        carona.setDataAtualizacao(LocalDateTime.now());
 
         // Persistir a atualização
         caronaRepository.save(carona);
         log.info("Passageiro adicionado com sucesso à carona. ID: {}", carona.getId());
+        publicarSeEmAndamento(carona);
     }
 
     @Transactional
@@ -503,14 +530,26 @@ public class CaronaService {
         }
     }
    
+    @Transactional
     public void removerPassageiroDaCarona(Long idCarona, Long idPassageiro) {
 
         final Carona carona = caronaRepository.findById(idCarona)
                 .orElseThrow(() -> new EntidadeNaoEncontrada(MensagensResposta.CARONA_NAO_ENCONTRADA, idCarona));
 
-        carona.removerPassageiro(idPassageiro);
+        final PedidoDeEntrada pedidoRemovido = carona.removerPassageiro(idPassageiro);
+        carona.setDataAtualizacao(LocalDateTime.now());
 
         caronaRepository.save(carona);
+        publicarSeEmAndamento(carona);
+
+        sincronizacaoService.registrarSaidaDePassageiro(carona, idPassageiro, pedidoRemovido);
+    }
+
+    /** Mantém a lista de passageiros do registro de caronas em andamento atualizada. */
+    private void publicarSeEmAndamento(final Carona carona) {
+        if (StatusCarona.EM_ANDAMENTO.equals(carona.getStatus())) {
+            eventPublisher.publishEvent(CaronaAlteradaEvent.de(carona));
+        }
     }
 
     /**
@@ -672,55 +711,39 @@ public class CaronaService {
     }
 
     /**
-     * Notifica todos os passageiros confirmados sobre o cancelamento completo da carona
+     * Notifica todos os passageiros confirmados sobre o cancelamento completo da carona.
+     * Publica um único evento com a lista de passageiros; o consumidor gera uma
+     * notificação para cada um.
      * 
      * @param carona A carona que foi cancelada
      * @param driverId ID do motorista que cancelou a carona
      */
     private void notificarPassageirosRideCancelada(final Carona carona, final Long driverId) {
         log.info("Notificando passageiros sobre cancelamento da carona ID: {}", carona.getId());
-        log.debug("Total de pedidos de entrada na carona: {}", carona.getPedidosEntrada().size());
-        
+
         // Obter todos os passageiros confirmados
-        final List<PedidoDeEntrada> passageirosConfirmados = carona.getPedidosEntrada().stream()
-                .filter(pedido -> {
-                    log.debug("Pedido ID: {}, Status: {}", pedido.getId(), pedido.getStatus());
-                    return pedido.getStatus() == Status.APROVADO;
-                })
+        final List<Long> passageirosIds = carona.getPedidosEntrada().stream()
+                .filter(pedido -> pedido.getStatus() == Status.APROVADO)
+                .map(pedido -> pedido.getSolicitacao().getEstudante().getId())
                 .collect(Collectors.toList());
-        
-        log.info("Encontrados {} passageiros confirmados para notificar", passageirosConfirmados.size());
-        
-        if (passageirosConfirmados.isEmpty()) {
+
+        if (passageirosIds.isEmpty()) {
             log.info("Nenhum passageiro confirmado encontrado para carona ID: {}", carona.getId());
             return;
         }
-        
-        log.info("Enviando notificações de cancelamento para {} passageiros confirmados", passageirosConfirmados.size());
-        
-        // Enviar notificação para cada passageiro confirmado
-        for (final PedidoDeEntrada pedido : passageirosConfirmados) {
-            final Long passageiroId = pedido.getSolicitacao().getEstudante().getId();
-            
-            log.info("Enviando notificação de cancelamento para passageiro ID: {}", passageiroId);
-            
-            final RideCancellationMessageDTO cancellationMessage = RideCancellationMessageDTO.builder()
-                    .pedidoId(pedido.getId())
-                    .caronaId(carona.getId())
-                    .cancelledByUserId(driverId)
-                    .affectedUserId(passageiroId)
-                    .cancellationType(RideCancellationMessageDTO.RideCancellationTypeEnum.DRIVER_CANCELLED)
-                    .notificationType(NotificationType.RIDE_CANCELLED)
-                    .message("A carona foi cancelada pelo motorista")
-                    .build();
-            
-            try {
-                mensagemProducer.enviarMensagemCancelamentoCarona(cancellationMessage);
-                log.info("Notificação de cancelamento enviada com sucesso para passageiro ID: {}", passageiroId);
-            } catch (Exception e) {
-                log.error("Erro ao enviar notificação de cancelamento para passageiro ID: {}", passageiroId, e);
-            }
-        }
+
+        final RideCancellationMessageDTO cancellationMessage = RideCancellationMessageDTO.builder()
+                .caronaId(carona.getId())
+                .cancelledByUserId(driverId)
+                .destinatariosIds(passageirosIds)
+                .cancellationType(RideCancellationMessageDTO.RideCancellationTypeEnum.DRIVER_CANCELLED)
+                .notificationType(NotificationType.RIDE_CANCELLED)
+                .message("A carona foi cancelada pelo motorista")
+                .build();
+
+        mensagemProducer.enviarMensagemCancelamentoCarona(cancellationMessage);
+        log.info("Evento de cancelamento registrado para {} passageiros da carona ID: {}",
+                passageirosIds.size(), carona.getId());
     }
 
     /**
@@ -730,40 +753,24 @@ public class CaronaService {
      * @param driverId ID do motorista que iniciou a carona
      */
     private void notificarPassageirosRideIniciada(final Carona carona, final Long driverId) {
-        log.info("Enviando notificações de carona iniciada para a carona ID: {}", carona.getId());
-        
-        // Get all confirmed passengers for this ride
-        final Set<Estudante> passageiros = carona.getPassageiros();
-        
-        if (passageiros == null || passageiros.isEmpty()) {
+        final List<Long> passageirosIds = idsDosPassageiros(carona);
+        if (passageirosIds.isEmpty()) {
             log.info("Nenhum passageiro confirmado encontrado para a carona ID: {}", carona.getId());
             return;
         }
-        
-        for (final Estudante passageiro : passageiros) {
-            final Long passageiroId = passageiro.getId();
-            
-            log.info("Enviando notificação de carona iniciada para passageiro ID: {}", passageiroId);
-            
-            final RideStartedMessageDTO startedMessage = RideStartedMessageDTO.builder()
-                    .caronaId(carona.getId())
-                    .driverId(driverId)
-                    .startedByUserId(driverId)
-                    .affectedUserId(passageiroId) // Set the passenger as affected user
-                    .notificationType(NotificationType.RIDE_STARTED)
-                    .message("A carona foi iniciada pelo motorista")
-                    .build();
-            
-            try {
-                mensagemProducer.enviarMensagemCaronaIniciada(startedMessage);
-                log.info("Notificação de carona iniciada enviada com sucesso para passageiro ID: {}", passageiroId);
-            } catch (Exception e) {
-                log.error("Erro ao enviar notificação de carona iniciada para passageiro ID: {}: {}", 
-                         passageiroId, e.getMessage(), e);
-            }
-        }
-        
-        log.info("Processamento de notificações de carona iniciada concluído para carona ID: {}", carona.getId());
+
+        final RideStartedMessageDTO startedMessage = RideStartedMessageDTO.builder()
+                .caronaId(carona.getId())
+                .driverId(driverId)
+                .startedByUserId(driverId)
+                .destinatariosIds(passageirosIds)
+                .notificationType(NotificationType.RIDE_STARTED)
+                .message("A carona foi iniciada pelo motorista")
+                .build();
+
+        mensagemProducer.enviarMensagemCaronaIniciada(startedMessage);
+        log.info("Evento de carona iniciada registrado para {} passageiros da carona ID: {}",
+                passageirosIds.size(), carona.getId());
     }
 
     /**
@@ -773,39 +780,31 @@ public class CaronaService {
      * @param driverId ID do motorista que finalizou a carona
      */
     private void notificarPassageirosRideFinalizada(final Carona carona, final Long driverId) {
-        log.info("Enviando notificações de carona finalizada para a carona ID: {}", carona.getId());
-        
-        // Get all confirmed passengers for this ride
-        final Set<Estudante> passageiros = carona.getPassageiros();
-        
-        if (passageiros == null || passageiros.isEmpty()) {
+        final List<Long> passageirosIds = idsDosPassageiros(carona);
+        if (passageirosIds.isEmpty()) {
             log.info("Nenhum passageiro confirmado encontrado para a carona ID: {}", carona.getId());
             return;
         }
-        
-        for (final Estudante passageiro : passageiros) {
-            final Long passageiroId = passageiro.getId();
-            
-            log.info("Enviando notificação de carona finalizada para passageiro ID: {}", passageiroId);
-            
-            final RideFinishedMessageDTO finishedMessage = RideFinishedMessageDTO.builder()
-                    .caronaId(carona.getId())
-                    .driverId(driverId)
-                    .finishedByUserId(driverId)
-                    .affectedUserId(passageiroId) // Set the passenger as affected user
-                    .notificationType(NotificationType.RIDE_FINISHED)
-                    .message("A carona foi finalizada pelo motorista")
-                    .build();
-            
-            try {
-                mensagemProducer.enviarMensagemCaronaFinalizada(finishedMessage);
-                log.info("Notificação de carona finalizada enviada com sucesso para passageiro ID: {}", passageiroId);
-            } catch (Exception e) {
-                log.error("Erro ao enviar notificação de carona finalizada para passageiro ID: {}: {}", 
-                         passageiroId, e.getMessage(), e);
-            }
+
+        final RideFinishedMessageDTO finishedMessage = RideFinishedMessageDTO.builder()
+                .caronaId(carona.getId())
+                .driverId(driverId)
+                .finishedByUserId(driverId)
+                .destinatariosIds(passageirosIds)
+                .notificationType(NotificationType.RIDE_FINISHED)
+                .message("A carona foi finalizada pelo motorista")
+                .build();
+
+        mensagemProducer.enviarMensagemCaronaFinalizada(finishedMessage);
+        log.info("Evento de carona finalizada registrado para {} passageiros da carona ID: {}",
+                passageirosIds.size(), carona.getId());
+    }
+
+    private List<Long> idsDosPassageiros(final Carona carona) {
+        final Set<Estudante> passageiros = carona.getPassageiros();
+        if (passageiros == null) {
+            return List.of();
         }
-        
-        log.info("Processamento de notificações de carona finalizada concluído para carona ID: {}", carona.getId());
+        return passageiros.stream().map(Estudante::getId).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,238 @@
+package com.br.puc.carona.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.br.puc.carona.dto.request.LocationUpdateDto;
+import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.infra.localizacao.CaronaAlteradaEvent;
+import com.br.puc.carona.infra.localizacao.RotaCarona;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conflação das localizações enviadas pelo motorista antes do broadcast em
+ * {@code /topic/carona/{id}/location}. Cada carona tem um slot com a última
+ * localização recebida; o slot é esvaziado no máximo uma vez a cada
+ * {@code app.localizacao.intervalo-minimo-ms}, pela própria recepção ou pelo
+ * {@link #descarregarPendentes() flush agendado}, e as localizações
+ * intermediárias são substituídas sem serem enviadas.
+ *
+ * <p>Quadros que não se afastam do último enviado ao menos
+ * {@code limiar-distancia-metros} nem mudam a direção ao menos
+ * {@code limiar-direcao-graus} são descartados. Uma curva (mudança de direção
+ * de {@code limiar-curva-graus} ou mais) ou uma parada (velocidade abaixo de
+ * {@code limiar-parada-mps} depois de estar em movimento) sai na hora, sem
+ * esperar o intervalo, para que os passageiros vejam o carro parar ou virar.</p>
+ *
+ * <p>O slot é um {@link AtomicReference}: a thread que recebe o quadro e a do
+ * flush disputam o valor com {@code getAndSet}, sem locks.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConflacaoLocalizacaoService implements MeterBinder {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<Long, SlotCarona> slots = new ConcurrentHashMap<>();
+    private final AtomicLong recebidos = new AtomicLong();
+    private final AtomicLong enviados = new AtomicLong();
+    private final AtomicLong descartadosLimiar = new AtomicLong();
+    private final AtomicLong conflacionados = new AtomicLong();
+
+    /** Relógio em nanossegundos; substituído nos testes. */
+    private LongSupplier relogio = System::nanoTime;
+
+    @Value("${app.localizacao.intervalo-minimo-ms:1000}")
+    private long intervaloMinimoMs;
+
+    @Value("${app.localizacao.limiar-distancia-metros:5}")
+    private double limiarDistanciaMetros;
+
+    @Value("${app.localizacao.limiar-direcao-graus:10}")
+    private double limiarDirecaoGraus;
+
+    @Value("${app.localizacao.limiar-curva-graus:30}")
+    private double limiarCurvaGraus;
+
+    @Value("${app.localizacao.limiar-parada-mps:0.5}")
+    private double limiarParadaMps;
+
+    @Value("${app.localizacao.inatividade-minutos:10}")
+    private long inatividadeMinutos;
+
+    /**
+     * Recebe um quadro do motorista e o envia, guarda no slot ou descarta.
+     */
+    public void receber(final Long caronaId, final LocationUpdateDto localizacao) {
+        recebidos.incrementAndGet();
+        final long agora = relogio.getAsLong();
+        final SlotCarona slot = slots.computeIfAbsent(caronaId, id -> new SlotCarona());
+        slot.ultimaRecepcao = agora;
+
+        final LocationUpdateDto referencia = slot.ultimoEnviado;
+        if (referencia != null) {
+            if (isCurvaOuParada(referencia, localizacao)) {
+                descartarPendente(slot);
+                enviar(caronaId, slot, localizacao, agora);
+                return;
+            }
+            if (!isSignificativo(referencia, localizacao)) {
+                descartadosLimiar.incrementAndGet();
+                return;
+            }
+        }
+
+        if (slot.pendente.getAndSet(localizacao) != null) {
+            conflacionados.incrementAndGet();
+        }
+        descarregar(caronaId, slot, agora);
+    }
+
+    /**
+     * Envia as localizações que ficaram no slot esperando o intervalo mínimo e
+     * remove os slots de caronas sem quadros há {@code inatividade-minutos}.
+     */
+    @Scheduled(fixedDelayString = "${app.localizacao.intervalo-flush-ms:250}")
+    public void descarregarPendentes() {
+        final long agora = relogio.getAsLong();
+        final long inatividade = TimeUnit.MINUTES.toNanos(inatividadeMinutos);
+        slots.forEach((caronaId, slot) -> {
+            descarregar(caronaId, slot, agora);
+            if (agora - slot.ultimaRecepcao > inatividade && slot.pendente.get() == null) {
+                slots.remove(caronaId, slot);
+            }
+        });
+    }
+
+    /** Descarta o estado de conflação da carona (carona encerrada). */
+    public void encerrar(final Long caronaId) {
+        final SlotCarona slot = slots.remove(caronaId);
+        if (slot != null) {
+            descartarPendente(slot);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCaronaAlterada(final CaronaAlteradaEvent event) {
+        if (!StatusCarona.EM_ANDAMENTO.equals(event.status())) {
+            encerrar(event.caronaId());
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        FunctionCounter.builder("carona.localizacao.quadros", recebidos, AtomicLong::get)
+                .description("Quadros de localização recebidos dos motoristas")
+                .tag("sentido", "entrada")
+                .register(registry);
+        FunctionCounter.builder("carona.localizacao.quadros", enviados, AtomicLong::get)
+                .description("Quadros de localização enviados aos passageiros")
+                .tag("sentido", "saida")
+                .register(registry);
+        FunctionCounter.builder("carona.localizacao.descartados", descartadosLimiar, AtomicLong::get)
+                .description("Quadros descartados por não atingirem os limiares de movimento")
+                .tag("motivo", "limiar")
+                .register(registry);
+        FunctionCounter.builder("carona.localizacao.descartados", conflacionados, AtomicLong::get)
+                .description("Quadros substituídos no slot por um mais recente antes do envio")
+                .tag("motivo", "conflacao")
+                .register(registry);
+        Gauge.builder("carona.localizacao.caronas", slots, Map::size)
+                .description("Caronas com slot de conflação ativo")
+                .register(registry);
+    }
+
+    /**
+     * Envia o conteúdo do slot se o intervalo mínimo já passou. O
+     * {@code compareAndSet} em {@code ultimoEnvio} garante um único envio por
+     * janela entre a recepção e o flush.
+     */
+    private void descarregar(final Long caronaId, final SlotCarona slot, final long agora) {
+        if (slot.pendente.get() == null) {
+            return;
+        }
+        final long ultimoEnvio = slot.ultimoEnvio.get();
+        if (slot.ultimoEnviado != null && agora - ultimoEnvio < TimeUnit.MILLISECONDS.toNanos(intervaloMinimoMs)) {
+            return;
+        }
+        if (!slot.ultimoEnvio.compareAndSet(ultimoEnvio, agora)) {
+            return;
+        }
+        final LocationUpdateDto localizacao = slot.pendente.getAndSet(null);
+        if (localizacao != null) {
+            publicar(caronaId, slot, localizacao);
+        }
+    }
+
+    private void enviar(final Long caronaId, final SlotCarona slot, final LocationUpdateDto localizacao,
+            final long agora) {
+        slot.ultimoEnvio.set(agora);
+        publicar(caronaId, slot, localizacao);
+    }
+
+    private void publicar(final Long caronaId, final SlotCarona slot, final LocationUpdateDto localizacao) {
+        slot.ultimoEnviado = localizacao;
+        enviados.incrementAndGet();
+        messagingTemplate.convertAndSend(String.format("/topic/carona/%d/location", caronaId), localizacao);
+        log.debug("Localização da carona {} enviada: lat={}, lng={}", caronaId,
+                localizacao.getLatitude(), localizacao.getLongitude());
+    }
+
+    private void descartarPendente(final SlotCarona slot) {
+        if (slot.pendente.getAndSet(null) != null) {
+            conflacionados.incrementAndGet();
+        }
+    }
+
+    private boolean isSignificativo(final LocationUpdateDto referencia, final LocationUpdateDto localizacao) {
+        return distanciaMetros(referencia, localizacao) >= limiarDistanciaMetros
+                || variacaoDirecao(referencia, localizacao) >= limiarDirecaoGraus;
+    }
+
+    private boolean isCurvaOuParada(final LocationUpdateDto referencia, final LocationUpdateDto localizacao) {
+        if (variacaoDirecao(referencia, localizacao) >= limiarCurvaGraus) {
+            return true;
+        }
+        return referencia.getSpeed() != null && localizacao.getSpeed() != null
+                && referencia.getSpeed() >= limiarParadaMps
+                && localizacao.getSpeed() < limiarParadaMps;
+    }
+
+    /** Diferença angular em graus (0 a 180); 0 quando alguma direção é desconhecida. */
+    static double variacaoDirecao(final LocationUpdateDto a, final LocationUpdateDto b) {
+        if (a.getBearing() == null || b.getBearing() == null) {
+            return 0;
+        }
+        final double diferenca = Math.abs(a.getBearing() - b.getBearing()) % 360;
+        return diferenca > 180 ? 360 - diferenca : diferenca;
+    }
+
+    static double distanciaMetros(final LocationUpdateDto a, final LocationUpdateDto b) {
+        return RotaCarona.distanciaMetros(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude());
+    }
+
+    private static final class SlotCarona {
+        private final AtomicReference<LocationUpdateDto> pendente = new AtomicReference<>();
+        private final AtomicLong ultimoEnvio = new AtomicLong();
+        private volatile LocationUpdateDto ultimoEnviado;
+        private volatile long ultimaRecepcao;
+    }
+}
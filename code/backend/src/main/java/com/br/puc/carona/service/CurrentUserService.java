@@ -1,13 +1,21 @@
 package com.br.puc.carona.service;
 
+import java.util.Optional;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpAttributes;
+import org.springframework.messaging.simp.SimpAttributesContextHolder;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import com.br.puc.carona.constants.MensagensResposta;
 import com.br.puc.carona.enums.TipoUsuario;
 import com.br.puc.carona.exception.custom.UnauthenticatedUserException;
 import com.br.puc.carona.exception.custom.UnauthorizedUserException;
+import com.br.puc.carona.infra.security.UsuarioAlteradoEvent;
 import com.br.puc.carona.model.Estudante;
 import com.br.puc.carona.model.PerfilMotorista;
 import com.br.puc.carona.model.Usuario;
@@ -16,9 +24,27 @@ import com.br.puc.carona.repository.PerfilMotoristaRepository;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Resolve o usuário autenticado e suas entidades.
+ *
+ * <p>Estudante e perfil de motorista são memorizados nos atributos da requisição HTTP, de modo que
+ * chamadas repetidas no mesmo grafo de serviços não voltam ao banco. Em sessões STOMP apenas o id do
+ * perfil de motorista é guardado nos atributos da sessão (as entidades ficariam destacadas entre
+ * mensagens) e o perfil é recarregado pelo id, resolvido pelo cache de segundo nível. Nas mensagens
+ * STOMP o usuário da sessão chega ao {@link SecurityContextHolder} pelo
+ * {@link com.br.puc.carona.config.ContextoSegurancaStompInterceptor}.</p>
+ *
+ * <p>Regra de invalidação: qualquer {@link UsuarioAlteradoEvent} publicado durante a requisição descarta
+ * a memória da requisição; se o evento for do usuário da sessão STOMP corrente, a memória da sessão também
+ * é descartada. Fora de requisição ou sessão STOMP (ex.: consumidores AMQP) nada é memorizado.</p>
+ */
 @Service
 @RequiredArgsConstructor
 public class CurrentUserService {
+    static final String ATRIBUTO_ESTUDANTE = CurrentUserService.class.getName() + ".estudante";
+    static final String ATRIBUTO_PERFIL_MOTORISTA = CurrentUserService.class.getName() + ".perfilMotorista";
+    static final String ATRIBUTO_PERFIL_MOTORISTA_ID = CurrentUserService.class.getName() + ".perfilMotoristaId";
+
     private final EstudanteRepository estudanteRepository;
     private final PerfilMotoristaRepository perfilMotoristaRepository;
 
@@ -35,8 +61,22 @@ public class CurrentUserService {
         if(TipoUsuario.ADMINISTRADOR.equals(usuario.getTipoUsuario())) {
             throw new UnauthorizedUserException(MensagensResposta.ADMINISTRADOR_NAO_PODE_ACESSAR_RECURSO);
         }
-        final PerfilMotorista perfilMotorista = perfilMotoristaRepository.findByEstudanteId(usuario.getId())
+
+        final RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null
+                && requisicao.getAttribute(ATRIBUTO_PERFIL_MOTORISTA, RequestAttributes.SCOPE_REQUEST) instanceof PerfilMotorista memorizado) {
+            return memorizado;
+        }
+
+        final PerfilMotorista perfilMotorista = buscarPerfilMotorista(usuario.getId())
             .orElseThrow(() -> new UnauthorizedUserException(MensagensResposta.ESTUDANTE_NAO_E_MOTORISTA));
+
+        if (requisicao != null) {
+            requisicao.setAttribute(ATRIBUTO_PERFIL_MOTORISTA, perfilMotorista, RequestAttributes.SCOPE_REQUEST);
+            if (requisicao.getAttribute(ATRIBUTO_ESTUDANTE, RequestAttributes.SCOPE_REQUEST) == null) {
+                requisicao.setAttribute(ATRIBUTO_ESTUDANTE, perfilMotorista.getEstudante(), RequestAttributes.SCOPE_REQUEST);
+            }
+        }
         return perfilMotorista;
     }
 
@@ -45,8 +85,20 @@ public class CurrentUserService {
         if(TipoUsuario.ADMINISTRADOR.equals(usuario.getTipoUsuario())) {
             throw new UnauthorizedUserException(MensagensResposta.ADMINISTRADOR_NAO_PODE_ACESSAR_RECURSO);
         }
-        return estudanteRepository.findById(usuario.getId())
+
+        final RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null
+                && requisicao.getAttribute(ATRIBUTO_ESTUDANTE, RequestAttributes.SCOPE_REQUEST) instanceof Estudante memorizado) {
+            return memorizado;
+        }
+
+        final Estudante estudante = estudanteRepository.findById(usuario.getId())
             .orElseThrow(() -> new UnauthorizedUserException(MensagensResposta.ESTUDANTE_NAO_ENCONTRADO));
+
+        if (requisicao != null) {
+            requisicao.setAttribute(ATRIBUTO_ESTUDANTE, estudante, RequestAttributes.SCOPE_REQUEST);
+        }
+        return estudante;
     }
 
     public Usuario getCurrentAdministrator() {
@@ -56,4 +108,36 @@ public class CurrentUserService {
         }
         return usuario;
     }
+
+    @EventListener
+    public void onUsuarioAlterado(final UsuarioAlteradoEvent event) {
+        final RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null) {
+            requisicao.removeAttribute(ATRIBUTO_ESTUDANTE, RequestAttributes.SCOPE_REQUEST);
+            requisicao.removeAttribute(ATRIBUTO_PERFIL_MOTORISTA, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        final SimpAttributes sessao = SimpAttributesContextHolder.getAttributes();
+        final var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (sessao != null && authentication != null && authentication.getName().equals(event.email())) {
+            sessao.removeAttribute(ATRIBUTO_PERFIL_MOTORISTA_ID);
+        }
+    }
+
+    private Optional<PerfilMotorista> buscarPerfilMotorista(final Long estudanteId) {
+        final SimpAttributes sessao = SimpAttributesContextHolder.getAttributes();
+        if (sessao != null && sessao.getAttribute(ATRIBUTO_PERFIL_MOTORISTA_ID) instanceof Long perfilId) {
+            final Optional<PerfilMotorista> memorizado = perfilMotoristaRepository.findById(perfilId);
+            if (memorizado.isPresent()) {
+                return memorizado;
+            }
+        }
+
+        final Optional<PerfilMotorista> perfilMotorista = perfilMotoristaRepository.findByEstudanteId(estudanteId);
+        // Somente resultados positivos vão para a sessão: um estudante pode virar motorista por outro canal
+        if (sessao != null) {
+            perfilMotorista.ifPresent(perfil -> sessao.setAttribute(ATRIBUTO_PERFIL_MOTORISTA_ID, perfil.getId()));
+        }
+        return perfilMotorista;
+    }
 }
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import com.br.puc.carona.enums.TipoUsuario;
 import com.br.puc.carona.model.Usuario;
 import com.br.puc.carona.repository.UsuarioRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ import com.br.puc.carona.enums.Status;
 import com.br.puc.carona.enums.StatusCarona;
 import com.br.puc.carona.exception.custom.EntidadeNaoEncontrada;
 import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.infra.security.UsuarioAlteradoEvent;
 import com.br.puc.carona.mapper.DenunciaMapper;
 import com.br.puc.carona.model.Carona;
 import com.br.puc.carona.model.Denuncia;
@@ -40,6 +42,7 @@ public class DenunciaService {
 
     private final DenunciaMapper denunciaMapper;
     private final CurrentUserService currentUserService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Cria uma nova denúncia
@@ -243,6 +246,7 @@ public class DenunciaService {
 
         usuario.setTipoUsuario(TipoUsuario.BANIDO);
         usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(UsuarioAlteradoEvent.banido(usuario.getEmail()));
 
         log.info("Usuário banido com sucesso: ID {}, Email: {}",
                 usuario.getId(), usuario.getEmail());
@@ -3,6 +3,7 @@ package com.br.puc.carona.service;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,6 +19,7 @@ import com.br.puc.carona.dto.response.PerfilMotoristaDto;
 import com.br.puc.carona.enums.Status;
 import com.br.puc.carona.exception.custom.EntidadeNaoEncontrada;
 import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.infra.security.UsuarioAlteradoEvent;
 import com.br.puc.carona.mapper.CarroMapper;
 import com.br.puc.carona.mapper.EstudanteMapper;
 import com.br.puc.carona.mapper.PerfilMotoristaMapper;
@@ -42,6 +44,8 @@ public class EstudanteService {
     private final PerfilMotoristaMapper perfilMotoristaMapper;
     private final CarroMapper carroMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     public Estudante completeEstudanteCreation(final SignupEstudanteRequest cadastroRequest) {
         if (repository.existsByMatricula(cadastroRequest.getMatricula())) {
             throw new ErroDeCliente(MensagensResposta.MATRICULA_JA_CADASTRADA);
@@ -78,6 +82,7 @@ public class EstudanteService {
         estudante.setPerfilMotorista(perfilMotorista);
 
         repository.save(estudante);
+        eventPublisher.publishEvent(UsuarioAlteradoEvent.alterado(estudante.getEmail()));
         log.info("Perfil de motorista criado com sucesso para estudante ID: {}", estudanteId);
 
         return perfilMotoristaMapper.toDto(perfilMotorista);
@@ -134,6 +139,7 @@ public class EstudanteService {
         }
 
         repository.save(estudante);
+        eventPublisher.publishEvent(UsuarioAlteradoEvent.alterado(estudante.getEmail()));
         log.info("Estudante com ID: {} atualizado com sucesso", id);
 
         return mapper.toDto(estudante);
@@ -146,6 +152,7 @@ public class EstudanteService {
                 .orElseThrow(() -> new EntidadeNaoEncontrada(MensagensResposta.USUARIO_NAO_ENCONTRADO_ID, id));
 
         repository.delete(estudante);
+        eventPublisher.publishEvent(UsuarioAlteradoEvent.alterado(estudante.getEmail()));
         log.info("Estudante com ID: {} deletado com sucesso", id);
     }
 
@@ -204,6 +211,7 @@ public class EstudanteService {
         }
 
         perfilMotoristaRepository.save(perfilMotorista);
+        eventPublisher.publishEvent(UsuarioAlteradoEvent.alterado(estudante.getEmail()));
         log.info("Perfil de motorista atualizado com sucesso para estudante ID: {}", estudanteId);
 
         return perfilMotoristaMapper.toDto(perfilMotorista);
@@ -0,0 +1,121 @@
+package com.br.puc.carona.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.br.puc.carona.constants.MensagensResposta;
+import com.br.puc.carona.enums.ColunaExportacaoAvaliacao;
+import com.br.puc.carona.enums.ColunaExportacaoCarona;
+import com.br.puc.carona.enums.FormatoExportacao;
+import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.enums.TipoAvaliacao;
+import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.model.Avaliacao;
+import com.br.puc.carona.model.Carona;
+import com.br.puc.carona.repository.AvaliacaoRepository;
+import com.br.puc.carona.repository.CaronaRepository;
+import com.br.puc.carona.utils.EscritorExportacao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exportações administrativas em streaming. As entidades são lidas de um
+ * {@link Stream} JPA e o contexto de persistência é limpo periodicamente, de forma
+ * que o consumo de memória não depende da quantidade de linhas exportadas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportacaoService {
+
+    private final CaronaRepository caronaRepository;
+    private final AvaliacaoRepository avaliacaoRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.intervalo-limpeza:500}")
+    private int intervaloLimpeza;
+
+    public StreamingResponseBody exportarCaronas(final FormatoExportacao formato,
+            final List<ColunaExportacaoCarona> colunas, final StatusCarona status,
+            final LocalDateTime inicio, final LocalDateTime fim) {
+        validarPeriodo(inicio, fim);
+        final List<ColunaExportacaoCarona> selecionadas = colunas == null || colunas.isEmpty()
+                ? List.of(ColunaExportacaoCarona.values())
+                : colunas;
+
+        log.info("Exportando caronas - formato: {}, status: {}, período: {} a {}", formato, status, inicio, fim);
+
+        return saida -> emTransacaoSomenteLeitura(() -> {
+            try (Stream<Carona> caronas = caronaRepository.streamParaExportacao(status, inicio, fim)) {
+                final EscritorExportacao escritor = new EscritorExportacao(saida, formato,
+                        selecionadas.stream().map(ColunaExportacaoCarona::getNome).toList(), objectMapper);
+                final long total = escrever(caronas, escritor,
+                        carona -> selecionadas.stream().map(c -> c.getExtrator().apply(carona)).toList());
+                log.info("Exportação de caronas concluída: {} linhas", total);
+            }
+        });
+    }
+
+    public StreamingResponseBody exportarAvaliacoes(final FormatoExportacao formato,
+            final List<ColunaExportacaoAvaliacao> colunas, final TipoAvaliacao tipo,
+            final LocalDateTime inicio, final LocalDateTime fim) {
+        validarPeriodo(inicio, fim);
+        final List<ColunaExportacaoAvaliacao> selecionadas = colunas == null || colunas.isEmpty()
+                ? List.of(ColunaExportacaoAvaliacao.values())
+                : colunas;
+
+        log.info("Exportando avaliações - formato: {}, tipo: {}, período: {} a {}", formato, tipo, inicio, fim);
+
+        return saida -> emTransacaoSomenteLeitura(() -> {
+            try (Stream<Avaliacao> avaliacoes = avaliacaoRepository.streamParaExportacao(tipo, inicio, fim)) {
+                final EscritorExportacao escritor = new EscritorExportacao(saida, formato,
+                        selecionadas.stream().map(ColunaExportacaoAvaliacao::getNome).toList(), objectMapper);
+                final long total = escrever(avaliacoes, escritor,
+                        avaliacao -> selecionadas.stream().map(c -> c.getExtrator().apply(avaliacao)).toList());
+                log.info("Exportação de avaliações concluída: {} linhas", total);
+            }
+        });
+    }
+
+    private <E> long escrever(final Stream<E> entidades, final EscritorExportacao escritor,
+            final Function<E, List<Object>> linha) {
+        escritor.escreverCabecalho();
+        long total = 0;
+        for (final E entidade : (Iterable<E>) entidades::iterator) {
+            escritor.escreverLinha(linha.apply(entidade));
+            total++;
+            // Descarta as entidades já escritas para manter o contexto de persistência pequeno
+            if (total % intervaloLimpeza == 0) {
+                escritor.flush();
+                entityManager.clear();
+            }
+        }
+        escritor.flush();
+        return total;
+    }
+
+    private void emTransacaoSomenteLeitura(final Runnable exportacao) {
+        final TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.executeWithoutResult(status -> exportacao.run());
+    }
+
+    private void validarPeriodo(final LocalDateTime inicio, final LocalDateTime fim) {
+        if (inicio != null && fim != null && !inicio.isBefore(fim)) {
+            throw new ErroDeCliente(MensagensResposta.PERIODO_EXPORTACAO_INVALIDO);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.br.puc.carona.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.br.puc.carona.constants.MensagensResposta;
+import com.br.puc.carona.dto.response.FilaMortaDto;
+import com.br.puc.carona.dto.response.MensagemFilaMortaDto;
+import com.br.puc.carona.dto.response.ReprocessamentoFilaDto;
+import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.messaging.ConversorMensagens;
+import com.br.puc.carona.messaging.EventBus;
+import com.br.puc.carona.messaging.RecuperadorMensagens;
+import com.rabbitmq.client.GetResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inspeção e reprocessamento das DLQs ({@code <fila>.dlq}). O reprocessamento
+ * move as mensagens de volta para a fila de origem em ritmo controlado
+ * ({@code app.rabbitmq.replay.mensagens-por-segundo}), zerando o contador de
+ * tentativas; cada mensagem só sai da DLQ depois do ack do broker na fila de
+ * origem.
+ */
+@Slf4j
+@Service
+@Profile("!" + EventBus.PROFILE_LOCAL)
+public class FilaMortaService {
+
+    private static final String SUFIXO_DLQ = ".dlq";
+    private static final List<String> HEADERS_RETENTATIVA = List.of(
+            RecuperadorMensagens.HEADER_TENTATIVAS,
+            RecuperadorMensagens.HEADER_ERRO,
+            RecuperadorMensagens.HEADER_CLASSE_ERRO,
+            "x-death", "x-first-death-exchange", "x-first-death-queue", "x-first-death-reason",
+            "x-last-death-exchange", "x-last-death-queue", "x-last-death-reason");
+
+    private final AmqpAdmin amqpAdmin;
+    private final RabbitTemplate rabbitTemplate;
+    private final ConversorMensagens conversorMensagens;
+    private final Map<String, String> origemPorDlq;
+    private final MessagePropertiesConverter conversorPropriedades = new DefaultMessagePropertiesConverter();
+
+    @Value("${app.rabbitmq.replay.mensagens-por-segundo:20}")
+    private int mensagensPorSegundo;
+
+    @Value("${app.rabbitmq.replay.maximo-por-requisicao:500}")
+    private int maximoPorRequisicao;
+
+    @Value("${app.rabbitmq.replay.limite-inspecao:50}")
+    private int limiteInspecao;
+
+    @Value("${app.rabbitmq.replay.timeout-confirmacao-ms:5000}")
+    private long timeoutConfirmacaoMs;
+
+    public FilaMortaService(final AmqpAdmin amqpAdmin, final RabbitTemplate rabbitTemplate,
+            final ConversorMensagens conversorMensagens, final List<Queue> filas, final List<Declarables> declaraveis) {
+        this.amqpAdmin = amqpAdmin;
+        this.rabbitTemplate = rabbitTemplate;
+        this.conversorMensagens = conversorMensagens;
+        this.origemPorDlq = Stream.concat(filas.stream(),
+                        declaraveis.stream().flatMap(d -> d.getDeclarablesByType(Queue.class).stream()))
+                .map(Queue::getName)
+                .filter(nome -> nome.endsWith(SUFIXO_DLQ))
+                .collect(Collectors.toMap(Function.identity(),
+                        nome -> nome.substring(0, nome.length() - SUFIXO_DLQ.length()),
+                        (a, b) -> a));
+    }
+
+    public List<FilaMortaDto> listarFilas() {
+        return origemPorDlq.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entrada -> {
+                    final Properties info = amqpAdmin.getQueueProperties(entrada.getKey());
+                    return FilaMortaDto.builder()
+                            .fila(entrada.getKey())
+                            .filaOrigem(entrada.getValue())
+                            .mensagens(inteiro(info, RabbitAdmin.QUEUE_MESSAGE_COUNT))
+                            .consumidores(inteiro(info, RabbitAdmin.QUEUE_CONSUMER_COUNT))
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Lê até {@code limite} mensagens do início da DLQ sem removê-las: ao final
+     * todas são devolvidas à fila com {@code basicNack(requeue=true)}.
+     */
+    public List<MensagemFilaMortaDto> inspecionar(final String fila, final Integer limite) {
+        validarFila(fila);
+        final int quantidade = limitar(limite, limiteInspecao);
+
+        return rabbitTemplate.execute(canal -> {
+            final List<MensagemFilaMortaDto> mensagens = new ArrayList<>(quantidade);
+            long ultimaTag = -1;
+            try {
+                for (int i = 0; i < quantidade; i++) {
+                    final GetResponse resposta = canal.basicGet(fila, false);
+                    if (resposta == null) {
+                        break;
+                    }
+                    ultimaTag = resposta.getEnvelope().getDeliveryTag();
+                    mensagens.add(toDto(toMessage(resposta)));
+                }
+            } finally {
+                if (ultimaTag >= 0) {
+                    canal.basicNack(ultimaTag, true, true);
+                }
+            }
+            return mensagens;
+        });
+    }
+
+    /**
+     * Move até {@code quantidade} mensagens da DLQ para a fila de origem,
+     * respeitando a taxa configurada. Para na primeira mensagem que o broker não
+     * confirmar, deixando-a na DLQ.
+     */
+    public ReprocessamentoFilaDto reprocessar(final String fila, final Integer quantidade) {
+        validarFila(fila);
+        final String origem = origemPorDlq.get(fila);
+        final int maximo = limitar(quantidade, maximoPorRequisicao);
+        final long intervaloMs = mensagensPorSegundo > 0 ? 1000L / mensagensPorSegundo : 0L;
+
+        log.info("Reprocessando até {} mensagens de {} para {} ({} msg/s)", maximo, fila, origem, mensagensPorSegundo);
+
+        final Integer reprocessadas = rabbitTemplate.invoke(operacoes -> {
+            int total = 0;
+            while (total < maximo) {
+                final GetResponse resposta = operacoes.execute(canal -> canal.basicGet(fila, false));
+                if (resposta == null) {
+                    break;
+                }
+                final long tag = resposta.getEnvelope().getDeliveryTag();
+                final Message mensagem = toMessage(resposta);
+                HEADERS_RETENTATIVA.forEach(mensagem.getMessageProperties().getHeaders()::remove);
+
+                final CorrelationData correlacao = new CorrelationData(mensagem.getMessageProperties().getMessageId());
+                operacoes.send("", origem, mensagem, correlacao);
+                if (!confirmado(correlacao)) {
+                    operacoes.execute(canal -> {
+                        canal.basicNack(tag, false, true);
+                        return null;
+                    });
+                    log.warn("Reprocessamento de {} interrompido: mensagem {} não confirmada pelo broker",
+                            fila, mensagem.getMessageProperties().getMessageId());
+                    break;
+                }
+                operacoes.execute(canal -> {
+                    canal.basicAck(tag, false);
+                    return null;
+                });
+                total++;
+                pausar(intervaloMs);
+            }
+            return total;
+        });
+
+        final Properties info = amqpAdmin.getQueueProperties(fila);
+        log.info("Reprocessamento de {} concluído: {} mensagens reenviadas para {}", fila, reprocessadas, origem);
+        return ReprocessamentoFilaDto.builder()
+                .fila(fila)
+                .filaDestino(origem)
+                .reprocessadas(reprocessadas == null ? 0 : reprocessadas)
+                .restantes(inteiro(info, RabbitAdmin.QUEUE_MESSAGE_COUNT))
+                .build();
+    }
+
+    private void validarFila(final String fila) {
+        if (fila == null || !origemPorDlq.containsKey(fila)) {
+            throw new ErroDeCliente(MensagensResposta.FILA_DESCONHECIDA);
+        }
+    }
+
+    private boolean confirmado(final CorrelationData correlacao) {
+        try {
+            return correlacao.getFuture().get(timeoutConfirmacaoMs, TimeUnit.MILLISECONDS).isAck();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private Message toMessage(final GetResponse resposta) {
+        final MessageProperties propriedades = conversorPropriedades.toMessageProperties(
+                resposta.getProps(), resposta.getEnvelope(), StandardCharsets.UTF_8.name());
+        propriedades.setMessageCount(resposta.getMessageCount());
+        return new Message(resposta.getBody(), propriedades);
+    }
+
+    private MensagemFilaMortaDto toDto(final Message mensagem) {
+        final MessageProperties propriedades = mensagem.getMessageProperties();
+        final Object tentativas = propriedades.getHeader(RecuperadorMensagens.HEADER_TENTATIVAS);
+        final Object tipo = propriedades.getHeader("__TypeId__");
+        final Object erro = propriedades.getHeader(RecuperadorMensagens.HEADER_ERRO);
+        final Object classeErro = propriedades.getHeader(RecuperadorMensagens.HEADER_CLASSE_ERRO);
+        return MensagemFilaMortaDto.builder()
+                .messageId(propriedades.getMessageId())
+                .tipo(tipo == null ? null : tipo.toString())
+                .tentativas(tentativas instanceof Number numero ? numero.intValue() : 0)
+                .erro(erro == null ? null : erro.toString())
+                .classeErro(classeErro == null ? null : classeErro.toString())
+                .payload(payload(mensagem))
+                .build();
+    }
+
+    /**
+     * Payload legível: mensagens em Smile são exibidas como JSON. Um corpo
+     * Smile corrompido é exibido como veio, para não interromper a inspeção.
+     */
+    private String payload(final Message mensagem) {
+        try {
+            return conversorMensagens.decodificar(mensagem);
+        } catch (MessageConversionException e) {
+            log.warn("Mensagem {} da DLQ com corpo Smile inválido: {}",
+                    mensagem.getMessageProperties().getMessageId(), e.getMessage());
+            return new String(mensagem.getBody(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int limitar(final Integer valor, final int maximo) {
+        return valor == null || valor <= 0 ? maximo : Math.min(valor, maximo);
+    }
+
+    private static Integer inteiro(final Properties info, final Object chave) {
+        if (info == null) {
+            return null;
+        }
+        final Object valor = info.get(chave);
+        return valor instanceof Number numero ? numero.intValue() : null;
+    }
+
+    private static void pausar(final long intervaloMs) {
+        if (intervaloMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(intervaloMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,94 +1,56 @@
 package com.br.puc.carona.service;
 
 import java.time.Instant;
-import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
 import com.br.puc.carona.dto.request.LocationUpdateDto;
-import com.br.puc.carona.enums.StatusCarona;
-import com.br.puc.carona.model.Carona;
-import com.br.puc.carona.model.Estudante;
-import com.br.puc.carona.repository.CaronaRepository;
-import com.br.puc.carona.repository.EstudanteRepository;
+import com.br.puc.carona.infra.localizacao.RegistroCaronasEmAndamento;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Service for handling real-time location sharing during ongoing rides
+ * Service for handling real-time location sharing during ongoing rides.
+ * Authorization uses the in-memory {@link RegistroCaronasEmAndamento}, so it is
+ * cheap enough to run for every frame.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LocationSharingService {
 
-    private final CaronaRepository caronaRepository;
-    private final EstudanteRepository estudanteRepository;
+    private final RegistroCaronasEmAndamento registroCaronasEmAndamento;
 
     /**
-     * Updates driver location and validates if the update is authorized
+     * Validates if the location update is authorized: the ride must be in
+     * progress and the sender must be its driver
      * 
      * @param caronaId The ride ID
      * @param location The location update
-     * @param userEmail The email of the user sending the update
+     * @param estudanteId The ID of the authenticated user sending the update
      * @return true if the update is valid and authorized, false otherwise
      */
-    public boolean updateDriverLocation(Long caronaId, LocationUpdateDto location, String userEmail) {
-        try {
-            // Find the ride
-            Optional<Carona> caronaOpt = caronaRepository.findById(caronaId);
-            if (caronaOpt.isEmpty()) {
-                log.warn("Ride not found: {}", caronaId);
-                return false;
-            }
-
-            Carona carona = caronaOpt.get();
-
-            // Check if ride is in progress
-            if (!StatusCarona.EM_ANDAMENTO.equals(carona.getStatus())) {
-                log.warn("Location update rejected - ride {} is not in progress (status: {})", 
-                        caronaId, carona.getStatus());
-                return false;
-            }
-
-            // Find the user making the request
-            Optional<Estudante> estudanteOpt = estudanteRepository.findByEmail(userEmail);
-            if (estudanteOpt.isEmpty()) {
-                log.warn("User not found: {}", userEmail);
-                return false;
-            }
-
-            Estudante estudante = estudanteOpt.get();
-
-            // Check if the user is the driver of this ride
-            if (!carona.getMotorista().getEstudante().getId().equals(estudante.getId())) {
-                log.warn("Location update rejected - user {} is not the driver of ride {}", 
-                        userEmail, caronaId);
-                return false;
-            }
-
-            // Set timestamp if not provided
-            if (location.getTimestamp() == null) {
-                location.setTimestamp(Instant.now());
-            }
-
-            // Validate location data
-            if (!isValidLocation(location)) {
-                log.warn("Invalid location data received for ride {}: lat={}, lon={}", 
-                        caronaId, location.getLatitude(), location.getLongitude());
-                return false;
-            }
-
-            log.debug("Valid location update for ride {} from driver {}: lat={}, lon={}, timestamp={}", 
-                    caronaId, userEmail, location.getLatitude(), location.getLongitude(), location.getTimestamp());
-            
-            return true;
-
-        } catch (Exception e) {
-            log.error("Error validating location update for ride {}: {}", caronaId, e.getMessage(), e);
+    public boolean updateDriverLocation(Long caronaId, LocationUpdateDto location, Long estudanteId) {
+        if (estudanteId == null || !registroCaronasEmAndamento.isMotorista(caronaId, estudanteId)) {
+            log.warn("Location update rejected - user {} is not the driver of an in-progress ride {}",
+                    estudanteId, caronaId);
             return false;
         }
+
+        // Set timestamp if not provided
+        if (location.getTimestamp() == null) {
+            location.setTimestamp(Instant.now());
+        }
+
+        // Validate location data
+        if (!isValidLocation(location)) {
+            log.warn("Invalid location data received for ride {}: lat={}, lon={}", 
+                    caronaId, location.getLatitude(), location.getLongitude());
+            return false;
+        }
+
+        return true;
     }
 
     /**
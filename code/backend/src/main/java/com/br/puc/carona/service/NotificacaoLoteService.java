@@ -0,0 +1,197 @@
+package com.br.puc.carona.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.puc.carona.enums.NotificationStatus;
+import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.model.Estudante;
+import com.br.puc.carona.model.Notification;
+import com.br.puc.carona.repository.EstudanteRepository;
+import com.br.puc.carona.repository.NotificationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Processa lotes de notificações vindos do RabbitMQ. Cada mensagem pode ter
+ * vários destinatários (evento da carona inteira) e é expandida aqui em uma
+ * notificação por destinatário. Os destinatários do lote são resolvidos em uma
+ * única consulta {@code IN}, as {@link Notification}s são inseridas em lote
+ * (JDBC batch do Hibernate) já com o status final e os envios STOMP acontecem
+ * em paralelo, só depois do commit. Quando o lote roda dentro de uma transação
+ * maior (a da deduplicação, por exemplo), o envio espera o commit dela: um
+ * rollback não deixa notificação entregue sem registro.
+ *
+ * <p>Uma notificação inválida (destinatário inexistente, payload não
+ * serializável ou falha no envio STOMP) é registrada e descartada sem afetar as
+ * demais.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificacaoLoteService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationRepository notificationRepository;
+    private final EstudanteRepository estudanteRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param tipo          tipo das notificações do lote
+     * @param mensagens     mensagens recebidas da fila
+     * @param destinatarios extrai os IDs dos estudantes que recebem cada mensagem
+     * @return quantidade de notificações enviadas com sucesso; dentro de uma
+     *         transação, quantidade de notificações agendadas para envio após o
+     *         commit
+     */
+    public <T> int processarLote(final NotificationType tipo, final List<T> mensagens,
+            final Function<T, Collection<Long>> destinatarios) {
+        if (mensagens == null || mensagens.isEmpty()) {
+            return 0;
+        }
+        log.info("Processando lote de {} mensagens do tipo {}", mensagens.size(), tipo);
+
+        final Set<Long> idsDestinatarios = new HashSet<>();
+        for (final T mensagem : mensagens) {
+            idsDestinatarios.addAll(destinatarios.apply(mensagem));
+        }
+        idsDestinatarios.remove(null);
+
+        final List<Notification> notificacoes = new TransactionTemplate(transactionManager).execute(status -> {
+            final Map<Long, Estudante> estudantes = estudanteRepository.findAllById(idsDestinatarios).stream()
+                    .collect(Collectors.toMap(Estudante::getId, Function.identity()));
+
+            final List<Notification> novas = new ArrayList<>(mensagens.size());
+            for (final T mensagem : mensagens) {
+                for (final Long destinatarioId : destinatarios.apply(mensagem)) {
+                    final Notification notificacao = criarNotificacao(tipo, mensagem, destinatarioId,
+                            destinatarioId == null ? null : estudantes.get(destinatarioId));
+                    if (notificacao != null) {
+                        novas.add(notificacao);
+                    }
+                }
+            }
+            return notificationRepository.saveAll(novas);
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enviar(notificacoes);
+                }
+            });
+            return notificacoes.size();
+        }
+        return enviar(notificacoes);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        envios.shutdown();
+    }
+
+    private Notification criarNotificacao(final NotificationType tipo, final Object mensagem,
+            final Long destinatarioId, final Estudante destinatario) {
+        if (destinatario == null) {
+            log.error("Destinatário {} ausente ou inexistente, notificação {} descartada: {}",
+                    destinatarioId, tipo, mensagem);
+            return null;
+        }
+
+        try {
+            final Instant agora = Instant.now();
+            return Notification.builder()
+                    .recipient(destinatario)
+                    .type(tipo)
+                    .payload(criarPayload(mensagem, destinatarioId))
+                    .requiresResponse(false)
+                    .status(NotificationStatus.ENVIADO)
+                    .retryCount(0)
+                    .lastAttemptAt(agora)
+                    .build();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.error("Erro ao serializar notificação {} para estudante ID {}: {}",
+                    tipo, destinatarioId, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Payload individual: o da mensagem, com o destinatário em
+     * {@code affectedUserId} e sem a lista do evento agregado.
+     */
+    private String criarPayload(final Object mensagem, final Long destinatarioId) throws JsonProcessingException {
+        final ObjectNode payload = objectMapper.valueToTree(mensagem);
+        payload.remove("destinatariosIds");
+        payload.put("affectedUserId", destinatarioId);
+        return objectMapper.writeValueAsString(payload);
+    }
+
+    private int enviar(final List<Notification> notificacoes) {
+        final List<CompletableFuture<Notification>> pendentes = new ArrayList<>(notificacoes.size());
+        for (final Notification notificacao : notificacoes) {
+            pendentes.add(CompletableFuture.supplyAsync(() -> enviar(notificacao), envios));
+        }
+
+        final List<Notification> falhas = new ArrayList<>();
+        for (final CompletableFuture<Notification> pendente : pendentes) {
+            final Notification falha = pendente.join();
+            if (falha != null) {
+                falhas.add(falha);
+            }
+        }
+
+        if (!falhas.isEmpty()) {
+            // Depois do commit a transação externa já terminou: as falhas vão em uma nova
+            final TransactionTemplate novaTransacao = new TransactionTemplate(transactionManager);
+            novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            novaTransacao.executeWithoutResult(status -> notificationRepository.saveAll(falhas));
+        }
+        log.info("Lote de notificações enviado: {} com sucesso, {} com falha",
+                notificacoes.size() - falhas.size(), falhas.size());
+        return notificacoes.size() - falhas.size();
+    }
+
+    /**
+     * @return a notificação, marcada como FALHOU, se o envio falhou; nulo caso contrário
+     */
+    private Notification enviar(final Notification notificacao) {
+        final String destino = "/topic/user/" + notificacao.getRecipient().getId() + "/notifications";
+        try {
+            messagingTemplate.convertAndSend(destino, notificacao.getPayload());
+            return null;
+        } catch (MessagingException e) {
+            log.error("Falha ao enviar notificação ID {} para {}: {}", notificacao.getId(), destino, e.getMessage(), e);
+            notificacao.setStatus(NotificationStatus.FALHOU);
+            return notificacao;
+        }
+    }
+}
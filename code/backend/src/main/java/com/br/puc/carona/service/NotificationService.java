@@ -30,10 +30,12 @@ public class NotificationService {
     private final EstudanteRepository estudanteRepository;
     private final NotificationMapper notificationMapper;
 
+    @Transactional(readOnly = true)
     public int getUnreadCount(final Long userId) {
         return notificationRepository.countUnreadByRecipientId(userId);
     }
 
+    @Transactional(readOnly = true)
     public Page<NotificationDTO> getNotifications(
             final Long userId, 
             final int page, 
@@ -47,6 +47,7 @@ public class PedidoDeEntradaService {
 
     private final CaronaService caronaService;
     private final CurrentUserService currentUserService;
+    private final SincronizacaoService sincronizacaoService;
     private final RouteCalculatorUtil routeCalculatorUtil;
 
     private final MensagemProducer mensagemProducer;
@@ -226,9 +227,12 @@ public class PedidoDeEntradaService {
             case APROVADO:
                 // For approved requests, remove passenger and recalculate route
                 log.info("Cancelando pedido aprovado ID: {} - removendo passageiro e recalculando rota", idPedido);
-                carona.removerPassageiro(pedido.getSolicitacao().getEstudante().getId());
+                final Long passageiroId = pedido.getSolicitacao().getEstudante().getId();
+                final PedidoDeEntrada pedidoRemovido = carona.removerPassageiro(passageiroId);
+                carona.setDataAtualizacao(LocalDateTime.now());
                 // Save carona changes
                 caronaRepository.save(carona);
+                sincronizacaoService.registrarSaidaDePassageiro(carona, passageiroId, pedidoRemovido);
                 break;
                 
             default:
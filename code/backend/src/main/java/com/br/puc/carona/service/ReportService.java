@@ -9,6 +9,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.br.puc.carona.dto.response.RideMetricsResponse;
 import com.br.puc.carona.dto.response.RideMetricsResponse.MetricData;
@@ -25,6 +26,7 @@ public class ReportService {
 
     private final CaronaRepository caronaRepository;
 
+    @Transactional(readOnly = true)
     public RideMetricsResponse getRideMetrics(String period) {
         log.info("Gerando métricas de viagens para o período: {}", period);
         
@@ -7,9 +7,11 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import com.br.puc.carona.annotation.LogExecutionTime;
+import com.br.puc.carona.constants.MensagensResposta;
 import com.br.puc.carona.dto.LocationDTO;
 import com.br.puc.carona.dto.RouteDetails;
 import com.br.puc.carona.dto.request.SolicitacaoCaronaRequest;
+import com.br.puc.carona.exception.custom.SolicitacaoNaoAtendida;
 import com.br.puc.carona.mapper.SolicitacaoCaronaMapper;
 import com.br.puc.carona.model.Carona;
 import com.br.puc.carona.model.Estudante;
@@ -49,9 +51,11 @@ public class RideMatchingService {
      * @param request The ride request containing student and route information
      * @return The matched and updated ride
      * @throws IllegalArgumentException if student not found
-     * @throws IllegalStateException    if no compatible ride is found
+     * @throws SolicitacaoNaoAtendida   if no compatible ride is found or the student already requested
+     *                                  the best match; a normal outcome that does not roll back the
+     *                                  caller's transaction
      */
-    @Transactional
+    @Transactional(dontRollbackOn = SolicitacaoNaoAtendida.class)
     @LogExecutionTime
     public void matchAndAssign(SolicitacaoCaronaRequest request) {
         log.info("Attempting to match and assign ride for request: {}", request);
@@ -86,7 +90,7 @@ public class RideMatchingService {
                     log.warn(
                             "No compatible ride found for student {} with origin {}, destination {}, desired arrival {}",
                             student.getId(), studentOrigin, studentDestination, desiredArrival);
-                    return new IllegalStateException("No compatible ride found");
+                    return new SolicitacaoNaoAtendida(MensagensResposta.NENHUMA_CARONA_COMPATIVEL);
                 });
 
         log.info("Best match found: Ride ID {}. Assigning student {}.", bestMatch.getId(), student.getNome());
@@ -94,7 +98,7 @@ public class RideMatchingService {
         // Check if the student has already requested this ride
         if (pedidoDeEntradaRepository.findByCaronaIdAndSolicitacaoEstudanteId(bestMatch.getId(), student.getId()).isPresent()) {
             log.warn("Student {} has already requested ride {}. Duplicate request rejected.", student.getId(), bestMatch.getId());
-            throw new IllegalStateException("You have already requested this ride");
+            throw new SolicitacaoNaoAtendida(MensagensResposta.CARONA_JA_SOLICITADA);
         }
 
         // Create the SolicitacaoCarona entity and save it first
@@ -0,0 +1,247 @@
+package com.br.puc.carona.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.br.puc.carona.constants.MensagensResposta;
+import com.br.puc.carona.dto.response.RemocaoSincronizacaoDto;
+import com.br.puc.carona.dto.response.SincronizacaoDto;
+import com.br.puc.carona.enums.TipoEntidadeSincronizacao;
+import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.mapper.CaronaMapper;
+import com.br.puc.carona.mapper.NotificationMapper;
+import com.br.puc.carona.mapper.PedidoDeEntradaMapper;
+import com.br.puc.carona.mapper.SolicitacaoCaronaMapper;
+import com.br.puc.carona.model.Carona;
+import com.br.puc.carona.model.Notification;
+import com.br.puc.carona.model.PedidoDeEntrada;
+import com.br.puc.carona.model.RemocaoSincronizacao;
+import com.br.puc.carona.model.SolicitacaoCarona;
+import com.br.puc.carona.repository.CaronaRepository;
+import com.br.puc.carona.repository.NotificationRepository;
+import com.br.puc.carona.repository.PedidoDeEntradaRepository;
+import com.br.puc.carona.repository.RemocaoSincronizacaoRepository;
+import com.br.puc.carona.repository.SolicitacaoCaronaRepository;
+import com.br.puc.carona.utils.KeysetCursor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sincronização incremental do aplicativo móvel.
+ *
+ * As alterações são detectadas pela coluna indexada data_atualizacao de cada
+ * entidade relevante ao usuário; remoções e perdas de visibilidade (ex.: passageiro
+ * removido de uma carona) ficam no registro por usuário {@link RemocaoSincronizacao}.
+ * O token guarda, por tipo, a posição keyset (data de alteração, id) até a qual o
+ * cliente já está sincronizado, então páginas truncadas continuam mesmo quando
+ * muitos itens compartilham o mesmo instante.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SincronizacaoService {
+
+    private static final LocalDateTime MARCO_INICIAL = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CaronaRepository caronaRepository;
+    private final PedidoDeEntradaRepository pedidoDeEntradaRepository;
+    private final SolicitacaoCaronaRepository solicitacaoCaronaRepository;
+    private final NotificationRepository notificationRepository;
+    private final RemocaoSincronizacaoRepository remocaoSincronizacaoRepository;
+    private final CaronaMapper caronaMapper;
+    private final PedidoDeEntradaMapper pedidoDeEntradaMapper;
+    private final SolicitacaoCaronaMapper solicitacaoCaronaMapper;
+    private final NotificationMapper notificationMapper;
+
+    @Value("${app.sync.limite-por-tipo:200}")
+    private int limitePorTipo;
+
+    // Janela re-enviada a cada sincronização para cobrir transações ainda não confirmadas
+    @Value("${app.sync.margem-segundos:5}")
+    private long margemSegundos;
+
+    @Value("${app.sync.retencao-dias:30}")
+    private long retencaoDias;
+
+    @Transactional(readOnly = true)
+    public SincronizacaoDto sincronizar(final Long estudanteId, final String token) {
+        final LocalDateTime inicio = LocalDateTime.now();
+        final Posicoes recebidas = decodificarToken(token);
+        // O registro de remoções é o que expira; posições anteriores à retenção recebem reset
+        final boolean reset = recebidas == null
+                || recebidas.remocoes().valor().isBefore(inicio.minusDays(retencaoDias));
+        final Posicoes desde = reset ? Posicoes.todas(new KeysetCursor(MARCO_INICIAL, 0L)) : recebidas;
+
+        log.info("Sincronizando estudante ID: {} desde {} (reset: {})", estudanteId, desde, reset);
+
+        final Pageable limite = PageRequest.of(0, limitePorTipo);
+        final List<Carona> caronas = caronaRepository.findAlteradasDesde(estudanteId,
+                desde.caronas().valor(), desde.caronas().id(), limite);
+        final List<PedidoDeEntrada> pedidos = pedidoDeEntradaRepository.findAlteradosDesde(estudanteId,
+                desde.pedidos().valor(), desde.pedidos().id(), limite);
+        final List<SolicitacaoCarona> solicitacoes = solicitacaoCaronaRepository.findAlteradasDesde(estudanteId,
+                desde.solicitacoes().valor(), desde.solicitacoes().id(), limite);
+        final List<Notification> notificacoes = notificationRepository.findAlteradasDesde(estudanteId,
+                desde.notificacoes().valor(), desde.notificacoes().id(), limite);
+        final List<RemocaoSincronizacao> remocoes = reset
+                ? List.of()
+                : remocaoSincronizacaoRepository.findAlteradasDesde(estudanteId,
+                        desde.remocoes().valor(), desde.remocoes().id(), limite);
+
+        // Cada tipo que atingiu o limite continua do último item entregue; os demais recuam a margem
+        final KeysetCursor marcoFinal = new KeysetCursor(inicio.minusSeconds(margemSegundos), 0L);
+        final Posicoes proximas = new Posicoes(
+                proximaPosicao(caronas, Carona::getDataAtualizacao, Carona::getId, marcoFinal),
+                proximaPosicao(pedidos, PedidoDeEntrada::getDataAtualizacao, PedidoDeEntrada::getId, marcoFinal),
+                proximaPosicao(solicitacoes, SolicitacaoCarona::getDataAtualizacao, SolicitacaoCarona::getId,
+                        marcoFinal),
+                proximaPosicao(notificacoes, Notification::getDataAtualizacao, Notification::getId, marcoFinal),
+                proximaPosicao(remocoes, RemocaoSincronizacao::getDataCriacao, RemocaoSincronizacao::getId,
+                        marcoFinal));
+        final boolean hasMore = Stream.of(caronas, pedidos, solicitacoes, notificacoes, remocoes)
+                .anyMatch(itens -> itens.size() >= limitePorTipo);
+
+        log.info("Sincronização do estudante ID: {} - caronas: {}, pedidos: {}, solicitações: {}, notificações: {}, remoções: {}",
+                estudanteId, caronas.size(), pedidos.size(), solicitacoes.size(), notificacoes.size(), remocoes.size());
+
+        return SincronizacaoDto.builder()
+                .token(proximas.encode())
+                .hasMore(hasMore)
+                .reset(reset)
+                .caronas(caronas.stream().map(caronaMapper::toSemTrajetoDto).toList())
+                .pedidos(pedidos.stream().map(pedidoDeEntradaMapper::toDto).toList())
+                .solicitacoes(solicitacoes.stream().map(solicitacaoCaronaMapper::toDto).toList())
+                .notificacoes(notificacoes.stream().map(notificationMapper::toDTO).toList())
+                .removidos(remocoes.stream().map(this::toRemocaoDto).toList())
+                .build();
+    }
+
+    /**
+     * Registra que a entidade deixou de existir (ou de ser visível) para os usuários informados.
+     * Deve ser chamado dentro da transação que efetua a remoção.
+     */
+    @Transactional
+    public void registrarRemocao(final Collection<Long> usuarioIds, final TipoEntidadeSincronizacao tipo,
+            final Long entidadeId) {
+        final List<RemocaoSincronizacao> registros = usuarioIds.stream()
+                .<RemocaoSincronizacao>map(usuarioId -> RemocaoSincronizacao.builder()
+                        .usuarioId(usuarioId)
+                        .tipoEntidade(tipo)
+                        .entidadeId(entidadeId)
+                        .build())
+                .toList();
+
+        remocaoSincronizacaoRepository.saveAll(registros);
+        log.debug("Registradas {} remoções de {} ID: {}", registros.size(), tipo, entidadeId);
+    }
+
+    /**
+     * Registra as remoções decorrentes da saída de um passageiro: a carona deixa de ser
+     * visível para ele e o pedido de entrada removido some para ele e para o motorista.
+     */
+    @Transactional
+    public void registrarSaidaDePassageiro(final Carona carona, final Long passageiroId,
+            final PedidoDeEntrada pedidoRemovido) {
+        registrarRemocao(List.of(passageiroId), TipoEntidadeSincronizacao.CARONA, carona.getId());
+        if (pedidoRemovido != null && pedidoRemovido.getId() != null) {
+            registrarRemocao(List.of(passageiroId, carona.getMotorista().getEstudante().getId()),
+                    TipoEntidadeSincronizacao.PEDIDO_ENTRADA, pedidoRemovido.getId());
+        }
+    }
+
+    /**
+     * Remove registros mais antigos que a retenção; tokens anteriores a ela recebem reset.
+     */
+    @Scheduled(cron = "${app.sync.limpeza-cron:0 30 3 * * *}")
+    @Transactional
+    public void limparRemocoesExpiradas() {
+        final int removidos = remocaoSincronizacaoRepository
+                .deleteByDataCriacaoBefore(LocalDateTime.now().minusDays(retencaoDias));
+        log.info("Limpeza do registro de sincronização: {} registros expirados removidos", removidos);
+    }
+
+    /**
+     * Posição keyset (data, id) do último item entregue quando o tipo foi truncado; senão o marco final,
+     * com id 0 para reenviar os itens do próprio instante.
+     */
+    private <E> KeysetCursor proximaPosicao(final List<E> itens, final Function<E, LocalDateTime> data,
+            final Function<E, Long> id, final KeysetCursor marcoFinal) {
+        if (itens.size() < limitePorTipo) {
+            return marcoFinal;
+        }
+        final E ultimo = itens.get(itens.size() - 1);
+        return new KeysetCursor(data.apply(ultimo), id.apply(ultimo));
+    }
+
+    private RemocaoSincronizacaoDto toRemocaoDto(final RemocaoSincronizacao remocao) {
+        return RemocaoSincronizacaoDto.builder()
+                .tipo(remocao.getTipoEntidade())
+                .id(remocao.getEntidadeId())
+                .removidoEm(remocao.getDataCriacao())
+                .build();
+    }
+
+    /**
+     * Aceita também o token antigo, apenas o marco de tempo, aplicado a todos os tipos.
+     */
+    private Posicoes decodificarToken(final String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            if (!token.contains(Posicoes.SEPARADOR)) {
+                final String marco = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                return Posicoes.todas(new KeysetCursor(LocalDateTime.parse(marco), 0L));
+            }
+            return Posicoes.decode(token);
+        } catch (final RuntimeException e) {
+            throw new ErroDeCliente(MensagensResposta.TOKEN_SINCRONIZACAO_INVALIDO);
+        }
+    }
+
+    /**
+     * Token de sincronização: uma posição keyset por tipo, na ordem dos campos, separadas por ponto.
+     */
+    record Posicoes(KeysetCursor caronas, KeysetCursor pedidos, KeysetCursor solicitacoes,
+            KeysetCursor notificacoes, KeysetCursor remocoes) {
+
+        static final String SEPARADOR = ".";
+
+        static Posicoes todas(final KeysetCursor posicao) {
+            return new Posicoes(posicao, posicao, posicao, posicao, posicao);
+        }
+
+        String encode() {
+            return Stream.of(caronas, pedidos, solicitacoes, notificacoes, remocoes)
+                    .map(KeysetCursor::encode)
+                    .collect(Collectors.joining(SEPARADOR));
+        }
+
+        static Posicoes decode(final String token) {
+            final List<KeysetCursor> posicoes = Arrays.stream(token.split(Pattern.quote(SEPARADOR)))
+                    .map(KeysetCursor::decode)
+                    .toList();
+            if (posicoes.size() != 5 || posicoes.stream().anyMatch(p -> p.valor() == null)) {
+                throw new IllegalArgumentException("Token de sincronização malformado");
+            }
+            return new Posicoes(posicoes.get(0), posicoes.get(1), posicoes.get(2), posicoes.get(3),
+                    posicoes.get(4));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.br.puc.carona.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.br.puc.carona.enums.FormatoExportacao;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Escreve linhas de exportação em CSV ou NDJSON diretamente no stream de saída,
+ * mantendo em memória apenas a linha corrente.
+ */
+public class EscritorExportacao {
+
+    private final Writer writer;
+    private final FormatoExportacao formato;
+    private final List<String> colunas;
+    private final ObjectMapper objectMapper;
+
+    public EscritorExportacao(final OutputStream saida, final FormatoExportacao formato,
+            final List<String> colunas, final ObjectMapper objectMapper) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        this.formato = formato;
+        this.colunas = colunas;
+        this.objectMapper = objectMapper;
+    }
+
+    public void escreverCabecalho() {
+        if (formato == FormatoExportacao.CSV) {
+            escreverCsv(colunas.stream().map(Object.class::cast).toList());
+        }
+    }
+
+    public void escreverLinha(final List<Object> valores) {
+        if (formato == FormatoExportacao.CSV) {
+            escreverCsv(valores);
+        } else {
+            escreverNdjson(valores);
+        }
+    }
+
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escreverCsv(final List<Object> valores) {
+        try {
+            for (int i = 0; i < valores.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escaparCsv(valores.get(i)));
+            }
+            writer.write("\r\n");
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escreverNdjson(final List<Object> valores) {
+        final Map<String, Object> linha = new LinkedHashMap<>();
+        for (int i = 0; i < colunas.size(); i++) {
+            linha.put(colunas.get(i), valorJson(valores.get(i)));
+        }
+        try {
+            writer.write(objectMapper.writeValueAsString(linha));
+            writer.write('\n');
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar linha de exportação", e);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object valorJson(final Object valor) {
+        if (valor instanceof TemporalAccessor || valor instanceof Enum<?>) {
+            return valor.toString();
+        }
+        return valor;
+    }
+
+    // RFC 4180: campos com separador, aspas ou quebra de linha vão entre aspas, com aspas duplicadas
+    private String escaparCsv(final Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        final String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,84 @@
+package com.br.puc.carona.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.br.puc.carona.constants.MensagensResposta;
+import com.br.puc.carona.dto.response.CursorPageDto;
+import com.br.puc.carona.exception.custom.ErroDeCliente;
+
+/**
+ * Cursor opaco para paginação keyset sobre (valor de ordenação, id).
+ * O token é a posição do último item entregue codificada em Base64 URL-safe;
+ * {@code valor} é opcional para listagens ordenadas apenas por id.
+ */
+public record KeysetCursor(LocalDateTime valor, Long id) {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final String SEPARADOR = "|";
+
+    public String encode() {
+        final String bruto = (valor != null ? valor.toString() : "") + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o token recebido do cliente. Retorna {@code null} para a primeira página.
+     */
+    public static KeysetCursor decode(final String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            final String bruto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separador = bruto.lastIndexOf(SEPARADOR);
+            final String valor = bruto.substring(0, separador);
+            final Long id = Long.valueOf(bruto.substring(separador + 1));
+            return new KeysetCursor(valor.isEmpty() ? null : LocalDateTime.parse(valor), id);
+        } catch (final RuntimeException e) {
+            throw new ErroDeCliente(MensagensResposta.CURSOR_INVALIDO);
+        }
+    }
+
+    /**
+     * Normaliza o tamanho da página solicitado para o intervalo [1, TAMANHO_MAXIMO].
+     */
+    public static int tamanhoPagina(final Integer solicitado) {
+        if (solicitado == null || solicitado <= 0) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(solicitado, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Limite da consulta: busca um item além da página para saber se existe próxima.
+     */
+    public static Pageable limite(final int tamanho) {
+        return PageRequest.of(0, tamanho + 1);
+    }
+
+    /**
+     * Monta a página a partir das linhas buscadas com {@link #limite(int)}, descartando o item extra.
+     */
+    public static <E, T> CursorPageDto<T> pagina(final List<E> linhas, final int tamanho,
+            final Function<E, T> mapper, final Function<E, KeysetCursor> posicao) {
+        final boolean hasNext = linhas.size() > tamanho;
+        final List<E> pagina = hasNext ? linhas.subList(0, tamanho) : linhas;
+        final String nextCursor = hasNext ? posicao.apply(pagina.get(pagina.size() - 1)).encode() : null;
+
+        return CursorPageDto.<T>builder()
+                .content(pagina.stream().map(mapper).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(tamanho)
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.br.puc.carona;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.br.puc.carona.messaging.BarramentoLocal;
+import com.br.puc.carona.messaging.EventBus;
+
+@SpringBootTest(properties = {
+        "supabase.code=teste",
+        "supabase.api-key=teste",
+        "fcm.credentials-file=teste.json"
+})
+@ActiveProfiles({ "test", EventBus.PROFILE_LOCAL })
+@DisplayName("Teste Aplicação: contexto com o barramento local")
+class CaronaApplicationBarramentoLocalTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    @DisplayName("Deve subir o contexto sem RabbitMQ, com o barramento local e sem listeners AMQP")
+    void deveSubirContextoComBarramentoLocal() {
+        // Then
+        assertInstanceOf(BarramentoLocal.class, context.getBean(EventBus.class));
+        assertTrue(context.getBeansOfType(RabbitListenerEndpointRegistry.class).isEmpty());
+        assertTrue(context.getBeansOfType(ConnectionFactory.class).isEmpty());
+    }
+}
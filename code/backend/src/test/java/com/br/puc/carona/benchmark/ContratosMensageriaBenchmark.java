@@ -0,0 +1,139 @@
+package com.br.puc.carona.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.messaging.ConversorMensagens;
+import com.br.puc.carona.messaging.contract.AvaliacaoMessageDTO;
+import com.br.puc.carona.messaging.contract.PedidoEntradaMessageDTO;
+import com.br.puc.carona.messaging.contract.RideCancellationMessageDTO;
+import com.br.puc.carona.messaging.contract.RideFinishedMessageDTO;
+import com.br.puc.carona.messaging.contract.RideStartedMessageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Bytes por mensagem e tempo de codificação/leitura dos cinco contratos
+ * publicados de {@code messaging.contract}, em JSON e em Smile, pelo
+ * {@link ConversorMensagens}. A codificação parte do JSON gravado no outbox,
+ * como no relay; a leitura produz o DTO, como nos listeners.
+ *
+ * <p>Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.br.puc.carona.benchmark.ContratosMensageriaBenchmark}.
+ * A tabela de bytes é impressa antes das medições.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContratosMensageriaBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private static final Map<String, Object> CONTRATOS = Map.of(
+            "avaliacao", AvaliacaoMessageDTO.builder()
+                    .caronaId(1024L).avaliadorId(311L).avaliadoId(87L).nota(5)
+                    .comentario("Motorista pontual e educado, recomendo")
+                    .build(),
+            "pedidoEntrada", PedidoEntradaMessageDTO.builder()
+                    .caronaId(1024L).solicitacaoId(40960L)
+                    .build(),
+            "cancelamento", RideCancellationMessageDTO.builder()
+                    .notificationType(NotificationType.RIDE_CANCELLED)
+                    .destinatariosIds(List.of(311L, 312L, 313L))
+                    .pedidoId(4096L).caronaId(1024L).cancelledByUserId(87L)
+                    .cancellationType(RideCancellationMessageDTO.RideCancellationTypeEnum.DRIVER_CANCELLED)
+                    .message("A carona foi cancelada pelo motorista")
+                    .build(),
+            "inicio", RideStartedMessageDTO.builder()
+                    .notificationType(NotificationType.RIDE_STARTED)
+                    .destinatariosIds(List.of(311L, 312L, 313L))
+                    .caronaId(1024L).driverId(87L).startedByUserId(87L)
+                    .message("Sua carona começou")
+                    .build(),
+            "fim", RideFinishedMessageDTO.builder()
+                    .notificationType(NotificationType.RIDE_FINISHED)
+                    .destinatariosIds(List.of(311L, 312L, 313L))
+                    .caronaId(1024L).driverId(87L)
+                    .message("Sua carona foi finalizada")
+                    .build());
+
+    @Param({ "avaliacao", "pedidoEntrada", "cancelamento", "inicio", "fim" })
+    private String contrato;
+
+    private final ConversorMensagens json = new ConversorMensagens("json");
+    private final ConversorMensagens smile = new ConversorMensagens(ConversorMensagens.CODIFICACAO_SMILE);
+
+    private String payload;
+    private String tipo;
+    private Message mensagemJson;
+    private Message mensagemSmile;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Object dto = CONTRATOS.get(contrato);
+        payload = OBJECT_MAPPER.writeValueAsString(dto);
+        tipo = dto.getClass().getName();
+        mensagemJson = json.codificar(payload, tipo, new MessageProperties());
+        mensagemSmile = smile.codificar(payload, tipo, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message codificarJson() {
+        return json.codificar(payload, tipo, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message codificarSmile() {
+        return smile.codificar(payload, tipo, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object lerJson() {
+        return json.fromMessage(mensagemJson);
+    }
+
+    @Benchmark
+    public Object lerSmile() {
+        return smile.fromMessage(mensagemSmile);
+    }
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final ConversorMensagens smile = new ConversorMensagens(ConversorMensagens.CODIFICACAO_SMILE);
+        System.out.printf("%-15s %8s %8s %8s%n", "contrato", "json", "smile", "razão");
+        for (final String nome : List.of("avaliacao", "pedidoEntrada", "cancelamento", "inicio", "fim")) {
+            final Object dto = CONTRATOS.get(nome);
+            final String payload = OBJECT_MAPPER.writeValueAsString(dto);
+            final int bytesJson = payload.getBytes(StandardCharsets.UTF_8).length;
+            final int bytesSmile = smile.codificar(payload, dto.getClass().getName(), new MessageProperties())
+                    .getBody().length;
+            System.out.printf("%-15s %8d %8d %8.2f%n", nome, bytesJson, bytesSmile, (double) bytesSmile / bytesJson);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(ContratosMensageriaBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.br.puc.carona.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.br.puc.carona.infra.localizacao.EncaixeRota;
+import com.br.puc.carona.infra.localizacao.IndiceSegmentos;
+import com.br.puc.carona.infra.localizacao.RotaCarona;
+
+/**
+ * Custo por quadro de encaixar uma posição na rota: varredura de todos os
+ * segmentos ({@link RotaCarona#projetar(double, double)}), consulta à grade
+ * ({@link IndiceSegmentos}) e o encaixe incremental ({@link EncaixeRota}), que
+ * começa pela janela do último segmento. A rota é uma espiral urbana com
+ * {@code vertices} pontos, percorrida em ordem como numa carona real.
+ *
+ * <p>Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.br.puc.carona.benchmark.EncaixeRotaBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncaixeRotaBenchmark {
+
+    @Param({ "200", "2000", "10000" })
+    private int vertices;
+
+    private RotaCarona rota;
+    private IndiceSegmentos indice;
+    private EncaixeRota encaixe;
+    private double[][] posicoes;
+    private int proxima;
+
+    @Setup
+    public void setUp() {
+        final List<List<Double>> coordenadas = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; i++) {
+            final double angulo = i * 0.05;
+            final double raio = 0.0002 + i * 0.000002;
+            coordenadas.add(List.of(-19.9 + raio * Math.sin(angulo), -43.9 + raio * Math.cos(angulo)));
+        }
+        rota = RotaCarona.de(coordenadas);
+        indice = new IndiceSegmentos(rota, 100);
+        encaixe = new EncaixeRota(indice, 50, 8, 3);
+
+        // Uma posição por segmento, deslocada ~5 m do traçado
+        posicoes = new double[vertices - 1][];
+        for (int i = 0; i < vertices - 1; i++) {
+            posicoes[i] = new double[] {
+                    (rota.latitude(i) + rota.latitude(i + 1)) / 2 + 0.00004,
+                    (rota.longitude(i) + rota.longitude(i + 1)) / 2 };
+        }
+    }
+
+    @Benchmark
+    public RotaCarona.Projecao varreduraCompleta() {
+        final double[] posicao = proxima();
+        return rota.projetar(posicao[0], posicao[1]);
+    }
+
+    @Benchmark
+    public RotaCarona.Projecao indiceGrade() {
+        final double[] posicao = proxima();
+        return indice.maisProximo(posicao[0], posicao[1], 50);
+    }
+
+    @Benchmark
+    public EncaixeRota.Resultado encaixeIncremental() {
+        final double[] posicao = proxima();
+        return encaixe.encaixar(posicao[0], posicao[1]);
+    }
+
+    private double[] proxima() {
+        final double[] posicao = posicoes[proxima];
+        proxima = (proxima + 1) % posicoes.length;
+        return posicao;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EncaixeRotaBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.br.puc.carona.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.br.puc.carona.enums.TipoUsuario;
+import com.br.puc.carona.infra.security.TokenService;
+import com.br.puc.carona.model.Usuario;
+
+/**
+ * Vazão de validação de JWT: implementação anterior (algoritmo e verificador recriados a cada chamada),
+ * verificador pré-construído sem cache e o caminho atual de {@link TokenService#validateToken(String)}.
+ *
+ * <p>Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.br.puc.carona.benchmark.TokenServiceBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private JWTVerifier verifierPreConstruido;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService(10_000);
+        verifierPreConstruido = JWT.require(Algorithm.HMAC256("secret".getBytes()))
+                .withIssuer("carona")
+                .build();
+        token = tokenService.generateToken(Usuario.builder()
+                .id(1L)
+                .nome("Benchmark")
+                .email("benchmark@puc.br")
+                .password("senha")
+                .tipoUsuario(TipoUsuario.ESTUDANTE)
+                .build());
+    }
+
+    @Benchmark
+    public String anteriorRecriandoVerificador() {
+        try {
+            Algorithm algorithm = Algorithm.HMAC256("secret".getBytes());
+            return JWT.require(algorithm)
+                    .withIssuer("carona")
+                    .build()
+                    .verify(token)
+                    .getSubject();
+        } catch (JWTVerificationException e) {
+            return "";
+        }
+    }
+
+    @Benchmark
+    public String verificadorPreConstruido() {
+        return verifierPreConstruido.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String atualComCache() {
+        return tokenService.validateToken(token);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
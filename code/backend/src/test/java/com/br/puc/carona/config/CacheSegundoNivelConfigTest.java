@@ -0,0 +1,78 @@
+package com.br.puc.carona.config;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import javax.cache.CacheManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.br.puc.carona.constants.RegioesCache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+@DisplayName("Teste Config: CacheSegundoNivelConfig")
+class CacheSegundoNivelConfigTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        final CacheSegundoNivelConfig config = new CacheSegundoNivelConfig();
+        ReflectionTestUtils.setField(config, "ttlEntidadesSegundos", 600L);
+        ReflectionTestUtils.setField(config, "tamanhoMaximoEntidades", 1000L);
+        ReflectionTestUtils.setField(config, "ttlConsultasSegundos", 60L);
+        ReflectionTestUtils.setField(config, "tamanhoMaximoConsultas", 500L);
+        cacheManager = config.hibernateCacheManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    @DisplayName("Deve criar todas as regiões de entidades e consultas")
+    void deveCriarTodasAsRegioes() {
+        final Set<String> regioes = new HashSet<>();
+        cacheManager.getCacheNames().forEach(regioes::add);
+
+        Assertions.assertEquals(Set.of(
+                RegioesCache.USUARIO, RegioesCache.PERFIL_MOTORISTA, RegioesCache.CARRO,
+                RegioesCache.CONSULTA_USUARIO_POR_EMAIL, RegioesCache.CONSULTA_PERFIL_POR_ESTUDANTE,
+                RegioesCache.CONSULTAS_PADRAO, RegioesCache.TIMESTAMPS_ATUALIZACAO), regioes);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar TTL e tamanho máximo nas regiões de entidades e consultas")
+    void deveAplicarTtlETamanhoMaximo() {
+        final CaffeineConfiguration<?, ?> usuario = configuracao(RegioesCache.USUARIO);
+        final CaffeineConfiguration<?, ?> consulta = configuracao(RegioesCache.CONSULTA_USUARIO_POR_EMAIL);
+
+        Assertions.assertEquals(OptionalLong.of(Duration.ofSeconds(600).toNanos()), usuario.getExpireAfterWrite());
+        Assertions.assertEquals(OptionalLong.of(1000L), usuario.getMaximumSize());
+        Assertions.assertTrue(usuario.isStatisticsEnabled());
+        Assertions.assertEquals(OptionalLong.of(Duration.ofSeconds(60).toNanos()), consulta.getExpireAfterWrite());
+        Assertions.assertEquals(OptionalLong.of(500L), consulta.getMaximumSize());
+    }
+
+    @Test
+    @DisplayName("Não deve expirar nem limitar a região de timestamps de atualização")
+    void naoDeveExpirarRegiaoDeTimestamps() {
+        final CaffeineConfiguration<?, ?> timestamps = configuracao(RegioesCache.TIMESTAMPS_ATUALIZACAO);
+
+        Assertions.assertTrue(timestamps.getExpireAfterWrite().isEmpty());
+        Assertions.assertTrue(timestamps.getMaximumSize().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuracao(final String regiao) {
+        return cacheManager.getCache(regiao).getConfiguration(CaffeineConfiguration.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.br.puc.carona.config;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@DisplayName("Teste Config: ContextoSegurancaStompInterceptor")
+class ContextoSegurancaStompInterceptorTest {
+
+    private final ContextoSegurancaStompInterceptor interceptor = new ContextoSegurancaStompInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve publicar o usuário da sessão STOMP durante o tratamento da mensagem")
+    void devePublicarUsuarioDaSessaoDuranteTratamento() {
+        // Given
+        final UsernamePasswordAuthenticationToken usuario =
+                new UsernamePasswordAuthenticationToken("motorista@puc.br", null, List.of());
+        final Message<byte[]> mensagem = envio(usuario);
+
+        // When
+        interceptor.beforeHandle(mensagem, null, null);
+        final Object duranteTratamento = SecurityContextHolder.getContext().getAuthentication();
+        interceptor.afterMessageHandled(mensagem, null, null, null);
+
+        // Then
+        Assertions.assertSame(usuario, duranteTratamento);
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Não deve manter autenticação anterior da thread em mensagem sem usuário")
+    void naoDeveManterAutenticacaoAnteriorEmMensagemSemUsuario() {
+        // Given
+        final UsernamePasswordAuthenticationToken anterior =
+                new UsernamePasswordAuthenticationToken("outro@puc.br", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(anterior);
+        final Message<byte[]> mensagem = envio(null);
+
+        // When
+        interceptor.beforeHandle(mensagem, null, null);
+        final Object duranteTratamento = SecurityContextHolder.getContext().getAuthentication();
+        interceptor.afterMessageHandled(mensagem, null, null, null);
+
+        // Then
+        Assertions.assertNull(duranteTratamento);
+        Assertions.assertSame(anterior, SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static Message<byte[]> envio(final UsernamePasswordAuthenticationToken usuario) {
+        final StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination("/app/carona/10/location");
+        accessor.setSessionId("sessao-1");
+        accessor.setUser(usuario);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
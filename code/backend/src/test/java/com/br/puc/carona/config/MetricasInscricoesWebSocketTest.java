@@ -0,0 +1,110 @@
+package com.br.puc.carona.config;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Teste Config: MetricasInscricoesWebSocket")
+class MetricasInscricoesWebSocketTest {
+
+    private static final String LOCALIZACAO = "/topic/carona/{id}/location";
+
+    private SimpleMeterRegistry registry;
+    private MetricasInscricoesWebSocket metricas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metricas = new MetricasInscricoesWebSocket();
+        metricas.bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("Deve agrupar as inscrições por destino normalizado")
+    void deveAgruparPorDestinoNormalizado() {
+        // Given / When
+        inscrever("s1", "a", "/topic/carona/10/location");
+        inscrever("s2", "a", "/topic/carona/11/location");
+        inscrever("s2", "b", "/topic/user/7/notifications");
+
+        // Then
+        Assertions.assertEquals(2.0, ativas(LOCALIZACAO));
+        Assertions.assertEquals(1.0, ativas("/topic/user/{id}/notifications"));
+        Assertions.assertEquals(2.0, registry.get("carona.websocket.inscricoes").tag("destino", LOCALIZACAO)
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve descontar inscrições canceladas e de sessões desconectadas")
+    void deveDescontarCanceladasEDesconectadas() {
+        // Given
+        inscrever("s1", "a", "/topic/carona/10/location");
+        inscrever("s1", "b", "/topic/carona/10/iniciada");
+        inscrever("s2", "a", "/topic/carona/10/location");
+
+        // When
+        metricas.cancelar(new SessionUnsubscribeEvent(this, frame(StompCommand.UNSUBSCRIBE, "s2", "a", null)));
+        metricas.desconectar(new SessionDisconnectEvent(this, frame(StompCommand.DISCONNECT, "s1", null, null),
+                "s1", CloseStatus.NORMAL));
+
+        // Then
+        Assertions.assertEquals(0.0, ativas(LOCALIZACAO));
+        Assertions.assertEquals(0.0, ativas("/topic/carona/{id}/iniciada"));
+    }
+
+    @Test
+    @DisplayName("Deve normalizar segmentos numéricos dos destinos conhecidos")
+    void deveNormalizarSegmentosNumericos() {
+        Assertions.assertEquals("/topic/carona/{id}/location",
+                MetricasInscricoesWebSocket.normalizar("/topic/carona/123/location"));
+        Assertions.assertEquals("/topic/user/{id}/eta", MetricasInscricoesWebSocket.normalizar("/topic/user/9/eta"));
+        Assertions.assertEquals("/topic/notificacoes", MetricasInscricoesWebSocket.normalizar("/topic/notificacoes"));
+    }
+
+    @Test
+    @DisplayName("Deve contar destinos desconhecidos sob uma única tag")
+    void deveAgruparDestinosDesconhecidos() {
+        // Given / When
+        inscrever("s1", "a", "/topic/carona/abc/location");
+        inscrever("s1", "b", "/topic/user/9");
+        inscrever("s2", "a", "/topic/" + UUID.randomUUID());
+
+        // Then
+        Assertions.assertEquals(3.0, ativas(MetricasInscricoesWebSocket.OUTRO));
+        Assertions.assertEquals(1, registry.find("carona.websocket.inscricoes.ativas").gauges().size());
+    }
+
+    private void inscrever(final String sessao, final String inscricao, final String destino) {
+        metricas.inscrever(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, sessao, inscricao, destino)));
+    }
+
+    private double ativas(final String destino) {
+        return registry.get("carona.websocket.inscricoes.ativas").tag("destino", destino).gauge().value();
+    }
+
+    private static Message<byte[]> frame(final StompCommand comando, final String sessao, final String inscricao,
+            final String destino) {
+        final StompHeaderAccessor accessor = StompHeaderAccessor.create(comando);
+        accessor.setSessionId(sessao);
+        if (inscricao != null) {
+            accessor.setSubscriptionId(inscricao);
+        }
+        if (destino != null) {
+            accessor.setDestination(destino);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
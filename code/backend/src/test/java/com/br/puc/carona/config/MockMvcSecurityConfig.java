@@ -1,13 +1,19 @@
 package com.br.puc.carona.config;
 
+import java.time.Duration;
+
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.web.SecurityFilterChain;
 
+import com.br.puc.carona.infra.ratelimit.ArmazenamentoLimiteLocal;
+import com.br.puc.carona.infra.ratelimit.LimitadorRequisicoes;
+import com.br.puc.carona.infra.security.CachePrincipal;
 import com.br.puc.carona.infra.security.TokenService;
 import com.br.puc.carona.repository.UsuarioRepository;
 
@@ -38,4 +44,15 @@ public class MockMvcSecurityConfig {
     public UsuarioRepository usuarioRepository() {
         return Mockito.mock(UsuarioRepository.class);
     }
+
+    @Bean
+    public CachePrincipal cachePrincipal() {
+        return new CachePrincipal(60, 100);
+    }
+
+    @Bean
+    public LimitadorRequisicoes limitadorRequisicoes() {
+        return new LimitadorRequisicoes(new ArmazenamentoLimiteLocal(100, Duration.ofMinutes(1)),
+                new MockEnvironment().withProperty("app.rate-limit.habilitado", "false"));
+    }
 }
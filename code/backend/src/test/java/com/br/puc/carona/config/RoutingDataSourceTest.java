@@ -0,0 +1,210 @@
+package com.br.puc.carona.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@DisplayName("Teste Config: RoutingDataSource")
+class RoutingDataSourceTest {
+
+    private ConsistenciaLeituraReplica consistencia;
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate leitura;
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    void setUp() {
+        final DataSource primario = criarBanco("primario");
+        final DataSource replica = criarBanco("replica");
+
+        consistencia = new ConsistenciaLeituraReplica(Duration.ofMinutes(1), Duration.ofSeconds(5));
+        final RoutingDataSource routing = new RoutingDataSource(consistencia);
+        routing.setTargetDataSources(Map.of(
+                RoutingDataSource.Destino.PRIMARIO, primario,
+                RoutingDataSource.Destino.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primario);
+        routing.afterPropertiesSet();
+
+        dataSource = new LazyConnectionDataSourceProxy(routing);
+        final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve encaminhar transação somente leitura para a réplica")
+    void deveEncaminharTransacaoSomenteLeituraParaReplica() {
+        Assertions.assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    @DisplayName("Deve encaminhar transação de escrita para o primário")
+    void deveEncaminharTransacaoDeEscritaParaPrimario() {
+        Assertions.assertEquals("primario", escrita.execute(status -> origem()));
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário após escrita do mesmo usuário dentro da janela")
+    void deveLerDoPrimarioAposEscritaDoMesmoUsuario() {
+        // Given
+        autenticar("motorista@puc.br");
+        escrita.executeWithoutResult(status -> jdbcTemplate.update("UPDATE origem SET nome = nome"));
+
+        // When
+        final String origemMesmoUsuario = leitura.execute(status -> origem());
+        autenticar("passageiro@puc.br");
+        final String origemOutroUsuario = leitura.execute(status -> origem());
+
+        // Then
+        Assertions.assertEquals("primario", origemMesmoUsuario);
+        Assertions.assertEquals("replica", origemOutroUsuario);
+    }
+
+    @Test
+    @DisplayName("Não deve registrar escrita de transação revertida")
+    void naoDeveRegistrarEscritaDeTransacaoRevertida() {
+        // Given
+        autenticar("motorista@puc.br");
+        escrita.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE origem SET nome = nome");
+            status.setRollbackOnly();
+        });
+
+        // When / Then
+        Assertions.assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário quando a réplica estiver atrasada")
+    void deveLerDoPrimarioQuandoReplicaAtrasada() {
+        // Given
+        consistencia.atualizarAtraso(Duration.ofSeconds(30));
+
+        // When / Then
+        Assertions.assertEquals("primario", leitura.execute(status -> origem()));
+
+        consistencia.atualizarAtraso(Duration.ofSeconds(1));
+        Assertions.assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    @DisplayName("Deve rotear cada transação do JpaTransactionManager conforme o readOnly")
+    void deveRotearCadaTransacaoDoJpaTransactionManager() {
+        // Given
+        final EntityManagerFactory emf = criarEntityManagerFactory(Map.of());
+        final EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(emf);
+        final JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+        final TransactionTemplate leituraJpa = new TransactionTemplate(transactionManager);
+        leituraJpa.setReadOnly(true);
+        final TransactionTemplate escritaJpa = new TransactionTemplate(transactionManager);
+
+        // When / Then
+        Assertions.assertEquals("replica", leituraJpa.execute(status -> origem(em)));
+        Assertions.assertEquals("primario", escritaJpa.execute(status -> origem(em)));
+        emf.close();
+    }
+
+    @Test
+    @DisplayName("Deve rotear de novo cada transação com o EntityManager aberto na requisição (open-in-view)")
+    void deveRotearDeNovoCadaTransacaoComEntityManagerAbertoNaRequisicao() {
+        // Given: configuração de conexão do profile replica
+        final YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application-replica.yml"));
+        final String modoConexao = yaml.getObject()
+                .getProperty("spring.jpa.properties.hibernate.connection.handling_mode");
+        final EntityManagerFactory emf = criarEntityManagerFactory(
+                Map.of(AvailableSettings.CONNECTION_HANDLING, modoConexao));
+        final EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(emf);
+        final JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+        final TransactionTemplate leituraJpa = new TransactionTemplate(transactionManager);
+        leituraJpa.setReadOnly(true);
+        final TransactionTemplate escritaJpa = new TransactionTemplate(transactionManager);
+
+        // When: uma sessão para a requisição inteira, como no OpenEntityManagerInViewInterceptor
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(emf.createEntityManager()));
+        final List<String> origens;
+        try {
+            origens = List.of(
+                    leituraJpa.execute(status -> origem(em)),
+                    escritaJpa.execute(status -> origem(em)),
+                    leituraJpa.execute(status -> origem(em)));
+        } finally {
+            final EntityManagerHolder holder =
+                    (EntityManagerHolder) TransactionSynchronizationManager.unbindResource(emf);
+            holder.getEntityManager().close();
+            emf.close();
+        }
+
+        // Then
+        Assertions.assertEquals(List.of("replica", "primario", "replica"), origens);
+    }
+
+    private EntityManagerFactory criarEntityManagerFactory(final Map<String, Object> propriedades) {
+        final LocalContainerEntityManagerFactoryBean fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setDataSource(dataSource);
+        fabrica.setPackagesToScan(RoutingDataSourceTest.class.getPackageName());
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setJpaPropertyMap(propriedades);
+        fabrica.afterPropertiesSet();
+        return fabrica.getObject();
+    }
+
+    private static String origem(final EntityManager em) {
+        return (String) em.createNativeQuery("SELECT nome FROM origem").getSingleResult();
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class);
+    }
+
+    private static void autenticar(final String usuario) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(usuario, null, List.of()));
+    }
+
+    private static DataSource criarBanco(final String nome) {
+        final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        final JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS origem (nome VARCHAR(20))");
+        template.update("DELETE FROM origem");
+        template.update("INSERT INTO origem (nome) VALUES (?)", nome);
+        return dataSource;
+    }
+}
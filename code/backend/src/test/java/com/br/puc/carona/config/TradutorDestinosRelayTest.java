@@ -0,0 +1,66 @@
+package com.br.puc.carona.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+@DisplayName("Teste Config: TradutorDestinosRelay")
+class TradutorDestinosRelayTest {
+
+    @Test
+    @DisplayName("Deve converter as barras após /topic/ em pontos para o broker")
+    void deveConverterParaBroker() {
+        // Given
+        final Message<byte[]> mensagem = inscricao("/topic/carona/10/location");
+
+        // When
+        final Message<?> traduzida = new TradutorDestinosRelay(true).preSend(mensagem, null);
+
+        // Then
+        final StompHeaderAccessor accessor = StompHeaderAccessor.wrap(traduzida);
+        Assertions.assertEquals("/topic/carona.10.location", accessor.getDestination());
+        Assertions.assertEquals("/topic/carona.10.location",
+                accessor.getFirstNativeHeader(StompHeaderAccessor.STOMP_DESTINATION_HEADER));
+    }
+
+    @Test
+    @DisplayName("Deve devolver ao cliente o destino com barras")
+    void deveConverterParaCliente() {
+        // Given
+        final Message<byte[]> mensagem = inscricao("/topic/user.42.notifications");
+
+        // When
+        final Message<?> traduzida = new TradutorDestinosRelay(false).preSend(mensagem, null);
+
+        // Then
+        Assertions.assertEquals("/topic/user/42/notifications",
+                SimpMessageHeaderAccessor.getDestination(traduzida.getHeaders()));
+    }
+
+    @Test
+    @DisplayName("Deve manter intactas mensagens sem destino /topic")
+    void deveIgnorarOutrosDestinos() {
+        // Given
+        final Message<byte[]> mensagem = inscricao("/app/location/10");
+
+        // When
+        final Message<?> traduzida = new TradutorDestinosRelay(true).preSend(mensagem, null);
+
+        // Then
+        Assertions.assertSame(mensagem, traduzida);
+    }
+
+    private static Message<byte[]> inscricao(final String destino) {
+        final StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId("sessao-1");
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destino);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,266 @@
+package com.br.puc.carona.infra.localizacao;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.br.puc.carona.dto.TrajetoDto;
+import com.br.puc.carona.dto.request.LocationUpdateDto;
+import com.br.puc.carona.dto.response.EtaEmbarqueDto;
+import com.br.puc.carona.enums.Status;
+import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.mapper.TrajetoMapper;
+import com.br.puc.carona.model.Carona;
+import com.br.puc.carona.model.Estudante;
+import com.br.puc.carona.model.PedidoDeEntrada;
+import com.br.puc.carona.model.SolicitacaoCarona;
+import com.br.puc.carona.model.Trajeto;
+import com.br.puc.carona.repository.CaronaRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Teste Localizacao: AcompanhamentoCaronas")
+class AcompanhamentoCaronasTest {
+
+    private static final Long CARONA_ID = 10L;
+    private static final Long PASSAGEIRO_ID = 3L;
+
+    /** Cerca de 11,1 metros por 0,0001 grau de latitude. */
+    private static final double PASSO = 0.0001;
+
+    @Mock
+    private CaronaRepository caronaRepository;
+
+    @Mock
+    private TrajetoMapper trajetoMapper;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RegistroCaronasEmAndamento registroCaronas;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong agora = new AtomicLong(1_000_000);
+
+    private AcompanhamentoCaronas acompanhamento;
+
+    @BeforeEach
+    void setUp() {
+        acompanhamento = new AcompanhamentoCaronas(caronaRepository, trajetoMapper, messagingTemplate,
+                eventPublisher, registroCaronas, transactionManager);
+        ReflectionTestUtils.setField(acompanhamento, "relogio", (LongSupplier) agora::get);
+        ReflectionTestUtils.setField(acompanhamento, "capacidadeHistorico", 8);
+        ReflectionTestUtils.setField(acompanhamento, "alfaVelocidade", 0.5);
+        ReflectionTestUtils.setField(acompanhamento, "velocidadeMinimaMps", 1.5);
+        ReflectionTestUtils.setField(acompanhamento, "inatividadeMinutos", 10L);
+        ReflectionTestUtils.setField(acompanhamento, "tamanhoCelulaMetros", 100.0);
+        ReflectionTestUtils.setField(acompanhamento, "desvioMaximoMetros", 50.0);
+        ReflectionTestUtils.setField(acompanhamento, "janelaSegmentos", 8);
+        ReflectionTestUtils.setField(acompanhamento, "confirmacoesDesvio", 3);
+    }
+
+    @Test
+    @DisplayName("Deve publicar o ETA até o embarque pela distância restante na rota e velocidade suavizada")
+    void devePublicarEtaAteEmbarque() {
+        // Given: rota reta para o norte com 1000 passos e embarque no passo 100 (~1110 m)
+        final Carona carona = carona(100);
+        when(caronaRepository.findById(CARONA_ID)).thenReturn(Optional.of(carona));
+        emAndamentoNoRegistro();
+        iniciar();
+        registrar(0, 0);
+        registrar(1, 1000);
+        registrar(2, 2000);
+
+        // When
+        acompanhamento.publicarEtas();
+
+        // Then: ~1088 m restantes a ~11,1 m/s
+        final ArgumentCaptor<EtaEmbarqueDto> eta = ArgumentCaptor.forClass(EtaEmbarqueDto.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/user/" + PASSAGEIRO_ID + "/eta"), eta.capture());
+        Assertions.assertEquals(CARONA_ID, eta.getValue().getCaronaId());
+        Assertions.assertEquals(1088, eta.getValue().getDistanciaRestanteMetros(), 5);
+        Assertions.assertEquals(11.1, eta.getValue().getVelocidadeMps(), 0.1);
+        Assertions.assertEquals(98, eta.getValue().getSegundosEstimados(), 2);
+    }
+
+    @Test
+    @DisplayName("Deve carregar pelo agendador, uma vez, a rota da carona iniciada em outra instância")
+    void deveCarregarRotaPeloAgendadorUmaVez() {
+        // Given: embarque no passo 1, já ultrapassado quando a rota é carregada
+        final Carona carona = carona(1);
+        when(caronaRepository.findById(CARONA_ID)).thenReturn(Optional.of(carona));
+        emAndamentoNoRegistro();
+        registrar(0, 0);
+        acompanhamento.publicarEtas();
+
+        // When
+        registrar(4, 4000);
+        registrar(5, 5000);
+        acompanhamento.publicarEtas();
+
+        // Then
+        verify(caronaRepository, times(1)).findById(CARONA_ID);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve descartar o histórico da carona encerrada")
+    void deveDescartarHistoricoDaCaronaEncerrada() {
+        // Given
+        registrar(0, 0);
+
+        // When
+        acompanhamento.onCaronaAlterada(new CaronaAlteradaEvent(CARONA_ID, StatusCarona.FINALIZADA, 2L, Set.of()));
+        acompanhamento.publicarEtas();
+
+        // Then
+        verify(caronaRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve publicar um único desvio após posições seguidas fora da rota e suspender o ETA")
+    void devePublicarDesvioConfirmado() {
+        // Given
+        final Carona carona = carona(500);
+        when(caronaRepository.findById(CARONA_ID)).thenReturn(Optional.of(carona));
+        emAndamentoNoRegistro();
+        iniciar();
+        registrar(0, 0);
+        registrar(1, 1000);
+
+        // When: 0,002 grau (~210 m) a leste da rota
+        for (int i = 2; i < 6; i++) {
+            acompanhamento.registrar(CARONA_ID, LocationUpdateDto.builder()
+                    .latitude(-19.9 + i * PASSO)
+                    .longitude(-43.898)
+                    .timestamp(Instant.ofEpochMilli(1000L * i))
+                    .build());
+        }
+        acompanhamento.publicarEtas();
+
+        // Then
+        final ArgumentCaptor<DesvioRotaEvent> desvio = ArgumentCaptor.forClass(DesvioRotaEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(desvio.capture());
+        Assertions.assertEquals(CARONA_ID, desvio.getValue().caronaId());
+        verify(messagingTemplate).convertAndSend("/topic/carona/" + CARONA_ID + "/desvio", desvio.getValue());
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/user/" + PASSAGEIRO_ID + "/eta"), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve descartar sem publicar ETA a carona recriada por um quadro em trânsito após o fim")
+    void deveDescartarCaronaFinalizadaRecriadaPorQuadro() {
+        // Given: o quadro chega depois do evento de fim, antes de o registro revalidar
+        final Carona carona = carona(100);
+        carona.setStatus(StatusCarona.FINALIZADA);
+        when(caronaRepository.findById(CARONA_ID)).thenReturn(Optional.of(carona));
+        emAndamentoNoRegistro();
+        acompanhamento.onCaronaAlterada(new CaronaAlteradaEvent(CARONA_ID, StatusCarona.FINALIZADA, 2L, Set.of()));
+        registrar(0, 0);
+
+        // When
+        acompanhamento.publicarEtas();
+        acompanhamento.publicarEtas();
+
+        // Then
+        verify(caronaRepository, times(1)).findById(CARONA_ID);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve parar o ETA da carona que o registro não considera mais em andamento")
+    void devePararEtaDaCaronaForaDoRegistro() {
+        // Given: rota carregada e a carona finalizada em outra instância
+        final Carona carona = carona(100);
+        when(caronaRepository.findById(CARONA_ID)).thenReturn(Optional.of(carona));
+        iniciar();
+        registrar(0, 0);
+        registrar(1, 1000);
+        when(registroCaronas.buscar(CARONA_ID)).thenReturn(null);
+
+        // When
+        acompanhamento.publicarEtas();
+
+        // Then
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        Assertions.assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(acompanhamento, "caronas")).isEmpty());
+    }
+
+    private void emAndamentoNoRegistro() {
+        when(registroCaronas.buscar(CARONA_ID)).thenReturn(new RegistroCaronasEmAndamento.CaronaEmAndamento(
+                CARONA_ID, 2L, Set.of(PASSAGEIRO_ID), Long.MAX_VALUE));
+    }
+
+    private void iniciar() {
+        acompanhamento.onCaronaAlterada(new CaronaAlteradaEvent(CARONA_ID, StatusCarona.EM_ANDAMENTO, 2L,
+                Set.of(PASSAGEIRO_ID)));
+    }
+
+    private void registrar(final int passo, final long instanteMs) {
+        acompanhamento.registrar(CARONA_ID, LocationUpdateDto.builder()
+                .latitude(-19.9 + passo * PASSO)
+                .longitude(-43.9)
+                .timestamp(Instant.ofEpochMilli(instanteMs))
+                .build());
+    }
+
+    private Carona carona(final int passoEmbarque) {
+        final List<List<Double>> coordenadas = new ArrayList<>();
+        for (int i = 0; i <= 1000; i += 10) {
+            coordenadas.add(List.of(-19.9 + i * PASSO, -43.9));
+        }
+        final Trajeto trajeto = Trajeto.builder().principal(true).distanciaMetros(11_100.0).tempoSegundos(1000.0)
+                .build();
+        final TrajetoDto trajetoDto = new TrajetoDto();
+        trajetoDto.setCoordenadas(coordenadas);
+        lenient().when(trajetoMapper.toDto(trajeto)).thenReturn(trajetoDto);
+
+        final Estudante passageiro = new Estudante();
+        passageiro.setId(PASSAGEIRO_ID);
+        final SolicitacaoCarona solicitacao = SolicitacaoCarona.builder()
+                .estudante(passageiro)
+                .origemLatitude(-19.9 + passoEmbarque * PASSO)
+                .origemLongitude(-43.9002)
+                .build();
+        final PedidoDeEntrada pedido = PedidoDeEntrada.builder().solicitacao(solicitacao).status(Status.APROVADO)
+                .build();
+
+        final Carona carona = new Carona();
+        carona.setId(CARONA_ID);
+        carona.setStatus(StatusCarona.EM_ANDAMENTO);
+        carona.setTrajetos(List.of(trajeto));
+        carona.setPedidosEntrada(List.of(pedido));
+        return carona;
+    }
+}
@@ -0,0 +1,84 @@
+package com.br.puc.carona.infra.localizacao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Teste Localizacao: EncaixeRota")
+class EncaixeRotaTest {
+
+    /** Cerca de 11,1 metros por 0,0001 grau de latitude. */
+    private static final double PASSO = 0.0001;
+
+    private IndiceSegmentos indice;
+    private EncaixeRota encaixe;
+
+    @BeforeEach
+    void setUp() {
+        // Rota para o norte com 100 segmentos de ~11 m
+        final List<List<Double>> coordenadas = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            coordenadas.add(List.of(-19.9 + i * PASSO, -43.9));
+        }
+        indice = new IndiceSegmentos(RotaCarona.de(coordenadas), 100);
+        encaixe = new EncaixeRota(indice, 50, 8, 3);
+    }
+
+    @Test
+    @DisplayName("Deve encontrar pelo índice o segmento mais próximo, dentro do raio")
+    void deveEncontrarSegmentoPeloIndice() {
+        // When
+        final RotaCarona.Projecao projecao = indice.maisProximo(-19.9 + 42.5 * PASSO, -43.8999, 50);
+
+        // Then
+        Assertions.assertEquals(42, projecao.segmento());
+        Assertions.assertEquals(10.5, projecao.desvioMetros(), 0.5);
+        Assertions.assertNull(indice.maisProximo(-19.9 + 42.5 * PASSO, -43.898, 50));
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice no primeiro encaixe e a janela do último segmento nos seguintes")
+    void deveEncaixarIncrementalmente() {
+        // When
+        final EncaixeRota.Resultado primeiro = encaixe.encaixar(-19.9 + 10.5 * PASSO, -43.9);
+        final EncaixeRota.Resultado segundo = encaixe.encaixar(-19.9 + 12.5 * PASSO, -43.9);
+        final EncaixeRota.Resultado salto = encaixe.encaixar(-19.9 + 80.5 * PASSO, -43.9);
+
+        // Then
+        Assertions.assertEquals(EncaixeRota.Origem.INDICE, primeiro.origem());
+        Assertions.assertEquals(EncaixeRota.Origem.JANELA, segundo.origem());
+        Assertions.assertEquals(12, segundo.projecao().segmento());
+        Assertions.assertEquals(EncaixeRota.Origem.INDICE, salto.origem());
+        Assertions.assertEquals(80, salto.projecao().segmento());
+    }
+
+    @Test
+    @DisplayName("Deve confirmar o desvio uma única vez após posições seguidas fora da rota")
+    void deveConfirmarDesvioUmaVez() {
+        // Given
+        encaixe.encaixar(-19.9 + 10.5 * PASSO, -43.9);
+
+        // When
+        final boolean primeiro = encaixe.encaixar(-19.9 + 11 * PASSO, -43.898).desvioConfirmado();
+        final boolean segundo = encaixe.encaixar(-19.9 + 12 * PASSO, -43.898).desvioConfirmado();
+        final boolean terceiro = encaixe.encaixar(-19.9 + 13 * PASSO, -43.898).desvioConfirmado();
+        final boolean quarto = encaixe.encaixar(-19.9 + 14 * PASSO, -43.898).desvioConfirmado();
+
+        // Then
+        Assertions.assertFalse(primeiro);
+        Assertions.assertFalse(segundo);
+        Assertions.assertTrue(terceiro);
+        Assertions.assertFalse(quarto);
+        Assertions.assertTrue(encaixe.isForaDaRota());
+
+        // When: volta para a rota
+        encaixe.encaixar(-19.9 + 15.5 * PASSO, -43.9);
+
+        // Then
+        Assertions.assertFalse(encaixe.isForaDaRota());
+    }
+}
@@ -0,0 +1,59 @@
+package com.br.puc.carona.infra.localizacao;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Teste Localizacao: HistoricoPosicoes")
+class HistoricoPosicoesTest {
+
+    /** Cerca de 11,1 metros por 0,0001 grau de latitude. */
+    private static final double PASSO = 0.0001;
+
+    @Test
+    @DisplayName("Deve manter apenas as posições mais recentes até a capacidade")
+    void deveManterPosicoesMaisRecentes() {
+        // Given
+        final HistoricoPosicoes historico = new HistoricoPosicoes(3);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            historico.registrar(-19.9 + i * PASSO, -43.9, 1000L * i);
+        }
+
+        // Then
+        Assertions.assertEquals(3, historico.tamanho());
+        Assertions.assertArrayEquals(new double[] { -19.9 + 4 * PASSO, -43.9 }, historico.ultima(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Deve suavizar a velocidade entre posições consecutivas")
+    void deveSuavizarVelocidade() {
+        // Given
+        final HistoricoPosicoes historico = new HistoricoPosicoes(8);
+        historico.registrar(-19.9, -43.9, 0);
+        historico.registrar(-19.9 + PASSO, -43.9, 1000);
+        historico.registrar(-19.9 + 2 * PASSO, -43.9, 2000);
+
+        // When
+        final double velocidade = historico.velocidadeSuavizada(0.5);
+
+        // Then
+        Assertions.assertEquals(11.1, velocidade, 0.1);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar posições fora de ordem e retornar NaN sem histórico suficiente")
+    void deveIgnorarPosicoesForaDeOrdem() {
+        // Given
+        final HistoricoPosicoes historico = new HistoricoPosicoes(4);
+        historico.registrar(-19.9, -43.9, 2000);
+
+        // When
+        historico.registrar(-19.8, -43.9, 1000);
+
+        // Then
+        Assertions.assertEquals(1, historico.tamanho());
+        Assertions.assertTrue(Double.isNaN(historico.velocidadeSuavizada(0.5)));
+    }
+}
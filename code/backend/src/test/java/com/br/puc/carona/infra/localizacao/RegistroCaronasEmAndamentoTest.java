@@ -0,0 +1,187 @@
+package com.br.puc.carona.infra.localizacao;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.model.Carona;
+import com.br.puc.carona.model.Estudante;
+import com.br.puc.carona.model.PerfilMotorista;
+import com.br.puc.carona.repository.CaronaRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Teste Localizacao: RegistroCaronasEmAndamento")
+class RegistroCaronasEmAndamentoTest {
+
+    private static final Long CARONA_ID = 10L;
+    private static final Long MOTORISTA_ID = 2L;
+    private static final Long PASSAGEIRO_ID = 3L;
+
+    @Mock
+    private CaronaRepository caronaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong agora = new AtomicLong();
+
+    private RegistroCaronasEmAndamento registro;
+
+    @BeforeEach
+    void setUp() {
+        registro = new RegistroCaronasEmAndamento(caronaRepository, transactionManager, 5, 30);
+        ReflectionTestUtils.setField(registro, "relogio", (LongSupplier) agora::get);
+    }
+
+    @Test
+    @DisplayName("Deve autorizar o motorista da carona iniciada sem consultar o banco")
+    void deveAutorizarMotoristaSemConsultarBanco() {
+        // Given
+        registro.onCaronaAlterada(new CaronaAlteradaEvent(CARONA_ID, StatusCarona.EM_ANDAMENTO, MOTORISTA_ID,
+                Set.of(PASSAGEIRO_ID)));
+
+        // When / Then
+        Assertions.assertTrue(registro.isMotorista(CARONA_ID, MOTORISTA_ID));
+        Assertions.assertFalse(registro.isMotorista(CARONA_ID, PASSAGEIRO_ID));
+        Assertions.assertTrue(registro.buscar(CARONA_ID).isParticipante(PASSAGEIRO_ID));
+        verify(caronaRepository, never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve remover a carona finalizada ou cancelada")
+    void deveRemoverCaronaEncerrada() {
+        // Given
+        registro.onCaronaAlterada(new CaronaAlteradaEvent(CARONA_ID, StatusCarona.EM_ANDAMENTO, MOTORISTA_ID,
+                Set.of()));
+
+        // When
+        registro.onCaronaAlterada(new CaronaAlteradaEvent(CARONA_ID, StatusCarona.FINALIZADA, MOTORISTA_ID,
+                Set.of()));
+
+        // Then
+        Assertions.assertFalse(registro.isMotorista(CARONA_ID, MOTORISTA_ID));
+        verify(caronaRepository, never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve carregar do banco uma única vez a carona iniciada em outra instância")
+    void deveCarregarCaronaAusenteUmaVez() {
+        // Given
+        when(caronaRepository.findById(CARONA_ID)).thenReturn(Optional.of(carona(StatusCarona.EM_ANDAMENTO)));
+
+        // When
+        final boolean primeiro = registro.isMotorista(CARONA_ID, MOTORISTA_ID);
+        final boolean segundo = registro.isMotorista(CARONA_ID, MOTORISTA_ID);
+
+        // Then
+        Assertions.assertTrue(primeiro);
+        Assertions.assertTrue(segundo);
+        verify(caronaRepository, times(1)).findById(CARONA_ID);
+    }
+
+    @Test
+    @DisplayName("Deve revalidar no banco as caronas carregadas após o intervalo")
+    void deveRevalidarCaronaCarregada() {
+        // Given
+        when(caronaRepository.findById(CARONA_ID))
+                .thenReturn(Optional.of(carona(StatusCarona.EM_ANDAMENTO)))
+                .thenReturn(Optional.of(carona(StatusCarona.FINALIZADA)));
+        registro.isMotorista(CARONA_ID, MOTORISTA_ID);
+
+        // When
+        agora.addAndGet(TimeUnit.MINUTES.toNanos(6));
+
+        // Then
+        Assertions.assertFalse(registro.isMotorista(CARONA_ID, MOTORISTA_ID));
+        Assertions.assertFalse(registro.isMotorista(CARONA_ID, MOTORISTA_ID));
+        verify(caronaRepository, times(2)).findById(CARONA_ID);
+    }
+
+    @Test
+    @DisplayName("Deve revalidar a carona registrada pelo evento local quando o fim acontece em outra instância")
+    void deveRevalidarCaronaRegistradaPorEvento() {
+        // Given: iniciada nesta instância, finalizada em outra
+        registro.onCaronaAlterada(new CaronaAlteradaEvent(CARONA_ID, StatusCarona.EM_ANDAMENTO, MOTORISTA_ID,
+                Set.of(PASSAGEIRO_ID)));
+        when(caronaRepository.findById(CARONA_ID)).thenReturn(Optional.of(carona(StatusCarona.FINALIZADA)));
+
+        // When
+        agora.addAndGet(TimeUnit.MINUTES.toNanos(6));
+
+        // Then
+        Assertions.assertFalse(registro.isMotorista(CARONA_ID, MOTORISTA_ID));
+        verify(caronaRepository, times(1)).findById(CARONA_ID);
+    }
+
+    @Test
+    @DisplayName("Deve remover as entradas vencidas de caronas sem novos quadros")
+    void deveRemoverEntradasVencidas() {
+        // Given
+        final SimpleMeterRegistry metricas = new SimpleMeterRegistry();
+        registro.bindTo(metricas);
+        registro.onCaronaAlterada(new CaronaAlteradaEvent(CARONA_ID, StatusCarona.EM_ANDAMENTO, MOTORISTA_ID,
+                Set.of()));
+        registro.onCaronaAlterada(new CaronaAlteradaEvent(20L, StatusCarona.EM_ANDAMENTO, MOTORISTA_ID, Set.of()));
+        agora.addAndGet(TimeUnit.MINUTES.toNanos(3));
+        registro.onCaronaAlterada(new CaronaAlteradaEvent(20L, StatusCarona.EM_ANDAMENTO, MOTORISTA_ID, Set.of()));
+
+        // When
+        agora.addAndGet(TimeUnit.MINUTES.toNanos(3));
+        registro.removerVencidas();
+
+        // Then
+        Assertions.assertEquals(1.0, metricas.get("carona.localizacao.registro.caronas").gauge().value());
+        verify(caronaRepository, never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve guardar no cache negativo a carona que não está em andamento")
+    void deveGuardarCaronaForaDeAndamento() {
+        // Given
+        when(caronaRepository.findById(CARONA_ID)).thenReturn(Optional.of(carona(StatusCarona.AGENDADA)));
+
+        // When
+        registro.isMotorista(CARONA_ID, MOTORISTA_ID);
+        registro.isMotorista(CARONA_ID, MOTORISTA_ID);
+
+        // Then
+        verify(caronaRepository, times(1)).findById(CARONA_ID);
+    }
+
+    private static Carona carona(final StatusCarona status) {
+        final Estudante motorista = new Estudante();
+        motorista.setId(MOTORISTA_ID);
+        final PerfilMotorista perfil = new PerfilMotorista();
+        perfil.setEstudante(motorista);
+        final Estudante passageiro = new Estudante();
+        passageiro.setId(PASSAGEIRO_ID);
+
+        final Carona carona = new Carona();
+        carona.setId(CARONA_ID);
+        carona.setStatus(status);
+        carona.setMotorista(perfil);
+        carona.setPassageiros(Set.of(passageiro));
+        return carona;
+    }
+}
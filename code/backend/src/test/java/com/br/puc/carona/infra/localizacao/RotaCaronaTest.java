@@ -0,0 +1,50 @@
+package com.br.puc.carona.infra.localizacao;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Teste Localizacao: RotaCarona")
+class RotaCaronaTest {
+
+    /** Rota em L: 0,001 grau para o norte e depois 0,001 grau para o leste. */
+    private static final List<List<Double>> COORDENADAS = List.of(
+            List.of(-19.9, -43.9),
+            List.of(-19.899, -43.9),
+            List.of(-19.899, -43.899));
+
+    @Test
+    @DisplayName("Deve acumular o comprimento dos segmentos")
+    void deveAcumularComprimento() {
+        // When
+        final RotaCarona rota = RotaCarona.de(COORDENADAS);
+
+        // Then
+        Assertions.assertEquals(2, rota.segmentos());
+        Assertions.assertEquals(111.2 + 104.6, rota.comprimentoMetros(), 1.0);
+    }
+
+    @Test
+    @DisplayName("Deve projetar o ponto no segmento mais próximo e medir o desvio")
+    void deveProjetarNoSegmentoMaisProximo() {
+        // Given
+        final RotaCarona rota = RotaCarona.de(COORDENADAS);
+
+        // When: metade do segundo segmento, 0,0001 grau ao sul
+        final RotaCarona.Projecao projecao = rota.projetar(-19.8991, -43.8995);
+
+        // Then
+        Assertions.assertEquals(1, projecao.segmento());
+        Assertions.assertEquals(111.2 + 52.3, projecao.distanciaAoLongo(), 1.0);
+        Assertions.assertEquals(11.1, projecao.desvioMetros(), 0.5);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar pontos inválidos e rejeitar polilinhas com menos de dois pontos")
+    void deveRejeitarPolilinhaInsuficiente() {
+        Assertions.assertNull(RotaCarona.de(null));
+        Assertions.assertNull(RotaCarona.de(List.of(List.of(-19.9, -43.9), List.of(-19.8))));
+    }
+}
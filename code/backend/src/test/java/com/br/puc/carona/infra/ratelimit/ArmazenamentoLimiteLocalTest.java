@@ -0,0 +1,102 @@
+package com.br.puc.carona.infra.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Teste RateLimit: ArmazenamentoLimiteLocal")
+class ArmazenamentoLimiteLocalTest {
+
+    private static final OrcamentoLimite ORCAMENTO = new OrcamentoLimite(3, Duration.ofSeconds(3));
+
+    private AtomicLong relogio;
+    private ArmazenamentoLimiteLocal armazenamento;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+        armazenamento = new ArmazenamentoLimiteLocal(100, Duration.ofMinutes(5), relogio::get);
+    }
+
+    @Test
+    @DisplayName("Deve permitir até a capacidade e negar em seguida com tempo de espera")
+    void devePermitirAteCapacidadeENegarEmSeguida() {
+        // When
+        final DecisaoLimite primeira = armazenamento.consumir("u1", ORCAMENTO);
+        armazenamento.consumir("u1", ORCAMENTO);
+        final DecisaoLimite terceira = armazenamento.consumir("u1", ORCAMENTO);
+        final DecisaoLimite quarta = armazenamento.consumir("u1", ORCAMENTO);
+
+        // Then
+        Assertions.assertTrue(primeira.permitido());
+        Assertions.assertEquals(2, primeira.restantes());
+        Assertions.assertTrue(terceira.permitido());
+        Assertions.assertEquals(0, terceira.restantes());
+        Assertions.assertFalse(quarta.permitido());
+        Assertions.assertEquals(Duration.ofSeconds(1), quarta.tentarApos());
+    }
+
+    @Test
+    @DisplayName("Deve reabastecer uma ficha por intervalo")
+    void deveReabastecerUmaFichaPorIntervalo() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            armazenamento.consumir("u1", ORCAMENTO);
+        }
+        Assertions.assertFalse(armazenamento.consumir("u1", ORCAMENTO).permitido());
+
+        // When
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Then
+        Assertions.assertTrue(armazenamento.consumir("u1", ORCAMENTO).permitido());
+        Assertions.assertFalse(armazenamento.consumir("u1", ORCAMENTO).permitido());
+    }
+
+    @Test
+    @DisplayName("Deve manter baldes independentes por chave")
+    void deveManterBaldesIndependentesPorChave() {
+        for (int i = 0; i < 3; i++) {
+            armazenamento.consumir("u1", ORCAMENTO);
+        }
+
+        Assertions.assertFalse(armazenamento.consumir("u1", ORCAMENTO).permitido());
+        Assertions.assertTrue(armazenamento.consumir("u2", ORCAMENTO).permitido());
+    }
+
+    @Test
+    @DisplayName("Não deve conceder mais fichas que a capacidade sob concorrência")
+    void naoDeveConcederMaisFichasQueCapacidadeSobConcorrencia() throws InterruptedException {
+        // Given
+        final OrcamentoLimite orcamento = new OrcamentoLimite(50, Duration.ofHours(1));
+        final AtomicInteger permitidas = new AtomicInteger();
+        final CountDownLatch largada = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 400; i++) {
+            executor.submit(() -> {
+                largada.await();
+                if (armazenamento.consumir("u1", orcamento).permitido()) {
+                    permitidas.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        Assertions.assertEquals(50, permitidas.get());
+    }
+}
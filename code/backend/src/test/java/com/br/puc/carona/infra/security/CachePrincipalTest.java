@@ -0,0 +1,107 @@
+package com.br.puc.carona.infra.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.puc.carona.enums.TipoUsuario;
+import com.br.puc.carona.model.Usuario;
+
+@DisplayName("Teste Security: CachePrincipal")
+class CachePrincipalTest {
+
+    private static final String EMAIL = "aluno@puc.br";
+
+    private CachePrincipal cachePrincipal;
+    private AtomicInteger consultas;
+
+    @BeforeEach
+    void setUp() {
+        cachePrincipal = new CachePrincipal(60, 100);
+        consultas = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco apenas uma vez para o mesmo subject")
+    void deveConsultarBancoApenasUmaVez() {
+        // When
+        final CachePrincipal.PrincipalAutenticado primeiro = cachePrincipal.buscar(EMAIL, this::carregar);
+        final CachePrincipal.PrincipalAutenticado segundo = cachePrincipal.buscar(EMAIL, this::carregar);
+
+        // Then
+        Assertions.assertSame(primeiro, segundo);
+        Assertions.assertEquals(1, consultas.get());
+        Assertions.assertEquals("ROLE_USER", primeiro.authorities().get(0).getAuthority());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar subject inexistente")
+    void naoDeveGuardarSubjectInexistente() {
+        // When
+        Assertions.assertNull(cachePrincipal.buscar(EMAIL, email -> {
+            consultas.incrementAndGet();
+            return null;
+        }));
+        cachePrincipal.buscar(EMAIL, this::carregar);
+
+        // Then
+        Assertions.assertEquals(2, consultas.get());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o principal após alteração do usuário")
+    void deveRecarregarPrincipalAposAlteracao() {
+        // Given
+        cachePrincipal.buscar(EMAIL, this::carregar);
+
+        // When
+        cachePrincipal.onUsuarioAlterado(UsuarioAlteradoEvent.alterado(EMAIL));
+        cachePrincipal.buscar(EMAIL, this::carregar);
+
+        // Then
+        Assertions.assertEquals(2, consultas.get());
+        Assertions.assertFalse(cachePrincipal.isBanido(EMAIL));
+    }
+
+    @Test
+    @DisplayName("Deve marcar usuário como banido e invalidar o principal")
+    void deveMarcarUsuarioComoBanido() {
+        // Given
+        cachePrincipal.buscar(EMAIL, this::carregar);
+
+        // When
+        cachePrincipal.onUsuarioAlterado(UsuarioAlteradoEvent.banido(EMAIL));
+        cachePrincipal.buscar(EMAIL, this::carregar);
+
+        // Then
+        Assertions.assertTrue(cachePrincipal.isBanido(EMAIL));
+        Assertions.assertEquals(2, consultas.get());
+    }
+
+    @Test
+    @DisplayName("Deve remover a marca de banido quando o usuário é alterado depois")
+    void deveRemoverMarcaDeBanidoQuandoUsuarioEAlterado() {
+        // Given
+        cachePrincipal.onUsuarioAlterado(UsuarioAlteradoEvent.banido(EMAIL));
+
+        // When
+        cachePrincipal.onUsuarioAlterado(UsuarioAlteradoEvent.alterado(EMAIL));
+
+        // Then
+        Assertions.assertFalse(cachePrincipal.isBanido(EMAIL));
+    }
+
+    private Usuario carregar(final String email) {
+        consultas.incrementAndGet();
+        return Usuario.builder()
+                .id(1L)
+                .nome("Aluno")
+                .email(email)
+                .password("senha")
+                .tipoUsuario(TipoUsuario.ESTUDANTE)
+                .build();
+    }
+}
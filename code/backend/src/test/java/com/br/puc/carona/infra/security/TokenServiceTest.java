@@ -0,0 +1,96 @@
+package com.br.puc.carona.infra.security;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.br.puc.carona.enums.TipoUsuario;
+import com.br.puc.carona.model.Usuario;
+
+@DisplayName("Teste Security: TokenService")
+class TokenServiceTest {
+
+    private TokenService tokenService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(100);
+        usuario = Usuario.builder()
+                .id(7L)
+                .nome("Aluno")
+                .email("aluno@puc.br")
+                .password("senha")
+                .tipoUsuario(TipoUsuario.ESTUDANTE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve validar token gerado e retornar o subject")
+    void deveValidarTokenGerado() {
+        // Given
+        final String token = tokenService.generateToken(usuario);
+
+        // When
+        final String subject = tokenService.validateToken(token);
+
+        // Then
+        Assertions.assertEquals("aluno@puc.br", subject);
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar claims de token já verificado")
+    void deveReaproveitarClaimsDeTokenVerificado() {
+        // Given
+        final String token = tokenService.generateToken(usuario);
+
+        // When
+        final TokenService.TokenVerificado primeiro = tokenService.verificar(token);
+        final TokenService.TokenVerificado segundo = tokenService.verificar(token);
+
+        // Then
+        Assertions.assertSame(primeiro, segundo);
+        Assertions.assertEquals(7L, primeiro.id());
+        Assertions.assertTrue(primeiro.expiraEm().isAfter(Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token com assinatura inválida")
+    void deveRejeitarTokenComAssinaturaInvalida() {
+        // Given
+        final String token = JWT.create()
+                .withIssuer("carona")
+                .withSubject("aluno@puc.br")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("outro-segredo"));
+
+        // When / Then
+        Assertions.assertEquals("", tokenService.validateToken(token));
+        Assertions.assertNull(tokenService.verificar(token));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token expirado")
+    void deveRejeitarTokenExpirado() {
+        // Given
+        final String token = JWT.create()
+                .withIssuer("carona")
+                .withSubject("aluno@puc.br")
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256("secret".getBytes()));
+
+        // When / Then
+        Assertions.assertEquals("", tokenService.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio para token em branco")
+    void deveRetornarVazioParaTokenEmBranco() {
+        Assertions.assertEquals("", tokenService.validateToken(" "));
+    }
+}
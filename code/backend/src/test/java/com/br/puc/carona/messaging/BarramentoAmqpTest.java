@@ -0,0 +1,101 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.br.puc.carona.enums.StatusEventoOutbox;
+import com.br.puc.carona.model.EventoOutbox;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: BarramentoAmqp")
+class BarramentoAmqpTest {
+
+    private static final String EXCHANGE = "carpool.topic";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private final ParticionadorCaronas particionador = new ParticionadorCaronas(4, 0, "carpool.rides.lifecycle");
+
+    private BarramentoAmqp barramento;
+
+    @BeforeEach
+    void setUp() {
+        barramento = new BarramentoAmqp(rabbitTemplate, particionador, new ConversorMensagens("json"));
+        ReflectionTestUtils.setField(barramento, "carpoolExchange", EXCHANGE);
+    }
+
+    @Test
+    @DisplayName("Deve publicar na partição da carona com ID, tipo e chave de idempotência")
+    void devePublicarNaParticaoDaCarona() throws Exception {
+        // Given
+        final Message[] enviada = new Message[1];
+        doAnswer(invocation -> {
+            enviada[0] = invocation.getArgument(2);
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(eq(EXCHANGE), eq("ride.started." + particionador.particao(10L)),
+                any(Message.class), any(CorrelationData.class));
+
+        // When
+        final CompletableFuture<Void> confirmacao = barramento.publicar(evento(1L, 10L));
+
+        // Then
+        confirmacao.get(1, TimeUnit.SECONDS);
+        assertEquals("1", enviada[0].getMessageProperties().getMessageId());
+        assertEquals("com.br.puc.carona.messaging.contract.RideStartedMessageDTO",
+                enviada[0].getMessageProperties().getHeaders().get(ConversorMensagens.HEADER_TIPO));
+        assertEquals("1", enviada[0].getMessageProperties().getHeaders().get(EventBus.HEADER_CHAVE_IDEMPOTENCIA));
+    }
+
+    @Test
+    @DisplayName("Deve falhar a confirmação quando o broker rejeita a mensagem")
+    void deveFalharQuandoBrokerRejeita() {
+        // Given
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+            return null;
+        }).when(rabbitTemplate).send(eq(EXCHANGE), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // When
+        final CompletableFuture<Void> confirmacao = barramento.publicar(evento(1L, 10L));
+
+        // Then
+        final ExecutionException erro = assertThrows(ExecutionException.class,
+                () -> confirmacao.get(1, TimeUnit.SECONDS));
+        assertEquals("nack", erro.getCause().getMessage());
+    }
+
+    private static EventoOutbox evento(final Long id, final Long caronaId) {
+        final EventoOutbox evento = EventoOutbox.builder()
+                .routingKey("ride.started")
+                .caronaId(caronaId)
+                .tipoPayload("com.br.puc.carona.messaging.contract.RideStartedMessageDTO")
+                .payload("{\"caronaId\":" + caronaId + "}")
+                .status(StatusEventoOutbox.PENDENTE)
+                .build();
+        evento.setId(id);
+        return evento;
+    }
+}
@@ -0,0 +1,213 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.br.puc.carona.constants.RotasMensageria;
+import com.br.puc.carona.enums.StatusEventoOutbox;
+import com.br.puc.carona.messaging.ProcessadorCicloVidaCaronas.EventoRecebido;
+import com.br.puc.carona.messaging.contract.AvaliacaoMessageDTO;
+import com.br.puc.carona.messaging.contract.RideStartedMessageDTO;
+import com.br.puc.carona.model.EventoOutbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: BarramentoLocal")
+class BarramentoLocalTest {
+
+    private static final String TIPO_INICIO = "com.br.puc.carona.messaging.contract.RideStartedMessageDTO";
+
+    @Mock
+    private MensagemConsumer mensagemConsumer;
+
+    @Mock
+    private ProcessadorCicloVidaCaronas processador;
+
+    @TempDir
+    private Path diretorio;
+
+    private final List<BarramentoLocal> barramentos = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        barramentos.forEach(BarramentoLocal::stop);
+    }
+
+    @Test
+    @DisplayName("Deve entregar os eventos da carona em ordem e confirmar após o processamento")
+    @SuppressWarnings("unchecked")
+    void deveEntregarEmOrdemEConfirmarAposProcessamento() throws Exception {
+        // Given
+        final BarramentoLocal barramento = iniciar(criar(4, 16, ""));
+
+        // When
+        final CompletableFuture<Void> primeiro = barramento.publicar(evento(1L, 10L, "{\"caronaId\":10,\"driverId\":1}"));
+        final CompletableFuture<Void> segundo = barramento.publicar(evento(2L, 10L, "{\"caronaId\":10,\"driverId\":2}"));
+        segundo.get(2, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(primeiro.isDone());
+        final ArgumentCaptor<List<EventoRecebido>> eventos = ArgumentCaptor.forClass(List.class);
+        final InOrder ordem = inOrder(processador);
+        ordem.verify(processador, times(2)).processar(eventos.capture());
+        assertEquals(1L, ((RideStartedMessageDTO) eventos.getAllValues().get(0).get(0).evento()).getDriverId());
+        assertEquals(2L, ((RideStartedMessageDTO) eventos.getAllValues().get(1).get(0).evento()).getDriverId());
+        assertEquals("1", eventos.getAllValues().get(0).get(0).chave());
+    }
+
+    @Test
+    @DisplayName("Deve entregar ao consumidor os headers de ID, data e chave de idempotência")
+    @SuppressWarnings("unchecked")
+    void deveEntregarHeaders() throws Exception {
+        // Given
+        final BarramentoLocal barramento = iniciar(criar(4, 16, ""));
+        final EventoOutbox evento = EventoOutbox.builder()
+                .routingKey(RotasMensageria.AVALIACAO_CRIADA)
+                .caronaId(10L)
+                .tipoPayload(AvaliacaoMessageDTO.class.getName())
+                .payload("{\"caronaId\":10,\"avaliadorId\":1,\"avaliadoId\":2}")
+                .chaveIdempotencia("avaliacao:10:1:2")
+                .status(StatusEventoOutbox.PENDENTE)
+                .build();
+        evento.setId(7L);
+
+        // When
+        barramento.publicar(evento).get(2, TimeUnit.SECONDS);
+
+        // Then
+        final ArgumentCaptor<Message<AvaliacaoMessageDTO>> mensagem = ArgumentCaptor.forClass(Message.class);
+        verify(mensagemConsumer).processarAvaliacoes(mensagem.capture());
+        assertEquals(2L, mensagem.getValue().getPayload().getAvaliadoId());
+        assertEquals("7", mensagem.getValue().getHeaders().get(AmqpHeaders.MESSAGE_ID));
+        assertEquals("avaliacao:10:1:2", mensagem.getValue().getHeaders().get(EventBus.HEADER_CHAVE_IDEMPOTENCIA));
+        assertTrue(mensagem.getValue().getHeaders().containsKey(AmqpHeaders.TIMESTAMP));
+    }
+
+    @Test
+    @DisplayName("Deve repetir o evento após falha temporária")
+    void deveRepetirAposFalhaTemporaria() throws Exception {
+        // Given
+        final BarramentoLocal barramento = iniciar(criar(1, 16, ""));
+        doThrow(new IllegalStateException("banco indisponível")).doNothing().when(processador).processar(any());
+
+        // When
+        barramento.publicar(evento(1L, 10L, "{\"caronaId\":10}")).get(2, TimeUnit.SECONDS);
+
+        // Then
+        verify(processador, times(2)).processar(any());
+        assertEquals(1.0, registry.get("carona.barramento.local.retentativas").functionCounter().count());
+        assertEquals(1.0, registry.get("carona.barramento.local.processados").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve descartar sem nova tentativa o evento com erro permanente")
+    void deveDescartarErroPermanente() throws Exception {
+        // Given
+        final BarramentoLocal barramento = iniciar(criar(1, 16, diretorio.toString()));
+        doThrow(new IllegalArgumentException("payload inválido")).when(processador).processar(any());
+
+        // When
+        barramento.publicar(evento(1L, 10L, "{\"caronaId\":10}"));
+
+        // Then
+        verify(processador, timeout(2000)).processar(any());
+        verify(processador, times(1)).processar(any());
+        assertTrue(esperarArquivo(diretorio.resolve(DiarioEventosLocal.ARQUIVO_MORTOS)));
+        assertEquals(1.0, registry.get("carona.barramento.local.descartados").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a publicação com a faixa cheia e não duplicar evento em andamento")
+    void deveRecusarComFaixaCheia() {
+        // Given: barramento sem trabalhadores, com uma faixa de um evento
+        final BarramentoLocal barramento = criar(1, 1, "");
+        final EventoOutbox primeiro = evento(1L, 10L, "{}");
+        final CompletableFuture<Void> confirmacao = barramento.publicar(primeiro);
+
+        // When / Then
+        assertSame(confirmacao, barramento.publicar(primeiro));
+        assertThrows(RejectedExecutionException.class, () -> barramento.publicar(evento(2L, 20L, "{}")));
+        assertEquals(1.0, registry.get("carona.barramento.local.rejeitados").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve confirmar na gravação do diário e reentregar os pendentes após reinício")
+    void deveReentregarPendentesDoDiario() {
+        // Given: evento confirmado pelo diário mas não processado antes da parada
+        final BarramentoLocal anterior = criar(1, 16, diretorio.toString());
+        final CompletableFuture<Void> confirmacao = anterior.publicar(evento(1L, 10L, "{\"caronaId\":10}"));
+        assertTrue(confirmacao.isDone());
+        anterior.stop();
+
+        // When
+        iniciar(criar(1, 16, diretorio.toString()));
+
+        // Then
+        verify(processador, timeout(2000)).processar(any());
+    }
+
+    private BarramentoLocal criar(final int faixas, final int capacidade, final String diretorioDiario) {
+        final BarramentoLocal barramento = new BarramentoLocal(mensagemConsumer, processador,
+                new ObjectMapper().findAndRegisterModules(), faixas, capacidade, 10L, List.of(10L), 4,
+                diretorioDiario, 64);
+        barramento.bindTo(registry);
+        barramentos.add(barramento);
+        return barramento;
+    }
+
+    private static BarramentoLocal iniciar(final BarramentoLocal barramento) {
+        barramento.start();
+        return barramento;
+    }
+
+    private static boolean esperarArquivo(final Path arquivo) throws InterruptedException {
+        for (int i = 0; i < 100 && arquivo.toFile().length() == 0; i++) {
+            Thread.sleep(20);
+        }
+        return arquivo.toFile().length() > 0;
+    }
+
+    private static EventoOutbox evento(final Long id, final Long caronaId, final String payload) {
+        final EventoOutbox evento = EventoOutbox.builder()
+                .routingKey(RotasMensageria.CARONA_INICIADA)
+                .caronaId(caronaId)
+                .tipoPayload(TIPO_INICIO)
+                .payload(payload)
+                .status(StatusEventoOutbox.PENDENTE)
+                .build();
+        evento.setId(id);
+        return evento;
+    }
+}
@@ -0,0 +1,157 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.messaging.contract.RideCancellationMessageDTO;
+import com.br.puc.carona.messaging.contract.RideFinishedMessageDTO;
+import com.br.puc.carona.messaging.contract.RideStartedMessageDTO;
+import com.br.puc.carona.model.MensagemProcessada;
+import com.br.puc.carona.repository.MensagemProcessadaRepository;
+import com.br.puc.carona.service.NotificacaoLoteService;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: ConsumidorCicloVidaCaronas")
+class ConsumidorCicloVidaCaronasTest {
+
+    @Mock
+    private MessageConverter messageConverter;
+
+    @Mock
+    private NotificacaoLoteService notificacaoLoteService;
+
+    @Mock
+    private MensagemProcessadaRepository mensagemProcessadaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, MensagemProcessada> registros = new HashMap<>();
+
+    private ConsumidorCicloVidaCaronas consumidor;
+
+    @BeforeEach
+    void setUp() {
+        when(mensagemProcessadaRepository.findByConsumidorAndChave(eq(ProcessadorCicloVidaCaronas.CONSUMIDOR), any()))
+                .thenAnswer(invocation -> Optional.ofNullable(registros.get(invocation.getArgument(1, String.class))));
+        when(mensagemProcessadaRepository.saveAndFlush(any(MensagemProcessada.class))).thenAnswer(invocation -> {
+            final MensagemProcessada registro = invocation.getArgument(0);
+            registros.put(registro.getChave(), registro);
+            return registro;
+        });
+        consumidor = criarConsumidor();
+    }
+
+    @Test
+    @DisplayName("Deve processar o lote em trechos do mesmo tipo, na ordem de chegada")
+    @SuppressWarnings("unchecked")
+    void deveProcessarTrechosNaOrdem() {
+        // Given
+        final Message iniciada = mensagem("1");
+        final Message removido = mensagem("2");
+        final Message finalizada = mensagem("3");
+        final Message outraFinalizada = mensagem("4");
+        when(messageConverter.fromMessage(iniciada)).thenReturn(RideStartedMessageDTO.builder()
+                .notificationType(NotificationType.RIDE_STARTED).caronaId(1L).destinatariosIds(List.of(5L, 6L)).build());
+        when(messageConverter.fromMessage(removido)).thenReturn(RideCancellationMessageDTO.builder()
+                .notificationType(NotificationType.RIDE_CANCELLED).caronaId(1L).affectedUserId(6L).build());
+        when(messageConverter.fromMessage(finalizada)).thenReturn(RideFinishedMessageDTO.builder()
+                .notificationType(NotificationType.RIDE_FINISHED).caronaId(1L).destinatariosIds(List.of(5L)).build());
+        when(messageConverter.fromMessage(outraFinalizada)).thenReturn(RideFinishedMessageDTO.builder()
+                .notificationType(NotificationType.RIDE_FINISHED).caronaId(2L).destinatariosIds(List.of(7L)).build());
+
+        // When
+        consumidor.onMessageBatch(List.of(iniciada, removido, finalizada, outraFinalizada));
+
+        // Then
+        final InOrder ordem = inOrder(notificacaoLoteService);
+        final ArgumentCaptor<List<Object>> lotes = ArgumentCaptor.forClass(List.class);
+        final ArgumentCaptor<Function<Object, Collection<Long>>> destinatarios = ArgumentCaptor.forClass(Function.class);
+        ordem.verify(notificacaoLoteService).processarLote(eq(NotificationType.RIDE_STARTED), lotes.capture(),
+                destinatarios.capture());
+        ordem.verify(notificacaoLoteService).processarLote(eq(NotificationType.RIDE_CANCELLED), lotes.capture(),
+                destinatarios.capture());
+        ordem.verify(notificacaoLoteService).processarLote(eq(NotificationType.RIDE_FINISHED), lotes.capture(), any());
+
+        assertEquals(1, lotes.getAllValues().get(0).size());
+        assertEquals(1, lotes.getAllValues().get(1).size());
+        assertEquals(2, lotes.getAllValues().get(2).size());
+        assertEquals(List.of(5L, 6L), destinatarios.getAllValues().get(0).apply(lotes.getAllValues().get(0).get(0)));
+        assertEquals(List.of(6L), destinatarios.getAllValues().get(1).apply(lotes.getAllValues().get(1).get(0)));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar as mensagens de um lote reentregue, inclusive em outra instância")
+    @SuppressWarnings("unchecked")
+    void deveIgnorarLoteReentregue() {
+        // Given
+        final Message primeira = mensagem("1", "carona-iniciada:1");
+        final Message segunda = mensagem("2", "carona-iniciada:2");
+        final Message nova = mensagem("3", "carona-iniciada:3");
+        when(messageConverter.fromMessage(any(Message.class))).thenAnswer(invocation -> RideStartedMessageDTO.builder()
+                .notificationType(NotificationType.RIDE_STARTED)
+                .caronaId(Long.valueOf(invocation.getArgument(0, Message.class).getMessageProperties().getMessageId()))
+                .destinatariosIds(List.of(5L))
+                .build());
+        consumidor.onMessageBatch(List.of(primeira, segunda));
+
+        // When: reentrega na mesma instância e, depois do rebalanceamento, em outra
+        consumidor.onMessageBatch(List.of(primeira, segunda));
+        criarConsumidor().onMessageBatch(List.of(primeira, segunda, nova));
+
+        // Then
+        final ArgumentCaptor<List<RideStartedMessageDTO>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(notificacaoLoteService, times(2)).processarLote(eq(NotificationType.RIDE_STARTED), lotes.capture(),
+                any());
+        assertEquals(List.of(1L, 2L), caronas(lotes.getAllValues().get(0)));
+        assertEquals(List.of(3L), caronas(lotes.getAllValues().get(1)));
+    }
+
+    private ConsumidorCicloVidaCaronas criarConsumidor() {
+        return new ConsumidorCicloVidaCaronas(messageConverter, new ProcessadorCicloVidaCaronas(notificacaoLoteService,
+                new DeduplicadorMensagens(mensagemProcessadaRepository, transactionManager, 100, 60, 300)));
+    }
+
+    private static List<Long> caronas(final List<RideStartedMessageDTO> lote) {
+        return lote.stream().map(RideStartedMessageDTO::getCaronaId).toList();
+    }
+
+    private static Message mensagem(final String id) {
+        return MessageBuilder.withBody("{}".getBytes()).setMessageId(id).build();
+    }
+
+    private static Message mensagem(final String id, final String chave) {
+        return MessageBuilder.withBody("{}".getBytes())
+                .setMessageId(id)
+                .setHeader(EventBus.HEADER_CHAVE_IDEMPOTENCIA, chave)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.messaging.contract.RideCancellationMessageDTO;
+import com.br.puc.carona.messaging.contract.VersoesContrato;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: ConversorMensagens")
+class ConversorMensagensTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final RideCancellationMessageDTO cancelamento = RideCancellationMessageDTO.builder()
+            .notificationType(NotificationType.RIDE_CANCELLED)
+            .destinatariosIds(List.of(5L, 6L, 7L))
+            .pedidoId(3L)
+            .caronaId(10L)
+            .cancelledByUserId(1L)
+            .cancellationType(RideCancellationMessageDTO.RideCancellationTypeEnum.DRIVER_CANCELLED)
+            .message("A carona foi cancelada pelo motorista")
+            .build();
+
+    @Test
+    @DisplayName("Deve transcodificar o payload do outbox para Smile menor que o JSON e lê-lo de volta")
+    void deveCodificarEmSmile() throws Exception {
+        // Given
+        final ConversorMensagens conversor = new ConversorMensagens("smile");
+        final String json = objectMapper.writeValueAsString(cancelamento);
+
+        // When
+        final Message mensagem = conversor.codificar(json, RideCancellationMessageDTO.class.getName(),
+                new MessageProperties());
+
+        // Then
+        assertEquals(ConversorMensagens.CONTENT_TYPE_SMILE, mensagem.getMessageProperties().getContentType());
+        assertEquals(Integer.valueOf(1), mensagem.getMessageProperties().getHeader(VersoesContrato.HEADER));
+        assertTrue(mensagem.getBody().length < json.getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(cancelamento, conversor.fromMessage(mensagem));
+    }
+
+    @Test
+    @DisplayName("Deve ler em JSON as mensagens publicadas antes da codificação binária")
+    void deveLerMensagemJsonAntiga() throws Exception {
+        // Given: mensagem sem header de versão, como as publicadas anteriormente
+        final MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader(ConversorMensagens.HEADER_TIPO, RideCancellationMessageDTO.class.getName());
+        final Message antiga = new Message(objectMapper.writeValueAsBytes(cancelamento), properties);
+
+        // When
+        final Object convertido = new ConversorMensagens("smile").fromMessage(antiga);
+
+        // Then
+        assertEquals(cancelamento, convertido);
+    }
+
+    @Test
+    @DisplayName("Deve manter o payload do outbox quando a codificação é JSON")
+    void deveManterJson() throws Exception {
+        // Given
+        final String json = objectMapper.writeValueAsString(cancelamento);
+
+        // When
+        final Message mensagem = new ConversorMensagens("json").codificar(json,
+                RideCancellationMessageDTO.class.getName(), new MessageProperties());
+
+        // Then
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, mensagem.getMessageProperties().getContentType());
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), mensagem.getBody());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar como erro permanente a mensagem de versão de contrato desconhecida")
+    void deveRejeitarVersaoDesconhecida() throws Exception {
+        // Given
+        final ConversorMensagens conversor = new ConversorMensagens("smile");
+        final Message mensagem = conversor.codificar(objectMapper.writeValueAsString(cancelamento),
+                RideCancellationMessageDTO.class.getName(), new MessageProperties());
+        mensagem.getMessageProperties().setHeader(VersoesContrato.HEADER, 2);
+
+        // When / Then
+        assertThrows(MessageConversionException.class, () -> conversor.fromMessage(mensagem));
+    }
+}
@@ -0,0 +1,153 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.br.puc.carona.model.MensagemProcessada;
+import com.br.puc.carona.repository.MensagemProcessadaRepository;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: DeduplicadorMensagens")
+class DeduplicadorMensagensTest {
+
+    private static final String CONSUMIDOR = "solicitacoes-carona";
+
+    @Mock
+    private MensagemProcessadaRepository mensagemProcessadaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DeduplicadorMensagens deduplicador;
+
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        deduplicador = new DeduplicadorMensagens(mensagemProcessadaRepository, transactionManager, 100, 60, 300);
+    }
+
+    @Test
+    @DisplayName("Deve processar mensagem nova e ignorar a reentrega pela janela em memória")
+    void deveIgnorarReentregaPelaJanela() {
+        // Given
+        final MensagemProcessada reserva = reserva(false, Instant.now());
+        when(mensagemProcessadaRepository.findByConsumidorAndChave(CONSUMIDOR, "10"))
+                .thenReturn(Optional.empty(), Optional.of(reserva));
+
+        // When
+        final boolean primeira = deduplicador.processarUmaVez(CONSUMIDOR, "10", execucoes::incrementAndGet);
+        final boolean segunda = deduplicador.processarUmaVez(CONSUMIDOR, "10", execucoes::incrementAndGet);
+
+        // Then
+        assertTrue(primeira);
+        assertFalse(segunda);
+        assertEquals(1, execucoes.get());
+        assertTrue(reserva.isConcluida());
+        verify(mensagemProcessadaRepository, times(1)).saveAndFlush(any(MensagemProcessada.class));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar mensagem já concluída registrada no banco")
+    void deveIgnorarMensagemConcluidaNoBanco() {
+        // Given
+        when(mensagemProcessadaRepository.findByConsumidorAndChave(CONSUMIDOR, "10"))
+                .thenReturn(Optional.of(reserva(true, Instant.now())));
+
+        // When
+        final boolean processada = deduplicador.processarUmaVez(CONSUMIDOR, "10", execucoes::incrementAndGet);
+
+        // Then
+        assertFalse(processada);
+        assertEquals(0, execucoes.get());
+        verify(mensagemProcessadaRepository, never()).saveAndFlush(any(MensagemProcessada.class));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar entrega concorrente que perdeu a reserva")
+    void deveIgnorarEntregaConcorrente() {
+        // Given
+        when(mensagemProcessadaRepository.findByConsumidorAndChave(CONSUMIDOR, "10")).thenReturn(Optional.empty());
+        when(mensagemProcessadaRepository.saveAndFlush(any(MensagemProcessada.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_mensagem_processada_consumidor_chave"));
+
+        // When
+        final boolean processada = deduplicador.processarUmaVez(CONSUMIDOR, "10", execucoes::incrementAndGet);
+
+        // Then
+        assertFalse(processada);
+        assertEquals(0, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve retomar reserva abandonada após o lease")
+    void deveRetomarReservaAbandonada() {
+        // Given
+        final MensagemProcessada reserva = reserva(false, Instant.now().minusSeconds(600));
+        when(mensagemProcessadaRepository.findByConsumidorAndChave(CONSUMIDOR, "10")).thenReturn(Optional.of(reserva));
+
+        // When
+        final boolean processada = deduplicador.processarUmaVez(CONSUMIDOR, "10", execucoes::incrementAndGet);
+
+        // Then
+        assertTrue(processada);
+        assertEquals(1, execucoes.get());
+        assertTrue(reserva.isConcluida());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a reserva e propagar a exceção quando o processamento falha")
+    void deveLiberarReservaQuandoProcessamentoFalha() {
+        // Given
+        when(mensagemProcessadaRepository.findByConsumidorAndChave(CONSUMIDOR, "10")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> deduplicador.processarUmaVez(CONSUMIDOR, "10", () -> {
+            throw new IllegalStateException("OSRM indisponível");
+        }));
+        verify(mensagemProcessadaRepository).deleteReserva(CONSUMIDOR, "10");
+    }
+
+    @Test
+    @DisplayName("Deve processar sem deduplicação quando a mensagem não tem chave")
+    void deveProcessarSemChave() {
+        // When
+        final boolean processada = deduplicador.processarUmaVez(CONSUMIDOR, null, execucoes::incrementAndGet);
+
+        // Then
+        assertTrue(processada);
+        assertEquals(1, execucoes.get());
+        verify(mensagemProcessadaRepository, never()).findByConsumidorAndChave(any(), any());
+    }
+
+    private static MensagemProcessada reserva(final boolean concluida, final Instant atualizadaEm) {
+        return MensagemProcessada.builder()
+                .consumidor(CONSUMIDOR)
+                .chave("10")
+                .concluida(concluida)
+                .atualizadaEm(atualizadaEm)
+                .build();
+    }
+}
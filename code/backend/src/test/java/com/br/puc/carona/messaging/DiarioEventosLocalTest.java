@@ -0,0 +1,92 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: DiarioEventosLocal")
+class DiarioEventosLocalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    @DisplayName("Deve recuperar em ordem apenas os eventos sem conclusão")
+    void deveRecuperarPendentesEmOrdem() throws Exception {
+        // Given
+        try (DiarioEventosLocal diario = new DiarioEventosLocal(diretorio, objectMapper, 1024 * 1024)) {
+            diario.registrar(evento(1L));
+            diario.registrar(evento(2L));
+            diario.registrar(evento(3L));
+            diario.concluir(2L);
+        }
+
+        // When
+        try (DiarioEventosLocal reaberto = new DiarioEventosLocal(diretorio, objectMapper, 1024 * 1024)) {
+            final List<EventoLocal> pendentes = reaberto.recuperar();
+
+            // Then
+            assertEquals(List.of(1L, 3L), pendentes.stream().map(EventoLocal::id).toList());
+            assertEquals("{\"caronaId\":1}", pendentes.get(0).payload());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar linha incompleta gravada durante uma queda")
+    void deveIgnorarLinhaIncompleta() throws Exception {
+        // Given
+        try (DiarioEventosLocal diario = new DiarioEventosLocal(diretorio, objectMapper, 1024 * 1024)) {
+            diario.registrar(evento(1L));
+        }
+        Files.writeString(diretorio.resolve(DiarioEventosLocal.ARQUIVO), "{\"operacao\":\"E\",\"id\":2,\"ev",
+                StandardOpenOption.APPEND);
+
+        // When
+        try (DiarioEventosLocal reaberto = new DiarioEventosLocal(diretorio, objectMapper, 1024 * 1024)) {
+            // Then
+            assertEquals(1, reaberto.recuperar().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compactar o arquivo mantendo somente os pendentes ao passar do tamanho máximo")
+    void deveCompactarAoPassarDoTamanhoMaximo() throws Exception {
+        // Given
+        try (DiarioEventosLocal diario = new DiarioEventosLocal(diretorio, objectMapper, 512)) {
+            for (long id = 1; id <= 10; id++) {
+                diario.registrar(evento(id));
+            }
+
+            // When
+            for (long id = 1; id <= 9; id++) {
+                diario.concluir(id);
+            }
+
+            // Then
+            assertEquals(1, diario.pendentes());
+            assertTrue(Files.readAllLines(diretorio.resolve(DiarioEventosLocal.ARQUIVO)).size() < 19);
+        }
+        try (DiarioEventosLocal reaberto = new DiarioEventosLocal(diretorio, objectMapper, 512)) {
+            assertEquals(List.of(10L), reaberto.recuperar().stream().map(EventoLocal::id).toList());
+        }
+    }
+
+    private static EventoLocal evento(final Long id) {
+        return new EventoLocal(id, "ride.started", id, "com.br.puc.carona.messaging.contract.RideStartedMessageDTO",
+                "{\"caronaId\":" + id + "}", String.valueOf(id), 1_700_000_000_000L);
+    }
+}
@@ -0,0 +1,169 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.br.puc.carona.constants.RotasMensageria;
+import com.br.puc.carona.dto.request.SolicitacaoCaronaRequest;
+import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.enums.StatusEventoOutbox;
+import com.br.puc.carona.messaging.contract.AvaliacaoMessageDTO;
+import com.br.puc.carona.messaging.contract.PedidoEntradaMessageDTO;
+import com.br.puc.carona.messaging.contract.RideCancellationMessageDTO;
+import com.br.puc.carona.messaging.contract.RideFinishedMessageDTO;
+import com.br.puc.carona.messaging.contract.RideStartedMessageDTO;
+import com.br.puc.carona.model.EventoOutbox;
+import com.br.puc.carona.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: MensagemProducer")
+class MensagemProducerTest {
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Captor
+    private ArgumentCaptor<EventoOutbox> eventoCaptor;
+
+    private MensagemProducer mensagemProducer;
+
+    @BeforeEach
+    void setUp() {
+        mensagemProducer = new MensagemProducer(eventoOutboxRepository, new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(mensagemProducer, "janelaUrgenteMinutos", 120L);
+        when(eventoOutboxRepository.save(any(EventoOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Deve registrar cancelamento no outbox com routing key, carona e tipo preenchido")
+    void deveRegistrarCancelamentoNoOutbox() {
+        // Given
+        final RideCancellationMessageDTO msg = RideCancellationMessageDTO.builder()
+                .caronaId(1L)
+                .affectedUserId(2L)
+                .build();
+
+        // When
+        mensagemProducer.enviarMensagemCancelamentoCarona(msg);
+
+        // Then
+        verify(eventoOutboxRepository).save(eventoCaptor.capture());
+        final EventoOutbox evento = eventoCaptor.getValue();
+        assertEquals(RotasMensageria.CARONA_CANCELADA, evento.getRoutingKey());
+        assertEquals(1L, evento.getCaronaId());
+        assertEquals(StatusEventoOutbox.PENDENTE, evento.getStatus());
+        assertEquals(RideCancellationMessageDTO.class.getName(), evento.getTipoPayload());
+        assertTrue(evento.getPayload().contains("\"notificationType\":\"RIDE_CANCELLED\""));
+        assertEquals(NotificationType.RIDE_CANCELLED, msg.getNotificationType());
+    }
+
+    @Test
+    @DisplayName("Deve registrar carona iniciada e finalizada com routing keys distintas")
+    void deveRegistrarInicioEFimComRoutingKeysDistintas() {
+        // Given
+        final RideStartedMessageDTO iniciada = RideStartedMessageDTO.builder().caronaId(1L).driverId(2L).build();
+        final RideFinishedMessageDTO finalizada = RideFinishedMessageDTO.builder().caronaId(1L).driverId(2L).build();
+
+        // When
+        mensagemProducer.enviarMensagemCaronaIniciada(iniciada);
+        mensagemProducer.enviarMensagemCaronaFinalizada(finalizada);
+
+        // Then
+        verify(eventoOutboxRepository, times(2)).save(eventoCaptor.capture());
+        final List<EventoOutbox> eventos = eventoCaptor.getAllValues();
+        assertEquals(RotasMensageria.CARONA_INICIADA, eventos.get(0).getRoutingKey());
+        assertEquals(RotasMensageria.CARONA_FINALIZADA, eventos.get(1).getRoutingKey());
+        assertEquals(NotificationType.RIDE_STARTED, iniciada.getNotificationType());
+        assertEquals(NotificationType.RIDE_FINISHED, finalizada.getNotificationType());
+    }
+
+    @Test
+    @DisplayName("Deve registrar solicitação sem carona e pedido de entrada com carona")
+    void deveRegistrarSolicitacaoEPedido() {
+        // Given
+        final SolicitacaoCaronaRequest solicitacao = new SolicitacaoCaronaRequest();
+        final PedidoEntradaMessageDTO pedido = PedidoEntradaMessageDTO.builder()
+                .caronaId(1L)
+                .solicitacaoId(3L)
+                .build();
+
+        // When
+        mensagemProducer.enviarMensagemParaCaronaRequestQueue(solicitacao);
+        mensagemProducer.enviarMensagemPedidoEntrada(pedido);
+
+        // Then
+        verify(eventoOutboxRepository, times(2)).save(eventoCaptor.capture());
+        final List<EventoOutbox> eventos = eventoCaptor.getAllValues();
+        assertEquals(RotasMensageria.SOLICITACAO_CARONA, eventos.get(0).getRoutingKey());
+        assertNull(eventos.get(0).getCaronaId());
+        assertEquals(RotasMensageria.PEDIDO_ENTRADA_CRIADO, eventos.get(1).getRoutingKey());
+        assertEquals(1L, eventos.get(1).getCaronaId());
+        assertNull(eventos.get(0).getChaveIdempotencia());
+        verifyNoMoreInteractions(eventoOutboxRepository);
+    }
+
+    @Test
+    @DisplayName("Deve registrar avaliação com chave de idempotência de negócio")
+    void deveRegistrarAvaliacaoComChaveDeNegocio() {
+        // Given
+        final AvaliacaoMessageDTO avaliacao = AvaliacaoMessageDTO.builder()
+                .caronaId(1L)
+                .avaliadorId(2L)
+                .avaliadoId(3L)
+                .nota(5)
+                .build();
+
+        // When
+        mensagemProducer.enviarMensagemParaAvaliacaoQueue(avaliacao);
+
+        // Then
+        verify(eventoOutboxRepository).save(eventoCaptor.capture());
+        assertEquals(RotasMensageria.AVALIACAO_CRIADA, eventoCaptor.getValue().getRoutingKey());
+        assertEquals("avaliacao:1:2:3", eventoCaptor.getValue().getChaveIdempotencia());
+    }
+
+    @Test
+    @DisplayName("Deve enviar solicitação com chegada próxima para a faixa urgente")
+    void deveEnviarSolicitacaoProximaParaFaixaUrgente() {
+        // Given
+        final SolicitacaoCaronaRequest urgente = SolicitacaoCaronaRequest.builder()
+                .estudanteId(1L)
+                .horarioChegadaPrevisto(LocalDateTime.now().plusMinutes(20))
+                .build();
+        final SolicitacaoCaronaRequest normal = SolicitacaoCaronaRequest.builder()
+                .estudanteId(1L)
+                .horarioChegadaPrevisto(LocalDateTime.now().plusDays(1))
+                .build();
+
+        // When
+        mensagemProducer.enviarMensagemParaCaronaRequestQueue(urgente);
+        mensagemProducer.enviarMensagemParaCaronaRequestQueue(normal);
+
+        // Then
+        verify(eventoOutboxRepository, times(2)).save(eventoCaptor.capture());
+        assertEquals(RotasMensageria.SOLICITACAO_CARONA_URGENTE, eventoCaptor.getAllValues().get(0).getRoutingKey());
+        assertEquals(RotasMensageria.SOLICITACAO_CARONA, eventoCaptor.getAllValues().get(1).getRoutingKey());
+    }
+}
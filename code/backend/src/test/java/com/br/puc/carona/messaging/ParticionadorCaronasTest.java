@@ -0,0 +1,95 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.br.puc.carona.constants.RotasMensageria;
+
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: ParticionadorCaronas")
+class ParticionadorCaronasTest {
+
+    private static final String PREFIXO = "carpool.rides.lifecycle";
+
+    @Test
+    @DisplayName("Deve rotear todos os eventos de uma carona para a mesma partição")
+    void deveRotearEventosDaCaronaParaMesmaParticao() {
+        // Given
+        final ParticionadorCaronas particionador = new ParticionadorCaronas(8, 0, PREFIXO);
+        final int particao = particionador.particao(42L);
+
+        // When / Then
+        assertEquals(RotasMensageria.CARONA_INICIADA + "." + particao,
+                particionador.rotear(RotasMensageria.CARONA_INICIADA, 42L));
+        assertEquals(RotasMensageria.CARONA_CANCELADA + "." + particao,
+                particionador.rotear(RotasMensageria.CARONA_CANCELADA, 42L));
+        assertEquals(RotasMensageria.CARONA_FINALIZADA + "." + particao,
+                particionador.rotear(RotasMensageria.CARONA_FINALIZADA, 42L));
+    }
+
+    @Test
+    @DisplayName("Não deve particionar eventos fora do ciclo de vida da carona")
+    void naoDeveParticionarOutrosEventos() {
+        // Given
+        final ParticionadorCaronas particionador = new ParticionadorCaronas(8, 0, PREFIXO);
+
+        // When / Then
+        assertEquals(RotasMensageria.AVALIACAO_CRIADA, particionador.rotear(RotasMensageria.AVALIACAO_CRIADA, 42L));
+        assertEquals(RotasMensageria.SOLICITACAO_CARONA, particionador.rotear(RotasMensageria.SOLICITACAO_CARONA, null));
+    }
+
+    @Test
+    @DisplayName("Deve distribuir as caronas entre todas as partições")
+    void deveDistribuirEntreParticoes() {
+        // Given
+        final int particoes = 4;
+        final int[] contagem = new int[particoes];
+
+        // When
+        for (long caronaId = 1; caronaId <= 10_000; caronaId++) {
+            contagem[ParticionadorCaronas.jumpHash(caronaId, particoes)]++;
+        }
+
+        // Then
+        for (final int total : contagem) {
+            assertTrue(total > 2_000 && total < 3_000, "Distribuição desigual: " + total);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve mover apenas a fração mínima de caronas ao adicionar uma partição")
+    void deveMoverPoucasCaronasAoAdicionarParticao() {
+        // Given
+        int movidas = 0;
+
+        // When
+        for (long caronaId = 1; caronaId <= 10_000; caronaId++) {
+            final int antes = ParticionadorCaronas.jumpHash(caronaId, 4);
+            final int depois = ParticionadorCaronas.jumpHash(caronaId, 5);
+            if (antes != depois) {
+                assertEquals(4, depois);
+                movidas++;
+            }
+        }
+
+        // Then: cerca de 1/5 das caronas vão para a nova partição
+        assertTrue(movidas > 1_700 && movidas < 2_300, "Caronas movidas: " + movidas);
+    }
+
+    @Test
+    @DisplayName("Deve consumir as partições excedentes durante uma redução")
+    void deveConsumirParticoesExcedentesDuranteReducao() {
+        // Given
+        final ParticionadorCaronas particionador = new ParticionadorCaronas(2, 4, PREFIXO);
+
+        // When / Then
+        assertEquals(4, particionador.getParticoesConsumidas());
+        assertEquals(4, particionador.listeners().size());
+        assertTrue(particionador.particao(42L) < 2);
+        assertEquals(PREFIXO + ".3", particionador.fila(3));
+    }
+}
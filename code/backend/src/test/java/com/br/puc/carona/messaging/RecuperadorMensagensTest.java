@@ -0,0 +1,143 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.br.puc.carona.exception.custom.EntidadeNaoEncontrada;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: RecuperadorMensagens")
+class RecuperadorMensagensTest {
+
+    private static final String FILA = "carpool.rides.request";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private RecuperadorMensagens recuperador;
+
+    @BeforeEach
+    void setUp() {
+        recuperador = new RecuperadorMensagens(rabbitTemplate);
+        ReflectionTestUtils.setField(recuperador, "atrasosMs", List.of(1000L, 5000L, 30000L));
+        ReflectionTestUtils.setField(recuperador, "maxTentativas", 4);
+    }
+
+    @Test
+    @DisplayName("Deve enviar a primeira falha transitória para o primeiro nível de retentativa")
+    void deveEnviarPrimeiraFalhaParaPrimeiroNivel() {
+        // Given
+        final Message mensagem = mensagem(null);
+
+        // When
+        recuperador.recover(mensagem, falha(new IllegalStateException("OSRM indisponível")));
+
+        // Then
+        final Message enviada = capturarEnvio(FILA + ".retry.1");
+        assertEquals(Integer.valueOf(1), enviada.getMessageProperties().<Integer>getHeader(RecuperadorMensagens.HEADER_TENTATIVAS));
+        assertEquals("OSRM indisponível",
+                enviada.getMessageProperties().getHeader(RecuperadorMensagens.HEADER_ERRO));
+    }
+
+    @Test
+    @DisplayName("Deve aumentar o atraso a cada nova falha")
+    void deveAumentarAtrasoACadaFalha() {
+        // Given
+        final Message mensagem = mensagem(2);
+
+        // When
+        recuperador.recover(mensagem, falha(new IllegalStateException("timeout")));
+
+        // Then
+        final Message enviada = capturarEnvio(FILA + ".retry.3");
+        assertEquals(Integer.valueOf(3), enviada.getMessageProperties().<Integer>getHeader(RecuperadorMensagens.HEADER_TENTATIVAS));
+    }
+
+    @Test
+    @DisplayName("Deve enviar para a DLQ ao atingir o máximo de tentativas")
+    void deveEnviarParaDlqAoEsgotarTentativas() {
+        // Given
+        final Message mensagem = mensagem(3);
+
+        // When
+        recuperador.recover(mensagem, falha(new IllegalStateException("timeout")));
+
+        // Then
+        final Message enviada = capturarEnvio(FILA + ".dlq");
+        assertEquals(Integer.valueOf(4), enviada.getMessageProperties().<Integer>getHeader(RecuperadorMensagens.HEADER_TENTATIVAS));
+        assertEquals(IllegalStateException.class.getName(),
+                enviada.getMessageProperties().getHeader(RecuperadorMensagens.HEADER_CLASSE_ERRO));
+    }
+
+    @Test
+    @DisplayName("Deve enviar erro permanente direto para a DLQ")
+    void deveEnviarErroPermanenteDiretoParaDlq() {
+        // Given
+        final Message mensagem = mensagem(null);
+
+        // When
+        recuperador.recover(mensagem, falha(new EntidadeNaoEncontrada("carona.nao.encontrada")));
+
+        // Then
+        final Message enviada = capturarEnvio(FILA + ".dlq");
+        assertNotNull(enviada.getMessageProperties().getHeader(RecuperadorMensagens.HEADER_ERRO));
+        assertEquals(EntidadeNaoEncontrada.class.getName(),
+                enviada.getMessageProperties().getHeader(RecuperadorMensagens.HEADER_CLASSE_ERRO));
+    }
+
+    @Test
+    @DisplayName("Deve recuperar cada mensagem de um lote")
+    void deveRecuperarCadaMensagemDoLote() {
+        // Given
+        final List<Message> lote = List.of(mensagem(null), mensagem(1));
+
+        // When
+        recuperador.recover(lote, falha(new IllegalStateException("banco indisponível")));
+
+        // Then
+        verify(rabbitTemplate).send(eq(""), eq(FILA + ".retry.1"), any(Message.class));
+        verify(rabbitTemplate).send(eq(""), eq(FILA + ".retry.2"), any(Message.class));
+    }
+
+    private Message capturarEnvio(final String destino) {
+        final ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, times(1)).send(eq(""), eq(destino), captor.capture());
+        return captor.getValue();
+    }
+
+    private static Message mensagem(final Integer tentativas) {
+        final MessageBuilder builder = MessageBuilder.withBody("{}".getBytes());
+        builder.setMessageId("42");
+        if (tentativas != null) {
+            builder.setHeader(RecuperadorMensagens.HEADER_TENTATIVAS, tentativas);
+        }
+        final Message mensagem = builder.build();
+        mensagem.getMessageProperties().setConsumerQueue(FILA);
+        return mensagem;
+    }
+
+    private static Throwable falha(final Throwable causa) {
+        return new ListenerExecutionFailedException("Listener falhou", causa);
+    }
+}
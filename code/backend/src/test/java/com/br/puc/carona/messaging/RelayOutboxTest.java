@@ -0,0 +1,285 @@
+package com.br.puc.carona.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.br.puc.carona.enums.StatusEventoOutbox;
+import com.br.puc.carona.model.EventoOutbox;
+import com.br.puc.carona.repository.EventoOutboxRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Messaging: RelayOutbox")
+class RelayOutboxTest {
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private EventBus eventBus;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RelayOutbox relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new RelayOutbox(eventoOutboxRepository, eventBus, transactionManager);
+        ReflectionTestUtils.setField(relay, "timeoutConfirmacaoMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxTentativas", 5);
+        ReflectionTestUtils.setField(relay, "esperaBaseMs", 1000L);
+        ReflectionTestUtils.setField(relay, "esperaMaximaMs", 300000L);
+        lenient().when(eventBus.emLote(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    @Test
+    @DisplayName("Deve marcar como publicado apenas após a confirmação do barramento")
+    void deveMarcarPublicadoAposConfirmacao() {
+        // Given
+        final EventoOutbox evento = evento(1L, 10L);
+        when(eventBus.publicar(evento)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        final int publicados = relay.publicar(List.of(evento));
+
+        // Then
+        assertEquals(1, publicados);
+        assertEquals(StatusEventoOutbox.PUBLICADO, evento.getStatus());
+        assertNotNull(evento.getPublicadoEm());
+    }
+
+    @Test
+    @DisplayName("Não deve enviar os eventos seguintes da carona cujo evento foi rejeitado")
+    void deveManterOrdemPorCaronaQuandoHaNack() {
+        // Given
+        final EventoOutbox rejeitado = evento(1L, 10L);
+        final EventoOutbox mesmaCarona = evento(2L, 10L);
+        final EventoOutbox outraCarona = evento(3L, 20L);
+        when(eventBus.publicar(rejeitado)).thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+        when(eventBus.publicar(outraCarona)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        final int publicados = relay.publicar(List.of(rejeitado, mesmaCarona, outraCarona));
+
+        // Then
+        assertEquals(1, publicados);
+        assertEquals(StatusEventoOutbox.PENDENTE, rejeitado.getStatus());
+        assertEquals(1, rejeitado.getTentativas());
+        assertEquals("nack", rejeitado.getUltimoErro());
+        assertEquals(StatusEventoOutbox.PENDENTE, mesmaCarona.getStatus());
+        assertEquals(StatusEventoOutbox.PUBLICADO, outraCarona.getStatus());
+        verify(eventBus, never()).publicar(mesmaCarona);
+    }
+
+    @Test
+    @DisplayName("Deve enviar o evento seguinte da carona só após a confirmação do anterior")
+    void deveEnviarSeguinteSoAposConfirmacaoDoAnterior() {
+        // Given
+        final EventoOutbox primeiro = evento(1L, 10L);
+        final EventoOutbox segundo = evento(2L, 10L);
+        final EventoOutbox terceiro = evento(3L, 10L);
+        final CompletableFuture<Void> confirmacaoPrimeiro = new CompletableFuture<>();
+        when(eventBus.publicar(primeiro)).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> confirmacaoPrimeiro.complete(null));
+            return confirmacaoPrimeiro;
+        });
+        when(eventBus.publicar(segundo)).thenAnswer(invocation -> {
+            assertTrue(confirmacaoPrimeiro.isDone());
+            return CompletableFuture.failedFuture(new AmqpException("nack"));
+        });
+
+        // When
+        final int publicados = relay.publicar(List.of(primeiro, segundo, terceiro));
+
+        // Then: o confirmado fica publicado e não volta no próximo ciclo
+        assertEquals(1, publicados);
+        assertEquals(StatusEventoOutbox.PUBLICADO, primeiro.getStatus());
+        assertEquals(StatusEventoOutbox.PENDENTE, segundo.getStatus());
+        assertEquals(StatusEventoOutbox.PENDENTE, terceiro.getStatus());
+        verify(eventBus, never()).publicar(terceiro);
+    }
+
+    @Test
+    @DisplayName("Não deve enviar eventos seguintes da carona quando o envio falha")
+    void naoDeveEnviarSeguintesQuandoEnvioFalha() {
+        // Given
+        final EventoOutbox falho = evento(1L, 10L);
+        final EventoOutbox seguinte = evento(2L, 10L);
+        when(eventBus.publicar(falho)).thenThrow(new RejectedExecutionException("barramento cheio"));
+
+        // When
+        final int publicados = relay.publicar(List.of(falho, seguinte));
+
+        // Then
+        assertEquals(0, publicados);
+        assertEquals(1, falho.getTentativas());
+        assertEquals(0, seguinte.getTentativas());
+        verify(eventBus, never()).publicar(seguinte);
+        verify(eventoOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve registrar falha quando a confirmação não chega no prazo")
+    void deveRegistrarFalhaSemConfirmacao() {
+        // Given
+        ReflectionTestUtils.setField(relay, "timeoutConfirmacaoMs", 10L);
+        final EventoOutbox evento = evento(1L, 10L);
+        when(eventBus.publicar(evento)).thenReturn(new CompletableFuture<>());
+
+        // When
+        final int publicados = relay.publicar(List.of(evento));
+
+        // Then
+        assertEquals(0, publicados);
+        assertEquals(StatusEventoOutbox.PENDENTE, evento.getStatus());
+        assertEquals(1, evento.getTentativas());
+    }
+
+    @Test
+    @DisplayName("Deve reservar o lote, publicar fora da transação e gravar o resultado em outra")
+    void deveEsperarConfirmacaoForaDaTransacao() {
+        // Given
+        ReflectionTestUtils.setField(relay, "habilitado", true);
+        ReflectionTestUtils.setField(relay, "tamanhoLote", 100);
+        ReflectionTestUtils.setField(relay, "reservaMs", 60000L);
+        final EventoOutbox evento = evento(1L, 10L);
+        when(eventoOutboxRepository.findPendentesParaPublicacao(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(evento));
+        when(eventBus.publicar(evento)).thenAnswer(invocation -> {
+            assertNotNull(evento.getReservadoAte());
+            return CompletableFuture.completedFuture(null);
+        });
+
+        // When
+        relay.publicarPendentes();
+
+        // Then: a reserva é commitada antes do envio e o resultado gravado depois
+        final InOrder ordem = inOrder(transactionManager, eventBus, eventoOutboxRepository);
+        ordem.verify(transactionManager).commit(any());
+        ordem.verify(eventBus).publicar(evento);
+        ordem.verify(eventoOutboxRepository).saveAll(List.of(evento));
+        ordem.verify(transactionManager).commit(any());
+        assertEquals(StatusEventoOutbox.PUBLICADO, evento.getStatus());
+        assertNull(evento.getReservadoAte());
+    }
+
+    @Test
+    @DisplayName("Não deve enviar evento cuja reserva expira antes do prazo de confirmação")
+    void naoDeveEnviarForaDaReserva() {
+        // Given
+        final EventoOutbox evento = evento(1L, 10L);
+        evento.setReservadoAte(Instant.now().plusMillis(100));
+
+        // When
+        final int publicados = relay.publicar(List.of(evento));
+
+        // Then
+        assertEquals(0, publicados);
+        assertEquals(StatusEventoOutbox.PENDENTE, evento.getStatus());
+        assertEquals(0, evento.getTentativas());
+        verify(eventBus, never()).publicar(evento);
+    }
+
+    @Test
+    @DisplayName("Deve adiar a nova tentativa dobrando a espera a cada falha")
+    void deveAdiarNovaTentativaComEsperaCrescente() {
+        // Given
+        final EventoOutbox evento = evento(1L, 10L);
+        evento.setTentativas(2);
+        when(eventBus.publicar(evento)).thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+        final Instant antes = Instant.now();
+
+        // When
+        relay.publicar(List.of(evento));
+
+        // Then: terceira falha, espera de 4 s
+        assertEquals(StatusEventoOutbox.PENDENTE, evento.getStatus());
+        assertEquals(3, evento.getTentativas());
+        assertFalse(evento.getProximaTentativaEm().isBefore(antes.plusMillis(4000)));
+        assertTrue(evento.getProximaTentativaEm().isBefore(antes.plusMillis(8000)));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como FALHOU o evento que esgota as tentativas e publicar o seguinte da carona")
+    void deveLiberarCaronaQuandoEventoEsgotaTentativas() {
+        // Given
+        final EventoOutbox falho = evento(1L, 10L);
+        falho.setTentativas(4);
+        final EventoOutbox seguinte = evento(2L, 10L);
+        when(eventBus.publicar(falho)).thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+        when(eventBus.publicar(seguinte)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        final int publicados = relay.publicar(List.of(falho, seguinte));
+
+        // Then
+        assertEquals(1, publicados);
+        assertEquals(StatusEventoOutbox.FALHOU, falho.getStatus());
+        assertEquals(5, falho.getTentativas());
+        assertNull(falho.getProximaTentativaEm());
+        assertEquals(StatusEventoOutbox.PUBLICADO, seguinte.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve expor os pendentes contados no ciclo sem consultar o banco na coleta")
+    void deveExporPendentesSemConsultarNaColeta() {
+        // Given
+        ReflectionTestUtils.setField(relay, "habilitado", true);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        relay.bindTo(registry);
+        when(eventoOutboxRepository.countByStatus(StatusEventoOutbox.PENDENTE)).thenReturn(7L);
+
+        // When
+        relay.contarPendentes();
+        final double pendentes = registry.get("carona.outbox.pendentes").gauge().value();
+        registry.get("carona.outbox.pendentes").gauge().value();
+
+        // Then
+        assertEquals(7.0, pendentes);
+        verify(eventoOutboxRepository, times(1)).countByStatus(StatusEventoOutbox.PENDENTE);
+    }
+
+    private static EventoOutbox evento(final Long id, final Long caronaId) {
+        final EventoOutbox evento = EventoOutbox.builder()
+                .routingKey("ride.started")
+                .caronaId(caronaId)
+                .tipoPayload("com.br.puc.carona.messaging.contract.RideStartedMessageDTO")
+                .payload("{\"caronaId\":" + caronaId + "}")
+                .status(StatusEventoOutbox.PENDENTE)
+                .build();
+        evento.setId(id);
+        return evento;
+    }
+}
@@ -14,6 +14,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.br.puc.carona.constants.MensagensResposta;
@@ -21,6 +22,7 @@ import com.br.puc.carona.enums.Status;
 import com.br.puc.carona.enums.TipoUsuario;
 import com.br.puc.carona.exception.custom.EntidadeNaoEncontrada;
 import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.infra.security.UsuarioAlteradoEvent;
 import com.br.puc.carona.model.Usuario;
 import com.br.puc.carona.repository.UsuarioRepository;
 
@@ -32,6 +34,9 @@ class AdminServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdministradorService adminService;
 
@@ -79,6 +84,8 @@ class AdminServiceTest {
         Mockito.verify(usuarioRepository, Mockito.times(1)).findById(userId);
         Mockito.verify(usuarioRepository, Mockito.times(1)).save(usuarioCaptor.capture());
         
+        Mockito.verify(eventPublisher).publishEvent(UsuarioAlteradoEvent.alterado(usuarioPendente.getEmail()));
+
         Usuario usuarioSalvo = usuarioCaptor.getValue();
         Assertions.assertEquals(Status.APROVADO, usuarioSalvo.getStatusCadastro());
     }
@@ -7,8 +7,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -19,6 +21,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.br.puc.carona.dto.response.CaronaDto;
@@ -62,6 +65,9 @@ class CaronaFinalizationTest {
     @Mock
     private MensagemProducer mensagemProducer;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CaronaService caronaService;
 
@@ -118,24 +124,15 @@ class CaronaFinalizationTest {
         assertNotNull(result);
         assertEquals(StatusCarona.FINALIZADA, result.getStatus());
 
-        // Verify notification messages were sent to both passengers
+        // Verify a single ride-level event was registered for both passengers
         ArgumentCaptor<RideFinishedMessageDTO> messageCaptor = ArgumentCaptor.forClass(RideFinishedMessageDTO.class);
-        verify(mensagemProducer, times(2)).enviarMensagemCaronaFinalizada(messageCaptor.capture());
-
-        var sentMessages = messageCaptor.getAllValues();
-        assertEquals(2, sentMessages.size());
-
-        // Verify first passenger notification
-        RideFinishedMessageDTO message1 = sentMessages.get(0);
-        assertEquals(caronaId, message1.getCaronaId());
-        assertEquals(driverId, message1.getDriverId());
-        assertEquals(passageiroId1, message1.getAffectedUserId());
-
-        // Verify second passenger notification
-        RideFinishedMessageDTO message2 = sentMessages.get(1);
-        assertEquals(caronaId, message2.getCaronaId());
-        assertEquals(driverId, message2.getDriverId());
-        assertEquals(passageiroId2, message2.getAffectedUserId());
+        verify(mensagemProducer, times(1)).enviarMensagemCaronaFinalizada(messageCaptor.capture());
+
+        RideFinishedMessageDTO message = messageCaptor.getValue();
+        assertEquals(caronaId, message.getCaronaId());
+        assertEquals(driverId, message.getDriverId());
+        assertEquals(2, message.getDestinatariosIds().size());
+        assertTrue(message.getDestinatariosIds().containsAll(List.of(passageiroId1, passageiroId2)));
 
         // Verify WebSocket events were emitted
         verify(webSocketService, times(1)).emitirEventoCaronaAtualizada(caronaDto);
@@ -14,6 +14,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +24,7 @@ import com.br.puc.carona.constants.MensagensResposta;
 import com.br.puc.carona.dto.TrajetoDto;
 import com.br.puc.carona.dto.request.CaronaRequest;
 import com.br.puc.carona.dto.response.CaronaDto;
+import com.br.puc.carona.dto.response.CursorPageDto;
 import com.br.puc.carona.enums.StatusCarona;
 import com.br.puc.carona.exception.custom.EntidadeNaoEncontrada;
 import com.br.puc.carona.exception.custom.ErroDeCliente;
@@ -36,6 +38,7 @@ import com.br.puc.carona.model.PerfilMotorista;
 import com.br.puc.carona.model.Trajeto;
 import com.br.puc.carona.repository.CaronaRepository;
 import com.br.puc.carona.repository.PerfilMotoristaRepository;
+import com.br.puc.carona.utils.KeysetCursor;
 
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
@@ -60,6 +63,9 @@ class CaronaServiceTest {
     @Mock
     private MapService mapService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CaronaService caronaService;
 
@@ -531,4 +537,53 @@ class CaronaServiceTest {
         Mockito.verify(caronaRepository, Mockito.never()).save(Mockito.any());
     }
 
+    @Test
+    @DisplayName("Deve buscar primeira página do histórico do passageiro sem cursor")
+    void deveBuscarPrimeiraPaginaHistoricoPassageiroSemCursor() {
+        // Given
+        final Long estudanteId = 5L;
+        final Carona maisRecente = CaronaMock.createAgendada();
+        maisRecente.setId(2L);
+        maisRecente.setDataHoraPartida(LocalDateTime.of(2025, 5, 10, 8, 0));
+        final Carona extra = CaronaMock.createAgendada();
+        extra.setId(1L);
+        extra.setDataHoraPartida(LocalDateTime.of(2025, 5, 9, 8, 0));
+        final CaronaDto caronaDto = CaronaMock.createAgendadaDto();
+
+        Mockito.when(caronaRepository.findPrimeiraPaginaPorPassageiro(Mockito.eq(estudanteId), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(maisRecente, extra));
+        Mockito.when(caronaMapper.toDto(maisRecente)).thenReturn(caronaDto);
+
+        // When
+        final CursorPageDto<CaronaDto> pagina = caronaService.buscarCaronasDoPassageiro(estudanteId, null, 1);
+
+        // Then
+        Assertions.assertEquals(1, pagina.getContent().size());
+        Assertions.assertTrue(pagina.isHasNext());
+        Assertions.assertEquals(new KeysetCursor(maisRecente.getDataHoraPartida(), 2L),
+                KeysetCursor.decode(pagina.getNextCursor()));
+        Mockito.verify(caronaMapper, Mockito.never()).toDto(extra);
+    }
+
+    @Test
+    @DisplayName("Deve continuar histórico do passageiro a partir do cursor")
+    void deveContinuarHistoricoPassageiroAPartirDoCursor() {
+        // Given
+        final Long estudanteId = 5L;
+        final KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 5, 10, 8, 0), 2L);
+
+        Mockito.when(caronaRepository.findPaginaPorPassageiroApos(Mockito.eq(estudanteId),
+                Mockito.eq(cursor.valor()), Mockito.eq(cursor.id()), Mockito.any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // When
+        final CursorPageDto<CaronaDto> pagina = caronaService.buscarCaronasDoPassageiro(estudanteId, cursor.encode(), 20);
+
+        // Then
+        Assertions.assertTrue(pagina.getContent().isEmpty());
+        Assertions.assertFalse(pagina.isHasNext());
+        Assertions.assertNull(pagina.getNextCursor());
+        Mockito.verify(caronaRepository, Mockito.never()).findPrimeiraPaginaPorPassageiro(Mockito.any(), Mockito.any());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.br.puc.carona.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.br.puc.carona.dto.request.LocationUpdateDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Service: ConflacaoLocalizacao")
+class ConflacaoLocalizacaoServiceTest {
+
+    private static final String TOPICO = "/topic/carona/10/location";
+
+    /** Cerca de 11 metros por 0,0001 grau de latitude. */
+    private static final double PASSO = 0.0001;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final AtomicLong agora = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private ConflacaoLocalizacaoService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ConflacaoLocalizacaoService(messagingTemplate);
+        ReflectionTestUtils.setField(service, "relogio", (LongSupplier) agora::get);
+        ReflectionTestUtils.setField(service, "intervaloMinimoMs", 1000L);
+        ReflectionTestUtils.setField(service, "limiarDistanciaMetros", 5.0);
+        ReflectionTestUtils.setField(service, "limiarDirecaoGraus", 10.0);
+        ReflectionTestUtils.setField(service, "limiarCurvaGraus", 30.0);
+        ReflectionTestUtils.setField(service, "limiarParadaMps", 0.5);
+        ReflectionTestUtils.setField(service, "inatividadeMinutos", 10L);
+    }
+
+    @Test
+    @DisplayName("Deve enviar só a última localização recebida dentro do intervalo mínimo")
+    void deveConflacionarDentroDoIntervalo() {
+        // Given
+        final LocationUpdateDto primeira = localizacao(-19.9, 10.0, 90.0);
+        final LocationUpdateDto ultima = localizacao(-19.9 + 3 * PASSO, 10.0, 90.0);
+
+        // When
+        service.receber(10L, primeira);
+        avancar(300);
+        service.receber(10L, localizacao(-19.9 + PASSO, 10.0, 90.0));
+        avancar(300);
+        service.receber(10L, localizacao(-19.9 + 2 * PASSO, 10.0, 90.0));
+        avancar(300);
+        service.receber(10L, ultima);
+        service.descarregarPendentes();
+        avancar(200);
+        service.descarregarPendentes();
+
+        // Then
+        verify(messagingTemplate).convertAndSend(TOPICO, primeira);
+        verify(messagingTemplate).convertAndSend(TOPICO, ultima);
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve descartar quadros abaixo dos limiares de distância e direção")
+    void deveDescartarQuadrosSemMovimento() {
+        // Given
+        service.receber(10L, localizacao(-19.9, 10.0, 90.0));
+
+        // When
+        avancar(2000);
+        service.receber(10L, localizacao(-19.90001, 10.0, 95.0));
+        service.descarregarPendentes();
+
+        // Then
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve enviar curvas e paradas imediatamente, sem esperar o intervalo")
+    void deveEnviarCurvasEParadasNaHora() {
+        // Given
+        service.receber(10L, localizacao(-19.9, 10.0, 90.0));
+        final LocationUpdateDto curva = localizacao(-19.9 + PASSO, 10.0, 180.0);
+        final LocationUpdateDto parada = localizacao(-19.9 + PASSO, 10.0, 180.0);
+        parada.setSpeed(0.0);
+
+        // When
+        avancar(100);
+        service.receber(10L, curva);
+        avancar(100);
+        service.receber(10L, parada);
+
+        // Then
+        verify(messagingTemplate).convertAndSend(TOPICO, curva);
+        verify(messagingTemplate).convertAndSend(TOPICO, parada);
+    }
+
+    @Test
+    @DisplayName("Deve contar quadros de entrada, saída e descartados")
+    void deveContarQuadros() {
+        // Given
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.bindTo(registry);
+
+        // When
+        service.receber(10L, localizacao(-19.9, 10.0, 90.0));
+        service.receber(10L, localizacao(-19.90001, 10.0, 90.0));
+        service.receber(10L, localizacao(-19.9 + PASSO, 10.0, 90.0));
+        service.receber(10L, localizacao(-19.9 + 2 * PASSO, 10.0, 90.0));
+
+        // Then
+        assertEquals(4.0, registry.get("carona.localizacao.quadros").tag("sentido", "entrada")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("carona.localizacao.quadros").tag("sentido", "saida")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("carona.localizacao.descartados").tag("motivo", "conflacao")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("carona.localizacao.descartados").tag("motivo", "limiar")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve remover o slot da carona encerrada sem enviar o pendente")
+    void deveDescartarPendenteAoEncerrar() {
+        // Given
+        service.receber(10L, localizacao(-19.9, 10.0, 90.0));
+        service.receber(10L, localizacao(-19.9 + PASSO, 10.0, 90.0));
+
+        // When
+        service.encerrar(10L);
+        avancar(2000);
+        service.descarregarPendentes();
+
+        // Then
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    private void avancar(final long millis) {
+        agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static LocationUpdateDto localizacao(final double latitude, final double velocidade, final double direcao) {
+        return LocationUpdateDto.builder()
+                .latitude(latitude)
+                .longitude(-43.9)
+                .speed(velocidade)
+                .bearing(direcao)
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.br.puc.carona.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpAttributes;
+import org.springframework.messaging.simp.SimpAttributesContextHolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.br.puc.carona.enums.Status;
+import com.br.puc.carona.enums.TipoUsuario;
+import com.br.puc.carona.infra.security.UsuarioAlteradoEvent;
+import com.br.puc.carona.mock.PerfilMotoristaMock;
+import com.br.puc.carona.model.Estudante;
+import com.br.puc.carona.model.PerfilMotorista;
+import com.br.puc.carona.repository.EstudanteRepository;
+import com.br.puc.carona.repository.PerfilMotoristaRepository;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Service: CurrentUser")
+class CurrentUserServiceTest {
+
+    @Mock
+    private EstudanteRepository estudanteRepository;
+
+    @Mock
+    private PerfilMotoristaRepository perfilMotoristaRepository;
+
+    @InjectMocks
+    private CurrentUserService currentUserService;
+
+    private Estudante estudante;
+    private PerfilMotorista perfilMotorista;
+
+    @BeforeEach
+    void setUp() {
+        estudante = Estudante.builder()
+                .id(10L)
+                .nome("Motorista")
+                .email("motorista@puc.br")
+                .password("senha")
+                .tipoUsuario(TipoUsuario.ESTUDANTE)
+                .statusCadastro(Status.APROVADO)
+                .build();
+        perfilMotorista = PerfilMotoristaMock.createValidMotorista();
+        perfilMotorista.setEstudante(estudante);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(estudante, null, List.of()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        SimpAttributesContextHolder.resetAttributes();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o perfil de motorista uma única vez por requisição")
+    void deveConsultarPerfilMotoristaUmaVezPorRequisicao() {
+        // Given
+        Mockito.when(perfilMotoristaRepository.findByEstudanteId(10L)).thenReturn(Optional.of(perfilMotorista));
+
+        // When
+        final PerfilMotorista primeiro = currentUserService.getCurrentMotorista();
+        final PerfilMotorista segundo = currentUserService.getCurrentMotorista();
+        final Estudante estudanteAtual = currentUserService.getCurrentEstudante();
+
+        // Then
+        Assertions.assertSame(primeiro, segundo);
+        Assertions.assertSame(estudante, estudanteAtual);
+        Mockito.verify(perfilMotoristaRepository, Mockito.times(1)).findByEstudanteId(10L);
+        Mockito.verifyNoInteractions(estudanteRepository);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o estudante uma única vez por requisição")
+    void deveConsultarEstudanteUmaVezPorRequisicao() {
+        // Given
+        Mockito.when(estudanteRepository.findById(10L)).thenReturn(Optional.of(estudante));
+
+        // When
+        currentUserService.getCurrentEstudante();
+        currentUserService.getCurrentEstudante();
+
+        // Then
+        Mockito.verify(estudanteRepository, Mockito.times(1)).findById(10L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar a memória da requisição quando o usuário é alterado")
+    void deveDescartarMemoriaQuandoUsuarioAlterado() {
+        // Given
+        final PerfilMotorista perfilAtualizado = PerfilMotoristaMock.createValidMotorista();
+        perfilAtualizado.setEstudante(estudante);
+        Mockito.when(perfilMotoristaRepository.findByEstudanteId(10L))
+                .thenReturn(Optional.of(perfilMotorista))
+                .thenReturn(Optional.of(perfilAtualizado));
+        currentUserService.getCurrentMotorista();
+
+        // When
+        currentUserService.onUsuarioAlterado(UsuarioAlteradoEvent.alterado(estudante.getEmail()));
+        final PerfilMotorista resultado = currentUserService.getCurrentMotorista();
+
+        // Then
+        Assertions.assertSame(perfilAtualizado, resultado);
+        Mockito.verify(perfilMotoristaRepository, Mockito.times(2)).findByEstudanteId(10L);
+    }
+
+    @Test
+    @DisplayName("Não deve memorizar fora de uma requisição")
+    void naoDeveMemorizarForaDeRequisicao() {
+        // Given
+        RequestContextHolder.resetRequestAttributes();
+        Mockito.when(estudanteRepository.findById(10L)).thenReturn(Optional.of(estudante));
+
+        // When
+        currentUserService.getCurrentEstudante();
+        currentUserService.getCurrentEstudante();
+
+        // Then
+        Mockito.verify(estudanteRepository, Mockito.times(2)).findById(10L);
+    }
+
+    @Test
+    @DisplayName("Deve memorizar o id do perfil de motorista na sessão STOMP")
+    void deveMemorizarIdDoPerfilMotoristaNaSessaoStomp() {
+        // Given: mensagem STOMP, sem requisição HTTP
+        RequestContextHolder.resetRequestAttributes();
+        final SimpAttributes sessao = new SimpAttributes("sessao-1", new ConcurrentHashMap<>());
+        SimpAttributesContextHolder.setAttributes(sessao);
+        Mockito.when(perfilMotoristaRepository.findByEstudanteId(10L)).thenReturn(Optional.of(perfilMotorista));
+        Mockito.when(perfilMotoristaRepository.findById(perfilMotorista.getId()))
+                .thenReturn(Optional.of(perfilMotorista));
+
+        // When
+        currentUserService.getCurrentMotorista();
+        currentUserService.getCurrentMotorista();
+
+        // Then
+        Assertions.assertEquals(perfilMotorista.getId(),
+                sessao.getAttribute(CurrentUserService.ATRIBUTO_PERFIL_MOTORISTA_ID));
+        Mockito.verify(perfilMotoristaRepository, Mockito.times(1)).findByEstudanteId(10L);
+        Mockito.verify(perfilMotoristaRepository, Mockito.times(1)).findById(perfilMotorista.getId());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a memória da sessão STOMP quando o usuário da sessão é alterado")
+    void deveDescartarMemoriaDaSessaoStompQuandoUsuarioAlterado() {
+        // Given
+        RequestContextHolder.resetRequestAttributes();
+        final SimpAttributes sessao = new SimpAttributes("sessao-1", new ConcurrentHashMap<>());
+        SimpAttributesContextHolder.setAttributes(sessao);
+        Mockito.when(perfilMotoristaRepository.findByEstudanteId(10L)).thenReturn(Optional.of(perfilMotorista));
+        currentUserService.getCurrentMotorista();
+
+        // When
+        currentUserService.onUsuarioAlterado(UsuarioAlteradoEvent.alterado("outro@puc.br"));
+        final Object aposOutroUsuario = sessao.getAttribute(CurrentUserService.ATRIBUTO_PERFIL_MOTORISTA_ID);
+        currentUserService.onUsuarioAlterado(UsuarioAlteradoEvent.alterado(estudante.getEmail()));
+
+        // Then
+        Assertions.assertNotNull(aposOutroUsuario);
+        Assertions.assertNull(sessao.getAttribute(CurrentUserService.ATRIBUTO_PERFIL_MOTORISTA_ID));
+    }
+}
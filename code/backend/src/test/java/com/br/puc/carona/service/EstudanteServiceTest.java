@@ -15,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.br.puc.carona.constants.MensagensResposta;
@@ -24,6 +25,7 @@ import com.br.puc.carona.dto.response.PerfilMotoristaDto;
 import com.br.puc.carona.enums.Status;
 import com.br.puc.carona.exception.custom.EntidadeNaoEncontrada;
 import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.infra.security.UsuarioAlteradoEvent;
 import com.br.puc.carona.mapper.EstudanteMapper;
 import com.br.puc.carona.mapper.PerfilMotoristaMapper;
 import com.br.puc.carona.mock.PerfilMotoristaRequestMock;
@@ -50,6 +52,9 @@ class EstudanteServiceTest {
     @Mock
     private PerfilMotoristaMapper perfilMotoristaMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EstudanteService estudanteService;
 
@@ -196,6 +201,7 @@ class EstudanteServiceTest {
         Mockito.verify(perfilMotoristaMapper).toEntity(perfilMotoristaRequest);
         Mockito.verify(estudanteRepository).save(Mockito.any(Estudante.class));
         Mockito.verify(perfilMotoristaMapper).toDto(Mockito.any(PerfilMotorista.class));
+        Mockito.verify(eventPublisher).publishEvent(UsuarioAlteradoEvent.alterado(estudante.getEmail()));
         
         // Capturar e verificar o estudante salvo
         Mockito.verify(estudanteRepository).save(estudanteCaptor.capture());
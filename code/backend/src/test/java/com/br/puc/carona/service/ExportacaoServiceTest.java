@@ -0,0 +1,107 @@
+package com.br.puc.carona.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.br.puc.carona.constants.MensagensResposta;
+import com.br.puc.carona.enums.ColunaExportacaoCarona;
+import com.br.puc.carona.enums.FormatoExportacao;
+import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.mock.CaronaMock;
+import com.br.puc.carona.model.Carona;
+import com.br.puc.carona.repository.AvaliacaoRepository;
+import com.br.puc.carona.repository.CaronaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Service: Exportacao")
+class ExportacaoServiceTest {
+
+    @Mock
+    private CaronaRepository caronaRepository;
+
+    @Mock
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ExportacaoService exportacaoService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(exportacaoService, "intervaloLimpeza", 2);
+    }
+
+    @Test
+    @DisplayName("Deve exportar colunas selecionadas e limpar o contexto periodicamente")
+    void deveExportarColunasSelecionadasELimparContextoPeriodicamente() throws IOException {
+        // Given
+        final Carona primeira = CaronaMock.createAgendada();
+        final Carona segunda = CaronaMock.createCancelada();
+        segunda.setId(2L);
+        final Carona terceira = CaronaMock.createEmAndamento();
+        terceira.setId(3L);
+        Mockito.when(caronaRepository.streamParaExportacao(null, null, null))
+                .thenReturn(Stream.of(primeira, segunda, terceira));
+
+        final StreamingResponseBody corpo = exportacaoService.exportarCaronas(FormatoExportacao.CSV,
+                List.of(ColunaExportacaoCarona.ID, ColunaExportacaoCarona.STATUS), null, null, null);
+        final ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // When
+        corpo.writeTo(saida);
+
+        // Then
+        Assertions.assertEquals("id,status\r\n1,AGENDADA\r\n2,CANCELADA\r\n3,EM_ANDAMENTO\r\n",
+                saida.toString(StandardCharsets.UTF_8));
+        Mockito.verify(entityManager, Mockito.times(1)).clear();
+        Mockito.verify(transactionManager).getTransaction(Mockito.argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período com início posterior ao fim antes de iniciar o streaming")
+    void deveRejeitarPeriodoInvalido() {
+        // Given
+        final LocalDateTime inicio = LocalDateTime.of(2025, 6, 1, 0, 0);
+        final LocalDateTime fim = inicio.minusDays(1);
+
+        // When & Then
+        final ErroDeCliente exception = Assertions.assertThrows(ErroDeCliente.class,
+                () -> exportacaoService.exportarCaronas(FormatoExportacao.NDJSON, null, StatusCarona.FINALIZADA, inicio, fim));
+
+        Assertions.assertEquals(MensagensResposta.PERIODO_EXPORTACAO_INVALIDO, exception.getMessage());
+        Mockito.verifyNoInteractions(caronaRepository);
+    }
+}
@@ -0,0 +1,114 @@
+package com.br.puc.carona.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.br.puc.carona.dto.response.MensagemFilaMortaDto;
+import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.messaging.ConversorMensagens;
+import com.br.puc.carona.messaging.contract.RideStartedMessageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Service: FilaMorta")
+class FilaMortaServiceTest {
+
+    private static final String DLQ = "carpool.rides.lifecycle.dlq";
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel canal;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConversorMensagens conversor = new ConversorMensagens(ConversorMensagens.CODIFICACAO_SMILE);
+
+    private FilaMortaService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FilaMortaService(amqpAdmin, rabbitTemplate, conversor, List.of(new Queue(DLQ)), List.of());
+        ReflectionTestUtils.setField(service, "limiteInspecao", 50);
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation -> {
+            final ChannelCallback<?> callback = invocation.getArgument(0);
+            return callback.doInRabbit(canal);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve exibir como JSON o payload de mensagem Smile da DLQ")
+    void deveExibirMensagemSmileComoJson() throws Exception {
+        // Given
+        final RideStartedMessageDTO evento = RideStartedMessageDTO.builder()
+                .caronaId(1L)
+                .driverId(2L)
+                .destinatariosIds(List.of(10L, 20L))
+                .notificationType(NotificationType.RIDE_STARTED)
+                .build();
+        final String json = objectMapper.writeValueAsString(evento);
+        final byte[] corpo = conversor.codificar(json, RideStartedMessageDTO.class.getName(),
+                new MessageProperties()).getBody();
+        final AMQP.BasicProperties propriedades = new AMQP.BasicProperties.Builder()
+                .contentType(ConversorMensagens.CONTENT_TYPE_SMILE)
+                .messageId("carona-iniciada:1")
+                .build();
+        when(canal.basicGet(DLQ, false))
+                .thenReturn(new GetResponse(new Envelope(7L, false, "", DLQ), propriedades, corpo, 0));
+
+        // When
+        final List<MensagemFilaMortaDto> mensagens = service.inspecionar(DLQ, 1);
+
+        // Then
+        assertEquals(1, mensagens.size());
+        assertEquals(objectMapper.readTree(json), objectMapper.readTree(mensagens.get(0).getPayload()));
+        verify(canal).basicNack(eq(7L), eq(true), eq(true));
+    }
+
+    @Test
+    @DisplayName("Deve exibir o payload JSON da DLQ sem alterações")
+    void deveExibirMensagemJson() throws Exception {
+        // Given
+        final String json = "{\"caronaId\":1}";
+        final AMQP.BasicProperties propriedades = new AMQP.BasicProperties.Builder()
+                .contentType(MessageProperties.CONTENT_TYPE_JSON)
+                .build();
+        when(canal.basicGet(DLQ, false)).thenReturn(new GetResponse(new Envelope(3L, false, "", DLQ),
+                propriedades, json.getBytes(StandardCharsets.UTF_8), 0));
+
+        // When
+        final List<MensagemFilaMortaDto> mensagens = service.inspecionar(DLQ, 1);
+
+        // Then
+        assertEquals(json, mensagens.get(0).getPayload());
+    }
+}
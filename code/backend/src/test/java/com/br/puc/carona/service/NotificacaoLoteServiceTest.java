@@ -0,0 +1,195 @@
+package com.br.puc.carona.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.br.puc.carona.enums.NotificationStatus;
+import com.br.puc.carona.enums.NotificationType;
+import com.br.puc.carona.messaging.contract.RideStartedMessageDTO;
+import com.br.puc.carona.model.Estudante;
+import com.br.puc.carona.model.Notification;
+import com.br.puc.carona.repository.EstudanteRepository;
+import com.br.puc.carona.repository.NotificationRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Service: NotificacaoLote")
+class NotificacaoLoteServiceTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private EstudanteRepository estudanteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Notification>> notificacoesCaptor;
+
+    private NotificacaoLoteService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new NotificacaoLoteService(messagingTemplate, notificationRepository, estudanteRepository,
+                transactionManager, new ObjectMapper());
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Deve resolver destinatários em uma consulta e inserir o lote com status final")
+    void deveResolverDestinatariosEInserirLote() {
+        // Given
+        when(estudanteRepository.findAllById(Set.of(10L, 20L))).thenReturn(List.of(estudante(10L), estudante(20L)));
+
+        // When
+        final int enviadas = service.processarLote(NotificationType.RIDE_STARTED,
+                List.of(mensagem(10L), mensagem(20L)), m -> List.of(m.getAffectedUserId()));
+
+        // Then
+        assertEquals(2, enviadas);
+        verify(estudanteRepository).findAllById(Set.of(10L, 20L));
+        verify(notificationRepository).saveAll(notificacoesCaptor.capture());
+        assertEquals(2, notificacoesCaptor.getValue().size());
+        notificacoesCaptor.getValue().forEach(n -> {
+            assertEquals(NotificationStatus.ENVIADO, n.getStatus());
+            assertEquals(NotificationType.RIDE_STARTED, n.getType());
+        });
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/user/10/notifications"), anyString());
+        verify(messagingTemplate).convertAndSend(eq("/topic/user/20/notifications"), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve descartar mensagem com destinatário inexistente sem afetar as demais")
+    void deveDescartarDestinatarioInexistente() {
+        // Given
+        when(estudanteRepository.findAllById(Set.of(10L, 99L))).thenReturn(List.of(estudante(10L)));
+
+        // When
+        final int enviadas = service.processarLote(NotificationType.RIDE_STARTED,
+                List.of(mensagem(10L), mensagem(99L)), m -> List.of(m.getAffectedUserId()));
+
+        // Then
+        assertEquals(1, enviadas);
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve marcar como FALHOU apenas a notificação cujo envio STOMP falhou")
+    void deveIsolarFalhaDeEnvio() {
+        // Given
+        when(estudanteRepository.findAllById(Set.of(10L, 20L))).thenReturn(List.of(estudante(10L), estudante(20L)));
+        doThrow(new MessagingException("broker indisponível"))
+                .when(messagingTemplate).convertAndSend(eq("/topic/user/10/notifications"), anyString());
+
+        // When
+        final int enviadas = service.processarLote(NotificationType.RIDE_STARTED,
+                List.of(mensagem(10L), mensagem(20L)), m -> List.of(m.getAffectedUserId()));
+
+        // Then
+        assertEquals(1, enviadas);
+        verify(notificationRepository, times(2)).saveAll(notificacoesCaptor.capture());
+        final List<Notification> falhas = notificacoesCaptor.getAllValues().get(1);
+        assertEquals(1, falhas.size());
+        assertEquals(10L, falhas.get(0).getRecipient().getId());
+        assertEquals(NotificationStatus.FALHOU, falhas.get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve expandir evento da carona em uma notificação por passageiro")
+    void deveExpandirEventoDaCarona() throws Exception {
+        // Given
+        final RideStartedMessageDTO evento = RideStartedMessageDTO.builder()
+                .caronaId(1L)
+                .driverId(2L)
+                .destinatariosIds(List.of(10L, 20L))
+                .notificationType(NotificationType.RIDE_STARTED)
+                .build();
+        when(estudanteRepository.findAllById(Set.of(10L, 20L))).thenReturn(List.of(estudante(10L), estudante(20L)));
+
+        // When
+        final int enviadas = service.processarLote(NotificationType.RIDE_STARTED, List.of(evento),
+                RideStartedMessageDTO::getDestinatariosIds);
+
+        // Then
+        assertEquals(2, enviadas);
+        verify(notificationRepository).saveAll(notificacoesCaptor.capture());
+        final ObjectMapper mapper = new ObjectMapper();
+        for (final Notification notificacao : notificacoesCaptor.getValue()) {
+            final JsonNode payload = mapper.readTree(notificacao.getPayload());
+            assertEquals(notificacao.getRecipient().getId(), payload.get("affectedUserId").asLong());
+            assertFalse(payload.has("destinatariosIds"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve enviar apenas após o commit quando executado dentro de uma transação")
+    void deveEnviarAposCommitDaTransacaoExterna() {
+        // Given
+        when(estudanteRepository.findAllById(Set.of(10L))).thenReturn(List.of(estudante(10L)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            final int agendadas = service.processarLote(NotificationType.RIDE_STARTED,
+                    List.of(mensagem(10L)), m -> List.of(m.getAffectedUserId()));
+
+            // Then
+            assertEquals(1, agendadas);
+            verify(messagingTemplate, never()).convertAndSend(anyString(), anyString());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(messagingTemplate).convertAndSend(eq("/topic/user/10/notifications"), anyString());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Estudante estudante(final Long id) {
+        final Estudante estudante = new Estudante();
+        estudante.setId(id);
+        return estudante;
+    }
+
+    private static RideStartedMessageDTO mensagem(final Long passageiroId) {
+        return RideStartedMessageDTO.builder()
+                .caronaId(1L)
+                .driverId(2L)
+                .affectedUserId(passageiroId)
+                .notificationType(NotificationType.RIDE_STARTED)
+                .build();
+    }
+}
@@ -83,6 +83,9 @@ class PedidoDeEntradaServiceTest {
     @Mock
     private MensagemProducer mensagemProducer;
 
+    @Mock
+    private SincronizacaoService sincronizacaoService;
+
     @InjectMocks
     private PedidoDeEntradaService pedidoDeEntradaService;
 
@@ -740,6 +743,7 @@ class PedidoDeEntradaServiceTest {
         // Then
         verify(mensagemProducer, times(1)).enviarMensagemCancelamentoCarona(messageCaptor.capture());
         verify(caronaRepository, times(1)).save(carona);
+        verify(sincronizacaoService, times(1)).registrarSaidaDePassageiro(carona, 1L, null);
         
         final RideCancellationMessageDTO capturedMessage = messageCaptor.getValue();
         assertNotNull(capturedMessage);
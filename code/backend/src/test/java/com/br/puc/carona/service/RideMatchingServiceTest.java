@@ -22,6 +22,7 @@ import com.br.puc.carona.dto.LocationDTO;
 import com.br.puc.carona.dto.RouteDetails;
 import com.br.puc.carona.dto.request.SolicitacaoCaronaRequest;
 import com.br.puc.carona.enums.StatusCarona;
+import com.br.puc.carona.exception.custom.SolicitacaoNaoAtendida;
 import com.br.puc.carona.mapper.SolicitacaoCaronaMapper;
 import com.br.puc.carona.model.Carona;
 import com.br.puc.carona.model.Estudante;
@@ -287,7 +288,7 @@ public class RideMatchingServiceTest {
                 .thenReturn(largeDetourRoute);
 
         // When & Then
-        Assertions.assertThrows(IllegalStateException.class, () -> {
+        Assertions.assertThrows(SolicitacaoNaoAtendida.class, () -> {
             rideMatchingService.matchAndAssign(request);
         });
 
@@ -333,7 +334,7 @@ public class RideMatchingServiceTest {
         // calculation
 
         // When & Then
-        Assertions.assertThrows(IllegalStateException.class, () -> {
+        Assertions.assertThrows(SolicitacaoNaoAtendida.class, () -> {
             rideMatchingService.matchAndAssign(request);
         });
 
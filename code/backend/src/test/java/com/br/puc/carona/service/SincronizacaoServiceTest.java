@@ -0,0 +1,202 @@
+package com.br.puc.carona.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.br.puc.carona.constants.MensagensResposta;
+import com.br.puc.carona.dto.response.SincronizacaoDto;
+import com.br.puc.carona.enums.TipoEntidadeSincronizacao;
+import com.br.puc.carona.exception.custom.ErroDeCliente;
+import com.br.puc.carona.mapper.CaronaMapper;
+import com.br.puc.carona.mapper.NotificationMapper;
+import com.br.puc.carona.mapper.PedidoDeEntradaMapper;
+import com.br.puc.carona.mapper.SolicitacaoCaronaMapper;
+import com.br.puc.carona.model.Notification;
+import com.br.puc.carona.model.RemocaoSincronizacao;
+import com.br.puc.carona.repository.CaronaRepository;
+import com.br.puc.carona.repository.NotificationRepository;
+import com.br.puc.carona.repository.PedidoDeEntradaRepository;
+import com.br.puc.carona.repository.RemocaoSincronizacaoRepository;
+import com.br.puc.carona.repository.SolicitacaoCaronaRepository;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+@DisplayName("Teste Service: Sincronizacao")
+class SincronizacaoServiceTest {
+
+    @Mock
+    private CaronaRepository caronaRepository;
+
+    @Mock
+    private PedidoDeEntradaRepository pedidoDeEntradaRepository;
+
+    @Mock
+    private SolicitacaoCaronaRepository solicitacaoCaronaRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private RemocaoSincronizacaoRepository remocaoSincronizacaoRepository;
+
+    @Mock
+    private CaronaMapper caronaMapper;
+
+    @Mock
+    private PedidoDeEntradaMapper pedidoDeEntradaMapper;
+
+    @Mock
+    private SolicitacaoCaronaMapper solicitacaoCaronaMapper;
+
+    @Mock
+    private NotificationMapper notificationMapper;
+
+    @InjectMocks
+    private SincronizacaoService sincronizacaoService;
+
+    private final Long estudanteId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sincronizacaoService, "limitePorTipo", 2);
+        ReflectionTestUtils.setField(sincronizacaoService, "margemSegundos", 5L);
+        ReflectionTestUtils.setField(sincronizacaoService, "retencaoDias", 30L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar estado completo com reset quando não há token")
+    void deveRetornarEstadoCompletoComResetQuandoNaoHaToken() {
+        // When
+        final SincronizacaoDto resultado = sincronizacaoService.sincronizar(estudanteId, null);
+
+        // Then
+        Assertions.assertTrue(resultado.isReset());
+        Assertions.assertFalse(resultado.isHasMore());
+        Assertions.assertNotNull(resultado.getToken());
+        Mockito.verify(caronaRepository).findAlteradasDesde(Mockito.eq(estudanteId),
+                Mockito.eq(LocalDateTime.of(1970, 1, 1, 0, 0)), Mockito.eq(0L), Mockito.any(Pageable.class));
+        Mockito.verifyNoInteractions(remocaoSincronizacaoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve consultar apenas alterações posteriores ao token")
+    void deveConsultarApenasAlteracoesPosterioresAoToken() {
+        // Given
+        final SincronizacaoDto primeira = sincronizacaoService.sincronizar(estudanteId, null);
+        final RemocaoSincronizacao remocao = RemocaoSincronizacao.builder()
+                .usuarioId(estudanteId)
+                .tipoEntidade(TipoEntidadeSincronizacao.CARONA)
+                .entidadeId(10L)
+                .dataCriacao(LocalDateTime.now())
+                .build();
+        Mockito.when(remocaoSincronizacaoRepository.findAlteradasDesde(Mockito.eq(estudanteId), Mockito.any(),
+                Mockito.anyLong(), Mockito.any(Pageable.class))).thenReturn(List.of(remocao));
+
+        // When
+        final SincronizacaoDto resultado = sincronizacaoService.sincronizar(estudanteId, primeira.getToken());
+
+        // Then
+        final ArgumentCaptor<LocalDateTime> desdeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        Mockito.verify(notificationRepository, Mockito.times(2)).findAlteradasDesde(Mockito.eq(estudanteId),
+                desdeCaptor.capture(), Mockito.anyLong(), Mockito.any(Pageable.class));
+        Assertions.assertTrue(desdeCaptor.getValue().isAfter(LocalDateTime.now().minusMinutes(1)));
+        Assertions.assertFalse(resultado.isReset());
+        Assertions.assertEquals(1, resultado.getRemovidos().size());
+        Assertions.assertEquals(10L, resultado.getRemovidos().get(0).getId());
+        Assertions.assertEquals(TipoEntidadeSincronizacao.CARONA, resultado.getRemovidos().get(0).getTipo());
+    }
+
+    @Test
+    @DisplayName("Deve indicar mais alterações quando um tipo atinge o limite")
+    void deveIndicarMaisAlteracoesQuandoUmTipoAtingeOLimite() {
+        // Given
+        final LocalDateTime corte = LocalDateTime.now().minusHours(1);
+        final Notification primeira = Notification.builder().id(7L).dataAtualizacao(corte.minusMinutes(1)).build();
+        final Notification segunda = Notification.builder().id(8L).dataAtualizacao(corte).build();
+        Mockito.when(notificationRepository.findAlteradasDesde(Mockito.eq(estudanteId), Mockito.any(),
+                Mockito.anyLong(), Mockito.any(Pageable.class))).thenReturn(List.of(primeira, segunda));
+
+        // When
+        final SincronizacaoDto resultado = sincronizacaoService.sincronizar(estudanteId, null);
+        sincronizacaoService.sincronizar(estudanteId, resultado.getToken());
+
+        // Then
+        Assertions.assertTrue(resultado.isHasMore());
+        Mockito.verify(notificationRepository).findAlteradasDesde(Mockito.eq(estudanteId), Mockito.eq(corte),
+                Mockito.eq(8L), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve avançar pelo id quando a página inteira tem o mesmo instante")
+    void deveAvancarPeloIdQuandoAPaginaInteiraTemOMesmoInstante() {
+        // Given
+        final LocalDateTime instante = LocalDateTime.now().minusHours(1);
+        Mockito.when(notificationRepository.findAlteradasDesde(Mockito.eq(estudanteId), Mockito.any(),
+                Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(
+                        Notification.builder().id(1L).dataAtualizacao(instante).build(),
+                        Notification.builder().id(2L).dataAtualizacao(instante).build()))
+                .thenReturn(List.of(
+                        Notification.builder().id(3L).dataAtualizacao(instante).build(),
+                        Notification.builder().id(4L).dataAtualizacao(instante).build()));
+
+        // When
+        final SincronizacaoDto primeira = sincronizacaoService.sincronizar(estudanteId, null);
+        final SincronizacaoDto segunda = sincronizacaoService.sincronizar(estudanteId, primeira.getToken());
+        sincronizacaoService.sincronizar(estudanteId, segunda.getToken());
+
+        // Then
+        Assertions.assertTrue(primeira.isHasMore());
+        Assertions.assertTrue(segunda.isHasMore());
+        final InOrder ordem = Mockito.inOrder(notificationRepository);
+        ordem.verify(notificationRepository).findAlteradasDesde(Mockito.eq(estudanteId),
+                Mockito.eq(LocalDateTime.of(1970, 1, 1, 0, 0)), Mockito.eq(0L), Mockito.any(Pageable.class));
+        ordem.verify(notificationRepository).findAlteradasDesde(Mockito.eq(estudanteId), Mockito.eq(instante),
+                Mockito.eq(2L), Mockito.any(Pageable.class));
+        ordem.verify(notificationRepository).findAlteradasDesde(Mockito.eq(estudanteId), Mockito.eq(instante),
+                Mockito.eq(4L), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o token antigo com apenas o marco de tempo")
+    void deveAceitarOTokenAntigoComApenasOMarcoDeTempo() {
+        // Given
+        final LocalDateTime marco = LocalDateTime.now().minusDays(1).withNano(0);
+        final String tokenAntigo = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(marco.toString().getBytes(StandardCharsets.UTF_8));
+
+        // When
+        final SincronizacaoDto resultado = sincronizacaoService.sincronizar(estudanteId, tokenAntigo);
+
+        // Then
+        Assertions.assertFalse(resultado.isReset());
+        Mockito.verify(caronaRepository).findAlteradasDesde(Mockito.eq(estudanteId), Mockito.eq(marco),
+                Mockito.eq(0L), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para token inválido")
+    void deveLancarExcecaoParaTokenInvalido() {
+        final ErroDeCliente exception = Assertions.assertThrows(ErroDeCliente.class,
+                () -> sincronizacaoService.sincronizar(estudanteId, "token-invalido"));
+
+        Assertions.assertEquals(MensagensResposta.TOKEN_SINCRONIZACAO_INVALIDO, exception.getMessage());
+    }
+}
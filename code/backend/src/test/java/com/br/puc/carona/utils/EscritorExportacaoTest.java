@@ -0,0 +1,63 @@
+package com.br.puc.carona.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.br.puc.carona.enums.FormatoExportacao;
+import com.br.puc.carona.enums.StatusCarona;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Teste Utils: EscritorExportacao")
+class EscritorExportacaoTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve escrever CSV com cabeçalho e escapar campos especiais")
+    void deveEscreverCsvComCabecalhoEEscaparCamposEspeciais() {
+        // Given
+        final ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        final EscritorExportacao escritor = new EscritorExportacao(saida, FormatoExportacao.CSV,
+                List.of("id", "pontoPartida", "observacao"), objectMapper);
+
+        // When
+        escritor.escreverCabecalho();
+        escritor.escreverLinha(Arrays.asList(1L, "Rua A, 123", "disse \"oi\""));
+        escritor.escreverLinha(Arrays.asList(2L, null, "linha\nquebrada"));
+        escritor.flush();
+
+        // Then
+        Assertions.assertEquals("id,pontoPartida,observacao\r\n"
+                + "1,\"Rua A, 123\",\"disse \"\"oi\"\"\"\r\n"
+                + "2,,\"linha\nquebrada\"\r\n", saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve escrever NDJSON com um objeto por linha")
+    void deveEscreverNdjsonComUmObjetoPorLinha() {
+        // Given
+        final ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        final EscritorExportacao escritor = new EscritorExportacao(saida, FormatoExportacao.NDJSON,
+                List.of("id", "status", "dataHoraPartida"), objectMapper);
+
+        // When
+        escritor.escreverCabecalho();
+        escritor.escreverLinha(Arrays.asList(1L, StatusCarona.FINALIZADA, LocalDateTime.of(2025, 5, 10, 8, 30)));
+        escritor.escreverLinha(Arrays.asList(2L, StatusCarona.AGENDADA, null));
+        escritor.flush();
+
+        // Then
+        Assertions.assertEquals("{\"id\":1,\"status\":\"FINALIZADA\",\"dataHoraPartida\":\"2025-05-10T08:30\"}\n"
+                + "{\"id\":2,\"status\":\"AGENDADA\",\"dataHoraPartida\":null}\n", saida.toString(StandardCharsets.UTF_8));
+    }
+}
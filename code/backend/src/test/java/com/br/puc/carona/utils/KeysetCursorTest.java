@@ -0,0 +1,97 @@
+package com.br.puc.carona.utils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.br.puc.carona.constants.MensagensResposta;
+import com.br.puc.carona.dto.response.CursorPageDto;
+import com.br.puc.carona.exception.custom.ErroDeCliente;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Teste Utils: KeysetCursor")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Deve codificar e decodificar cursor com data e id")
+    void deveCodificarEDecodificarCursorComDataEId() {
+        // Given
+        final KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 5, 10, 8, 30), 42L);
+
+        // When
+        final KeysetCursor decodificado = KeysetCursor.decode(cursor.encode());
+
+        // Then
+        Assertions.assertEquals(cursor, decodificado);
+    }
+
+    @Test
+    @DisplayName("Deve codificar e decodificar cursor apenas com id")
+    void deveCodificarEDecodificarCursorApenasComId() {
+        final KeysetCursor cursor = new KeysetCursor(null, 7L);
+
+        Assertions.assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    @DisplayName("Deve retornar nulo para cursor ausente")
+    void deveRetornarNuloParaCursorAusente() {
+        Assertions.assertNull(KeysetCursor.decode(null));
+        Assertions.assertNull(KeysetCursor.decode(" "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "invalido", "@@@", "c2VtLXNlcGFyYWRvcg" })
+    @DisplayName("Deve lançar exceção para cursor inválido")
+    void deveLancarExcecaoParaCursorInvalido(final String token) {
+        final ErroDeCliente exception = Assertions.assertThrows(ErroDeCliente.class,
+                () -> KeysetCursor.decode(token));
+
+        Assertions.assertEquals(MensagensResposta.CURSOR_INVALIDO, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve limitar o tamanho da página")
+    void deveLimitarTamanhoDaPagina() {
+        Assertions.assertEquals(KeysetCursor.TAMANHO_PADRAO, KeysetCursor.tamanhoPagina(null));
+        Assertions.assertEquals(KeysetCursor.TAMANHO_PADRAO, KeysetCursor.tamanhoPagina(0));
+        Assertions.assertEquals(5, KeysetCursor.tamanhoPagina(5));
+        Assertions.assertEquals(KeysetCursor.TAMANHO_MAXIMO, KeysetCursor.tamanhoPagina(10_000));
+        Assertions.assertEquals(KeysetCursor.TAMANHO_MAXIMO + 1, KeysetCursor.limite(KeysetCursor.TAMANHO_MAXIMO).getPageSize());
+    }
+
+    @Test
+    @DisplayName("Deve descartar item extra e gerar próximo cursor")
+    void deveDescartarItemExtraEGerarProximoCursor() {
+        // Given
+        final List<Long> linhas = List.of(1L, 2L, 3L);
+
+        // When
+        final CursorPageDto<Long> pagina = KeysetCursor.pagina(linhas, 2, Function.identity(),
+                id -> new KeysetCursor(null, id));
+
+        // Then
+        Assertions.assertEquals(List.of(1L, 2L), pagina.getContent());
+        Assertions.assertTrue(pagina.isHasNext());
+        Assertions.assertEquals(2L, KeysetCursor.decode(pagina.getNextCursor()).id());
+    }
+
+    @Test
+    @DisplayName("Deve indicar última página sem próximo cursor")
+    void deveIndicarUltimaPaginaSemProximoCursor() {
+        final CursorPageDto<Long> pagina = KeysetCursor.pagina(List.of(1L), 2, Function.identity(),
+                id -> new KeysetCursor(null, id));
+
+        Assertions.assertEquals(List.of(1L), pagina.getContent());
+        Assertions.assertFalse(pagina.isHasNext());
+        Assertions.assertNull(pagina.getNextCursor());
+    }
+}
@@ -77,8 +77,15 @@ export const api = {
     // Get pending users that need approval
     getPendingUsers: async () => {
       try {
-        const response = await apiClient.get('/admin/pendentes');
-        return { success: true, data: response.data };
+        // The endpoint is cursor-paginated: follow nextCursor until the last page
+        const users = [];
+        let cursor: string | null = null;
+        do {
+          const response = await apiClient.get('/admin/pendentes', { params: { size: 100, cursor } });
+          users.push(...(response.data.content || []));
+          cursor = response.data.nextCursor || null;
+        } while (cursor);
+        return { success: true, data: users };
       } catch (error) {
         console.error('Error fetching pending users:', error);
         return { success: false, error };
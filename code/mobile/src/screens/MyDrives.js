@@ -136,21 +136,30 @@ export default function MyDrivesScreen() {
 
     try {
       setLoading(true);
-      const response = await apiClient.get(`/carona/estudante/${user.id}/historico`, {
-        headers: {
-          'Authorization': `Bearer ${authToken}`,
-          'Accept': '*/*',
-          'Content-Type': 'application/json'
-        }
-      });
+      // The history is cursor-paginated: follow nextCursor until the last page
+      const rides = [];
+      let cursor = null;
+      do {
+        const response = await apiClient.get(`/carona/estudante/${user.id}/historico`, {
+          params: cursor ? { cursor } : undefined,
+          headers: {
+            'Authorization': `Bearer ${authToken}`,
+            'Accept': '*/*',
+            'Content-Type': 'application/json'
+          }
+        });
 
-      if (response.success && response.data) {
+        if (!response.success || !response.data) {
+          console.warn('Failed to fetch passenger rides:', response.error);
+          setPassengerRides([]);
+          return;
+        }
         console.debug('Passenger rides response:', JSON.stringify(response.data, null, 2));
-        setPassengerRides(response.data);
-      } else {
-        console.warn('Failed to fetch passenger rides:', response.error);
-        setPassengerRides([]);
-      }
+        rides.push(...(response.data.content || []));
+        cursor = response.data.nextCursor || null;
+      } while (cursor);
+
+      setPassengerRides(rides);
     } catch (error) {
       console.error('Error fetching passenger rides:', error);
       setPassengerRides([]);
@@ -336,27 +336,35 @@ export const getActiveDriverRides = async (motoristaId, authToken) => {
  */
 export const getActivePassengerRides = async (estudanteId, authToken) => {
   try {
-    const response = await fetch(`${BASE_URL}/carona/estudante/${estudanteId}/ativas`, {
-      method: 'GET',
-      headers: {
-        'Authorization': `Bearer ${authToken}`,
-        'Content-Type': 'application/json'
-      }
-    });
+    // The endpoint is cursor-paginated: follow nextCursor until the last page
+    const rides = [];
+    let cursor = null;
+    do {
+      const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+      const response = await fetch(`${BASE_URL}/carona/estudante/${estudanteId}/ativas${query}`, {
+        method: 'GET',
+        headers: {
+          'Authorization': `Bearer ${authToken}`,
+          'Content-Type': 'application/json'
+        }
+      });
 
-    const responseData = await response.json();
+      const responseData = await response.json();
 
-    if (response.ok) {
-      return {
-        success: true,
-        data: responseData
-      };
-    } else {
-      return {
-        success: false,
-        error: responseData.mensagem || 'Erro ao buscar caronas ativas como passageiro'
-      };
-    }
+      if (!response.ok) {
+        return {
+          success: false,
+          error: responseData.mensagem || 'Erro ao buscar caronas ativas como passageiro'
+        };
+      }
+      rides.push(...(responseData.content || []));
+      cursor = responseData.nextCursor || null;
+    } while (cursor);
+
+    return {
+      success: true,
+      data: rides
+    };
   } catch (error) {
     console.error('Error fetching active passenger rides:', error);
     return {
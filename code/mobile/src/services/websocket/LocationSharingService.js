@@ -21,7 +21,7 @@ class LocationSharingService {
 
   /**
    * Initialize connection for location sharing
-   * @param {string} authToken - Authentication token (not used for now)
+   * @param {string} authToken - Authentication token, sent in the STOMP CONNECT frame
    * @param {function} onLocationReceived - Callback for receiving location updates
    * @param {function} onConnectionStatusChange - Callback for connection status changes
    */
@@ -42,8 +42,10 @@ class LocationSharingService {
         reconnectDelay: 5000,
         heartbeatIncoming: 4000,
         heartbeatOutgoing: 4000,
-        // Remove authentication headers for now
-        connectHeaders: {}
+        // The backend authorizes the driver's location frames by the session user
+        connectHeaders: {
+          Authorization: `Bearer ${this.authToken}`
+        }
       });
 
       this.stompClient.onConnect = () => {
@@ -149,7 +151,6 @@ class LocationSharingService {
         }
       }, {
         id: `passenger-location-${rideId}`
-        // Remove authorization headers for now
       });
 
       console.log(`Subscribed to location updates: ${locationTopic}`);